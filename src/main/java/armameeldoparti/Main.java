@@ -6,6 +6,7 @@ import armameeldoparti.controllers.MainMenuController;
 import armameeldoparti.controllers.NamesInputController;
 import armameeldoparti.controllers.ResultsController;
 import armameeldoparti.controllers.SkillPointsInputController;
+import armameeldoparti.models.AnchorageRegistry;
 import armameeldoparti.models.Error;
 import armameeldoparti.models.Player;
 import armameeldoparti.models.Position;
@@ -14,6 +15,9 @@ import armameeldoparti.utils.common.CommonFields;
 import armameeldoparti.utils.common.CommonFunctions;
 import armameeldoparti.utils.common.Constants;
 import armameeldoparti.utils.common.custom.graphical.ui.CustomOptionPaneUI;
+import armameeldoparti.utils.mixers.DistributionPlan;
+import armameeldoparti.utils.storage.MatchHistory;
+import armameeldoparti.utils.storage.PlayersDatabase;
 import armameeldoparti.views.AnchoragesView;
 import armameeldoparti.views.HelpView;
 import armameeldoparti.views.MainMenuView;
@@ -27,6 +31,7 @@ import java.awt.GraphicsEnvironment;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.EnumMap;
 import java.util.List;
@@ -34,6 +39,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.TreeMap;
 import java.util.stream.IntStream;
+import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
 import javax.swing.ToolTipManager;
 import javax.swing.UIManager;
@@ -72,6 +78,7 @@ public final class Main {
     CommonFields.setActiveMonitor(GraphicsEnvironment.getLocalGraphicsEnvironment()
                                                      .getDefaultScreenDevice());
     CommonFields.setAnchoragesEnabled(false);
+    CommonFields.setAnchorageRegistry(new AnchorageRegistry());
     CommonFields.setControllersMap(new EnumMap<>(ProgramView.class));
     CommonFields.setPlayersLimitPerPosition(new EnumMap<>(Position.class));
     CommonFields.setPlayersSets(new TreeMap<>());
@@ -84,6 +91,8 @@ public final class Main {
     setUpGeneralGraphicalProperties();
     setPlayersDistribution();
     populatePlayersSets();
+    openPlayersDatabase();
+    openMatchHistory();
     setUpControllers();
 
     SwingUtilities.invokeLater(((MainMenuController) CommonFunctions.getController(ProgramView.MAIN_MENU))::showView);
@@ -94,20 +103,39 @@ public final class Main {
   /**
    * Populates the players sets with empty players.
    *
+   * <p>The players ids are assigned consecutively in the same order as the Position enum, and every player is also stored in the players array at the
+   * index of its id.
+   *
    * <p>The "java:S1190" and "java:S117" warnings are suppressed since JDK22 allows the use of unnamed variables.
    */
   @SuppressWarnings({"java:S1190", "java:S117"})
   private static void populatePlayersSets() {
+    CommonFields.setPlayers(new Player[CommonFields.getPlayersLimitPerPosition()
+                                                   .values()
+                                                   .stream()
+                                                   .mapToInt(limit -> limit * 2)
+                                                   .sum()]);
+
+    var wrapper = new Object() {
+      int id = 0;
+    };
+
     Arrays.stream(Position.values())
           .forEach(position -> CommonFields.getPlayersSets()
                                            .put(position, IntStream.range(0, CommonFields.getPlayersLimitPerPosition()
                                                                                          .get(position) * 2)
-                                                                   .mapToObj(_ -> new Player("", position))
+                                                                   .mapToObj(_ -> {
+                                                                     Player player = new Player(wrapper.id, "", position);
+
+                                                                     CommonFields.getPlayers()[wrapper.id++] = player;
+
+                                                                     return player;
+                                                                   })
                                                                    .toList()));
   }
 
   /**
-   * Gets the number of players for each position per team using regular expressions.
+   * Gets the number of players for each position per team using regular expressions, and builds the distribution plan the mixers work with.
    *
    * <p>{@code [CLMFG].+>.+}: Retrieves the lines that start with C, L, M, F, or G, followed by at least one '>' character (these are the lines that
    * matters in the .pda file).
@@ -140,11 +168,64 @@ public final class Main {
                                              .put(Position.values()[index],
                                                   Integer.parseInt(filteredLines.get(index)
                                                                                 .replaceAll(Constants.REGEX_PLAYERS_COUNT, ""))));
+
+      CommonFields.setDistributionPlan(DistributionPlan.of(CommonFields.getPlayersLimitPerPosition()));
     } catch (IOException _) {
       CommonFunctions.exitProgram(Error.ERROR_FILES);
     }
   }
 
+  /**
+   * Opens the local players database and makes sure every pending record is written when the program ends.
+   *
+   * <p>If the database file can't be opened, the program keeps working with a database that is only kept in memory, so the stored players will not
+   * be available in future sessions.
+   *
+   * <p>The "java:S1190" and "java:S117" warnings are suppressed since JDK22 allows the use of unnamed variables.
+   */
+  @SuppressWarnings({"java:S1190", "java:S117"})
+  private static void openPlayersDatabase() {
+    try {
+      CommonFields.setPlayersDatabase(PlayersDatabase.open(Path.of(Constants.PATH_USER_DATA, Constants.FILENAME_PLAYERS_DATABASE)));
+    } catch (IOException _) {
+      CommonFields.setPlayersDatabase(PlayersDatabase.inMemory());
+    }
+
+    CommonFields.getPlayersDatabase()
+                .setErrorHandler(_ -> SwingUtilities.invokeLater(() -> CommonFunctions.showMessage("No se pudo guardar la base de datos de jugadores",
+                                                                                                   null,
+                                                                                                   JOptionPane.WARNING_MESSAGE,
+                                                                                                   Constants.TITLE_MESSAGE_WARNING)));
+
+    Runtime.getRuntime()
+           .addShutdownHook(new Thread(CommonFields.getPlayersDatabase()::close));
+  }
+
+  /**
+   * Opens the match history log and makes sure every pending record is written when the program ends.
+   *
+   * <p>If the log file can't be opened, the program keeps working without storing the played matches.
+   *
+   * <p>The "java:S1190" and "java:S117" warnings are suppressed since JDK22 allows the use of unnamed variables.
+   */
+  @SuppressWarnings({"java:S1190", "java:S117"})
+  private static void openMatchHistory() {
+    try {
+      CommonFields.setMatchHistory(MatchHistory.open(Path.of(Constants.PATH_USER_DATA, Constants.FILENAME_MATCH_HISTORY)));
+    } catch (IOException _) {
+      CommonFields.setMatchHistory(MatchHistory.disabled());
+    }
+
+    CommonFields.getMatchHistory()
+                .setErrorHandler(_ -> SwingUtilities.invokeLater(() -> CommonFunctions.showMessage("No se pudo acceder al historial de partidos",
+                                                                                                   null,
+                                                                                                   JOptionPane.WARNING_MESSAGE,
+                                                                                                   Constants.TITLE_MESSAGE_WARNING)));
+
+    Runtime.getRuntime()
+           .addShutdownHook(new Thread(CommonFields.getMatchHistory()::close));
+  }
+
   /**
    * Creates the controllers and assigns their corresponding view to control.
    */
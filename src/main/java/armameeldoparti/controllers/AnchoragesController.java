@@ -1,18 +1,18 @@
 package armameeldoparti.controllers;
 
+import armameeldoparti.models.AnchorageRegistry;
 import armameeldoparti.models.Player;
 import armameeldoparti.models.Position;
 import armameeldoparti.models.ProgramView;
-import armameeldoparti.models.Team;
 import armameeldoparti.utils.common.CommonFields;
 import armameeldoparti.utils.common.CommonFunctions;
 import armameeldoparti.utils.common.Constants;
+import armameeldoparti.utils.mixers.CompactRoster;
+import armameeldoparti.utils.solver.TeamAssignmentSolver;
 import armameeldoparti.views.AnchoragesView;
 import java.awt.Component;
-import java.util.Arrays;
-import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.IntStream;
 import javax.swing.JCheckBox;
 import javax.swing.JOptionPane;
@@ -30,8 +30,12 @@ public class AnchoragesController extends Controller<AnchoragesView> {
 
   // ---------- Private fields -----------------------------------------------------------------------------------------------------------------------
 
-  private int anchoragesCount;
-  private int anchoredPlayersCount;
+  private AnchorageRegistry anchorageRegistry;
+
+  /**
+   * Checkbox of every player, indexed by the player id.
+   */
+  private JCheckBox[] playersCheckboxes;
 
   // ---------- Constructor --------------------------------------------------------------------------------------------------------------------------
 
@@ -42,6 +46,8 @@ public class AnchoragesController extends Controller<AnchoragesView> {
    */
   public AnchoragesController(AnchoragesView anchoragesView) {
     super(anchoragesView);
+    setAnchorageRegistry(CommonFields.getAnchorageRegistry());
+    setPlayersCheckboxes(new JCheckBox[CommonFields.getPlayers().length]);
     setUpListeners();
     setUpInitialState();
     toggleButtons();
@@ -50,33 +56,41 @@ public class AnchoragesController extends Controller<AnchoragesView> {
   // ---------- Public methods -----------------------------------------------------------------------------------------------------------------------
 
   /**
-   * Updates the checkboxes text with the players names.
+   * Updates the checkboxes text with the players names, and links every player to its checkbox.
    */
   public void updateCheckboxesText() {
     for (Position position : Position.values()) {
-      IntStream.range(0, CommonFields.getPlayersSets()
-                                     .get(position)
-                                     .size())
-               .forEach(checkboxIndex -> view.getCheckboxesMap()
-                                             .get(position)
-                                             .get(checkboxIndex)
-                                             .setText(CommonFields.getPlayersSets()
-                                                                  .get(position)
-                                                                  .get(checkboxIndex)
-                                                                  .getName()));
+      List<Player> playersSet = CommonFields.getPlayersSets()
+                                            .get(position);
+
+      for (int checkboxIndex = 0; checkboxIndex < playersSet.size(); checkboxIndex++) {
+        JCheckBox checkbox = view.getCheckboxesMap()
+                                 .get(position)
+                                 .get(checkboxIndex);
+
+        checkbox.setText(playersSet.get(checkboxIndex)
+                                   .getName());
+
+        playersCheckboxes[playersSet.get(checkboxIndex)
+                                    .getId()] = checkbox;
+      }
     }
 
+    loadExistingAnchorages();
+
     view.pack();
   }
 
   /**
-   * Checks if the necessary anchorages conditions are met. If so, it proceeds with the distribution.
+   * Checks if the necessary anchorages and separations conditions are met. If so, it proceeds with the distribution.
    *
    * @param parentComponent Graphical component where the dialogs associated with the event should be displayed.
    */
   public void finishButtonEvent(Component parentComponent) {
-    if (!validAnchoragesCombination(0, Arrays.asList(new Team(0), new Team(1)))) {
-      CommonFunctions.showMessage("Existen conflictos entre anclajes",
+    if (!validAnchoragesCombination(CompactRoster.of(CommonFields.getPlayersSets(),
+                                                     CommonFields.getDistributionPlan(),
+                                                     anchorageRegistry.getSeparations()))) {
+      CommonFunctions.showMessage("Existen conflictos entre anclajes y separaciones",
                                   parentComponent,
                                   JOptionPane.INFORMATION_MESSAGE,
                                   Constants.TITLE_MESSAGE_INFORMATION);
@@ -145,11 +159,49 @@ public class AnchoragesController extends Controller<AnchoragesView> {
     toggleButtons();
   }
 
+  /**
+   * Checks if exactly two players that are not separated yet are selected. If so, it makes a new separation between them, so they will be
+   * distributed in different teams.
+   *
+   * @param parentComponent Graphical component where the dialogs associated with the event should be displayed.
+   */
+  public void separateButtonEvent(Component parentComponent) {
+    List<Player> playersToSeparate = new ArrayList<>();
+
+    for (int playerId = 0; playerId < playersCheckboxes.length; playerId++) {
+      if (playersCheckboxes[playerId].isSelected()) {
+        playersToSeparate.add(CommonFields.getPlayers()[playerId]);
+      }
+    }
+
+    if (playersToSeparate.size() != 2) {
+      CommonFunctions.showMessage("Seleccione exactamente 2 jugadores para separar",
+                                  parentComponent,
+                                  JOptionPane.INFORMATION_MESSAGE,
+                                  Constants.TITLE_MESSAGE_INFORMATION);
+
+      return;
+    }
+
+    if (anchorageRegistry.addSeparation(playersToSeparate.get(0), playersToSeparate.get(1)) == -1) {
+      CommonFunctions.showMessage("Los jugadores seleccionados ya están separados",
+                                  parentComponent,
+                                  JOptionPane.INFORMATION_MESSAGE,
+                                  Constants.TITLE_MESSAGE_INFORMATION);
+
+      return;
+    }
+
+    clearCheckboxes();
+    updateTextArea();
+    toggleButtons();
+  }
+
   /**
    * Deletes the last anchorage made, updating the text area and the state of the buttons.
    */
   public void deleteLastAnchorageButtonEvent() {
-    deleteAnchorage(anchoragesCount);
+    deleteAnchorage(anchorageRegistry.size());
     updateTextArea();
     toggleButtons();
   }
@@ -160,7 +212,7 @@ public class AnchoragesController extends Controller<AnchoragesView> {
    * @param parentComponent Graphical component where the dialogs associated with the event should be displayed.
    */
   public void deleteAnchorageButtonEvent(Component parentComponent) {
-    String[] optionsDelete = IntStream.rangeClosed(1, anchoragesCount)
+    String[] optionsDelete = IntStream.rangeClosed(1, anchorageRegistry.size())
                                       .mapToObj(Integer::toString)
                                       .toArray(String[]::new);
 
@@ -182,6 +234,35 @@ public class AnchoragesController extends Controller<AnchoragesView> {
     }
   }
 
+  /**
+   * Prompts the user for the number of the separation to delete, and removes it, updating the text area and the state of the buttons.
+   *
+   * @param parentComponent Graphical component where the dialogs associated with the event should be displayed.
+   */
+  public void deleteSeparationButtonEvent(Component parentComponent) {
+    String[] optionsDelete = IntStream.rangeClosed(1, anchorageRegistry.getSeparations()
+                                                                       .size())
+                                      .mapToObj(Integer::toString)
+                                      .toArray(String[]::new);
+
+    int separationToDelete = JOptionPane.showOptionDialog(
+      parentComponent,
+      "Seleccione qué separación desea borrar",
+      "Antes de continuar...",
+      JOptionPane.OK_CANCEL_OPTION,
+      JOptionPane.QUESTION_MESSAGE,
+      Constants.ICON_DIALOG,
+      optionsDelete,
+      optionsDelete[0]
+    );
+
+    if (separationToDelete != JOptionPane.CLOSED_OPTION) {
+      anchorageRegistry.removeSeparation(separationToDelete + 1);
+      updateTextArea();
+      toggleButtons();
+    }
+  }
+
   /**
    * Resets the controlled view to its default values.
    */
@@ -219,9 +300,6 @@ public class AnchoragesController extends Controller<AnchoragesView> {
 
   @Override
   protected void setUpInitialState() {
-    anchoragesCount = 0;
-    anchoredPlayersCount = 0;
-
     view.getFinishButton()
         .setEnabled(false);
   }
@@ -238,10 +316,14 @@ public class AnchoragesController extends Controller<AnchoragesView> {
         .addActionListener(e -> finishButtonEvent(CommonFunctions.getComponentFromEvent(e)));
     view.getNewAnchorageButton()
         .addActionListener(e -> newAnchorageButtonEvent(CommonFunctions.getComponentFromEvent(e)));
+    view.getSeparateButton()
+        .addActionListener(e -> separateButtonEvent(CommonFunctions.getComponentFromEvent(e)));
     view.getDeleteAnchorageButton()
         .addActionListener(e -> deleteAnchorageButtonEvent(CommonFunctions.getComponentFromEvent(e)));
     view.getDeleteLastAnchorageButton()
         .addActionListener(_ -> deleteLastAnchorageButtonEvent());
+    view.getDeleteSeparationButton()
+        .addActionListener(e -> deleteSeparationButtonEvent(CommonFunctions.getComponentFromEvent(e)));
     view.getClearAnchoragesButton()
         .addActionListener(_ -> clearAnchoragesButtonEvent());
     view.getBackButton()
@@ -251,170 +333,160 @@ public class AnchoragesController extends Controller<AnchoragesView> {
   // ---------- Private methods ----------------------------------------------------------------------------------------------------------------------
 
   /**
-   * Sets a new anchorage based on the players checked.
+   * Sets a new anchorage based on the players checked, and adds it to the anchorages registry. Then, unchecks their checkboxes and makes them
+   * invisible.
    *
-   * @see #setAnchorages(List)
+   * <p>The checkboxes are indexed by their players ids, so the selected players are found by their index.
    */
   private void newAnchorage() {
-    anchoragesCount++;
+    List<Player> playersToAnchor = new ArrayList<>();
 
-    view.getCheckboxesMap()
-        .values()
-        .stream()
-        .filter(checkboxesSet -> checkboxesSet.stream()
-                                              .anyMatch(JCheckBox::isSelected))
-        .forEach(this::setAnchorages);
-
-    anchoredPlayersCount = (int) CommonFields.getPlayersSets()
-                                             .values()
-                                             .stream()
-                                             .flatMap(List::stream)
-                                             .filter(Player::isAnchored)
-                                             .count();
+    for (int playerId = 0; playerId < playersCheckboxes.length; playerId++) {
+      JCheckBox checkbox = playersCheckboxes[playerId];
+
+      if (checkbox.isSelected()) {
+        playersToAnchor.add(CommonFields.getPlayers()[playerId]);
+
+        checkbox.setVisible(false);
+        checkbox.setSelected(false);
+      }
+    }
+
+    anchorageRegistry.add(playersToAnchor);
+  }
+
+  /**
+   * Loads the anchorages made before the view is shown (for example, when importing a roster): the anchored players checkboxes are hidden, and the
+   * anchorages counters, the text area and the buttons states are updated accordingly.
+   */
+  private void loadExistingAnchorages() {
+    anchorageRegistry.load(CommonFields.getPlayersSets());
+
+    for (Player player : CommonFields.getPlayers()) {
+      playersCheckboxes[player.getId()].setVisible(!player.isAnchored());
+    }
+
+    updateTextArea();
+    toggleButtons();
   }
 
   /**
    * Updates the text displayed in the read-only text area.
    *
-   * <p>The order in which the players are displayed in this text area corresponds to the order of the Position enum.
+   * <p>The order in which the players are displayed in this text area corresponds to the order of the Position enum, as stored in the anchorages
+   * registry. The separations are displayed after the anchorages.
    *
    * @see armameeldoparti.models.Position
    */
   private void updateTextArea() {
+    StringBuilder text = new StringBuilder();
+
+    for (int anchorageNumber = 1; anchorageNumber <= anchorageRegistry.size(); anchorageNumber++) {
+      text.append("ANCLAJE " + anchorageNumber + System.lineSeparator());
+
+      List<Player> anchorage = anchorageRegistry.get(anchorageNumber);
+
+      for (int playerIndex = 0; playerIndex < anchorage.size(); playerIndex++) {
+        text.append((playerIndex + 1) + ". " + anchorage.get(playerIndex)
+                                                        .getName() + System.lineSeparator());
+      }
+
+      if (anchorageNumber != anchorageRegistry.size()) {
+        text.append(System.lineSeparator());
+      }
+    }
+
+    List<Player[]> separations = anchorageRegistry.getSeparations();
+
+    for (int separationIndex = 0; separationIndex < separations.size(); separationIndex++) {
+      if (separationIndex != 0 || anchorageRegistry.size() != 0) {
+        text.append(System.lineSeparator());
+      }
+
+      text.append("SEPARACIÓN " + (separationIndex + 1) + System.lineSeparator());
+
+      for (int playerIndex = 0; playerIndex < separations.get(separationIndex).length; playerIndex++) {
+        text.append((playerIndex + 1) + ". " + separations.get(separationIndex)[playerIndex].getName() + System.lineSeparator());
+      }
+    }
+
     view.getTextArea()
-        .setText("");
-
-    IntStream.range(0, anchoragesCount)
-             .forEach(anchorageNumber -> {
-               view.getTextArea()
-                   .append("ANCLAJE " + (anchorageNumber + 1) + System.lineSeparator());
-
-               List<Player> anchorage = CommonFields.getPlayersSets()
-                                                    .entrySet()
-                                                    .stream()
-                                                    .flatMap(players -> players.getValue()
-                                                                               .stream()
-                                                                               .filter(player -> player.getAnchorageNumber() == anchorageNumber + 1))
-                                                    .sorted(Comparator.comparing(player -> player.getPosition()
-                                                                                                 .ordinal()))
-                                                    .toList();
-
-               for (Player player : anchorage) {
-                 view.getTextArea()
-                     .append((anchorage.indexOf(player) + 1) + ". " + player.getName() + System.lineSeparator());
-               }
-
-               if ((anchorageNumber + 1) != anchoragesCount) {
-                 view.getTextArea()
-                     .append(System.lineSeparator());
-               }
-             });
+        .setText(text.toString());
   }
 
   /**
    * Toggles the buttons and checkboxes states.
+   *
+   * <p>When the maximum number of anchored players is reached, only the new anchorage button is disabled, since the remaining players can still be
+   * separated. The separations can only be deleted one by one while there is any.
    */
   private void toggleButtons() {
     view.getAnchorageButtons()
         .forEach(button -> button.setEnabled(false));
 
-    if (anchoragesCount == 1) {
+    if (anchorageRegistry.size() == 1) {
       view.getFinishButton()
           .setEnabled(true);
       view.getDeleteLastAnchorageButton()
           .setEnabled(true);
       view.getClearAnchoragesButton()
           .setEnabled(true);
-    } else if (anchoragesCount > 1) {
+    } else if (anchorageRegistry.size() > 1) {
       view.getAnchorageButtons()
           .forEach(button -> button.setEnabled(true));
     }
 
-    if (Constants.MAX_ANCHORED_PLAYERS - anchoredPlayersCount < 2) {
-      view.getNewAnchorageButton()
-          .setEnabled(false);
-      view.getCheckboxesMap()
-          .values()
-          .stream()
-          .flatMap(List::stream)
-          .forEach(checkbox -> checkbox.setEnabled(!checkbox.isEnabled()));
-    } else {
-      view.getNewAnchorageButton()
+    boolean anySeparation = !anchorageRegistry.getSeparations()
+                                              .isEmpty();
+
+    if (anySeparation) {
+      view.getFinishButton()
+          .setEnabled(true);
+      view.getClearAnchoragesButton()
           .setEnabled(true);
-      view.getCheckboxesMap()
-          .values()
-          .stream()
-          .flatMap(List::stream)
-          .filter(checkbox -> !checkbox.isEnabled() && !checkbox.isSelected())
-          .forEach(checkbox -> checkbox.setEnabled(true));
     }
+
+    view.getDeleteSeparationButton()
+        .setEnabled(anySeparation);
+
+    view.getNewAnchorageButton()
+        .setEnabled(Constants.MAX_ANCHORED_PLAYERS - anchorageRegistry.getAnchoredPlayersCount() >= 2);
+    view.getCheckboxesMap()
+        .values()
+        .stream()
+        .flatMap(List::stream)
+        .filter(checkbox -> !checkbox.isEnabled() && !checkbox.isSelected())
+        .forEach(checkbox -> checkbox.setEnabled(true));
   }
 
   /**
-   * Clears the anchorages made, if any.
-   *
-   * @see #deleteAnchorage(int)
+   * Clears the anchorages made, if any, making their players checkboxes visible again.
    */
   private void clearAnchorages() {
-    while (anchoragesCount > 0) {
-      deleteAnchorage(anchoragesCount);
-    }
+    anchorageRegistry.clear()
+                     .forEach(this::showCheckbox);
   }
 
   /**
    * Deletes a specific anchorage.
    *
-   * <p>The players that have the specified anchorage now will have anchorage number 0. If the anchorage number to delete is not the last one, then
-   * the remaining players (from {@code anchorageToDelete + 1} up to {@code anchoragesCount}) will have their anchorage number decreased by 1.
+   * <p>The players that have the specified anchorage will be set as not-anchored, and their corresponding checkboxes will be visible again. The
+   * anchorages registry decreases by 1 the anchorage number of the players of the following anchorages.
    *
    * @param anchorageToDelete Anchorage number to delete.
    */
   private void deleteAnchorage(int anchorageToDelete) {
-    changeAnchorage(anchorageToDelete, 0);
-
-    if (anchorageToDelete != anchoragesCount) {
-      for (int anchorageNumber = anchorageToDelete + 1; anchorageNumber <= anchoragesCount; anchorageNumber++) {
-        changeAnchorage(anchorageNumber, anchorageNumber - 1);
-      }
-    }
-
-    anchoragesCount--;
+    anchorageRegistry.remove(anchorageToDelete)
+                     .forEach(this::showCheckbox);
   }
 
   /**
-   * Changes the anchorage number of certain players.
+   * Makes the checkbox of a player visible.
    *
-   * <p>If the replacement is 0 (an anchorage must be removed), then those players will be set as not-anchored, the players corresponding checkboxes
-   * will be visible and enabled again, and the anchored players count will be decreased as needed.
-   *
-   * @param target      Anchorage number to replace.
-   * @param replacement New anchorage number to set.
+   * @param player Player whose checkbox will be shown.
    */
-  private void changeAnchorage(int target, int replacement) {
-    CommonFields.getPlayersSets()
-                .values()
-                .stream()
-                .flatMap(List::stream)
-                .filter(player -> player.getAnchorageNumber() == target)
-                .forEach(
-                  player -> {
-                    player.setAnchorageNumber(replacement);
-
-                    if (replacement == 0) {
-                      player.setAnchored(false);
-
-                      CommonFunctions.retrieveOptional(view.getCheckboxesMap()
-                                                           .get(player.getPosition())
-                                                           .stream()
-                                                           .filter(checkbox -> checkbox.getText()
-                                                                                       .equals(player.getName()))
-                                                           .findFirst())
-                                     .setVisible(true);
-
-                      anchoredPlayersCount--;
-                    }
-                  }
-                );
+  private void showCheckbox(Player player) {
+    playersCheckboxes[player.getId()].setVisible(true);
   }
 
   /**
@@ -425,7 +497,7 @@ public class AnchoragesController extends Controller<AnchoragesView> {
     clearCheckboxes();
 
     if (CommonFields.getDistribution() == Constants.MIX_BY_SKILL_POINTS) {
-      ((SkillPointsInputController) CommonFunctions.getController(ProgramView.SKILL_POINTS)).updateNameLabels();
+      ((SkillPointsInputController) CommonFunctions.getController(ProgramView.SKILL_POINTS)).updateSkillPointsTable();
 
       CommonFunctions.getController(ProgramView.SKILL_POINTS)
                      .showView();
@@ -437,32 +509,6 @@ public class AnchoragesController extends Controller<AnchoragesView> {
     }
   }
 
-  /**
-   * Sets the corresponding anchorage number to the selected players. Then, unchecks their checkboxes and makes them invisible.
-   *
-   * @param cbSet Check boxes set with players checked.
-   */
-  private void setAnchorages(List<JCheckBox> cbSet) {
-    CommonFields.getPlayersSets()
-                .get(CommonFunctions.getCorrespondingPosition(view.getCheckboxesMap(), cbSet))
-                .stream()
-                .filter(player -> cbSet.stream()
-                                       .filter(JCheckBox::isSelected)
-                                       .anyMatch(checkbox -> checkbox.getText()
-                                                                     .equals(player.getName())))
-                .forEach(player -> {
-                  player.setAnchorageNumber(anchoragesCount);
-                  player.setAnchored(true);
-                });
-
-    cbSet.stream()
-         .filter(JCheckBox::isSelected)
-         .forEach(checkbox -> {
-           checkbox.setVisible(false);
-           checkbox.setSelected(false);
-         });
-  }
-
   /**
    * Unchecks the checked checkboxes.
    */
@@ -502,85 +548,53 @@ public class AnchoragesController extends Controller<AnchoragesView> {
    * @return Whether the number of selected players is at most the maximum allowed per anchorage.
    */
   private boolean validAnchoredPlayersCount(int playersToAnchorCount) {
-    return anchoredPlayersCount + playersToAnchorCount <= Constants.MAX_ANCHORED_PLAYERS;
+    return anchorageRegistry.getAnchoredPlayersCount() + playersToAnchorCount <= Constants.MAX_ANCHORED_PLAYERS;
   }
 
   /**
-   * Verifies recursively if the existing anchorages combination is possible to distribute (i.e.: no anchorages conflict exists) prior to perform the
+   * Verifies if the existing anchorages and separations combination is possible to distribute (i.e.: no conflict exists) prior to perform the
    * distribution itself.
    *
-   * <p>It starts by gathering the first anchorage: if there's no conflict in the first team, then it is added to it. If not, it tries to add it to
-   * the second team. If the anchorage can't be added successfully to any team, then an anchorages conflict exists. This procedure is repeated
-   * recursively with every anchorage. When the final anchorage is reached, the resulting temporary teams are validated to return that as the
-   * recursion break condition.
+   * <p>The team assignment solver looks for any valid distribution: if two players of the same anchorage are separated, or the separations form a
+   * cycle of odd length, a conflict exists right away. If not, the players are assigned one by one, propagating the anchorages, separations and
+   * players limits, and backtracking when a player can't be added to any team.
    *
-   * @param recursiveVerificationIndex Recursive index used to iterate through the existing anchorages.
-   * @param teams                      Empty, temporary teams.
+   * <p>The "java:S1190" and "java:S117" warnings are suppressed since JDK22 allows the use of unnamed variables.
+   *
+   * @param roster Compact roster where the players are temporarily distributed.
    *
-   * @return Whether the existing anchorages combination is possible to distribute.
+   * @return Whether the existing anchorages and separations combination is possible to distribute.
+   *
+   * @see armameeldoparti.utils.solver.TeamAssignmentSolver
    */
-  private boolean validAnchoragesCombination(int recursiveVerificationIndex, List<Team> teams) {
-    if (recursiveVerificationIndex == CommonFunctions.getAnchorages()
-                                                     .size()) {
-      return validTeams(teams);
-    }
-
-    List<Player> anchorage = CommonFunctions.getAnchorages()
-                                            .get(recursiveVerificationIndex);
-
-    for (int teamIndex = 0; teamIndex < teams.size(); teamIndex++) {
-      Team team = teams.get(teamIndex);
-
-      if (!anchoragesConflictExists(team, anchorage)) {
-        anchorage.forEach(player -> team.getTeamPlayers()
-                                        .get(player.getPosition())
-                                        .add(player));
-
-        if (validAnchoragesCombination(recursiveVerificationIndex + 1, teams)) {
-          return true;
-        }
+  @SuppressWarnings({"java:S1190", "java:S117"})
+  private boolean validAnchoragesCombination(CompactRoster roster) {
+    int[] playersOrder = new int[roster.getPlayersCount()];
 
-        team.clear();
-      }
+    for (int player = 0; player < playersOrder.length; player++) {
+      playersOrder[player] = player;
     }
 
-    return false;
+    return new TeamAssignmentSolver(roster).solve(playersOrder, _ -> 0);
   }
 
-  /**
-   * @param team      Temporary team.
-   * @param anchorage Anchorage to validate.
-   *
-   * @return Whether a given anchorage can be added to a given team without exceeding any players limit for their position sets.
-   */
-  private boolean anchoragesConflictExists(Team team, List<Player> anchorage) {
-    Map<Position, Integer> playersCountPerPosition = team.getPlayersCountPerPosition();
+  // ---------- Getters ------------------------------------------------------------------------------------------------------------------------------
 
-    for (Player player : anchorage) {
-      int newCount = playersCountPerPosition.getOrDefault(player.getPosition(), 0) + 1;
+  public AnchorageRegistry getAnchorageRegistry() {
+    return anchorageRegistry;
+  }
 
-      if (newCount > CommonFields.getPlayersLimitPerPosition()
-                                 .get(player.getPosition())) {
-        return true;
-      }
+  public JCheckBox[] getPlayersCheckboxes() {
+    return playersCheckboxes;
+  }
 
-      playersCountPerPosition.put(player.getPosition(), newCount);
-    }
+  // ---------- Setters ------------------------------------------------------------------------------------------------------------------------------
 
-    return false;
+  public void setAnchorageRegistry(AnchorageRegistry anchorageRegistry) {
+    this.anchorageRegistry = anchorageRegistry;
   }
 
-  /**
-   * @param teams Temporary teams.
-   *
-   * @return Whether any of the given teams has any position set with more than its allowed players limit.
-   */
-  private boolean validTeams(List<Team> teams) {
-    return teams.stream()
-                .allMatch(team -> CommonFields.getPlayersLimitPerPosition()
-                                              .entrySet()
-                                              .stream()
-                                              .noneMatch(positionLimit -> team.getPlayersCountPerPosition()
-                                                                              .getOrDefault(positionLimit.getKey(), 0) > positionLimit.getValue()));
+  public void setPlayersCheckboxes(JCheckBox[] playersCheckboxes) {
+    this.playersCheckboxes = playersCheckboxes;
   }
 }
\ No newline at end of file
@@ -1,23 +1,36 @@
 package armameeldoparti.controllers;
 
+import armameeldoparti.models.Error;
 import armameeldoparti.models.Player;
+import armameeldoparti.models.Position;
 import armameeldoparti.models.ProgramView;
 import armameeldoparti.utils.common.CommonFields;
 import armameeldoparti.utils.common.CommonFunctions;
 import armameeldoparti.utils.common.Constants;
+import armameeldoparti.utils.roster.RosterImporter;
+import armameeldoparti.utils.storage.PlayerRecord;
 import armameeldoparti.views.NamesInputView;
 import java.awt.Component;
 import java.awt.event.ItemEvent;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.io.IOException;
 import java.util.Collection;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.regex.Pattern;
-import java.util.stream.IntStream;
+import java.util.stream.Collectors;
 import javax.naming.InvalidNameException;
 import javax.swing.JComboBox;
+import javax.swing.JFileChooser;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.JTextArea;
+import javax.swing.JTextField;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import javax.swing.text.BadLocationException;
 
 /**
  * Names input view controller class.
@@ -30,6 +43,33 @@ import javax.swing.JPanel;
  */
 public class NamesInputController extends Controller<NamesInputView> {
 
+  // ---------- Private constants --------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Line separator used in the text area. Text area documents always use this separator internally, regardless of the platform.
+   */
+  private static final String TEXT_AREA_LINE_SEPARATOR = "\n";
+
+  /**
+   * Maximum number of stored players retrieved for each autocomplete lookup.
+   */
+  private static final int AUTOCOMPLETE_CANDIDATES = 16;
+
+  // ---------- Private fields -----------------------------------------------------------------------------------------------------------------------
+
+  private int playersCount;
+
+  /**
+   * Hash index of the entered names, used to validate duplicates in constant time. The names are stored normalized, in the same way they are
+   * assigned to the players.
+   */
+  private Map<String, Player> namesIndex;
+
+  /**
+   * Map that associates each named player with the text area line where its name is displayed.
+   */
+  private Map<Player, Integer> textAreaLines;
+
   // ---------- Constructor --------------------------------------------------------------------------------------------------------------------------
 
   /**
@@ -92,13 +132,179 @@ public class NamesInputController extends Controller<NamesInputView> {
                      .showView();
     } else {
       // By skill points distribution
-      ((SkillPointsInputController) CommonFunctions.getController(ProgramView.SKILL_POINTS)).updateNameLabels();
+      ((SkillPointsInputController) CommonFunctions.getController(ProgramView.SKILL_POINTS)).updateSkillPointsTable();
 
       CommonFunctions.getController(ProgramView.SKILL_POINTS)
                      .showView();
     }
   }
 
+  /**
+   * Asks the user for a roster file and imports it.
+   *
+   * <p>If the roster has any error, every error found is shown and the current players names are kept. If not, the imported roster replaces the
+   * current players names, and the anchorages option is enabled if the roster has any anchorage.
+   *
+   * <p>The "java:S1190" warning is suppressed since JDK22 allows the use of unnamed variables.
+   *
+   * @param parentComponent Graphical component where the dialogs associated with the event should be displayed.
+   *
+   * @see armameeldoparti.utils.roster.RosterImporter
+   */
+  @SuppressWarnings("java:S1190")
+  public void importButtonEvent(Component parentComponent) {
+    JFileChooser fileChooser = new JFileChooser();
+
+    fileChooser.setFileFilter(new FileNameExtensionFilter("Planteles (.csv, .tsv, .txt)", "csv", "tsv", "txt"));
+
+    if (fileChooser.showOpenDialog(parentComponent) != JFileChooser.APPROVE_OPTION) {
+      return;
+    }
+
+    RosterImporter rosterImporter = new RosterImporter(CommonFields.getPlayersSets());
+
+    try {
+      if (!rosterImporter.importRoster(fileChooser.getSelectedFile()
+                                                  .toPath())) {
+        CommonFunctions.showMessage(String.join(System.lineSeparator(), rosterImporter.getErrors()),
+                                    parentComponent,
+                                    JOptionPane.WARNING_MESSAGE,
+                                    Constants.TITLE_MESSAGE_WARNING);
+
+        return;
+      }
+    } catch (IOException _) {
+      CommonFunctions.showMessage("No se pudo leer el archivo seleccionado",
+                                  parentComponent,
+                                  JOptionPane.ERROR_MESSAGE,
+                                  Constants.TITLE_MESSAGE_ERROR);
+
+      return;
+    }
+
+    clearPlayersNames();
+
+    view.getTextArea()
+        .setText("");
+
+    if (rosterImporter.apply()) {
+      CommonFields.setAnchoragesEnabled(true);
+
+      view.getAnchoragesCheckbox()
+          .setSelected(true);
+    }
+
+    loadPlayersNames();
+    validateMixButtonEnable();
+  }
+
+  /**
+   * Loads the last distributed roster from the local players database, with the players names and skill points.
+   *
+   * <p>If there is no stored roster, or if it doesn't fit the current players distribution, the current players names are kept.
+   *
+   * @param parentComponent Graphical component where the dialogs associated with the event should be displayed.
+   */
+  public void loadRosterButtonEvent(Component parentComponent) {
+    List<Player> roster = CommonFields.getPlayersDatabase()
+                                      .getRoster(Constants.ROSTER_NAME_LAST);
+
+    if (roster == null) {
+      CommonFunctions.showMessage("No hay ningún plantel guardado",
+                                  parentComponent,
+                                  JOptionPane.INFORMATION_MESSAGE,
+                                  Constants.TITLE_MESSAGE_INFORMATION);
+
+      return;
+    }
+
+    Map<Position, List<Player>> rosterSets = roster.stream()
+                                                   .collect(Collectors.groupingBy(Player::getPosition));
+
+    if (rosterSets.entrySet()
+                  .stream()
+                  .anyMatch(entry -> entry.getValue()
+                                          .size() > CommonFields.getPlayersSets()
+                                                                .get(entry.getKey())
+                                                                .size())) {
+      CommonFunctions.showMessage("El plantel guardado no coincide con la distribución de jugadores actual",
+                                  parentComponent,
+                                  JOptionPane.WARNING_MESSAGE,
+                                  Constants.TITLE_MESSAGE_WARNING);
+
+      return;
+    }
+
+    clearPlayersNames();
+
+    view.getTextArea()
+        .setText("");
+
+    rosterSets.forEach((position, rosterSet) -> {
+      List<Player> playersSet = CommonFields.getPlayersSets()
+                                            .get(position);
+
+      for (int playerIndex = 0; playerIndex < rosterSet.size(); playerIndex++) {
+        playersSet.get(playerIndex)
+                  .setName(rosterSet.get(playerIndex)
+                                    .getName());
+        playersSet.get(playerIndex)
+                  .setSkillPoints(rosterSet.get(playerIndex)
+                                           .getSkillPoints());
+      }
+    });
+
+    loadPlayersNames();
+    validateMixButtonEnable();
+  }
+
+  /**
+   * Completes the text field input with the name of a stored player that starts with it, if any. The completed part of the name is left selected, so
+   * the user can keep typing to replace it or press enter to accept it.
+   *
+   * <p>Among the stored players whose names start with the input and are not already entered, the ones that usually play in the text field position
+   * are preferred.
+   *
+   * @param textField Text field where the user is typing.
+   * @param position  Position corresponding to the text field.
+   */
+  public void autocompleteEvent(JTextField textField, Position position) {
+    String text = textField.getText();
+
+    if (text.isEmpty()
+        || Character.isWhitespace(text.charAt(0))
+        || textField.getCaretPosition() != text.length()
+        || !validString(text)) {
+      return;
+    }
+
+    String prefix = text.toUpperCase()
+                        .replace(" ", "_");
+
+    List<PlayerRecord> candidates = CommonFields.getPlayersDatabase()
+                                                .findByPrefix(prefix, AUTOCOMPLETE_CANDIDATES)
+                                                .stream()
+                                                .filter(candidate -> candidate.getName()
+                                                                              .length() > prefix.length())
+                                                .filter(candidate -> !alreadyExists(candidate.getName()))
+                                                .toList();
+
+    if (candidates.isEmpty()) {
+      return;
+    }
+
+    String suggestion = candidates.stream()
+                                  .filter(candidate -> candidate.getPreferredPosition() == position)
+                                  .findFirst()
+                                  .orElse(candidates.get(0))
+                                  .getName();
+
+    textField.setText(text + suggestion.substring(prefix.length())
+                                       .replace("_", " "));
+    textField.select(text.length(), textField.getText()
+                                             .length());
+  }
+
   /**
    * Validates the user input with a regular expression that checks if the string contains only latin characters from A to Z including Ñ, uppercase or
    * lowercase, with or without accent mark, with or without spaces. If the input is not valid or already exists, the program asks for a new input.
@@ -122,18 +328,20 @@ public class NamesInputController extends Controller<NamesInputView> {
       throw new IllegalArgumentException();
     }
 
-    String name = text.trim()
-                      .toUpperCase()
-                      .replace(" ", "_");
+    String name = CommonFunctions.normalizeName(text);
 
     if (!validName(name)) {
       throw new InvalidNameException();
     }
 
-    playersSet.get(playerIndex)
-              .setName(name);
+    Player player = playersSet.get(playerIndex);
 
-    updateTextArea();
+    namesIndex.remove(player.getName());
+    namesIndex.put(name, player);
+
+    player.setName(name);
+
+    updateTextArea(player);
     validateMixButtonEnable();
   }
 
@@ -188,6 +396,15 @@ public class NamesInputController extends Controller<NamesInputView> {
 
   @Override
   protected void setUpInitialState() {
+    playersCount = CommonFields.getPlayersSets()
+                               .values()
+                               .stream()
+                               .mapToInt(List::size)
+                               .sum();
+
+    namesIndex = new HashMap<>(playersCount * 2);
+    textAreaLines = new HashMap<>(playersCount * 2);
+
     view.getMixButton()
         .setEnabled(false);
   }
@@ -202,6 +419,10 @@ public class NamesInputController extends Controller<NamesInputView> {
         .addActionListener(_ -> mixButtonEvent(view));
     view.getBackButton()
         .addActionListener(_ -> backButtonEvent());
+    view.getImportButton()
+        .addActionListener(e -> importButtonEvent(CommonFunctions.getComponentFromEvent(e)));
+    view.getLoadRosterButton()
+        .addActionListener(e -> loadRosterButtonEvent(CommonFunctions.getComponentFromEvent(e)));
     view.getRadioButtonRandom()
         .addItemListener(this::radioButtonEvent);
     view.getRadioButtonBySkillPoints()
@@ -212,7 +433,16 @@ public class NamesInputController extends Controller<NamesInputView> {
         .addActionListener(_ -> CommonFields.setAnchoragesEnabled(!CommonFields.isAnchoragesEnabled()));
     view.getTextFieldsMap()
         .forEach((player, textFieldsSet) ->
-          textFieldsSet.forEach(textField ->
+          textFieldsSet.forEach(textField -> {
+            textField.addKeyListener(new KeyAdapter() {
+              @Override
+              public void keyReleased(KeyEvent e) {
+                // Only the keys that insert a character trigger the autocomplete, so deleting the suggested part is not undone
+                if (e.getKeyChar() != KeyEvent.CHAR_UNDEFINED && !Character.isISOControl(e.getKeyChar())) {
+                  autocompleteEvent(textField, player);
+                }
+              }
+            });
             textField.addActionListener(e -> {
                 /*
                  * If the entered text is both a valid string and name, it will be applied to the corresponding player.
@@ -237,8 +467,8 @@ public class NamesInputController extends Controller<NamesInputView> {
                                                 .getName());
                 }
               }
-            )
-          )
+            );
+          })
         );
   }
 
@@ -275,32 +505,49 @@ public class NamesInputController extends Controller<NamesInputView> {
   }
 
   /**
-   * Updates the text displayed in the read-only text area.
+   * Updates the text displayed in the read-only text area with the given player name.
    *
-   * <p>The order in which the players are displayed in this text area corresponds to the order of the Position enum.
+   * <p>If the player name was already displayed, only its line is replaced. If not, a new line is appended at the end of the text area. The order in
+   * which the players are displayed in this text area corresponds to the order in which their names were entered.
    *
-   * @see armameeldoparti.models.Position
+   * <p>The "java:S1166" warning is suppressed since the bad location exception can't happen: the line number was obtained from the text area itself.
+   *
+   * @param player The player whose name was updated.
    */
-  private void updateTextArea() {
-    view.getTextArea()
-        .setText("");
+  @SuppressWarnings("java:S1166")
+  private void updateTextArea(Player player) {
+    JTextArea textArea = view.getTextArea();
+
+    Integer line = textAreaLines.get(player);
+
+    if (line == null) {
+      line = textAreaLines.size();
+
+      textAreaLines.put(player, line);
+      textArea.append((line == 0 ? "" : TEXT_AREA_LINE_SEPARATOR) + buildTextAreaLine(line, player));
+
+      return;
+    }
+
+    try {
+      int lineEnd = textArea.getLineEndOffset(line);
 
-    List<Player> players = CommonFields.getPlayersSets()
-                                       .entrySet()
-                                       .stream()
-                                       .flatMap(playersSet -> playersSet.getValue()
-                                                                        .stream()
-                                                                        .filter(player -> !player.getName()
-                                                                                                 .equals("")))
-                                       .sorted(Comparator.comparing(player -> player.getPosition()
-                                                                                    .ordinal()))
-                                       .toList();
-
-    IntStream.range(0, players.size())
-             .forEachOrdered(index -> view.getTextArea()
-                                          .append((index + 1) + " - " + players.get(index)
-                                                                               .getName()
-                                                  + (index < Constants.PLAYERS_TOTAL - 1 ? System.lineSeparator() : "")));
+      textArea.replaceRange(buildTextAreaLine(line, player),
+                            textArea.getLineStartOffset(line),
+                            line == textArea.getLineCount() - 1 ? lineEnd : lineEnd - TEXT_AREA_LINE_SEPARATOR.length());
+    } catch (BadLocationException e) {
+      CommonFunctions.exitProgram(Error.ERROR_INTERNAL);
+    }
+  }
+
+  /**
+   * @param line   Text area line index.
+   * @param player Player to display.
+   *
+   * @return The text to display in the specified text area line for the given player.
+   */
+  private String buildTextAreaLine(int line, Player player) {
+    return (line + 1) + " - " + player.getName();
   }
 
   /**
@@ -340,32 +587,64 @@ public class NamesInputController extends Controller<NamesInputView> {
                 .values()
                 .stream()
                 .flatMap(List::stream)
-                .forEach(player -> player.setName(""));
+                .forEach(player -> {
+                  player.setName("");
+                  player.setAnchored(false);
+                  player.setAnchorageNumber(0);
+                  player.getAlternativePositions()
+                        .clear();
+                });
+
+    namesIndex.clear();
+    textAreaLines.clear();
+  }
+
+  /**
+   * Loads the players names that were assigned outside the text fields (for example, when importing a roster) into the names index, the text fields
+   * and the text area.
+   */
+  private void loadPlayersNames() {
+    CommonFields.getPlayersSets()
+                .forEach((position, playersSet) -> {
+                  for (int playerIndex = 0; playerIndex < playersSet.size(); playerIndex++) {
+                    Player player = playersSet.get(playerIndex);
+
+                    if (!player.getName()
+                               .isEmpty()) {
+                      namesIndex.put(player.getName(), player);
+
+                      view.getTextFieldsMap()
+                          .get(position)
+                          .get(playerIndex)
+                          .setText(player.getName()
+                                         .replace("_", " "));
+
+                      updateTextArea(player);
+                    }
+                  }
+                });
   }
 
   /**
    * Checks if there is already a player with the specified name.
    *
-   * @param name Name to validate.
+   * @param name Normalized name to validate.
    *
    * @return Whether there is already a player with the specified name.
    */
   private boolean alreadyExists(String name) {
-    return CommonFields.getPlayersSets()
-                       .values()
-                       .stream()
-                       .flatMap(Collection::stream)
-                       .anyMatch(player -> player.getName()
-                                                 .equals(name));
+    return namesIndex.containsKey(name);
   }
 
   /**
    * Checks if every player has a valid non-empty name assigned and the players distribution method has been chosen.
    *
+   * <p>Since the names are unique, every player has a name when the names index holds as many names as players.
+   *
    * @return Whether every condition needed to distribute the players is met.
    */
   private boolean readyToDistribute() {
-    return !alreadyExists("") && distributionMethodHasBeenChosen();
+    return namesIndex.size() == playersCount && distributionMethodHasBeenChosen();
   }
 
   /**
@@ -1,5 +1,7 @@
 package armameeldoparti.controllers;
 
+import armameeldoparti.models.Error;
+import armameeldoparti.models.MixingStrategy;
 import armameeldoparti.models.Player;
 import armameeldoparti.models.Position;
 import armameeldoparti.models.ProgramView;
@@ -7,21 +9,35 @@ import armameeldoparti.models.Team;
 import armameeldoparti.utils.common.CommonFields;
 import armameeldoparti.utils.common.CommonFunctions;
 import armameeldoparti.utils.common.Constants;
+import armameeldoparti.utils.common.custom.graphical.CustomSpinner;
 import armameeldoparti.utils.common.custom.graphical.CustomTable;
-import armameeldoparti.utils.mixers.BySkillPointsMixer;
+import armameeldoparti.utils.mixers.AdaptiveMixer;
+import armameeldoparti.utils.mixers.AntiRepetitionMixer;
+import armameeldoparti.utils.mixers.CompactRoster;
+import armameeldoparti.utils.mixers.PlayersMixer;
 import armameeldoparti.utils.mixers.RandomMixer;
+import armameeldoparti.utils.solver.LineupImprovement;
+import armameeldoparti.utils.storage.CoOccurrenceMatrix;
+import armameeldoparti.utils.storage.MatchRecord;
 import armameeldoparti.views.ResultsView;
 import java.awt.Color;
 import java.awt.Component;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import javax.swing.JComponent;
+import javax.swing.JOptionPane;
 import javax.swing.JTable;
+import javax.swing.SpinnerNumberModel;
 import javax.swing.SwingConstants;
+import javax.swing.SwingWorker;
 import javax.swing.border.EmptyBorder;
 import javax.swing.table.DefaultTableCellRenderer;
 
@@ -42,10 +58,44 @@ public class ResultsController extends Controller<ResultsView> {
 
   // ---------- Private fields -----------------------------------------------------------------------------------------------------------------------
 
-  private BySkillPointsMixer bySkillPointsMixer;
+  private AdaptiveMixer adaptiveMixer;
+
+  private AntiRepetitionMixer antiRepetitionMixer;
+
+  /**
+   * Id of the player shown in each table cell, indexed by row and column. Only the cells that show a player name hold a valid id.
+   */
+  private int[][] cellsPlayersIds;
+
+  /**
+   * Co-occurrence matrix of the last distributed roster, or null if a match was recorded since it was resolved. It is resolved outside the
+   * Event Dispatch Thread before the distribution starts, and reused while the same roster is distributed again.
+   */
+  private volatile CoOccurrenceMatrix coOccurrences;
+
+  /**
+   * Compact roster distributed by the mixers. It is only built again when the players change, so redistributing the same players creates no roster.
+   */
+  private CompactRoster roster;
+
+  /**
+   * Compact roster used to show the lineup improvements reported by the distribution in progress, since the distribution keeps changing its own one.
+   */
+  private CompactRoster improvementsRoster;
+
+  /**
+   * Runs the distributions outside the Event Dispatch Thread, one at a time, so a cancelled distribution that is still stopping never runs
+   * concurrently with the next one.
+   */
+  private ExecutorService mixingExecutor;
 
   private RandomMixer randomMixer;
 
+  /**
+   * Distribution in progress or last finished, or null if the view was left since.
+   */
+  private SwingWorker<CompactRoster, LineupImprovement> mixingWorker;
+
   private CustomTable table;
 
   private Team team1;
@@ -53,6 +103,11 @@ public class ResultsController extends Controller<ResultsView> {
 
   private List<Team> teams;
 
+  /**
+   * Normalized names of the roster players, in the same order as in the roster.
+   */
+  private List<String> rosterNames;
+
   // ---------- Constructor --------------------------------------------------------------------------------------------------------------------------
 
   /**
@@ -63,14 +118,24 @@ public class ResultsController extends Controller<ResultsView> {
   public ResultsController(ResultsView resultsView) {
     super(resultsView);
 
-    bySkillPointsMixer = new BySkillPointsMixer();
+    adaptiveMixer = new AdaptiveMixer();
 
     randomMixer = new RandomMixer();
 
+    antiRepetitionMixer = new AntiRepetitionMixer(randomMixer);
+
     team1 = new Team(1);
     team2 = new Team(2);
 
-    teams = new ArrayList<>();
+    teams = Arrays.asList(team1, team2);
+
+    mixingExecutor = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "players-mixer");
+
+      thread.setDaemon(true);
+
+      return thread;
+    });
 
     setUpListeners();
   }
@@ -78,31 +143,50 @@ public class ResultsController extends Controller<ResultsView> {
   // ---------- Public methods -----------------------------------------------------------------------------------------------------------------------
 
   /**
-   * Creates the teams and the results table, applies the needed table format, fills the non-variable table cells and displays the distribution
-   * results.
+   * Builds the compact rosters of the current players, creates the results table, applies the needed table format, fills the non-variable table
+   * cells and starts distributing the players. The distribution results are displayed once the distribution finishes.
    */
   public void setUp() {
-    teams = (CommonFields.getDistribution() == Constants.MIX_RANDOM ? randomMix(Arrays.asList(team1, team2))
-                                                                    : bySkillPointsMix(Arrays.asList(team1, team2)));
+    boolean anchoragesEnabled = CommonFields.isAnchoragesEnabled();
+
+    roster = buildRoster(anchoragesEnabled);
+    improvementsRoster = buildRoster(anchoragesEnabled);
+    rosterNames = Arrays.stream(roster.getPlayers())
+                        .map(Player::getName)
+                        .toList();
 
     view.setTable(new CustomTable(Constants.PLAYERS_PER_TEAM + CommonFields.getDistribution() + 1, TABLE_COLUMNS));
     view.initializeInterface();
 
     table = (CustomTable) view.getTable();
 
+    cellsPlayersIds = new int[table.getRowCount()][TABLE_COLUMNS];
+
+    for (int[] rowPlayersIds : cellsPlayersIds) {
+      Arrays.fill(rowPlayersIds, Player.NO_ID);
+    }
+
     overrideTableFormat();
     fillTableFields();
-    updateTable();
 
     table.adjustCells();
 
     view.pack();
+
+    mix(true);
   }
 
   /**
-   * Resets the teams, resets the controlled view to its default values and makes it invisible, and shows the corresponding previous view.
+   * Cancels the distribution in progress, if any, resets the teams, resets the controlled view to its default values and makes it invisible, and
+   * shows the corresponding previous view.
    */
   public void backButtonEvent() {
+    if (mixingWorker != null) {
+      mixingWorker.cancel(true);
+
+      mixingWorker = null;
+    }
+
     resetTeams();
     resetView();
 
@@ -112,6 +196,9 @@ public class ResultsController extends Controller<ResultsView> {
       previousView = CommonFields.isAnchoragesEnabled() ? ProgramView.ANCHORAGES : ProgramView.NAMES_INPUT;
     } else {
       previousView = ProgramView.SKILL_POINTS;
+
+      // The ratings may have changed if the result was recorded, so the skill points not entered by the user are suggested again
+      ((SkillPointsInputController) CommonFunctions.getController(ProgramView.SKILL_POINTS)).updateSkillPointsTable();
     }
 
     CommonFunctions.getController(previousView)
@@ -119,14 +206,43 @@ public class ResultsController extends Controller<ResultsView> {
   }
 
   /**
-   * Resets the teams, redistributes the players with the specified method and updates the results table.
+   * Redistributes the players with the chosen method and updates the results table once the distribution finishes.
    */
   public void remixButtonEvent() {
-    resetTeams();
+    mix(false);
+  }
 
-    teams = randomMix(Arrays.asList(team1, team2));
+  /**
+   * Stops the distribution in progress, keeping the best lineup found so far, which is the one shown in the results table.
+   */
+  public void acceptButtonEvent() {
+    mixingWorker.cancel(true);
+  }
 
-    updateTable();
+  /**
+   * Prompts the user for the goals scored by each team in the lineup shown, and records the lineup as a played match together with its result, which
+   * updates the ratings of its players. Only the lineups recorded this way are stored in the match history as played matches, so the lineups that
+   * were generated but not played only count in the generated lineups statistics. Each lineup can only be recorded once.
+   */
+  public void resultButtonEvent() {
+    CustomSpinner firstTeamGoals = new CustomSpinner(new SpinnerNumberModel(0, 0, Constants.MAX_GOALS, 1));
+    CustomSpinner secondTeamGoals = new CustomSpinner(new SpinnerNumberModel(0, 0, Constants.MAX_GOALS, 1));
+
+    int option = JOptionPane.showConfirmDialog(
+      view,
+      new Object[] {"Goles del equipo 1", firstTeamGoals, "Goles del equipo 2", secondTeamGoals},
+      "Resultado del partido",
+      JOptionPane.OK_CANCEL_OPTION,
+      JOptionPane.QUESTION_MESSAGE,
+      Constants.ICON_DIALOG
+    );
+
+    if (option == JOptionPane.OK_OPTION) {
+      recordMatch((int) firstTeamGoals.getValue(), (int) secondTeamGoals.getValue());
+
+      view.getResultButton()
+          .setEnabled(false);
+    }
   }
 
   /**
@@ -147,7 +263,11 @@ public class ResultsController extends Controller<ResultsView> {
         Arrays.stream(Position.values())
               .forEach(position -> team.getTeamPlayers()
                                        .get(position)
-                                       .forEach(player -> table.setValueAt(player.getName(), wrapper.row++, wrapper.column)));
+                                       .forEach(player -> {
+                                         cellsPlayersIds[wrapper.row][wrapper.column] = player.getId();
+
+                                         table.setValueAt(player.getName(), wrapper.row++, wrapper.column);
+                                       }));
 
         wrapper.column++;
         wrapper.row = 1;
@@ -159,10 +279,11 @@ public class ResultsController extends Controller<ResultsView> {
         table.setValueAt(
           teams.get(teamIndex)
                .getTeamPlayers()
-               .values()
+               .entrySet()
                .stream()
-               .flatMap(List::stream)
-               .mapToInt(Player::getSkillPoints)
+               .flatMapToInt(positionPlayers -> positionPlayers.getValue()
+                                                               .stream()
+                                                               .mapToInt(player -> player.getSkillPoints(positionPlayers.getKey())))
                .reduce(0, Math::addExact),
           table.getRowCount() - 1,
           teamIndex + 1
@@ -171,28 +292,6 @@ public class ResultsController extends Controller<ResultsView> {
     }
   }
 
-  /**
-   * Distributes the players randomly.
-   *
-   * @param teams Teams to populate randomly.
-   *
-   * @return The updated teams with the players distributed.
-   */
-  public List<Team> randomMix(List<Team> teams) {
-    return CommonFields.isAnchoragesEnabled() ? randomMixer.withAnchorages(teams) : randomMixer.withoutAnchorages(teams);
-  }
-
-  /**
-   * Distributes the players based on their skill points.
-   *
-   * @param teams Teams to populate by skill points.
-   *
-   * @return The updated teams with the players distributed.
-   */
-  public List<Team> bySkillPointsMix(List<Team> teams) {
-    return CommonFields.isAnchoragesEnabled() ? bySkillPointsMixer.withAnchorages(teams) : bySkillPointsMixer.withoutAnchorages(teams);
-  }
-
   // ---------- Protected methods --------------------------------------------------------------------------------------------------------------------
 
   /**
@@ -221,10 +320,278 @@ public class ResultsController extends Controller<ResultsView> {
         .addActionListener(_ -> backButtonEvent());
     view.getRemixButton()
         .addActionListener(_ -> remixButtonEvent());
+    view.getAcceptButton()
+        .addActionListener(_ -> acceptButtonEvent());
+    view.getResultButton()
+        .addActionListener(_ -> resultButtonEvent());
   }
 
   // ---------- Private methods ----------------------------------------------------------------------------------------------------------------------
 
+  /**
+   * Distributes the players outside the Event Dispatch Thread with the chosen method, showing the progress bar meanwhile. When the distribution
+   * finishes, the teams and the results table are updated back in the Event Dispatch Thread.
+   *
+   * <p>The compact rosters are built when the view is set up, in the Event Dispatch Thread, and every redistribution of the same players resets and
+   * reuses them. The random distribution favors the lineups that repeat the fewest past pairings.
+   *
+   * <p>The distribution by skill points picks the strategy that fits the roster, and with either strategy reports every better lineup it finds, which
+   * is shown in the results table right away. The user can then accept the lineup shown, cancelling the distribution without discarding its results.
+   *
+   * @param isFirstMix Whether the results are being displayed for the first time, so the table must be resized and the roster saved.
+   *
+   * @see armameeldoparti.utils.mixers.AntiRepetitionMixer
+   */
+  private void mix(boolean isFirstMix) {
+    boolean anchoragesEnabled = CommonFields.isAnchoragesEnabled();
+
+    PlayersMixer mixer = CommonFields.getDistribution() == Constants.MIX_RANDOM ? antiRepetitionMixer : adaptiveMixer;
+
+    // A cancelled distribution may still be stopping with the previous rosters, so the current ones are captured for this distribution
+    CompactRoster mixedRoster = roster;
+    CompactRoster shownRoster = improvementsRoster;
+    List<String> names = rosterNames;
+
+    setMixing(true);
+
+    mixingWorker = new SwingWorker<>() {
+      @Override
+      protected CompactRoster doInBackground() throws InterruptedException, ExecutionException {
+        resolveCoOccurrences(names);
+
+        mixedRoster.reset();
+
+        Consumer<LineupImprovement> improvementsListener = improvement -> publish(improvement);
+
+        adaptiveMixer.getExactMixer()
+                     .setImprovementsListener(improvementsListener);
+        adaptiveMixer.getHeuristicMixer()
+                     .setImprovementsListener(improvementsListener);
+
+        if (anchoragesEnabled) {
+          mixer.withAnchorages(mixedRoster);
+        } else {
+          mixer.withoutAnchorages(mixedRoster);
+        }
+
+        return mixedRoster;
+      }
+
+      @Override
+      protected void process(List<LineupImprovement> improvements) {
+        if (!isCancelled() && mixingWorker == this) {
+          showImprovement(shownRoster, improvements.getLast(), isFirstMix);
+        }
+      }
+
+      @Override
+      protected void done() {
+        // The view was left, so the results are no longer needed. The distribution may have finished before being cancelled
+        if (mixingWorker != this) {
+          return;
+        }
+
+        // The lineup shown was accepted before the distribution finished
+        if (isCancelled()) {
+          showResults(isFirstMix);
+
+          return;
+        }
+
+        try {
+          get().applyTo(teams);
+        } catch (InterruptedException e) {
+          Thread.currentThread()
+                .interrupt();
+
+          return;
+        } catch (ExecutionException e) {
+          CommonFunctions.exitProgram(Error.ERROR_INTERNAL);
+        }
+
+        showResults(isFirstMix);
+
+        if (mixer == adaptiveMixer) {
+          showMixingSummary();
+        }
+      }
+    };
+
+    mixingExecutor.execute(mixingWorker);
+  }
+
+  /**
+   * Gives the mixers the co-occurrence matrix of the roster to distribute. The matrix is only requested to the match history if the roster changed
+   * or a match was recorded since it was last resolved, and the wait for it can be interrupted when the distribution is cancelled.
+   *
+   * @param names Normalized names of the roster players.
+   *
+   * @throws InterruptedException If the distribution is cancelled while waiting for the match history.
+   * @throws ExecutionException   If the matrix can't be built.
+   */
+  private void resolveCoOccurrences(List<String> names) throws InterruptedException, ExecutionException {
+    CoOccurrenceMatrix resolvedCoOccurrences = coOccurrences;
+
+    if (resolvedCoOccurrences == null || !resolvedCoOccurrences.getNames()
+                                                               .equals(names)) {
+      resolvedCoOccurrences = CommonFields.getMatchHistory()
+                                          .computeCoOccurrences(names)
+                                          .get();
+
+      coOccurrences = resolvedCoOccurrences;
+    }
+
+    antiRepetitionMixer.setCoOccurrences(resolvedCoOccurrences);
+    adaptiveMixer.getExactMixer()
+                 .setCoOccurrences(resolvedCoOccurrences);
+  }
+
+  /**
+   * @param anchoragesEnabled Whether the anchorages and separations must be considered.
+   *
+   * @return A compact roster with the current players, every one of them unassigned.
+   */
+  private CompactRoster buildRoster(boolean anchoragesEnabled) {
+    return anchoragesEnabled ? CompactRoster.of(CommonFields.getPlayersSets(),
+                                                CommonFields.getDistributionPlan(),
+                                                CommonFields.getAnchorageRegistry()
+                                                            .getSeparations())
+                             : CompactRoster.of(CommonFields.getPlayersSets(), CommonFields.getDistributionPlan());
+  }
+
+  /**
+   * Displays a lineup improvement reported by the distribution in progress in the results table, together with its objective values, and allows the
+   * user to accept it.
+   *
+   * @param improvementsRoster Compact roster used to apply the improvement to the teams.
+   * @param improvement        Best lineup found so far.
+   * @param isFirstMix         Whether the results are being displayed for the first time, so the table must be resized.
+   */
+  private void showImprovement(CompactRoster improvementsRoster, LineupImprovement improvement, boolean isFirstMix) {
+    for (int player = 0; player < improvementsRoster.getPlayersCount(); player++) {
+      improvementsRoster.moveToPosition(player, improvement.getPositions()[player]);
+    }
+
+    improvementsRoster.restore(improvementsRoster.getPlayersMask(), improvement.getTeamMask());
+    improvementsRoster.applyTo(teams);
+
+    updateTable();
+
+    if (isFirstMix) {
+      table.adjustCells();
+
+      view.pack();
+    }
+
+    view.getImprovementLabel()
+        .setText("Diferencia de puntuación: " + improvement.getSkillDifference()
+                 + (improvement.hasRepeatedPairings() ? " | Compañeros repetidos: " + improvement.getRepeatedPairings()
+                                                        + " (a lo sumo " + improvement.getGap() + " sobre el mínimo)"
+                                                      : ""));
+    view.getImprovementLabel()
+        .setVisible(true);
+    view.getAcceptButton()
+        .setVisible(true);
+  }
+
+  /**
+   * Displays how the last distribution by skill points was made: the strategy chosen for the roster and its running time, how many distributions
+   * were made with each strategy, and how many of the exact ones were taken from the results cache.
+   */
+  private void showMixingSummary() {
+    int[] strategiesUses = adaptiveMixer.getStrategiesUses();
+
+    view.getImprovementLabel()
+        .setText((adaptiveMixer.getLastStrategy() == MixingStrategy.EXACT ? "Distribución exacta" : "Distribución heurística")
+                 + " en " + TimeUnit.NANOSECONDS.toMillis(adaptiveMixer.getLastElapsedNanos()) + " ms"
+                 + " | Exactas: " + strategiesUses[MixingStrategy.EXACT.ordinal()]
+                 + ", heurísticas: " + strategiesUses[MixingStrategy.HEURISTIC.ordinal()]
+                 + " | Aciertos en caché: " + Math.round(100 * adaptiveMixer.getExactMixer()
+                                                                         .getResultsCache()
+                                                                         .getHitRate()) + " %");
+    view.getImprovementLabel()
+        .setVisible(true);
+  }
+
+  /**
+   * Displays the distributed teams in the results table, and logs them in the match history as a generated lineup.
+   *
+   * @param isFirstMix Whether the results are being displayed for the first time, so the table must be resized and the roster saved.
+   */
+  private void showResults(boolean isFirstMix) {
+    updateTable();
+    setMixing(false);
+
+    CommonFields.getMatchHistory()
+                .log(takeLineup());
+
+    if (isFirstMix) {
+      table.adjustCells();
+
+      view.pack();
+
+      centerView();
+      saveRoster();
+    }
+  }
+
+  /**
+   * Shows or hides the progress bar. The players can't be redistributed nor the result recorded while a distribution is in progress, and the lineup
+   * improvements are only shown while it is in progress. Once it finishes, the label is only used for the summary of the distribution.
+   *
+   * @param isMixing Whether a distribution is in progress.
+   */
+  private void setMixing(boolean isMixing) {
+    view.getProgressBar()
+        .setVisible(isMixing);
+    view.getRemixButton()
+        .setEnabled(!isMixing);
+    view.getResultButton()
+        .setEnabled(!isMixing);
+    view.getImprovementLabel()
+        .setVisible(false);
+    view.getAcceptButton()
+        .setVisible(false);
+  }
+
+  /**
+   * Appends the lineup shown to the match history as a played match, together with its result. The lineup is copied before returning, so it is
+   * written in the background while the teams can be modified. The co-occurrence matrix is resolved again in the next distribution, so the match is
+   * considered.
+   *
+   * @param firstTeamGoals  Goals scored by the first team.
+   * @param secondTeamGoals Goals scored by the second team.
+   */
+  private void recordMatch(int firstTeamGoals, int secondTeamGoals) {
+    coOccurrences = null;
+
+    CommonFields.getMatchHistory()
+                .record(takeLineup(), firstTeamGoals, secondTeamGoals);
+  }
+
+  /**
+   * @return A copy of the lineup shown, together with the distribution method and the seed used to generate it, so it can be written in the
+   *         background while the teams are modified.
+   */
+  private MatchRecord takeLineup() {
+    return MatchRecord.of(teams,
+                          CommonFields.getDistribution() == Constants.MIX_RANDOM ? antiRepetitionMixer.getSeed() : 0,
+                          CommonFields.getDistribution());
+  }
+
+  /**
+   * Stores the distributed players in the local players database as the last roster, so they can be retrieved in future sessions. The roster is
+   * written in the background.
+   */
+  private void saveRoster() {
+    CommonFields.getPlayersDatabase()
+                .saveRoster(Constants.ROSTER_NAME_LAST, CommonFields.getPlayersSets()
+                                                                    .values()
+                                                                    .stream()
+                                                                    .flatMap(List::stream)
+                                                                    .toList());
+  }
+
   /**
    * Fills the table cells whose texts do not change.
    */
@@ -335,16 +702,13 @@ public class ResultsController extends Controller<ResultsView> {
                 return c;
               }
 
-              Player playerOnCell = CommonFunctions.retrieveOptional(CommonFields.getPlayersSets()
-                                                                                 .values()
-                                                                                 .stream()
-                                                                                 .flatMap(List::stream)
-                                                                                 .filter(player -> player.getName() == value)
-                                                                                 .findFirst());
+              // The cells are empty until the first distribution finishes
+              int anchorageNumber = cellsPlayersIds[row][column] == Player.NO_ID ? 0 : CommonFields.getPlayers()[cellsPlayersIds[row][column]]
+                                                                                                   .getAnchorageNumber();
 
-              c.setBackground(playerOnCell.getAnchorageNumber() != 0 ? Constants.COLORS_ANCHORAGES
-                                                                                .get(playerOnCell.getAnchorageNumber() - 1)
-                                                                     : Constants.COLOR_GREEN_LIGHT_WHITE);
+              c.setBackground(anchorageNumber != 0 ? Constants.COLORS_ANCHORAGES
+                                                              .get(anchorageNumber - 1)
+                                                   : Constants.COLOR_GREEN_LIGHT_WHITE);
               c.setForeground(Color.BLACK);
 
               ((DefaultTableCellRenderer) c).setHorizontalAlignment(SwingConstants.LEFT);
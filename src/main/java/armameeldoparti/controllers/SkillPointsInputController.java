@@ -1,11 +1,16 @@
 package armameeldoparti.controllers;
 
-import armameeldoparti.models.Position;
+import armameeldoparti.models.Player;
 import armameeldoparti.models.ProgramView;
 import armameeldoparti.utils.common.CommonFields;
 import armameeldoparti.utils.common.CommonFunctions;
 import armameeldoparti.utils.common.Constants;
+import armameeldoparti.utils.storage.PlayerRecord;
 import armameeldoparti.views.SkillPointsInputView;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.swing.SwingUtilities;
 
 /**
  * Skill points input view controller class.
@@ -18,6 +23,19 @@ import armameeldoparti.views.SkillPointsInputView;
  */
 public class SkillPointsInputController extends Controller<SkillPointsInputView> {
 
+  // ---------- Private fields -----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Number of the last ratings request. The ratings of an older request are discarded, since the view was left or reset after it was made.
+   */
+  private int lastRatingsRequest;
+
+  /**
+   * Skill points suggested to each player: the last ones stored for it in the local players database, the ones given by its rating, or the initial
+   * ones. A player whose skill points differ from the suggested ones was edited by the user, so it keeps them.
+   */
+  private Map<Player, Integer> suggestedSkillPoints;
+
   // ---------- Constructor --------------------------------------------------------------------------------------------------------------------------
 
   /**
@@ -27,19 +45,24 @@ public class SkillPointsInputController extends Controller<SkillPointsInputView>
    */
   public SkillPointsInputController(SkillPointsInputView skillPointsInputView) {
     super(skillPointsInputView);
+    setSuggestedSkillPoints(new IdentityHashMap<>());
     setUpListeners();
   }
 
   // ---------- Public methods -----------------------------------------------------------------------------------------------------------------------
 
   /**
-   * Sets the entered skill points for each player, makes the controlled view invisible and shows the results view.
+   * Commits the skill points being edited, if any, discards the pending ratings request, makes the controlled view invisible and shows the results
+   * view.
+   *
+   * <p>The skill points table writes the entered values directly into the players model, so there is nothing else to gather here.
    */
   public void finishButtonEvent() {
-    hideView();
+    view.stopEditing();
+
+    lastRatingsRequest++;
 
-    view.getSpinnersMap()
-        .forEach((player, spinner) -> player.setSkillPoints((int) spinner.getValue()));
+    hideView();
 
     ((ResultsController) CommonFunctions.getController(ProgramView.RESULTS)).setUp();
 
@@ -48,10 +71,11 @@ public class SkillPointsInputController extends Controller<SkillPointsInputView>
   }
 
   /**
-   * Sets 0 skill points to every player and resets every spinner value to the minimum assignable skill point.
+   * Discards every skill points entered by the user, and suggests the skill points of every player again.
    */
   public void resetSkillPointsButtonEvent() {
     resetSkillPoints();
+    updateSkillPointsTable();
   }
 
   /**
@@ -66,19 +90,48 @@ public class SkillPointsInputController extends Controller<SkillPointsInputView>
   }
 
   /**
-   * Updates the players name labels.
+   * Updates the skill points table with the current players names. Every player whose skill points were not entered by the user gets the last skill
+   * points stored for it in the local players database or, if there are none, the initial skill points.
+   *
+   * <p>The players ratings are then requested to the match history in the background, so the Event Dispatch Thread never waits for the pending
+   * records. When they arrive, every player that played any match with a result and whose skill points were not edited meanwhile gets the skill
+   * points given by its rating. The ratings are computed when the program starts, so they usually arrive right away.
    */
-  public void updateNameLabels() {
-    for (Position position : Position.values()) {
-      CommonFields.getPlayersSets()
-                  .get(position)
-                  .forEach(player -> view.getLabelsMap()
-                                         .get(view.getSpinnersMap()
-                                                  .get(player))
-                                         .setText(player.getName()));
+  public void updateSkillPointsTable() {
+    List<Player> pendingPlayers = view.getPlayers()
+                                      .stream()
+                                      .filter(this::isSuggested)
+                                      .toList();
+
+    int[] storedSkillPoints = new int[pendingPlayers.size()];
+
+    for (int playerIndex = 0; playerIndex < pendingPlayers.size(); playerIndex++) {
+      Player player = pendingPlayers.get(playerIndex);
+
+      PlayerRecord playerRecord = CommonFields.getPlayersDatabase()
+                                              .getPlayer(player.getName());
+
+      int lastSkillPoints = playerRecord == null ? 0 : playerRecord.getLastSkillPoints();
+
+      storedSkillPoints[playerIndex] = lastSkillPoints >= Constants.SKILL_MIN && lastSkillPoints <= Constants.SKILL_MAX ? lastSkillPoints
+                                                                                                                        : Constants.SKILL_INI;
+
+      player.setSkillPoints(storedSkillPoints[playerIndex]);
+
+      suggestedSkillPoints.put(player, storedSkillPoints[playerIndex]);
     }
 
-    view.pack();
+    view.refreshTable();
+
+    int ratingsRequest = ++lastRatingsRequest;
+
+    CommonFields.getMatchHistory()
+                .computeRatedSkillPoints(pendingPlayers.stream()
+                                                       .map(Player::getName)
+                                                       .toList())
+                .thenAccept(ratedSkillPoints -> SwingUtilities.invokeLater(() -> applyRatedSkillPoints(ratingsRequest,
+                                                                                                       pendingPlayers,
+                                                                                                       ratedSkillPoints)));
   }
 
   // ---------- Protected methods --------------------------------------------------------------------------------------------------------------------
@@ -110,13 +163,74 @@ public class SkillPointsInputController extends Controller<SkillPointsInputView>
   // ---------- Private methods ----------------------------------------------------------------------------------------------------------------------
 
   /**
-   * Sets 0 skill points to every player and resets every spinner value to the minimum skill point.
+   * Sets the skill points given by the players ratings, if they belong to the last ratings request. A player edited since the ratings were requested
+   * keeps its skill points.
+   *
+   * @param ratingsRequest   Number of the ratings request.
+   * @param players          Players whose ratings were requested.
+   * @param ratedSkillPoints Skill points given by the rating of each player, or -1 if it has not played any match with a result.
+   */
+  private void applyRatedSkillPoints(int ratingsRequest, List<Player> players, int[] ratedSkillPoints) {
+    if (ratingsRequest != lastRatingsRequest) {
+      return;
+    }
+
+    for (int playerIndex = 0; playerIndex < players.size(); playerIndex++) {
+      Player player = players.get(playerIndex);
+
+      if (ratedSkillPoints[playerIndex] != -1 && isSuggested(player)) {
+        player.setSkillPoints(ratedSkillPoints[playerIndex]);
+
+        suggestedSkillPoints.put(player, ratedSkillPoints[playerIndex]);
+      }
+    }
+
+    view.refreshTable();
+  }
+
+  /**
+   * @param player Player to check.
+   *
+   * @return Whether the player skill points were not entered by the user: either it has no valid skill points yet, or it still has the suggested
+   *         ones.
+   */
+  private boolean isSuggested(Player player) {
+    Integer suggested = suggestedSkillPoints.get(player);
+
+    return player.getSkillPoints() < Constants.SKILL_MIN || suggested != null && suggested == player.getSkillPoints();
+  }
+
+  /**
+   * Discards the pending ratings request and the suggested skill points, cancels the current cell edition, if any, and unassigns the skill points of
+   * every player, so they are suggested again the next time the table is updated.
    */
   private void resetSkillPoints() {
-    view.getSpinnersMap()
-        .forEach((player, spinner) -> {
-          player.setSkillPoints(0);
-          spinner.setValue(Constants.SKILL_MIN);
-        });
+    lastRatingsRequest++;
+
+    if (view.getTable()
+            .isEditing()) {
+      view.getTable()
+          .getCellEditor()
+          .cancelCellEditing();
+    }
+
+    view.getPlayers()
+        .forEach(player -> player.setSkillPoints(Constants.SKILL_UNASSIGNED));
+
+    suggestedSkillPoints.clear();
+
+    view.refreshTable();
+  }
+
+  // ---------- Getters ------------------------------------------------------------------------------------------------------------------------------
+
+  public Map<Player, Integer> getSuggestedSkillPoints() {
+    return suggestedSkillPoints;
+  }
+
+  // ---------- Setters ------------------------------------------------------------------------------------------------------------------------------
+
+  public void setSuggestedSkillPoints(Map<Player, Integer> suggestedSkillPoints) {
+    this.suggestedSkillPoints = suggestedSkillPoints;
   }
 }
\ No newline at end of file
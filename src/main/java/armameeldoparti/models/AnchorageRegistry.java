@@ -0,0 +1,269 @@
+package armameeldoparti.models;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Anchorages registry class.
+ *
+ * <p>Keeps the anchored players grouped by their anchorage number, in the order in which the anchorages were made. The registry is updated every time
+ * an anchorage is added or removed, so the groups and their players count per position are always available without traversing the players sets.
+ *
+ * <p>It also keeps the separations: pairs of players that must not be on the same team.
+ *
+ * @author Bonino, Francisco Ignacio.
+ *
+ * @version 0.0.1
+ *
+ * @since 3.0
+ */
+public class AnchorageRegistry {
+
+  // ---------- Private fields -----------------------------------------------------------------------------------------------------------------------
+
+  private int anchoredPlayersCount;
+
+  /**
+   * Anchored players of each anchorage, sorted in the same order as the Position enum. The anchorage {@code n} is stored at the index {@code n - 1}.
+   */
+  private List<List<Player>> anchorages;
+
+  /**
+   * Number of anchored players per position of each anchorage, indexed by the position ordinal. The anchorage {@code n} is stored at the index
+   * {@code n - 1}.
+   */
+  private List<int[]> positionsCounts;
+
+  /**
+   * Pairs of players that must be distributed in different teams, in the order in which they were made.
+   */
+  private List<Player[]> separations;
+
+  // ---------- Constructor --------------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Builds an empty anchorages registry.
+   */
+  public AnchorageRegistry() {
+    setAnchoredPlayersCount(0);
+    setAnchorages(new ArrayList<>());
+    setPositionsCounts(new ArrayList<>());
+    setSeparations(new ArrayList<>());
+  }
+
+  // ---------- Public methods -----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Makes a new anchorage with the given players, which are set as anchored with the new anchorage number.
+   *
+   * @param players Players to anchor.
+   *
+   * @return The new anchorage number.
+   */
+  public int add(Collection<Player> players) {
+    List<Player> anchorage = new ArrayList<>(players);
+
+    anchorage.sort(Comparator.comparing(Player::getPosition));
+
+    int[] anchoragePositionsCount = new int[Position.values().length];
+    int anchorageNumber = anchorages.size() + 1;
+
+    for (Player player : anchorage) {
+      player.setAnchored(true);
+      player.setAnchorageNumber(anchorageNumber);
+
+      anchoragePositionsCount[player.getPosition()
+                                    .ordinal()]++;
+    }
+
+    anchorages.add(anchorage);
+    positionsCounts.add(anchoragePositionsCount);
+
+    anchoredPlayersCount += anchorage.size();
+
+    return anchorageNumber;
+  }
+
+  /**
+   * Removes an anchorage. Its players are set as not anchored, and the following anchorages numbers are decreased by 1.
+   *
+   * @param anchorageNumber Number of the anchorage to remove.
+   *
+   * @return The players that were anchored in the removed anchorage.
+   */
+  public List<Player> remove(int anchorageNumber) {
+    List<Player> anchorage = anchorages.remove(anchorageNumber - 1);
+
+    positionsCounts.remove(anchorageNumber - 1);
+
+    for (Player player : anchorage) {
+      player.setAnchored(false);
+      player.setAnchorageNumber(0);
+    }
+
+    for (int index = anchorageNumber - 1; index < anchorages.size(); index++) {
+      for (Player player : anchorages.get(index)) {
+        player.setAnchorageNumber(index + 1);
+      }
+    }
+
+    anchoredPlayersCount -= anchorage.size();
+
+    return anchorage;
+  }
+
+  /**
+   * Makes a new separation between two players, unless they are already separated.
+   *
+   * @param player1 First player to separate.
+   * @param player2 Second player to separate.
+   *
+   * @return The new separation number, or -1 if the players were already separated, in which case nothing is done.
+   */
+  public int addSeparation(Player player1, Player player2) {
+    if (isSeparated(player1, player2)) {
+      return -1;
+    }
+
+    separations.add(new Player[] {player1, player2});
+
+    return separations.size();
+  }
+
+  /**
+   * Removes a separation. The following separations numbers are decreased by 1.
+   *
+   * @param separationNumber Number of the separation to remove.
+   *
+   * @return The players that were separated.
+   */
+  public Player[] removeSeparation(int separationNumber) {
+    return separations.remove(separationNumber - 1);
+  }
+
+  /**
+   * @param player1 A player.
+   * @param player2 Another player.
+   *
+   * @return Whether both players are separated, regardless of the order in which the separation was made.
+   */
+  public boolean isSeparated(Player player1, Player player2) {
+    return separations.stream()
+                      .anyMatch(separation -> separation[0] == player1 && separation[1] == player2
+                                              || separation[0] == player2 && separation[1] == player1);
+  }
+
+  /**
+   * Removes every anchorage, setting their players as not anchored, and every separation.
+   *
+   * @return The players that were anchored.
+   */
+  public List<Player> clear() {
+    List<Player> anchoredPlayers = new ArrayList<>(anchoredPlayersCount);
+
+    for (List<Player> anchorage : anchorages) {
+      for (Player player : anchorage) {
+        player.setAnchored(false);
+        player.setAnchorageNumber(0);
+      }
+
+      anchoredPlayers.addAll(anchorage);
+    }
+
+    anchorages.clear();
+    positionsCounts.clear();
+    separations.clear();
+
+    anchoredPlayersCount = 0;
+
+    return anchoredPlayers;
+  }
+
+  /**
+   * Rebuilds the registry from the anchorages already set in the players (for example, when importing a roster). The anchorages keep their order,
+   * but they are renumbered from 1 if their numbers were not consecutive.
+   *
+   * @param playersSets Players sets to read the anchorages from.
+   */
+  public void load(Map<Position, List<Player>> playersSets) {
+    anchorages.clear();
+    positionsCounts.clear();
+
+    anchoredPlayersCount = 0;
+
+    playersSets.values()
+               .stream()
+               .flatMap(List::stream)
+               .filter(Player::isAnchored)
+               .collect(Collectors.groupingBy(Player::getAnchorageNumber, TreeMap::new, Collectors.toList()))
+               .values()
+               .forEach(this::add);
+  }
+
+  /**
+   * @param anchorageNumber Anchorage number.
+   *
+   * @return The players of the anchorage, sorted in the same order as the Position enum.
+   */
+  public List<Player> get(int anchorageNumber) {
+    return anchorages.get(anchorageNumber - 1);
+  }
+
+  /**
+   * @param anchorageNumber Anchorage number.
+   * @param position        Position to count.
+   *
+   * @return The number of players of the anchorage in the specified position.
+   */
+  public int getPositionCount(int anchorageNumber, Position position) {
+    return positionsCounts.get(anchorageNumber - 1)[position.ordinal()];
+  }
+
+  /**
+   * @return The number of anchorages.
+   */
+  public int size() {
+    return anchorages.size();
+  }
+
+  // ---------- Getters ------------------------------------------------------------------------------------------------------------------------------
+
+  public int getAnchoredPlayersCount() {
+    return anchoredPlayersCount;
+  }
+
+  public List<List<Player>> getAnchorages() {
+    return anchorages;
+  }
+
+  public List<int[]> getPositionsCounts() {
+    return positionsCounts;
+  }
+
+  public List<Player[]> getSeparations() {
+    return separations;
+  }
+
+  // ---------- Setters ------------------------------------------------------------------------------------------------------------------------------
+
+  public void setAnchoredPlayersCount(int anchoredPlayersCount) {
+    this.anchoredPlayersCount = anchoredPlayersCount;
+  }
+
+  public void setAnchorages(List<List<Player>> anchorages) {
+    this.anchorages = anchorages;
+  }
+
+  public void setPositionsCounts(List<int[]> positionsCounts) {
+    this.positionsCounts = positionsCounts;
+  }
+
+  public void setSeparations(List<Player[]> separations) {
+    this.separations = separations;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+package armameeldoparti.models;
+
+/**
+ * Possible strategies to distribute the players by their skill points.
+ *
+ * @author Bonino, Francisco Ignacio.
+ *
+ * @version 0.0.1
+ *
+ * @since 3.0
+ */
+public enum MixingStrategy {
+  EXACT,
+  HEURISTIC
+}
\ No newline at end of file
@@ -1,5 +1,8 @@
 package armameeldoparti.models;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 /**
  * Players class.
  *
@@ -11,11 +14,25 @@ package armameeldoparti.models;
  */
 public class Player {
 
+  // ---------- Public constants ---------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Id of the players that are not part of the roster.
+   */
+  public static final int NO_ID = -1;
+
   // ---------- Private fields -----------------------------------------------------------------------------------------------------------------------
 
   private boolean isAnchored;
 
   private int anchorageNumber;
+
+  /**
+   * Player identifier, stable during the whole program execution. The roster players have consecutive ids starting from 0, so they can be used as
+   * array indexes.
+   */
+  private int id;
+
   private int skillPoints;
   private int teamNumber;
 
@@ -23,21 +40,58 @@ public class Player {
 
   private Position position;
 
+  /**
+   * Other positions the player can play, with the player skill points in each one, or 0 if they are the same as in its position. The player position
+   * is not included.
+   */
+  private Map<Position, Integer> alternativePositions;
+
   // ---------- Constructor --------------------------------------------------------------------------------------------------------------------------
 
   /**
    * Builds a basic player with the received parameters.
    *
+   * @param id       Player identifier.
    * @param name     Player name.
    * @param position Player position.
    */
-  public Player(String name, Position position) {
+  public Player(int id, String name, Position position) {
+    setId(id);
     setName(name);
     setPosition(position);
     setAnchored(false);
     setTeamNumber(0);
     setAnchorageNumber(0);
     setSkillPoints(0);
+    setAlternativePositions(new EnumMap<>(Position.class));
+  }
+
+  /**
+   * Builds a basic player that is not part of the roster (for example, a player read from a file or from the players database). Its id is
+   * {@link #NO_ID}.
+   *
+   * @param name     Player name.
+   * @param position Player position.
+   */
+  public Player(String name, Position position) {
+    this(NO_ID, name, position);
+  }
+
+  // ---------- Public methods -----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * @param position Position to check.
+   *
+   * @return The player skill points when playing in the specified position, or -1 if the player can't play in it.
+   */
+  public int getSkillPoints(Position position) {
+    if (position == this.position) {
+      return skillPoints;
+    }
+
+    int alternativeSkillPoints = alternativePositions.getOrDefault(position, -1);
+
+    return alternativeSkillPoints == 0 ? skillPoints : alternativeSkillPoints;
   }
 
   // ---------- Getters ------------------------------------------------------------------------------------------------------------------------------
@@ -50,6 +104,10 @@ public class Player {
     return anchorageNumber;
   }
 
+  public int getId() {
+    return id;
+  }
+
   public int getSkillPoints() {
     return skillPoints;
   }
@@ -66,6 +124,10 @@ public class Player {
     return position;
   }
 
+  public Map<Position, Integer> getAlternativePositions() {
+    return alternativePositions;
+  }
+
   // ---------- Setters ------------------------------------------------------------------------------------------------------------------------------
 
   public void setAnchored(boolean isAnchored) {
@@ -76,6 +138,10 @@ public class Player {
     this.anchorageNumber = anchorageNumber;
   }
 
+  public void setId(int id) {
+    this.id = id;
+  }
+
   public void setSkillPoints(int skillPoints) {
     this.skillPoints = skillPoints;
   }
@@ -91,4 +157,8 @@ public class Player {
   public void setPosition(Position position) {
     this.position = position;
   }
+
+  public void setAlternativePositions(Map<Position, Integer> alternativePositions) {
+    this.alternativePositions = alternativePositions;
+  }
 }
\ No newline at end of file
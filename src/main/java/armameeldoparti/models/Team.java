@@ -44,15 +44,17 @@ public class Team {
 
   /**
    * Clears all players sets in the team.
+   *
+   * <p>The sets are walked with plain loops, since the teams are cleared on every redistribution.
    */
   public void clear() {
-    teamPlayers.values()
-               .stream()
-               .flatMap(List::stream)
-               .forEach(player -> player.setTeamNumber(0));
+    for (List<Player> positionPlayers : teamPlayers.values()) {
+      for (Player player : positionPlayers) {
+        player.setTeamNumber(0);
+      }
 
-    teamPlayers.values()
-               .forEach(List::clear);
+      positionPlayers.clear();
+    }
   }
 
   /**
@@ -96,8 +98,8 @@ public class Team {
    */
   public boolean isPositionFull(Position position) {
     return teamPlayers.get(position)
-                      .size() == CommonFields.getPlayersLimitPerPosition()
-                                             .get(position);
+                      .size() == CommonFields.getDistributionPlan()
+                                             .getPositionsLimits()[position.ordinal()];
   }
 
   // ---------- Getters ------------------------------------------------------------------------------------------------------------------------------
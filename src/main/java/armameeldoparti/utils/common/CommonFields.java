@@ -1,9 +1,13 @@
 package armameeldoparti.utils.common;
 
 import armameeldoparti.controllers.Controller;
+import armameeldoparti.models.AnchorageRegistry;
 import armameeldoparti.models.Player;
 import armameeldoparti.models.Position;
 import armameeldoparti.models.ProgramView;
+import armameeldoparti.utils.mixers.DistributionPlan;
+import armameeldoparti.utils.storage.MatchHistory;
+import armameeldoparti.utils.storage.PlayersDatabase;
 import armameeldoparti.views.View;
 import java.awt.GraphicsDevice;
 import java.util.List;
@@ -26,8 +30,24 @@ public final class CommonFields {
 
   private static boolean anchoragesEnabled;
 
+  private static AnchorageRegistry anchorageRegistry;
+
+  /**
+   * Primitive representation of the players limits per position, built when the distribution is loaded.
+   */
+  private static DistributionPlan distributionPlan;
+
   private static GraphicsDevice activeMonitor;
 
+  private static MatchHistory matchHistory;
+
+  private static PlayersDatabase playersDatabase;
+
+  /**
+   * Every player of the roster, indexed by its id.
+   */
+  private static Player[] players;
+
   private static Map<Position, Integer> playersLimitPerPosition;
   private static Map<Position, List<Player>> playersSets;
   private static Map<Position, String> positionsMap;
@@ -52,10 +72,30 @@ public final class CommonFields {
     return anchoragesEnabled;
   }
 
+  public static AnchorageRegistry getAnchorageRegistry() {
+    return anchorageRegistry;
+  }
+
+  public static DistributionPlan getDistributionPlan() {
+    return distributionPlan;
+  }
+
   public static GraphicsDevice getActiveMonitor() {
     return activeMonitor;
   }
 
+  public static MatchHistory getMatchHistory() {
+    return matchHistory;
+  }
+
+  public static PlayersDatabase getPlayersDatabase() {
+    return playersDatabase;
+  }
+
+  public static Player[] getPlayers() {
+    return players;
+  }
+
   public static Map<Position, Integer> getPlayersLimitPerPosition() {
     return playersLimitPerPosition;
   }
@@ -86,10 +126,30 @@ public final class CommonFields {
     CommonFields.anchoragesEnabled = anchoragesEnabled;
   }
 
+  public static void setAnchorageRegistry(AnchorageRegistry anchorageRegistry) {
+    CommonFields.anchorageRegistry = anchorageRegistry;
+  }
+
+  public static void setDistributionPlan(DistributionPlan distributionPlan) {
+    CommonFields.distributionPlan = distributionPlan;
+  }
+
   public static void setActiveMonitor(GraphicsDevice activeMonitor) {
     CommonFields.activeMonitor = activeMonitor;
   }
 
+  public static void setMatchHistory(MatchHistory matchHistory) {
+    CommonFields.matchHistory = matchHistory;
+  }
+
+  public static void setPlayersDatabase(PlayersDatabase playersDatabase) {
+    CommonFields.playersDatabase = playersDatabase;
+  }
+
+  public static void setPlayers(Player[] players) {
+    CommonFields.players = players;
+  }
+
   public static void setPlayersLimitPerPosition(Map<Position, Integer> playersLimitPerPosition) {
     CommonFields.playersLimitPerPosition = playersLimitPerPosition;
   }
@@ -2,7 +2,6 @@ package armameeldoparti.utils.common;
 
 import armameeldoparti.controllers.Controller;
 import armameeldoparti.models.Error;
-import armameeldoparti.models.Player;
 import armameeldoparti.models.Position;
 import armameeldoparti.models.ProgramView;
 import armameeldoparti.views.View;
@@ -14,14 +13,11 @@ import java.awt.event.ActionEvent;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import javax.swing.ImageIcon;
 import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
@@ -157,6 +153,20 @@ public final class CommonFunctions {
                                             .toLowerCase();
   }
 
+  /**
+   * Normalizes the given text in the same way it is stored as a player name: without leading or trailing spaces, uppercase, and with underscores
+   * instead of spaces.
+   *
+   * @param text The text to normalize.
+   *
+   * @return The normalized name.
+   */
+  public static String normalizeName(String text) {
+    return text.trim()
+               .toUpperCase()
+               .replace(" ", "_");
+  }
+
   /**
    * Given an image filename, creates an ImageIcon with it.
    *
@@ -213,21 +223,6 @@ public final class CommonFunctions {
                        .get(view);
   }
 
-  /**
-   * Gets a list containing the anchored players grouped by their anchorage number.
-   *
-   * @return A list containing the anchored players grouped by their anchorage number.
-  */
-  public static List<List<Player>> getAnchorages() {
-    return new ArrayList<>(CommonFields.getPlayersSets()
-                                       .values()
-                                       .stream()
-                                       .flatMap(List::stream)
-                                       .filter(Player::isAnchored)
-                                       .collect(Collectors.groupingBy(Player::getAnchorageNumber))
-                                       .values());
-  }
-
   /**
    * Checks if an optional that should not be null has a value present. If so, that value is retrieved. If the optional has no value, then the program
    * exits with a fatal internal error code.
@@ -100,6 +100,7 @@ public final class Constants {
   public static final int PLAYERS_PER_TEAM = 7;
   public static final int PLAYERS_TOTAL = PLAYERS_PER_TEAM * 2;
   public static final int MAX_NAME_LEN = 10;
+  public static final int MAX_GOALS = 99;
   public static final int MAX_PLAYERS_PER_ANCHORAGE = PLAYERS_PER_TEAM - 1;
   public static final int MAX_ANCHORED_PLAYERS = 2 * MAX_PLAYERS_PER_ANCHORAGE;
   public static final int MIN_PLAYERS_PER_ANCHORAGE = 2;
@@ -127,6 +128,7 @@ public final class Constants {
   public static final int SKILL_MAX = 5;
   public static final int SKILL_MIN = 1;
   public static final int SKILL_STEP = 1;
+  public static final int SKILL_UNASSIGNED = 0;
   public static final int STROKE_BUTTON_ARROW = 5;
   public static final int TOOLTIP_INITIAL_DELAY = 300;
   public static final int TOOLTIP_DISMISS_DELAY = 5000;
@@ -134,12 +136,15 @@ public final class Constants {
   public static final float FONT_SIZE = 18f;
 
   public static final String FILENAME_FONT = "comfortaa.ttf";
+  public static final String FILENAME_MATCH_HISTORY = "matches.log";
   public static final String FILENAME_PDA = "dist.pda";
+  public static final String FILENAME_PLAYERS_DATABASE = "players.db";
   public static final String MIG_LAYOUT_CENTER = "center";
   public static final String MIG_LAYOUT_EAST = "east";
   public static final String MIG_LAYOUT_GROW = "grow";
   public static final String MIG_LAYOUT_GROWX = MIG_LAYOUT_GROW + "x";
   public static final String MIG_LAYOUT_GROWY = MIG_LAYOUT_GROW + "y";
+  public static final String MIG_LAYOUT_HIDEMODE = "hidemode 3";
   public static final String MIG_LAYOUT_ALIGN_CENTER = MIG_LAYOUT_ALIGN + " center";
   public static final String MIG_LAYOUT_ALIGN_LEFT = MIG_LAYOUT_ALIGN + " left";
   public static final String MIG_LAYOUT_ALIGN_RIGHT = MIG_LAYOUT_ALIGN + " right";
@@ -163,6 +168,7 @@ public final class Constants {
   public static final String PATH_ICO = "icons/";
   public static final String PATH_IMG = "img/";
   public static final String PATH_TTF = "fonts/";
+  public static final String PATH_USER_DATA = System.getProperty("user.home") + "/." + Constants.PROGRAM_TITLE.replace(" ", "") + "/";
   public static final String POSITION_CENTRAL_DEFENDERS = "DEFENSORES CENTRALES";
   public static final String POSITION_FORWARDS = "DELANTEROS";
   public static final String POSITION_GOALKEEPERS = "ARQUEROS";
@@ -174,6 +180,7 @@ public final class Constants {
   public static final String REGEX_NAMES_VALIDATION = "[a-z\sA-ZÁÉÍÓÚáéíóúñÑ]+";
   public static final String REGEX_PDA_DATA_RETRIEVE = "[CLMFG].+>.+";
   public static final String REGEX_PLAYERS_COUNT = "(?!(?<=" + PLAYERS_PER_TEAM + ")\\d).";
+  public static final String ROSTER_NAME_LAST = "ultimo";
   public static final String TEXT_BUTTON_DIALOG_CANCEL = "Cancelar";
   public static final String TEXT_BUTTON_DIALOG_NO = "No";
   public static final String TEXT_BUTTON_DIALOG_OK = "Aceptar";
@@ -7,7 +7,6 @@ import java.awt.Rectangle;
 import javax.swing.JButton;
 import javax.swing.JComponent;
 import javax.swing.JScrollPane;
-import javax.swing.JTextArea;
 import javax.swing.ScrollPaneConstants;
 import javax.swing.border.EmptyBorder;
 import javax.swing.plaf.basic.BasicScrollBarUI;
@@ -28,10 +27,10 @@ public class CustomScrollPane extends JScrollPane {
   /**
    * Builds a basic scroll pane using the established program aesthetics.
    *
-   * @param textArea Text area associated to the scroll pane that will be controlled.
+   * @param component Component associated to the scroll pane that will be controlled (usually a text area or a table).
    */
-  public CustomScrollPane(JTextArea textArea) {
-    super(textArea, ScrollPaneConstants.VERTICAL_SCROLLBAR_AS_NEEDED, ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
+  public CustomScrollPane(JComponent component) {
+    super(component, ScrollPaneConstants.VERTICAL_SCROLLBAR_AS_NEEDED, ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
     setUpGraphicalProperties();
   }
 
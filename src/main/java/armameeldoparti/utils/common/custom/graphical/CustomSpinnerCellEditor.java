@@ -0,0 +1,64 @@
+package armameeldoparti.utils.common.custom.graphical;
+
+import java.awt.Component;
+import javax.swing.AbstractCellEditor;
+import javax.swing.JSpinner;
+import javax.swing.JTable;
+import javax.swing.SpinnerNumberModel;
+import javax.swing.table.TableCellEditor;
+
+/**
+ * A table cell editor that uses a single custom spinner for every edited cell.
+ *
+ * <p>Since only the cell being edited needs an editor component, the same spinner is recycled for every row, so the number of components does not
+ * grow with the number of rows in the table.
+ *
+ * @author Bonino, Francisco Ignacio.
+ *
+ * @version 0.0.1
+ *
+ * @since 3.0
+ */
+public class CustomSpinnerCellEditor extends AbstractCellEditor implements TableCellEditor {
+
+  // ---------- Private fields -----------------------------------------------------------------------------------------------------------------------
+
+  private JSpinner spinner;
+
+  // ---------- Constructor --------------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Builds a spinner cell editor that fits the established program aesthetics.
+   *
+   * @param spinnerNumberModel The number model used for the spinner.
+   */
+  public CustomSpinnerCellEditor(SpinnerNumberModel spinnerNumberModel) {
+    setSpinner(new CustomSpinner(spinnerNumberModel));
+  }
+
+  // ---------- Public methods -----------------------------------------------------------------------------------------------------------------------
+
+  @Override
+  public Component getTableCellEditorComponent(JTable table, Object value, boolean isSelected, int row, int column) {
+    spinner.setValue(value);
+
+    return spinner;
+  }
+
+  @Override
+  public Object getCellEditorValue() {
+    return spinner.getValue();
+  }
+
+  // ---------- Getters ------------------------------------------------------------------------------------------------------------------------------
+
+  public JSpinner getSpinner() {
+    return spinner;
+  }
+
+  // ---------- Setters ------------------------------------------------------------------------------------------------------------------------------
+
+  public void setSpinner(JSpinner spinner) {
+    this.spinner = spinner;
+  }
+}
\ No newline at end of file
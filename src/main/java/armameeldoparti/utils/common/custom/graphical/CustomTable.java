@@ -10,6 +10,7 @@ import javax.swing.JTable;
 import javax.swing.SwingConstants;
 import javax.swing.border.EmptyBorder;
 import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.TableModel;
 
 /**
  * A custom table that fits the overall program aesthetics.
@@ -35,6 +36,16 @@ public class CustomTable extends JTable {
     setUpGraphicalProperties();
   }
 
+  /**
+   * Builds a table backed by the given model using the established program aesthetics.
+   *
+   * @param tableModel Model that holds the data shown in the table.
+   */
+  public CustomTable(TableModel tableModel) {
+    super(tableModel);
+    setUpGraphicalProperties();
+  }
+
   // ---------- Public methods -----------------------------------------------------------------------------------------------------------------------
 
   /**
@@ -0,0 +1,273 @@
+package armameeldoparti.utils.mixers;
+
+import armameeldoparti.models.MixingStrategy;
+import armameeldoparti.models.Player;
+import armameeldoparti.models.Position;
+import armameeldoparti.utils.solver.SubsetSums;
+
+/**
+ * Adaptive skill balance distribution class.
+ *
+ * <p>Distributes the players by their skill points choosing the strategy for each roster: the exact distribution (see {@link BySkillPointsMixer}) if
+ * its estimated work is small enough, or the heuristic distribution (see {@link HeuristicBalanceMixer}) with a time budget otherwise.
+ *
+ * <p>The work of the exact distribution is estimated from the same values that bound its running time: the number of players (or of constraint
+ * groups, when the anchored players are distributed together), the players limits of each position, and the total skill points, which sets the size
+ * of every skill points bitset. When any player can play in more than one position, the exact distribution also chooses the positions, and its work
+ * is estimated from the players per position of both teams instead. With the usual roster sizes the exact distribution is always chosen.
+ *
+ * <p>The strategy used in each distribution is recorded, together with its running time, so the results view can show how the lineup was found.
+ *
+ * @author Bonino, Francisco Ignacio.
+ *
+ * @version 0.0.1
+ *
+ * @since 3.0
+ */
+public class AdaptiveMixer implements PlayersMixer {
+
+  // ---------- Private constants --------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Maximum estimated work of an exact distribution, in bitset word operations.
+   */
+  private static final long EXACT_WORK_LIMIT = 50_000_000L;
+
+  /**
+   * Time budget of the heuristic distribution, in milliseconds.
+   */
+  private static final long HEURISTIC_TIME_BUDGET_MILLIS = 1000;
+
+  // ---------- Private fields -----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Number of distributions made with each strategy, indexed by the strategy ordinal.
+   */
+  private int[] strategiesUses;
+
+  /**
+   * Running time of the last distribution, in nanoseconds.
+   */
+  private long lastElapsedNanos;
+
+  private BySkillPointsMixer exactMixer;
+
+  private HeuristicBalanceMixer heuristicMixer;
+
+  private MixingStrategy lastStrategy;
+
+  // ---------- Constructor --------------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Builds the adaptive skill balance distributor.
+   */
+  public AdaptiveMixer() {
+    setExactMixer(new BySkillPointsMixer());
+    setHeuristicMixer(new HeuristicBalanceMixer(HEURISTIC_TIME_BUDGET_MILLIS));
+    setStrategiesUses(new int[MixingStrategy.values().length]);
+  }
+
+  // ---------- Public methods -----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Distributes the players by their skill points without considering anchorages, with the strategy that fits the roster.
+   *
+   * <p>The exact distribution work is the subset sums of every position, plus the combination of the sums of every position.
+   *
+   * @param roster Compact roster with every player unassigned.
+   */
+  @Override
+  public void withoutAnchorages(CompactRoster roster) {
+    if (roster.hasAlternativePositions()) {
+      mix(roster, estimatePositionsAssignmentWork(roster, null), false);
+
+      return;
+    }
+
+    int words = SubsetSums.wordsFor(roster.getSkill(roster.getPlayersMask()));
+
+    long work = 0;
+
+    for (int position = 0; position < CompactRoster.POSITIONS; position++) {
+      work += (long) Long.bitCount(roster.getPositionMask(position)) * (roster.getPositionsLimits()[position] + 1) * words;
+      work += (long) words * Long.SIZE * words;
+    }
+
+    mix(roster, work, false);
+  }
+
+  /**
+   * Distributes the players by their skill points considering anchorages and separations, with the strategy that fits the roster.
+   *
+   * <p>The exact distribution work is two options for every constraint group and every not constrained player, for every combination of players per
+   * position of the first team.
+   *
+   * @param roster Compact roster with every player unassigned.
+   */
+  @Override
+  public void withAnchorages(CompactRoster roster) {
+    TeamConstraints constraints = new TeamConstraints(roster);
+
+    if (roster.hasAlternativePositions()) {
+      mix(roster, estimatePositionsAssignmentWork(roster, constraints), true);
+
+      return;
+    }
+
+    long constrainedPlayers = 0;
+
+    for (int group = 0; group < constraints.getGroupsCount(); group++) {
+      constrainedPlayers |= constraints.getGroupMask(group);
+    }
+
+    long work = 2L * (constraints.getGroupsCount() + Long.bitCount(roster.getPlayersMask() & ~constrainedPlayers))
+                * SubsetSums.wordsFor(roster.getSkill(roster.getPlayersMask()));
+
+    for (int position = 0; position < CompactRoster.POSITIONS && work <= EXACT_WORK_LIMIT; position++) {
+      work *= roster.getPositionsLimits()[position] + 1;
+    }
+
+    mix(roster, work, true);
+  }
+
+  // ---------- Private methods ----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Estimates the work of the exact distribution when the positions of the players must be chosen too (see
+   * {@link armameeldoparti.utils.solver.PositionAssignmentSolver}).
+   *
+   * <p>Every option of an item, a team and a position for each of its players, is combined with every state of both teams, which holds the players
+   * per position of each team. The skill points bitsets hold the skill points difference between the teams, so they are twice as large as the sum
+   * of the highest skill points of every player.
+   *
+   * @param roster      Compact roster with every player unassigned.
+   * @param constraints Constraint groups of the roster, or null if the anchorages are disabled.
+   *
+   * @return The estimated work, or a value over the limit as soon as the limit is exceeded.
+   */
+  private long estimatePositionsAssignmentWork(CompactRoster roster, TeamConstraints constraints) {
+    long freePlayers = roster.getPlayersMask();
+    long options = 0;
+
+    int highestSkills = 0;
+
+    for (int group = 0; constraints != null && group < constraints.getGroupsCount(); group++) {
+      long groupOptions = 2;
+
+      for (long remaining = constraints.getGroupMask(group); remaining != 0 && groupOptions <= EXACT_WORK_LIMIT; remaining &= remaining - 1) {
+        groupOptions *= getPositionsCount(roster.getPlayers()[Long.numberOfTrailingZeros(remaining)]);
+      }
+
+      options += groupOptions;
+      freePlayers &= ~constraints.getGroupMask(group);
+    }
+
+    for (long remaining = freePlayers; remaining != 0; remaining &= remaining - 1) {
+      options += 2L * getPositionsCount(roster.getPlayers()[Long.numberOfTrailingZeros(remaining)]);
+    }
+
+    for (int player = 0; player < roster.getPlayersCount(); player++) {
+      Player rosterPlayer = roster.getPlayers()[player];
+
+      int highestSkillPoints = rosterPlayer.getSkillPoints();
+
+      for (int skillPoints : rosterPlayer.getAlternativePositions()
+                                         .values()) {
+        highestSkillPoints = Math.max(highestSkillPoints, skillPoints);
+      }
+
+      highestSkills += highestSkillPoints;
+    }
+
+    long teamStatesCount = roster.getDistributionPlan()
+                                 .getStatesCount();
+
+    return Math.min(options, EXACT_WORK_LIMIT + 1) * teamStatesCount * teamStatesCount * SubsetSums.wordsFor(2 * highestSkills);
+  }
+
+  /**
+   * @param player Player to check.
+   *
+   * @return The number of positions the player can play in.
+   */
+  private static int getPositionsCount(Player player) {
+    int positionsCount = 0;
+
+    for (Position position : Position.values()) {
+      if (player.getSkillPoints(position) != -1) {
+        positionsCount++;
+      }
+    }
+
+    return positionsCount;
+  }
+
+  /**
+   * Distributes the players with the exact strategy if its estimated work is within the limit, or with the heuristic one otherwise, and records the
+   * strategy used.
+   *
+   * @param roster            Compact roster with every player unassigned.
+   * @param exactWork         Estimated work of the exact distribution.
+   * @param anchoragesEnabled Whether the anchorages and separations must be considered.
+   */
+  private void mix(CompactRoster roster, long exactWork, boolean anchoragesEnabled) {
+    MixingStrategy strategy = exactWork <= EXACT_WORK_LIMIT ? MixingStrategy.EXACT : MixingStrategy.HEURISTIC;
+    PlayersMixer mixer = strategy == MixingStrategy.EXACT ? exactMixer : heuristicMixer;
+
+    long start = System.nanoTime();
+
+    if (anchoragesEnabled) {
+      mixer.withAnchorages(roster);
+    } else {
+      mixer.withoutAnchorages(roster);
+    }
+
+    lastElapsedNanos = System.nanoTime() - start;
+    lastStrategy = strategy;
+    strategiesUses[strategy.ordinal()]++;
+  }
+
+  // ---------- Getters ------------------------------------------------------------------------------------------------------------------------------
+
+  public int[] getStrategiesUses() {
+    return strategiesUses;
+  }
+
+  public long getLastElapsedNanos() {
+    return lastElapsedNanos;
+  }
+
+  public BySkillPointsMixer getExactMixer() {
+    return exactMixer;
+  }
+
+  public HeuristicBalanceMixer getHeuristicMixer() {
+    return heuristicMixer;
+  }
+
+  public MixingStrategy getLastStrategy() {
+    return lastStrategy;
+  }
+
+  // ---------- Setters ------------------------------------------------------------------------------------------------------------------------------
+
+  public void setStrategiesUses(int[] strategiesUses) {
+    this.strategiesUses = strategiesUses;
+  }
+
+  public void setLastElapsedNanos(long lastElapsedNanos) {
+    this.lastElapsedNanos = lastElapsedNanos;
+  }
+
+  public void setExactMixer(BySkillPointsMixer exactMixer) {
+    this.exactMixer = exactMixer;
+  }
+
+  public void setHeuristicMixer(HeuristicBalanceMixer heuristicMixer) {
+    this.heuristicMixer = heuristicMixer;
+  }
+
+  public void setLastStrategy(MixingStrategy lastStrategy) {
+    this.lastStrategy = lastStrategy;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,170 @@
+package armameeldoparti.utils.mixers;
+
+import armameeldoparti.utils.storage.CoOccurrenceMatrix;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Anti-repetition random distribution class.
+ *
+ * <p>Distributes the players randomly, but favors the lineups where the players that were on the same team the most times in past matches are
+ * separated. To do this, several random lineups are drawn and the one with the fewest repeated pairings, according to the match history, is kept.
+ *
+ * <p>Every draw is made by a {@link RandomMixer}, so the anchorages constraints are respected in the same way.
+ *
+ * @author Bonino, Francisco Ignacio.
+ *
+ * @version 0.0.1
+ *
+ * @since 3.0
+ */
+public class AntiRepetitionMixer implements PlayersMixer {
+
+  // ---------- Private constants --------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Number of random lineups drawn for each distribution.
+   */
+  private static final int CANDIDATE_DRAWS = 32;
+
+  // ---------- Private fields -----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Seed of the random mixer draw that gave the kept lineup.
+   */
+  private long seed;
+
+  /**
+   * Co-occurrence matrix of the roster being distributed. It must be set before distributing each roster.
+   */
+  private CoOccurrenceMatrix coOccurrences;
+
+  private RandomMixer randomMixer;
+
+  // ---------- Constructor --------------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Builds the anti-repetition random distributor.
+   *
+   * @param randomMixer Random distributor used to draw the candidate lineups.
+   */
+  public AntiRepetitionMixer(RandomMixer randomMixer) {
+    setRandomMixer(randomMixer);
+    setCoOccurrences(new CoOccurrenceMatrix(List.of()));
+  }
+
+  // ---------- Public methods -----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Distributes the players randomly without considering anchorages, minimizing the repeated pairings.
+   *
+   * @param roster Compact roster with every player unassigned.
+   */
+  @Override
+  public void withoutAnchorages(CompactRoster roster) {
+    mix(roster, randomMixer::withoutAnchorages);
+  }
+
+  /**
+   * Distributes the players randomly considering anchorages, minimizing the repeated pairings.
+   *
+   * @param roster Compact roster with every player unassigned.
+   */
+  @Override
+  public void withAnchorages(CompactRoster roster) {
+    mix(roster, randomMixer::withAnchorages);
+  }
+
+  // ---------- Private methods ----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Draws several random lineups and keeps the one whose players were on the same team the fewest times in past matches.
+   *
+   * <p>If no pair of players was ever on the same team, every lineup is equally good, so a single draw is made.
+   *
+   * @param roster Compact roster with every player unassigned.
+   * @param draw   Random distribution method used to draw each candidate lineup.
+   */
+  private void mix(CompactRoster roster, Consumer<CompactRoster> draw) {
+    draw.accept(roster);
+
+    seed = randomMixer.getSeed();
+
+    if (coOccurrences.isEmpty()) {
+      return;
+    }
+
+    long bestAssignedMask = roster.getAssignedMask();
+    long bestTeamMask = roster.getTeamMask();
+    long bestScore = score(roster, coOccurrences);
+
+    for (int drawIndex = 1; drawIndex < CANDIDATE_DRAWS && bestScore > 0; drawIndex++) {
+      PlayersMixer.checkCancellation();
+
+      roster.clearTeams();
+      draw.accept(roster);
+
+      long score = score(roster, coOccurrences);
+
+      if (score < bestScore) {
+        bestScore = score;
+        bestAssignedMask = roster.getAssignedMask();
+        bestTeamMask = roster.getTeamMask();
+        seed = randomMixer.getSeed();
+      }
+    }
+
+    roster.restore(bestAssignedMask, bestTeamMask);
+  }
+
+  /**
+   * Computes how many times the players that share a team in the current lineup were on the same team in past matches.
+   *
+   * @param roster        Compact roster with the current lineup.
+   * @param coOccurrences Co-occurrence matrix of the roster, with the players in the same order.
+   *
+   * @return The sum of the past co-occurrences of every pair of teammates.
+   */
+  private long score(CompactRoster roster, CoOccurrenceMatrix coOccurrences) {
+    long score = 0;
+
+    for (int team = 0; team < CompactRoster.TEAMS; team++) {
+      long teamPlayers = roster.getTeamPlayersMask(team);
+
+      for (long remaining = teamPlayers; remaining != 0; remaining &= remaining - 1) {
+        int player = Long.numberOfTrailingZeros(remaining);
+
+        // Only the teammates with a higher index are considered, so every pair is counted once
+        for (long teammates = teamPlayers & (-2L << player); teammates != 0; teammates &= teammates - 1) {
+          score += coOccurrences.get(player, Long.numberOfTrailingZeros(teammates));
+        }
+      }
+    }
+
+    return score;
+  }
+
+  // ---------- Getters ------------------------------------------------------------------------------------------------------------------------------
+
+  public long getSeed() {
+    return seed;
+  }
+
+  public CoOccurrenceMatrix getCoOccurrences() {
+    return coOccurrences;
+  }
+
+  public RandomMixer getRandomMixer() {
+    return randomMixer;
+  }
+
+  // ---------- Setters ------------------------------------------------------------------------------------------------------------------------------
+
+  public void setCoOccurrences(CoOccurrenceMatrix coOccurrences) {
+    this.coOccurrences = coOccurrences;
+  }
+
+  public void setRandomMixer(RandomMixer randomMixer) {
+    this.randomMixer = randomMixer;
+  }
+}
\ No newline at end of file
@@ -1,23 +1,29 @@
 package armameeldoparti.utils.mixers;
 
-import static java.util.Comparator.comparingInt;
-
-import armameeldoparti.models.Player;
-import armameeldoparti.models.Position;
-import armameeldoparti.models.Team;
-import armameeldoparti.utils.common.CommonFields;
+import armameeldoparti.models.Error;
 import armameeldoparti.utils.common.CommonFunctions;
-import armameeldoparti.utils.common.Constants;
-import java.util.ArrayList;
-import java.util.Arrays;
+import armameeldoparti.utils.solver.AnytimeOptimizer;
+import armameeldoparti.utils.solver.LineupImprovement;
+import armameeldoparti.utils.solver.PositionAssignmentSolver;
+import armameeldoparti.utils.solver.SkillBalanceSolver;
+import armameeldoparti.utils.solver.SubsetSums;
+import armameeldoparti.utils.storage.CoOccurrenceMatrix;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.function.Consumer;
 
 /**
  * By-skill-points distribution class.
  *
+ * <p>Every distribution has the smallest possible skill points difference between the teams. Among those, the ones whose players were on the same
+ * team the fewest times in past matches are then searched, reporting every better lineup found as the search goes on.
+ *
+ * <p>The smallest skill points difference distributions are kept in a cache, so a roster with the same positions, skill points and constraints as a
+ * recent one (see {@link RosterFingerprint}) is distributed without solving it again.
+ *
+ * <p>If any player can play in more than one position, the position of every player is chosen together with its team (see
+ * {@link PositionAssignmentSolver}), and the distribution is not cached since the fingerprint only considers the players positions.
+ *
+ * @see armameeldoparti.utils.solver.AnytimeOptimizer
  * @author Bonino, Francisco Ignacio.
  *
  * @version 0.0.1
@@ -26,13 +32,40 @@ import java.util.stream.IntStream;
  */
 public class BySkillPointsMixer implements PlayersMixer {
 
+  // ---------- Private constants --------------------------------------------------------------------------------------------------------------------
+
+  private static final int RESULTS_CACHE_CAPACITY = 64;
+
+  /**
+   * Objective of the cached distributions.
+   */
+  private static final String OBJECTIVE_SKILL_BALANCE = "exact-skill-balance";
+
+  // ---------- Private fields -----------------------------------------------------------------------------------------------------------------------
+
+  private MixerResultCache resultsCache;
+
+  /**
+   * Co-occurrence matrix of the roster being distributed, used to reduce the repeated pairings. It must be set before distributing each roster.
+   */
+  private CoOccurrenceMatrix coOccurrences;
+
+  /**
+   * Receives every lineup improvement found while the repeated pairings are reduced, in the thread running the distribution.
+   */
+  private Consumer<LineupImprovement> improvementsListener;
+
   // ---------- Constructor --------------------------------------------------------------------------------------------------------------------------
 
   /**
    * Builds the by-skill-points players distributor.
    */
   public BySkillPointsMixer() {
-    // Body not needed
+    setResultsCache(new MixerResultCache(RESULTS_CACHE_CAPACITY));
+    setCoOccurrences(new CoOccurrenceMatrix(List.of()));
+    setImprovementsListener(improvement -> {
+      // Improvements are ignored until a listener is set
+    });
   }
 
   // ---------- Public methods -----------------------------------------------------------------------------------------------------------------------
@@ -40,176 +73,194 @@ public class BySkillPointsMixer implements PlayersMixer {
   /**
    * Distributes the players by their skill points without considering anchorages.
    *
-   * <p>The players of each position are ordered based on their score, from highest to lowest. The teams are then ordered based on the sum of their
-   * players scores so far, from lowest to highest.
-   *
-   * <p>If the number of players to distribute is 2, the team with less skill points is assigned the player with the highest skill points, and the
-   * team with more skill points is assigned the player with the lowest skill points.
+   * <p>Since the players of different positions don't depend on each other, the reachable skill points of the first team are computed for each
+   * position on its own, as the sums of every subset of the position players with exactly its players limit. The reachable skill points of the whole
+   * first team are then the sums of one reachable value of each position, combined position by position.
    *
-   * <p>If the number of players to distribute is 4, two subgroups are made with the players at the list ends, from the outside to the inside. These
-   * subsets are then ordered based on their skill points, from highest to lowest. The team with less skill points is assigned the set of players with
-   * more skill points. The team with more skill points is assigned the set of players with the lowest skill points.
+   * <p>The total closest to half of the total skill points gives the distribution with the smallest skill points difference between the teams. It is
+   * split back into one value per position, walking the positions backwards, and the players of each value are rebuilt from its position sums.
    *
-   * @param teams Teams where to distribute the players.
+   * @param roster Compact roster with every player unassigned.
    *
-   * @return The updated teams with the players distributed by their skill points, without considering anchorages.
+   * @see armameeldoparti.utils.solver.SubsetSums
    */
   @Override
-  public List<Team> withoutAnchorages(List<Team> teams) {
-    Map<Position, List<Player>> playersMap = CommonFields.getPlayersSets();
+  public void withoutAnchorages(CompactRoster roster) {
+    if (roster.hasAlternativePositions()) {
+      assignPositions(roster, false);
+      reduceRepeatedPairings(roster);
 
-    for (Position position : Position.values()) {
-      List<Player> playersSet = new ArrayList<>(playersMap.get(position));
+      return;
+    }
 
-      playersSet.sort(comparingInt(Player::getSkillPoints).reversed()); // Players sorted highest to lowest
+    RosterFingerprint fingerprint = new RosterFingerprint(roster);
 
-      teams.sort(comparingInt(Team::getTeamSkill)); // Teams sorted lowest to highest
+    if (!resultsCache.restore(roster, fingerprint, OBJECTIVE_SKILL_BALANCE)) {
+      balancePositions(roster);
 
-      if (playersSet.size() == 2) {
-        for (int teamIndex = 0; teamIndex < teams.size(); teamIndex++) {
-          teams.get(teamIndex)
-               .getTeamPlayers()
-               .get(position)
-               .add(playersSet.get(teamIndex));
-        }
-      } else {
-        distributeSubsets(teams, playersSet, position);
-      }
+      resultsCache.store(roster, fingerprint, OBJECTIVE_SKILL_BALANCE);
     }
 
-    if (!teamsSkillPointsAreEqual(teams)) {
-      checkPlayerSwaps(teams);
-    }
-
-    return teams;
+    reduceRepeatedPairings(roster);
   }
 
   /**
-   * Distributes the players by their skill points considering anchorages.
-   *
-   * <p>First, the anchored players are grouped in different lists by their anchorage number, and they are distributed as fair as possible starting
-   * with the sets with most anchored players in order to avoid inconsistencies.
+   * Distributes the players by their skill points considering anchorages and separations.
    *
-   * <p>Then, the players that are not anchored are distributed between the teams as fair as possible based on their skill points. They will be added
-   * to a team only if the players per position or the players per team limits are not exceeded.
+   * <p>The distribution with the smallest skill points difference between the teams among the ones that satisfy every anchorage, separation and
+   * players limit is chosen. Unlike the distribution without anchorages, the positions can't be split on their own since the anchored and
+   * separated players link them, so every possible combination is considered by the skill balance solver, whose running time only depends on the
+   * number of players.
    *
-   * @param teams Teams where to distribute the players.
+   * @param roster Compact roster with every player unassigned.
    *
-   * @return The updated teams with the players distributed by their skill points, without considering anchorages.
+   * @see armameeldoparti.utils.solver.SkillBalanceSolver
    */
   @Override
-  public List<Team> withAnchorages(List<Team> teams) {
-    for (List<Player> anchorage : CommonFunctions.getAnchorages()) {
-      teams.sort(comparingInt(Team::getTeamSkill));
-
-      for (Player player : anchorage) {
-        player.setTeamNumber(teams.get(0)
-                                  .getTeamNumber());
-
-        teams.get(0)
-             .getTeamPlayers()
-             .get(player.getPosition())
-             .add(player);
+  public void withAnchorages(CompactRoster roster) {
+    if (roster.hasAlternativePositions()) {
+      assignPositions(roster, true);
+      reduceRepeatedPairings(roster);
+
+      return;
+    }
+
+    RosterFingerprint fingerprint = new RosterFingerprint(roster);
+
+    if (!resultsCache.restore(roster, fingerprint, OBJECTIVE_SKILL_BALANCE)) {
+      // At this point the constraints are guaranteed to be possible to distribute, so this should never happen
+      if (!new SkillBalanceSolver(roster).solve()) {
+        CommonFunctions.exitProgram(Error.ERROR_INTERNAL);
       }
+
+      resultsCache.store(roster, fingerprint, OBJECTIVE_SKILL_BALANCE);
+    }
+
+    reduceRepeatedPairings(roster);
+  }
+
+  // ---------- Private methods ----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Distributes the players choosing both their teams and positions, with the smallest skill points difference.
+   *
+   * @param roster            Compact roster with every player unassigned.
+   * @param anchoragesEnabled Whether the anchorages and separations must be satisfied.
+   */
+  private void assignPositions(CompactRoster roster, boolean anchoragesEnabled) {
+    // Every player can play in its own position, and the constraints are guaranteed to be possible to distribute, so this should never happen
+    if (!new PositionAssignmentSolver(roster, anchoragesEnabled).solve()) {
+      CommonFunctions.exitProgram(Error.ERROR_INTERNAL);
     }
+  }
 
-    List<List<Player>> remainingPlayers = new ArrayList<>(CommonFields.getPlayersSets()
-                                                                      .values()
-                                                                      .stream()
-                                                                      .flatMap(List::stream)
-                                                                      .filter(player -> player.getTeamNumber() == 0)
-                                                                      .collect(Collectors.groupingBy(Player::getPosition))
-                                                                      .values());
+  /**
+   * Distributes the players without constraints with the smallest skill points difference, as explained in
+   * {@link #withoutAnchorages(CompactRoster)}.
+   *
+   * @param roster Compact roster with every player unassigned.
+   */
+  private void balancePositions(CompactRoster roster) {
+    int[] positionsLimits = roster.getPositionsLimits();
+    int[][] positionsPlayers = new int[CompactRoster.POSITIONS][];
 
-    remainingPlayers.sort(comparingInt(List::size));
+    SubsetSums[] positionsSums = new SubsetSums[CompactRoster.POSITIONS];
 
-    for (List<Player> players : remainingPlayers) {
-      players.sort(comparingInt(Player::getSkillPoints).reversed());
+    int totalSkill = roster.getSkill(roster.getPlayersMask());
+    int words = SubsetSums.wordsFor(totalSkill);
 
-      if (players.size() == 4) {
-        teams.sort(comparingInt(Team::getTeamSkill));
+    // Reachable skill points of the first team considering only the positions before each index
+    long[][] combinedSums = new long[CompactRoster.POSITIONS + 1][];
 
-        distributeSubsets(teams, players, players.get(0)
-                                                 .getPosition());
-      } else {
-        for (Player player : players) {
-          teams.sort(comparingInt(Team::getTeamSkill));
+    combinedSums[0] = new long[words];
+    combinedSums[0][0] = 1;
 
-          int teamNumber = 0;
+    for (int position = 0; position < CompactRoster.POSITIONS; position++) {
+      long positionMask = roster.getPositionMask(position);
 
-          if (teams.get(teamNumber)
-                   .isPositionFull(player.getPosition())
-              || teams.get(teamNumber)
-                      .getPlayersCount() + 1 > Constants.PLAYERS_PER_TEAM) {
-            teamNumber = 1;
-          }
+      int[] players = new int[Long.bitCount(positionMask)];
+      int[] skills = new int[players.length];
+      int playerIndex = 0;
+
+      for (long remaining = positionMask; remaining != 0; remaining &= remaining - 1, playerIndex++) {
+        players[playerIndex] = Long.numberOfTrailingZeros(remaining);
+        skills[playerIndex] = roster.getSkills()[players[playerIndex]];
+      }
+
+      positionsPlayers[position] = players;
+      positionsSums[position] = new SubsetSums(skills, positionsLimits[position]);
+      combinedSums[position + 1] = SubsetSums.sumset(combinedSums[position], positionsSums[position].getSums(positionsLimits[position]), words);
+    }
 
-          player.setTeamNumber(teamNumber + 1);
+    int bestSkill = -1;
 
-          teams.get(teamNumber)
-               .getTeamPlayers()
-               .get(player.getPosition())
-               .add(player);
-        }
+    for (int skill = 0; skill <= totalSkill; skill++) {
+      if (SubsetSums.contains(combinedSums[CompactRoster.POSITIONS], skill)
+          && (bestSkill == -1 || Math.abs(2 * skill - totalSkill) < Math.abs(2 * bestSkill - totalSkill))) {
+        bestSkill = skill;
       }
     }
 
-    return teams;
-  }
+    // The players limits always add up to half of the roster, so this should never happen
+    if (bestSkill == -1) {
+      CommonFunctions.exitProgram(Error.ERROR_INTERNAL);
+    }
 
-  // ---------- Private methods ----------------------------------------------------------------------------------------------------------------------
+    for (int position = CompactRoster.POSITIONS - 1; position >= 0; position--) {
+      int positionSkill = 0;
+
+      while (!positionsSums[position].isReachable(positionsLimits[position], positionSkill)
+             || !SubsetSums.contains(combinedSums[position], bestSkill - positionSkill)) {
+        positionSkill++;
+      }
+
+      long selected = positionsSums[position].select(positionsLimits[position], positionSkill);
+
+      for (int playerIndex = 0; playerIndex < positionsPlayers[position].length; playerIndex++) {
+        roster.assign(positionsPlayers[position][playerIndex], (selected & (1L << playerIndex)) != 0 ? 0 : 1);
+      }
+
+      bestSkill -= positionSkill;
+    }
+  }
 
   /**
-   * Performs the subsets distribution in sets with 4+ players as explained in {@link #withoutAnchorages(List)}.
+   * Searches a lineup with the same skill points difference whose players were on the same team fewer times in past matches. If no pair of players
+   * was ever on the same team, every lineup is equally good, so the lineup is kept as it is.
    *
-   * @param teams      Teams where to distribute the players.
-   * @param playersSet Current working players set.
-   * @param position   Current working players position.
+   * @param roster Compact roster with every player assigned.
    */
-  private void distributeSubsets(List<Team> teams, List<Player> playersSet, Position position) {
-    List<List<Player>> playersSubsets = new ArrayList<>();
-
-    for (int playerIndex = 0; playerIndex < playersSet.size() / 2; playerIndex++) {
-      playersSubsets.add(Arrays.asList(playersSet.get(playerIndex), playersSet.get(playersSet.size() - 1 - playerIndex)));
+  private void reduceRepeatedPairings(CompactRoster roster) {
+    if (!coOccurrences.isEmpty()) {
+      new AnytimeOptimizer(roster, coOccurrences).optimize(improvementsListener);
     }
+  }
+
+  // ---------- Getters ------------------------------------------------------------------------------------------------------------------------------
 
-    // Subsets sorted lowest to highest
-    playersSubsets.sort(comparingInt(playersSubset -> playersSubset.stream()
-                                                                   .mapToInt(Player::getSkillPoints)
-                                                                   .reduce(0, Math::addExact)));
-
-    IntStream.range(0, teams.size())
-             .forEach(
-               teamIndex -> {
-                 playersSubsets.get(teamIndex)
-                               .forEach(player -> player.setTeamNumber(teamIndex + 1));
-
-                 teams.get(teamIndex)
-                      .getTeamPlayers()
-                      .get(position)
-                      .addAll(playersSubsets.get(1 - teamIndex));
-             });
+  public MixerResultCache getResultsCache() {
+    return resultsCache;
   }
 
-  /**
-   * @param teams
-   */
-  private void checkPlayerSwaps(List<Team> teams) {
-    // TODO
+  public CoOccurrenceMatrix getCoOccurrences() {
+    return coOccurrences;
   }
 
-  /**
-   * Verifies whether the skill points of the teams are the same. This is done by getting each team skill points from the teams list and checking if
-   * there's more than one unique value.
-   *
-   * @param teams Teams to verify the skill points.
-   *
-   * @return Whether the skill points of the teams are the same.
-   */
-  private boolean teamsSkillPointsAreEqual(List<Team> teams) {
-    return teams.stream()
-                .map(Team::getTeamSkill)
-                .collect(Collectors.toSet())
-                .size() == 1;
+  public Consumer<LineupImprovement> getImprovementsListener() {
+    return improvementsListener;
+  }
+
+  // ---------- Setters ------------------------------------------------------------------------------------------------------------------------------
+
+  public void setResultsCache(MixerResultCache resultsCache) {
+    this.resultsCache = resultsCache;
+  }
+
+  public void setCoOccurrences(CoOccurrenceMatrix coOccurrences) {
+    this.coOccurrences = coOccurrences;
+  }
+
+  public void setImprovementsListener(Consumer<LineupImprovement> improvementsListener) {
+    this.improvementsListener = improvementsListener;
   }
 }
\ No newline at end of file
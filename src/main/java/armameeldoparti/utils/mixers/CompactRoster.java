@@ -0,0 +1,594 @@
+package armameeldoparti.utils.mixers;
+
+import armameeldoparti.models.Player;
+import armameeldoparti.models.Position;
+import armameeldoparti.models.Team;
+import armameeldoparti.utils.common.Constants;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Compact roster class.
+ *
+ * <p>Primitive representation of the players and their distribution between two teams, used by the mixers and the anchorages validation. Every
+ * player is identified by its index, and its data is stored in parallel arrays. The players of each team, position and anchorage are represented as
+ * bitmasks where the bit {@code n} corresponds to the player {@code n}, so the players counts are obtained by counting bits instead of traversing
+ * collections.
+ *
+ * <p>The conversion from and to the {@link Player} and {@link Team} objects is only made before and after the distribution.
+ *
+ * @author Bonino, Francisco Ignacio.
+ *
+ * @version 0.0.1
+ *
+ * @since 3.0
+ */
+public class CompactRoster {
+
+  // ---------- Public constants ---------------------------------------------------------------------------------------------------------------------
+
+  public static final int MAX_PLAYERS = Long.SIZE;
+  public static final int POSITIONS = Position.values().length;
+  public static final int TEAMS = 2;
+
+  // ---------- Private constants --------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Every position, indexed by its ordinal. Unlike {@code Position.values()}, it is not copied on every access.
+   */
+  private static final Position[] POSITIONS_VALUES = Position.values();
+
+  // ---------- Private fields -----------------------------------------------------------------------------------------------------------------------
+
+  private int playersCount;
+
+  /**
+   * Players assigned to any team.
+   */
+  private long assignedMask;
+
+  /**
+   * Players assigned to the second team. The players assigned to the first team are the assigned players whose bit is not set in this mask.
+   */
+  private long teamMask;
+
+  private byte[] anchorages;
+  private byte[] positions;
+
+  private int[] anchorageNumbers;
+  private int[] positionsLimits;
+  private int[] skills;
+  private int[] teamsSkills;
+
+  /**
+   * Players of each anchorage, indexed by the anchorage number.
+   */
+  private long[] anchoragesMasks;
+
+  /**
+   * Players of each position, indexed by the position ordinal.
+   */
+  private long[] positionsMasks;
+
+  /**
+   * Players that must not be on the same team as each player, indexed by the player index.
+   */
+  private long[] separationsMasks;
+
+  private DistributionPlan distributionPlan;
+
+  private Player[] players;
+
+  // ---------- Constructor --------------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Builds a compact roster with every player unassigned.
+   *
+   * @param players          Players of the roster.
+   * @param distributionPlan Distribution plan with the players limits per position per team.
+   */
+  public CompactRoster(Player[] players, DistributionPlan distributionPlan) {
+    if (players.length > MAX_PLAYERS) {
+      throw new IllegalArgumentException("A compact roster can't hold more than " + MAX_PLAYERS + " players");
+    }
+
+    setPlayers(players);
+    setPlayersCount(players.length);
+    setDistributionPlan(distributionPlan);
+    setPositionsLimits(distributionPlan.getPositionsLimits());
+    setSkills(new int[playersCount]);
+    setPositions(new byte[playersCount]);
+    setAnchorages(new byte[playersCount]);
+    setPositionsMasks(new long[POSITIONS]);
+    setSeparationsMasks(new long[playersCount]);
+    setTeamsSkills(new int[TEAMS]);
+
+    int maxAnchorageNumber = 0;
+
+    for (int player = 0; player < playersCount; player++) {
+      skills[player] = players[player].getSkillPoints();
+      positions[player] = (byte) players[player].getPosition()
+                                                .ordinal();
+      anchorages[player] = (byte) (players[player].isAnchored() ? players[player].getAnchorageNumber() : 0);
+      positionsMasks[positions[player]] |= 1L << player;
+      maxAnchorageNumber = Math.max(maxAnchorageNumber, anchorages[player]);
+    }
+
+    setAnchoragesMasks(new long[maxAnchorageNumber + 1]);
+
+    for (int player = 0; player < playersCount; player++) {
+      if (anchorages[player] != 0) {
+        anchoragesMasks[anchorages[player]] |= 1L << player;
+      }
+    }
+
+    setAnchorageNumbers(IntStream.range(1, anchoragesMasks.length)
+                                 .filter(anchorageNumber -> anchoragesMasks[anchorageNumber] != 0)
+                                 .toArray());
+  }
+
+  // ---------- Public static methods ----------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Builds a compact roster from the players sets. The players are indexed in the same order as the Position enum, which is also the order of the
+   * roster players ids, so the index of every roster player is its id.
+   *
+   * @param playersSets      Players sets, indexed by position.
+   * @param distributionPlan Distribution plan with the players limits per position per team.
+   *
+   * @return A compact roster with every player unassigned.
+   */
+  public static CompactRoster of(Map<Position, List<Player>> playersSets, DistributionPlan distributionPlan) {
+    return new CompactRoster(Arrays.stream(Position.values())
+                                   .map(playersSets::get)
+                                   .flatMap(List::stream)
+                                   .toArray(Player[]::new),
+                             distributionPlan);
+  }
+
+  /**
+   * Builds a compact roster from the players sets, including the separations between its players.
+   *
+   * @param playersSets      Players sets, indexed by position.
+   * @param distributionPlan Distribution plan with the players limits per position per team.
+   * @param separations      Pairs of players that must not be on the same team.
+   *
+   * @return A compact roster with every player unassigned.
+   *
+   * @see #of(Map, DistributionPlan)
+   */
+  public static CompactRoster of(Map<Position, List<Player>> playersSets, DistributionPlan distributionPlan, List<Player[]> separations) {
+    CompactRoster roster = of(playersSets, distributionPlan);
+
+    for (Player[] separation : separations) {
+      roster.separate(roster.indexOf(separation[0]), roster.indexOf(separation[1]));
+    }
+
+    return roster;
+  }
+
+  // ---------- Public methods -----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Applies the distribution to the players and teams. Every team is cleared before adding its players, and each player is assigned the number of
+   * the team in the same index plus one. Each player is added to the position it plays in the roster, which may be one of its alternative positions.
+   *
+   * @param teams Teams where to add the players.
+   */
+  public void applyTo(List<Team> teams) {
+    teams.forEach(Team::clear);
+
+    for (int player = 0; player < playersCount; player++) {
+      if (isAssigned(player)) {
+        int team = getTeam(player);
+
+        players[player].setTeamNumber(team + 1);
+
+        teams.get(team)
+             .getTeamPlayers()
+             .get(POSITIONS_VALUES[positions[player]])
+             .add(players[player]);
+      } else {
+        players[player].setTeamNumber(0);
+      }
+    }
+  }
+
+  /**
+   * Assigns a player to a team.
+   *
+   * @param player Player index.
+   * @param team   Team index.
+   */
+  public void assign(int player, int team) {
+    long bit = 1L << player;
+
+    if ((assignedMask & bit) != 0) {
+      unassign(player);
+    }
+
+    assignedMask |= bit;
+    teamMask = team == 0 ? teamMask & ~bit : teamMask | bit;
+    teamsSkills[team] += skills[player];
+  }
+
+  /**
+   * Assigns every player in the mask to a team.
+   *
+   * @param playersMask Players to assign.
+   * @param team        Team index.
+   */
+  public void assignAll(long playersMask, int team) {
+    for (long remaining = playersMask; remaining != 0; remaining &= remaining - 1) {
+      assign(Long.numberOfTrailingZeros(remaining), team);
+    }
+  }
+
+  /**
+   * Moves a player to another position it can play, with its skill points in that position. If the player is assigned, it stays on its team.
+   *
+   * @param player   Player index.
+   * @param position Position ordinal. The player must be able to play in it.
+   */
+  public void moveToPosition(int player, int position) {
+    boolean wasAssigned = isAssigned(player);
+
+    int team = getTeam(player);
+
+    unassign(player);
+
+    positionsMasks[positions[player]] &= ~(1L << player);
+    positions[player] = (byte) position;
+    positionsMasks[position] |= 1L << player;
+    skills[player] = players[player].getSkillPoints(POSITIONS_VALUES[position]);
+
+    if (wasAssigned) {
+      assign(player, team);
+    }
+  }
+
+  /**
+   * Removes a player from its team, if any.
+   *
+   * @param player Player index.
+   */
+  public void unassign(int player) {
+    long bit = 1L << player;
+
+    if ((assignedMask & bit) == 0) {
+      return;
+    }
+
+    teamsSkills[getTeam(player)] -= skills[player];
+    assignedMask &= ~bit;
+    teamMask &= ~bit;
+  }
+
+  /**
+   * Removes every player in the mask from its team.
+   *
+   * @param playersMask Players to unassign.
+   */
+  public void unassignAll(long playersMask) {
+    for (long remaining = playersMask & assignedMask; remaining != 0; remaining &= remaining - 1) {
+      unassign(Long.numberOfTrailingZeros(remaining));
+    }
+  }
+
+  /**
+   * Removes every player from its team.
+   */
+  public void clearTeams() {
+    assignedMask = 0;
+    teamMask = 0;
+
+    Arrays.fill(teamsSkills, 0);
+  }
+
+  /**
+   * Removes every player from its team and moves it back to its own position, so the roster can be distributed again.
+   */
+  public void reset() {
+    clearTeams();
+
+    for (int player = 0; player < playersCount; player++) {
+      if (positions[player] != players[player].getPosition()
+                                              .ordinal()) {
+        moveToPosition(player, players[player].getPosition()
+                                              .ordinal());
+      }
+    }
+  }
+
+  /**
+   * Restores a previous distribution.
+   *
+   * @param assigned   Players assigned to any team.
+   * @param secondTeam Players assigned to the second team.
+   */
+  public void restore(long assigned, long secondTeam) {
+    clearTeams();
+
+    assignedMask = assigned;
+    teamMask = secondTeam & assigned;
+
+    for (int player = 0; player < playersCount; player++) {
+      if (isAssigned(player)) {
+        teamsSkills[getTeam(player)] += skills[player];
+      }
+    }
+  }
+
+  /**
+   * Checks if a set of players can be added to a team without exceeding the players per team limit nor the players per position per team limits.
+   *
+   * @param playersMask Players to add.
+   * @param team        Team index.
+   *
+   * @return Whether the players can be added to the team.
+   */
+  public boolean fits(long playersMask, int team) {
+    long teamPlayers = getTeamPlayersMask(team);
+
+    if (Long.bitCount(teamPlayers) + Long.bitCount(playersMask) > Constants.PLAYERS_PER_TEAM) {
+      return false;
+    }
+
+    for (int position = 0; position < POSITIONS; position++) {
+      if (Long.bitCount(teamPlayers & positionsMasks[position]) + Long.bitCount(playersMask & positionsMasks[position]) > positionsLimits[position]) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Sets two players as separated: they must not be on the same team.
+   *
+   * @param player1 First player index.
+   * @param player2 Second player index.
+   */
+  public void separate(int player1, int player2) {
+    separationsMasks[player1] |= 1L << player2;
+    separationsMasks[player2] |= 1L << player1;
+  }
+
+  /**
+   * @param player Player to look for.
+   *
+   * @return The index of the player in the roster, or -1 if the player is not part of the roster.
+   */
+  public int indexOf(Player player) {
+    for (int index = 0; index < playersCount; index++) {
+      if (players[index] == player) {
+        return index;
+      }
+    }
+
+    return -1;
+  }
+
+  /**
+   * @return Whether any player of the roster can play in more than one position.
+   */
+  public boolean hasAlternativePositions() {
+    return Arrays.stream(players)
+                 .anyMatch(player -> !player.getAlternativePositions()
+                                            .isEmpty());
+  }
+
+  /**
+   * @param player Player index.
+   *
+   * @return Whether the player is assigned to any team.
+   */
+  public boolean isAssigned(int player) {
+    return (assignedMask & (1L << player)) != 0;
+  }
+
+  /**
+   * @param player Player index.
+   *
+   * @return The index of the team the player is assigned to. The result is only meaningful if the player is assigned.
+   */
+  public int getTeam(int player) {
+    return (int) (teamMask >>> player) & 1;
+  }
+
+  /**
+   * @param team Team index.
+   *
+   * @return The players assigned to the team.
+   */
+  public long getTeamPlayersMask(int team) {
+    return team == 0 ? assignedMask & ~teamMask : teamMask;
+  }
+
+  /**
+   * @param team     Team index.
+   * @param position Position ordinal.
+   *
+   * @return Whether the position set of the team is full.
+   */
+  public boolean isPositionFull(int team, int position) {
+    return Long.bitCount(getTeamPlayersMask(team) & positionsMasks[position]) >= positionsLimits[position];
+  }
+
+  /**
+   * @param team Team index.
+   *
+   * @return The number of players assigned to the team.
+   */
+  public int getTeamSize(int team) {
+    return Long.bitCount(getTeamPlayersMask(team));
+  }
+
+  /**
+   * @param team Team index.
+   *
+   * @return The sum of the skill points of the players assigned to the team.
+   */
+  public int getTeamSkill(int team) {
+    return teamsSkills[team];
+  }
+
+  /**
+   * @param anchorageNumber Anchorage number.
+   *
+   * @return The players with the specified anchorage number.
+   */
+  public long getAnchorageMask(int anchorageNumber) {
+    return anchorageNumber < anchoragesMasks.length ? anchoragesMasks[anchorageNumber] : 0;
+  }
+
+  /**
+   * @param player Player index.
+   *
+   * @return The players that must not be on the same team as the specified player.
+   */
+  public long getSeparationMask(int player) {
+    return separationsMasks[player];
+  }
+
+  /**
+   * @param playersMask Players to sum.
+   *
+   * @return The sum of the skill points of the players.
+   */
+  public int getSkill(long playersMask) {
+    int skill = 0;
+
+    for (long remaining = playersMask; remaining != 0; remaining &= remaining - 1) {
+      skill += skills[Long.numberOfTrailingZeros(remaining)];
+    }
+
+    return skill;
+  }
+
+  /**
+   * @param position Position ordinal.
+   *
+   * @return The players with the specified position.
+   */
+  public long getPositionMask(int position) {
+    return positionsMasks[position];
+  }
+
+  /**
+   * @return Every player of the roster.
+   */
+  public long getPlayersMask() {
+    return playersCount == MAX_PLAYERS ? -1L : (1L << playersCount) - 1;
+  }
+
+  // ---------- Getters ------------------------------------------------------------------------------------------------------------------------------
+
+  public int getPlayersCount() {
+    return playersCount;
+  }
+
+  public long getAssignedMask() {
+    return assignedMask;
+  }
+
+  public long getTeamMask() {
+    return teamMask;
+  }
+
+  public byte[] getAnchorages() {
+    return anchorages;
+  }
+
+  public byte[] getPositions() {
+    return positions;
+  }
+
+  public int[] getAnchorageNumbers() {
+    return anchorageNumbers;
+  }
+
+  public int[] getPositionsLimits() {
+    return positionsLimits;
+  }
+
+  public int[] getSkills() {
+    return skills;
+  }
+
+  public int[] getTeamsSkills() {
+    return teamsSkills;
+  }
+
+  public long[] getAnchoragesMasks() {
+    return anchoragesMasks;
+  }
+
+  public long[] getPositionsMasks() {
+    return positionsMasks;
+  }
+
+  public long[] getSeparationsMasks() {
+    return separationsMasks;
+  }
+
+  public DistributionPlan getDistributionPlan() {
+    return distributionPlan;
+  }
+
+  public Player[] getPlayers() {
+    return players;
+  }
+
+  // ---------- Setters ------------------------------------------------------------------------------------------------------------------------------
+
+  public void setPlayersCount(int playersCount) {
+    this.playersCount = playersCount;
+  }
+
+  public void setAnchorages(byte[] anchorages) {
+    this.anchorages = anchorages;
+  }
+
+  public void setPositions(byte[] positions) {
+    this.positions = positions;
+  }
+
+  public void setAnchorageNumbers(int[] anchorageNumbers) {
+    this.anchorageNumbers = anchorageNumbers;
+  }
+
+  public void setPositionsLimits(int[] positionsLimits) {
+    this.positionsLimits = positionsLimits;
+  }
+
+  public void setSkills(int[] skills) {
+    this.skills = skills;
+  }
+
+  public void setTeamsSkills(int[] teamsSkills) {
+    this.teamsSkills = teamsSkills;
+  }
+
+  public void setAnchoragesMasks(long[] anchoragesMasks) {
+    this.anchoragesMasks = anchoragesMasks;
+  }
+
+  public void setPositionsMasks(long[] positionsMasks) {
+    this.positionsMasks = positionsMasks;
+  }
+
+  public void setSeparationsMasks(long[] separationsMasks) {
+    this.separationsMasks = separationsMasks;
+  }
+
+  public void setDistributionPlan(DistributionPlan distributionPlan) {
+    this.distributionPlan = distributionPlan;
+  }
+
+  public void setPlayers(Player[] players) {
+    this.players = players;
+  }
+}
\ No newline at end of file
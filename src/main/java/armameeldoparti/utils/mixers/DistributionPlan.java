@@ -0,0 +1,154 @@
+package armameeldoparti.utils.mixers;
+
+import armameeldoparti.models.Position;
+import java.util.Map;
+
+/**
+ * Distribution plan class.
+ *
+ * <p>Primitive representation of a players distribution (the players limits per position per team), built once when the distribution is loaded and
+ * shared by every compact roster, so the mixers never query the players limits maps.
+ *
+ * <p>Both teams have the same players limits, so a single limits array is kept. The plan also holds every split of the players limits that the first
+ * team can go through while it is being filled: every combination of players per position within the limits, called a state. The states are numbered
+ * in mixed radix, each position being a digit whose base is its players limit plus one, so adding players of a position to the first team moves to
+ * another state by adding a multiple of the stride of the position.
+ *
+ * @author Bonino, Francisco Ignacio.
+ *
+ * @version 0.0.1
+ *
+ * @since 3.0
+ */
+public class DistributionPlan {
+
+  // ---------- Private fields -----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * State where every players limit is reached.
+   */
+  private int finalState;
+
+  private int statesCount;
+
+  private int[] positionsLimits;
+
+  /**
+   * Distance between two consecutive states that only differ in one player of each position, indexed by the position ordinal.
+   */
+  private int[] positionsStrides;
+
+  /**
+   * Players per position of each state, indexed by state and then by position ordinal.
+   */
+  private int[][] statesCounts;
+
+  // ---------- Constructor --------------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Builds the distribution plan.
+   *
+   * @param positionsLimits Maximum number of players per position per team, indexed by the position ordinal.
+   */
+  public DistributionPlan(int[] positionsLimits) {
+    setPositionsLimits(positionsLimits);
+    setPositionsStrides(new int[CompactRoster.POSITIONS]);
+    setStatesCount(1);
+    setFinalState(0);
+
+    for (int position = 0; position < CompactRoster.POSITIONS; position++) {
+      positionsStrides[position] = statesCount;
+      finalState += positionsLimits[position] * statesCount;
+      statesCount *= positionsLimits[position] + 1;
+    }
+
+    setStatesCounts(new int[statesCount][CompactRoster.POSITIONS]);
+
+    for (int state = 0; state < statesCount; state++) {
+      for (int position = 0; position < CompactRoster.POSITIONS; position++) {
+        statesCounts[state][position] = state / positionsStrides[position] % (positionsLimits[position] + 1);
+      }
+    }
+  }
+
+  // ---------- Public static methods ----------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Builds the distribution plan from the players limits map.
+   *
+   * @param playersLimitPerPosition Maximum number of players per position per team.
+   *
+   * @return The distribution plan of the players limits.
+   */
+  public static DistributionPlan of(Map<Position, Integer> playersLimitPerPosition) {
+    int[] positionsLimits = new int[CompactRoster.POSITIONS];
+
+    for (Position position : Position.values()) {
+      positionsLimits[position.ordinal()] = playersLimitPerPosition.get(position);
+    }
+
+    return new DistributionPlan(positionsLimits);
+  }
+
+  // ---------- Public methods -----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * @param state  State to check.
+   * @param counts Players per position to add to the first team, indexed by the position ordinal.
+   *
+   * @return Whether the players can be added to the state without exceeding any players limit.
+   */
+  public boolean fitsState(int state, int[] counts) {
+    for (int position = 0; position < CompactRoster.POSITIONS; position++) {
+      if (statesCounts[state][position] + counts[position] > positionsLimits[position]) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  // ---------- Getters ------------------------------------------------------------------------------------------------------------------------------
+
+  public int getFinalState() {
+    return finalState;
+  }
+
+  public int getStatesCount() {
+    return statesCount;
+  }
+
+  public int[] getPositionsLimits() {
+    return positionsLimits;
+  }
+
+  public int[] getPositionsStrides() {
+    return positionsStrides;
+  }
+
+  public int[][] getStatesCounts() {
+    return statesCounts;
+  }
+
+  // ---------- Setters ------------------------------------------------------------------------------------------------------------------------------
+
+  public void setFinalState(int finalState) {
+    this.finalState = finalState;
+  }
+
+  public void setStatesCount(int statesCount) {
+    this.statesCount = statesCount;
+  }
+
+  public void setPositionsLimits(int[] positionsLimits) {
+    this.positionsLimits = positionsLimits;
+  }
+
+  public void setPositionsStrides(int[] positionsStrides) {
+    this.positionsStrides = positionsStrides;
+  }
+
+  public void setStatesCounts(int[][] statesCounts) {
+    this.statesCounts = statesCounts;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,307 @@
+package armameeldoparti.utils.mixers;
+
+import armameeldoparti.models.Error;
+import armameeldoparti.utils.common.CommonFunctions;
+import armameeldoparti.utils.solver.LineupImprovement;
+import armameeldoparti.utils.solver.TeamAssignmentSolver;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Heuristic skill balance distribution class.
+ *
+ * <p>Distributes the players by their skill points without guaranteeing the smallest skill points difference between the teams, but within a time
+ * budget regardless of the roster size.
+ *
+ * <p>The players are first decided from the highest to the lowest skill points by the team assignment solver, each one preferring the team with the
+ * least skill points so far, so every anchorage, separation and players limit is satisfied. Only the anchored and separated players keep that team:
+ * the rest of the players are redistributed by largest differencing (Karmarkar-Karp), adapted to the players limits of each position:
+ *
+ * <ul>
+ *   <li>The free players of each position are sorted by skill points and paired consecutively, so each pair must be split between the teams and only
+ *       adds its skill points difference to one team or the other. The players left unpaired because a team needs more players of the position than
+ *       the other go to that team.
+ *   <li>The two largest differences are repeatedly replaced by their difference, which means placing them on opposite teams, until a single one is
+ *       left. The skill points difference of the kept players is one more difference, so the kept teams are never swapped.
+ * </ul>
+ *
+ * <p>Then, while the time budget allows it, the pair of players of the same position that reduces the skill points difference the most is swapped
+ * between the teams. Only the players that are neither anchored nor separated are redistributed or swapped, so every constraint is kept. The lineup
+ * left by the largest differencing and every lineup improved by a swap are reported as they are found, so the best lineup so far can be shown
+ * while the time budget runs.
+ *
+ * @author Bonino, Francisco Ignacio.
+ *
+ * @version 0.0.1
+ *
+ * @since 3.0
+ */
+public class HeuristicBalanceMixer implements PlayersMixer {
+
+  // ---------- Private fields -----------------------------------------------------------------------------------------------------------------------
+
+  private long timeBudgetMillis;
+
+  /**
+   * Receives every lineup improvement found while the distribution is improved, in the thread running the distribution.
+   */
+  private Consumer<LineupImprovement> improvementsListener;
+
+  // ---------- Constructor --------------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Builds the heuristic skill balance distributor.
+   *
+   * @param timeBudgetMillis Maximum time to spend improving each distribution, in milliseconds.
+   */
+  public HeuristicBalanceMixer(long timeBudgetMillis) {
+    setTimeBudgetMillis(timeBudgetMillis);
+    setImprovementsListener(improvement -> {
+      // Improvements are ignored until a listener is set
+    });
+  }
+
+  // ---------- Public methods -----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Distributes the players by their skill points without considering anchorages.
+   *
+   * @param roster Compact roster with every player unassigned.
+   */
+  @Override
+  public void withoutAnchorages(CompactRoster roster) {
+    balance(roster);
+  }
+
+  /**
+   * Distributes the players by their skill points considering anchorages and separations.
+   *
+   * @param roster Compact roster with every player unassigned.
+   */
+  @Override
+  public void withAnchorages(CompactRoster roster) {
+    balance(roster);
+  }
+
+  // ---------- Private methods ----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Builds a greedy distribution, redistributes its free players by largest differencing and improves it with swaps until no swap helps or the time
+   * budget runs out, as explained in the class description.
+   *
+   * <p>The "java:S1190" and "java:S117" warnings are suppressed since JDK22 allows the use of unnamed variables.
+   *
+   * @param roster Compact roster with every player unassigned.
+   */
+  @SuppressWarnings({"java:S1190", "java:S117"})
+  private void balance(CompactRoster roster) {
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeBudgetMillis);
+
+    // At this point the constraints are guaranteed to be possible to distribute, so this should never happen
+    if (!new TeamAssignmentSolver(roster).solve(sortedBySkillPoints(roster, roster.getPlayersMask()),
+                                                _ -> roster.getTeamSkill(1) < roster.getTeamSkill(0) ? 1 : 0)) {
+      CommonFunctions.exitProgram(Error.ERROR_INTERNAL);
+    }
+
+    long movablePlayers = 0;
+
+    for (int player = 0; player < roster.getPlayersCount(); player++) {
+      if (roster.getAnchorages()[player] == 0 && roster.getSeparationMask(player) == 0) {
+        movablePlayers |= 1L << player;
+      }
+    }
+
+    redistribute(roster, movablePlayers);
+
+    // The swaps keep every player in its position, so the positions are the same for every improvement
+    byte[] positions = roster.getPositions()
+                             .clone();
+
+    improvementsListener.accept(new LineupImprovement(roster.getTeamMask(), positions, Math.abs(roster.getTeamSkill(0) - roster.getTeamSkill(1))));
+
+    int[] skills = roster.getSkills();
+
+    boolean improved = true;
+
+    while (improved && System.nanoTime() < deadline) {
+      PlayersMixer.checkCancellation();
+
+      int difference = roster.getTeamSkill(0) - roster.getTeamSkill(1);
+      int bestDifference = Math.abs(difference);
+      int bestFirstPlayer = -1;
+      int bestSecondPlayer = -1;
+
+      for (int position = 0; position < CompactRoster.POSITIONS; position++) {
+        long positionPlayers = movablePlayers & roster.getPositionMask(position);
+
+        for (long firstTeam = positionPlayers & roster.getTeamPlayersMask(0); firstTeam != 0; firstTeam &= firstTeam - 1) {
+          int firstPlayer = Long.numberOfTrailingZeros(firstTeam);
+
+          for (long secondTeam = positionPlayers & roster.getTeamPlayersMask(1); secondTeam != 0; secondTeam &= secondTeam - 1) {
+            int secondPlayer = Long.numberOfTrailingZeros(secondTeam);
+            int swappedDifference = Math.abs(difference - 2 * (skills[firstPlayer] - skills[secondPlayer]));
+
+            if (swappedDifference < bestDifference) {
+              bestDifference = swappedDifference;
+              bestFirstPlayer = firstPlayer;
+              bestSecondPlayer = secondPlayer;
+            }
+          }
+        }
+      }
+
+      improved = bestFirstPlayer != -1;
+
+      if (improved) {
+        roster.assign(bestFirstPlayer, 1);
+        roster.assign(bestSecondPlayer, 0);
+
+        improvementsListener.accept(new LineupImprovement(roster.getTeamMask(), positions, bestDifference));
+      }
+    }
+  }
+
+  /**
+   * Redistributes the free players by largest differencing, as explained in the class description.
+   *
+   * @param roster         Compact roster with every player assigned.
+   * @param movablePlayers Players that are neither anchored nor separated.
+   */
+  private void redistribute(CompactRoster roster, long movablePlayers) {
+    roster.unassignAll(movablePlayers);
+
+    // Each pair holds its higher skill player in the first array, and its difference is the skill points it adds to the team that player goes to
+    int[] higherPlayers = new int[Long.bitCount(movablePlayers) / 2];
+    int[] lowerPlayers = new int[higherPlayers.length];
+    int pairsCount = 0;
+
+    for (int position = 0; position < CompactRoster.POSITIONS; position++) {
+      int[] positionPlayers = sortedBySkillPoints(roster, movablePlayers & roster.getPositionMask(position));
+      int firstTeamRoom = roster.getPositionsLimits()[position] - Long.bitCount(roster.getTeamPlayersMask(0) & roster.getPositionMask(position));
+      int pairs = Math.min(firstTeamRoom, positionPlayers.length - firstTeamRoom);
+      int unpairedTeam = firstTeamRoom > pairs ? 0 : 1;
+
+      for (int pair = 0; pair < pairs; pair++) {
+        higherPlayers[pairsCount] = positionPlayers[2 * pair];
+        lowerPlayers[pairsCount] = positionPlayers[2 * pair + 1];
+        pairsCount++;
+      }
+
+      for (int unpaired = 2 * pairs; unpaired < positionPlayers.length; unpaired++) {
+        roster.assign(positionPlayers[unpaired], unpairedTeam);
+      }
+    }
+
+    int[] skills = roster.getSkills();
+
+    // The last difference is the one of the kept players, which is negative if the second team has more skill points
+    int keptDifference = roster.getTeamSkill(0) - roster.getTeamSkill(1);
+    int[] differences = new int[pairsCount + 1];
+
+    for (int pair = 0; pair < pairsCount; pair++) {
+      differences[pair] = skills[higherPlayers[pair]] - skills[lowerPlayers[pair]];
+    }
+
+    differences[pairsCount] = Math.abs(keptDifference);
+
+    boolean[] higherToFirstTeam = difference(differences);
+
+    // The kept players can't change teams, so every decision is inverted if the differencing placed them the other way
+    boolean inverted = higherToFirstTeam[pairsCount] != (keptDifference >= 0);
+
+    for (int pair = 0; pair < pairsCount; pair++) {
+      int higherTeam = higherToFirstTeam[pair] != inverted ? 0 : 1;
+
+      roster.assign(higherPlayers[pair], higherTeam);
+      roster.assign(lowerPlayers[pair], 1 - higherTeam);
+    }
+  }
+
+  /**
+   * Splits some non-negative differences in two groups with sums as close as possible, by repeatedly replacing the two largest differences by their
+   * difference.
+   *
+   * <p>Each replacement places the smaller difference on the opposite group of the larger one, which keeps representing both. The groups are then
+   * obtained undoing the replacements from the last one.
+   *
+   * @param differences Differences to split. They are modified by the differencing.
+   *
+   * @return Whether each difference belongs to the first group.
+   */
+  private boolean[] difference(int[] differences) {
+    int[] oppositeOf = new int[differences.length];
+    int[] replacements = new int[differences.length];
+    int replacementsCount = 0;
+
+    PriorityQueue<Integer> largestFirst = new PriorityQueue<>(Comparator.comparingInt((Integer item) -> differences[item])
+                                                                        .reversed());
+
+    for (int item = 0; item < differences.length; item++) {
+      largestFirst.add(item);
+    }
+
+    while (largestFirst.size() > 1) {
+      int larger = largestFirst.poll();
+      int smaller = largestFirst.poll();
+
+      differences[larger] -= differences[smaller];
+      oppositeOf[smaller] = larger;
+      replacements[replacementsCount++] = smaller;
+
+      largestFirst.add(larger);
+    }
+
+    boolean[] inFirstGroup = new boolean[differences.length];
+
+    inFirstGroup[largestFirst.poll()] = true;
+
+    for (int replacement = replacementsCount - 1; replacement >= 0; replacement--) {
+      int item = replacements[replacement];
+
+      inFirstGroup[item] = !inFirstGroup[oppositeOf[item]];
+    }
+
+    return inFirstGroup;
+  }
+
+  /**
+   * @param roster      Compact roster to sort.
+   * @param playersMask Players to sort.
+   *
+   * @return The indexes of the specified players, sorted from the highest to the lowest skill points.
+   */
+  private int[] sortedBySkillPoints(CompactRoster roster, long playersMask) {
+    int[] skills = roster.getSkills();
+
+    return BitSet.valueOf(new long[] {playersMask})
+                 .stream()
+                 .boxed()
+                 .sorted(Comparator.comparingInt((Integer player) -> skills[player])
+                                   .reversed())
+                 .mapToInt(Integer::intValue)
+                 .toArray();
+  }
+
+  // ---------- Getters ------------------------------------------------------------------------------------------------------------------------------
+
+  public long getTimeBudgetMillis() {
+    return timeBudgetMillis;
+  }
+
+  public Consumer<LineupImprovement> getImprovementsListener() {
+    return improvementsListener;
+  }
+
+  // ---------- Setters ------------------------------------------------------------------------------------------------------------------------------
+
+  public void setTimeBudgetMillis(long timeBudgetMillis) {
+    this.timeBudgetMillis = timeBudgetMillis;
+  }
+
+  public void setImprovementsListener(Consumer<LineupImprovement> improvementsListener) {
+    this.improvementsListener = improvementsListener;
+  }
+}
\ No newline at end of file
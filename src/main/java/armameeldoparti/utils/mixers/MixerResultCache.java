@@ -0,0 +1,135 @@
+package armameeldoparti.utils.mixers;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Mixer result cache class.
+ *
+ * <p>Keeps the distributions of the most recently used problems, so solving again a problem with the same fingerprint (see
+ * {@link RosterFingerprint}) only remaps the stored distribution to the current players. Each problem is also identified by the objective it was
+ * solved for, so only deterministic distributions must be stored.
+ *
+ * <p>Once the capacity is reached, the least recently used problem is discarded. The hits and misses are counted, and the hit rate is shown
+ * together with the summary of each distribution by skill points.
+ *
+ * @author Bonino, Francisco Ignacio.
+ *
+ * @version 0.0.1
+ *
+ * @since 3.0
+ */
+public class MixerResultCache {
+
+  // ---------- Private fields -----------------------------------------------------------------------------------------------------------------------
+
+  private int capacity;
+
+  private long hits;
+  private long misses;
+
+  /**
+   * Stored distributions, indexed by objective and fingerprint key, from the least to the most recently used.
+   */
+  private Map<String, boolean[]> distributions;
+
+  // ---------- Constructor --------------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Builds an empty cache.
+   *
+   * @param capacity Maximum number of stored distributions.
+   */
+  public MixerResultCache(int capacity) {
+    setCapacity(capacity);
+    setDistributions(new LinkedHashMap<>(capacity, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, boolean[]> eldest) {
+        return size() > MixerResultCache.this.capacity;
+      }
+    });
+  }
+
+  // ---------- Public methods -----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Distributes a roster with the stored distribution of its problem, if any.
+   *
+   * @param roster      Compact roster with every player unassigned.
+   * @param fingerprint Fingerprint of the roster.
+   * @param objective   Objective the distribution must be solved for.
+   *
+   * @return Whether a stored distribution was applied. If not, the roster is left unchanged.
+   */
+  public boolean restore(CompactRoster roster, RosterFingerprint fingerprint, String objective) {
+    boolean[] distribution = fingerprint.isFeasible() ? distributions.get(objective + fingerprint.getKey()) : null;
+
+    if (distribution == null) {
+      misses++;
+
+      return false;
+    }
+
+    hits++;
+
+    fingerprint.applyDistribution(roster, distribution);
+
+    return true;
+  }
+
+  /**
+   * Stores the distribution of a roster as the one of its problem.
+   *
+   * @param roster      Compact roster with every player assigned.
+   * @param fingerprint Fingerprint of the roster.
+   * @param objective   Objective the distribution was solved for.
+   */
+  public void store(CompactRoster roster, RosterFingerprint fingerprint, String objective) {
+    if (fingerprint.isFeasible()) {
+      distributions.put(objective + fingerprint.getKey(), fingerprint.getDistribution(roster));
+    }
+  }
+
+  /**
+   * @return The fraction of the lookups that found a stored distribution, or 0 if no lookup was made.
+   */
+  public double getHitRate() {
+    return hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+  }
+
+  // ---------- Getters ------------------------------------------------------------------------------------------------------------------------------
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public long getHits() {
+    return hits;
+  }
+
+  public long getMisses() {
+    return misses;
+  }
+
+  public Map<String, boolean[]> getDistributions() {
+    return distributions;
+  }
+
+  // ---------- Setters ------------------------------------------------------------------------------------------------------------------------------
+
+  public void setCapacity(int capacity) {
+    this.capacity = capacity;
+  }
+
+  public void setHits(long hits) {
+    this.hits = hits;
+  }
+
+  public void setMisses(long misses) {
+    this.misses = misses;
+  }
+
+  public void setDistributions(Map<String, boolean[]> distributions) {
+    this.distributions = distributions;
+  }
+}
\ No newline at end of file
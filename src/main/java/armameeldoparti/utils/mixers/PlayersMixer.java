@@ -1,11 +1,15 @@
 package armameeldoparti.utils.mixers;
 
-import armameeldoparti.models.Team;
-import java.util.List;
+import java.util.concurrent.CancellationException;
 
 /**
  * Interface that specifies the players distribution methods.
  *
+ * <p>The distribution is made over a {@link CompactRoster}, and the caller applies the result to the teams.
+ *
+ * <p>The distributions may run outside the Event Dispatch Thread, so the long-running ones check for cancellation with
+ * {@link #checkCancellation()} as they go.
+ *
  * @author Bonino, Francisco Ignacio.
  *
  * @version 0.0.1
@@ -17,20 +21,30 @@ public interface PlayersMixer {
   // ---------- Abstract public methods --------------------------------------------------------------------------------------------------------------
 
   /**
-   * Distributes the players without considering anchorages.
+   * Distributes the players of a compact roster without considering anchorages.
    *
-   * @param teams Teams where to distribute the players.
-   *
-   * @return The updated teams with the players distributed without considering anchorages.
+   * @param roster Compact roster with every player unassigned.
    */
-  List<Team> withoutAnchorages(List<Team> teams);
+  void withoutAnchorages(CompactRoster roster);
 
   /**
-   * Distributes the players considering anchorages.
+   * Distributes the players of a compact roster considering anchorages and separations.
    *
-   * @param teams Teams where to distribute the players.
+   * @param roster Compact roster with every player unassigned.
+   */
+  void withAnchorages(CompactRoster roster);
+
+  // ---------- Public static methods ----------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Stops the distribution in progress if the thread running it was interrupted, since its result would be discarded anyway.
    *
-   * @return The updated teams with the players distributed considering anchorages.
+   * @throws CancellationException If the current thread was interrupted.
    */
-  List<Team> withAnchorages(List<Team> teams);
+  static void checkCancellation() {
+    if (Thread.currentThread()
+              .isInterrupted()) {
+      throw new CancellationException();
+    }
+  }
 }
\ No newline at end of file
@@ -1,17 +1,9 @@
 package armameeldoparti.utils.mixers;
 
 import armameeldoparti.models.Error;
-import armameeldoparti.models.Player;
-import armameeldoparti.models.Position;
-import armameeldoparti.models.Team;
-import armameeldoparti.utils.common.CommonFields;
 import armameeldoparti.utils.common.CommonFunctions;
-import armameeldoparti.utils.common.Constants;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import armameeldoparti.utils.solver.TeamAssignmentSolver;
 import java.util.Random;
-import java.util.function.Predicate;
 
 /**
  * Random distribution class.
@@ -29,7 +21,18 @@ public class RandomMixer implements PlayersMixer {
   private int randomTeam1;
   private int randomTeam2;
 
+  /**
+   * Seed used in the last distribution. Distributing the same players with the same seed always gives the same result.
+   */
+  private long seed;
+
+  /**
+   * Reusable buffer for the indexes of the players of the position being distributed.
+   */
+  private int[] playersAtPosition;
+
   private Random randomGenerator;
+  private Random seedGenerator;
 
   // ---------- Constructor --------------------------------------------------------------------------------------------------------------------------
 
@@ -38,6 +41,8 @@ public class RandomMixer implements PlayersMixer {
    */
   public RandomMixer() {
     randomGenerator = new Random();
+    seedGenerator = new Random();
+    playersAtPosition = new int[CompactRoster.MAX_PLAYERS];
   }
 
   // ---------- Public methods -----------------------------------------------------------------------------------------------------------------------
@@ -47,126 +52,78 @@ public class RandomMixer implements PlayersMixer {
    *
    * <p>Half of the players of each players-set are randomly assigned a team number. The rest of the players are assigned to the opposing team number.
    *
-   * @param teams Teams where to distribute the players.
+   * <p>Only the players assigned to the first team need to be chosen randomly, so the players of each position are partially shuffled until that
+   * half is chosen. The players indexes are stored in an array that is reused in every call, so no objects are created for each distribution.
    *
-   * @return The updated teams with the players distributed randomly without considering anchorages.
+   * @param roster Compact roster with every player unassigned.
    */
   @Override
-  public List<Team> withoutAnchorages(List<Team> teams) {
-    shuffleTeamNumbers(teams.size());
-
-    for (Position position : Position.values()) {
-      List<Player> playersAtPosition = new ArrayList<>(CommonFields.getPlayersSets()
-                                                                   .get(position));
-
-      Collections.shuffle(playersAtPosition);
+  public void withoutAnchorages(CompactRoster roster) {
+    reseed();
+    shuffleTeamNumbers(CompactRoster.TEAMS);
 
-      teams.get(randomTeam1)
-           .getTeamPlayers()
-           .get(position)
-           .addAll(playersAtPosition.subList(0, playersAtPosition.size() / teams.size()));
-    }
+    for (int position = 0; position < CompactRoster.POSITIONS; position++) {
+      int playersCount = 0;
 
-    teams.get(randomTeam1)
-         .getTeamPlayers()
-         .values()
-         .stream()
-         .flatMap(List::stream)
-         .forEach(player -> player.setTeamNumber(randomTeam1 + 1));
+      for (long remaining = roster.getPositionMask(position); remaining != 0; remaining &= remaining - 1) {
+        playersAtPosition[playersCount++] = Long.numberOfTrailingZeros(remaining);
+      }
 
-    CommonFields.getPlayersSets()
-                .values()
-                .stream()
-                .flatMap(List::stream)
-                .filter(player -> player.getTeamNumber() == 0)
-                .forEach(player -> {
-                  teams.get(randomTeam2)
-                       .getTeamPlayers()
-                       .get(player.getPosition())
-                       .add(player);
+      int firstTeamPlayersCount = playersCount / CompactRoster.TEAMS;
 
-                  player.setTeamNumber(randomTeam2 + 1);
-                });
+      partialShuffle(playersAtPosition, playersCount, firstTeamPlayersCount);
 
-    return teams;
+      for (int playerIndex = 0; playerIndex < playersCount; playerIndex++) {
+        roster.assign(playersAtPosition[playerIndex], playerIndex < firstTeamPlayersCount ? randomTeam1 : randomTeam2);
+      }
+    }
   }
 
   /**
-   * Distributes the players randomly considering anchorages.
+   * Distributes the players randomly considering anchorages and separations.
    *
-   * <p>First, the anchored players are grouped in different lists by their anchorage number, and they are distributed randomly. If a set of anchored
-   * players cannot be added to one team, it will be added to the other. Then, the players that are not anchored are distributed randomly. They will
-   * be added to a team only if the players per position or the players per team limits are not exceeded.
+   * <p>The players are decided in a random order by the team assignment solver, each one preferring a random team. The solver propagates the
+   * anchorages, separations and players limits after every decision, so the anchored and separated players follow their partners, and a player is
+   * only added to a team if the players per position or the players per team limits are not exceeded.
    *
-   * <p>At this point, the anchorages are guaranteed to be possible to distribute by {@link armameeldoparti.controllers.AnchoragesController}, though
-   * there are cases where the order in which the anchorages are distributed may affect the availability of teams for the following anchorages. To
-   * consider this, a boolean variable is used: if there's no room in any team for certain anchorage, then this variable is used to stop the
-   * anchorages distribution, shuffle them and start the distribution again.
+   * <p>At this point, the anchorages and separations are guaranteed to be possible to distribute by
+   * {@link armameeldoparti.controllers.AnchoragesController}, so the solver always finds a distribution without starting over.
    *
-   * @param teams Teams where to distribute the players.
+   * <p>The "java:S1190" and "java:S117" warnings are suppressed since JDK22 allows the use of unnamed variables.
    *
-   * @return The updated teams with the players distributed randomly considering anchorages.
+   * @param roster Compact roster with every player unassigned.
+   *
+   * @see armameeldoparti.utils.solver.TeamAssignmentSolver
    */
   @Override
-  public List<Team> withAnchorages(List<Team> teams) {
-    boolean successfulDistribution = false;
-
-    List<List<Player>> anchorages = CommonFunctions.getAnchorages();
-
-    while (!successfulDistribution) {
-      Collections.shuffle(anchorages);
-
-      for (List<Player> anchorage : anchorages) {
-        int teamNumber = getAvailableTeam(teams, team -> anchorageCanBeAdded(team, anchorage));
+  @SuppressWarnings({"java:S1190", "java:S117"})
+  public void withAnchorages(CompactRoster roster) {
+    reseed();
 
-        if (teamNumber == -1) {
-          teams.forEach(Team::clear);
+    int[] playersOrder = new int[roster.getPlayersCount()];
 
-          successfulDistribution = false;
-
-          break;
-        }
-
-        for (Player player : anchorage) {
-          player.setTeamNumber(teamNumber + 1);
-
-          teams.get(teamNumber)
-               .getTeamPlayers()
-               .get(player.getPosition())
-               .add(player);
-        }
-
-        successfulDistribution = true;
-      }
+    for (int player = 0; player < playersOrder.length; player++) {
+      playersOrder[player] = player;
     }
 
-    // Remaining (not anchored) players without an assigned team
-    CommonFields.getPlayersSets()
-                .values()
-                .stream()
-                .flatMap(List::stream)
-                .filter(player -> player.getTeamNumber() == 0)
-                .forEach(player -> {
-                  int teamNumber = getAvailableTeam(teams, team -> playerCanBeAdded(team, player));
+    partialShuffle(playersOrder, playersOrder.length, playersOrder.length);
 
-                  // If there's no available team at this point, something went wrong
-                  if (teamNumber == -1) {
-                    CommonFunctions.exitProgram(Error.ERROR_INTERNAL);
-                  }
+    if (!new TeamAssignmentSolver(roster).solve(playersOrder, _ -> randomGenerator.nextInt(CompactRoster.TEAMS))) {
+      CommonFunctions.exitProgram(Error.ERROR_INTERNAL);
+    }
+  }
 
-                  player.setTeamNumber(teamNumber + 1);
+  // ---------- Private methods ----------------------------------------------------------------------------------------------------------------------
 
-                  teams.get(teamNumber)
-                       .getTeamPlayers()
-                       .get(player.getPosition())
-                       .add(player);
-                });
+  /**
+   * Picks a new seed for the next distribution and restarts the random generator with it.
+   */
+  private void reseed() {
+    seed = seedGenerator.nextLong();
 
-    return teams;
+    randomGenerator.setSeed(seed);
   }
 
-  // ---------- Private methods ----------------------------------------------------------------------------------------------------------------------
-
   /**
    * Randomly shuffles the team numbers.
    *
@@ -178,99 +135,26 @@ public class RandomMixer implements PlayersMixer {
   }
 
   /**
-   * @param team   Team where the player should be added.
-   * @param player The players to add.
+   * Performs a partial Fisher-Yates shuffle: the first {@code count} elements of the array are chosen uniformly at random among its first
+   * {@code length} elements, and moved to the start of the array.
    *
-   * @return Whether a player can be added to the specified team.
+   * @param values Array to shuffle in place.
+   * @param length Number of elements to consider, from the start of the array.
+   * @param count  Number of elements to choose.
    */
-  private boolean playerCanBeAdded(Team team, Player player) {
-    return !team.isPositionFull(player.getPosition());
-  }
+  private void partialShuffle(int[] values, int length, int count) {
+    for (int index = 0; index < count && index < length - 1; index++) {
+      int swapIndex = index + randomGenerator.nextInt(length - index);
+      int value = values[index];
 
-  /**
-   * Checks if a set of anchored players can be added to a team.
-   *
-   * <p>First, checks if any of the positions of the anchored players in the destination team is already complete. If not, checks if adding them does
-   * not exceed the number of players allowed per position per team. This is done in order to avoid more than half of the registered players of the
-   * same position remaining on the same team.
-   *
-   * @param team      Team where the anchored players should be added.
-   * @param anchorage List containing the players with the same anchorage number.
-   *
-   * @return Whether a set of anchored players can be added to a team.
-   */
-  private boolean anchorageCanBeAdded(Team team, List<Player> anchorage) {
-    return !(anchorageOverflowsTeamSize(team, anchorage) || anchorageOverflowsAnyPositionSet(team, anchorage));
-  }
-
-  /**
-   * @param team      Team to check if the anchored players can be added.
-   * @param anchorage Anchored players to check.
-   *
-   * @return Whether the number of anchored players to be added to a team would exceed the limit of players per team.
-   */
-  private boolean anchorageOverflowsTeamSize(Team team, List<Player> anchorage) {
-    return team.getPlayersCount() + anchorage.size() > Constants.PLAYERS_PER_TEAM;
-  }
-
-  /**
-   * @param team      Team to check if the anchored players can be added.
-   * @param anchorage Anchored players to check.
-   *
-   * @return Whether the number of anchored players to be added to a team would exceed the limit of players per team in any position set.
-   */
-  private boolean anchorageOverflowsAnyPositionSet(Team team, List<Player> anchorage) {
-    return anchorage.stream()
-                    .anyMatch(player -> team.isPositionFull(player.getPosition())
-                                        || anchorageOverflowsPositionSet(team, anchorage, player.getPosition()));
-  }
-
-  /**
-   * @param team      Team to check if the anchored players can be added.
-   * @param anchorage Anchored players to check.
-   * @param position  Anchored players position.
-   *
-   * @return Whether the number of anchored players to be added to a position set in a team would exceed the limit of players per team for that
-   *         particular position.
-   */
-  private boolean anchorageOverflowsPositionSet(Team team, List<Player> anchorage, Position position) {
-    return team.getTeamPlayers()
-               .get(position)
-               .size()
-           + anchorage.stream()
-                      .filter(player -> player.getPosition() == position)
-                      .count()
-           > CommonFields.getPlayersLimitPerPosition()
-                         .get(position);
-  }
-
-  /**
-   * Checks which team a given player can be added to.
-   *
-   * @param teams               The possible teams where to add the player.
-   * @param validationPredicate The predicate that will validate if the player can be added to a team, or not.
-   *
-   * @return The only available team index, a random team index if the player can be added in every team, or -1 if there's no available team for the
-   *         player.
-   */
-  private int getAvailableTeam(List<Team> teams, Predicate<Team> validationPredicate) {
-    shuffleTeamNumbers(teams.size());
-
-    boolean isRandomTeam1Available = validationPredicate.test(teams.get(randomTeam1));
-    boolean isRandomTeam2Available = validationPredicate.test(teams.get(randomTeam2));
-
-    if (isRandomTeam1Available && isRandomTeam2Available) {
-      return randomGenerator.nextInt(teams.size());
-    }
-
-    if (isRandomTeam1Available) {
-      return randomTeam1;
+      values[index] = values[swapIndex];
+      values[swapIndex] = value;
     }
+  }
 
-    if (isRandomTeam2Available) {
-      return randomTeam2;
-    }
+  // ---------- Getters ------------------------------------------------------------------------------------------------------------------------------
 
-    return -1;
+  public long getSeed() {
+    return seed;
   }
 }
\ No newline at end of file
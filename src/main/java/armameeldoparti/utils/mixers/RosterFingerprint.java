@@ -0,0 +1,210 @@
+package armameeldoparti.utils.mixers;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Roster fingerprint class.
+ *
+ * <p>Describes a compact roster as a skill balance problem, independently of which players it has. The roster is split into units with two sides:
+ * every constraint group (see {@link TeamConstraints}) is a unit, and so is every not constrained player, with an empty second side. Distributing
+ * the roster is choosing, for every unit, which side goes to the first team.
+ *
+ * <p>Each side is described by the positions and skill points of its players, sorted, and each unit by its two sides, the lowest one first. The units
+ * are then sorted by their description, so two rosters whose players only differ in their names, or in their order, have the same fingerprint key,
+ * and the units with the same description can be exchanged without changing the distribution.
+ *
+ * @author Bonino, Francisco Ignacio.
+ *
+ * @version 0.0.1
+ *
+ * @since 3.0
+ */
+public class RosterFingerprint {
+
+  // ---------- Private fields -----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Whether the roster constraints can be satisfied regardless of the players limits. If not, the fingerprint has no units.
+   */
+  private boolean isFeasible;
+
+  /**
+   * Players of the first side of each unit, in the canonical order.
+   */
+  private long[] firstSides;
+
+  /**
+   * Players of the second side of each unit, in the canonical order.
+   */
+  private long[] secondSides;
+
+  private String key;
+
+  // ---------- Constructor --------------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Builds the fingerprint of a compact roster.
+   *
+   * @param roster Compact roster to describe.
+   */
+  public RosterFingerprint(CompactRoster roster) {
+    TeamConstraints constraints = new TeamConstraints(roster);
+
+    setFeasible(constraints.isFeasible());
+
+    if (!isFeasible) {
+      setFirstSides(new long[0]);
+      setSecondSides(new long[0]);
+      setKey("");
+
+      return;
+    }
+
+    long constrainedPlayers = 0;
+
+    for (int group = 0; group < constraints.getGroupsCount(); group++) {
+      constrainedPlayers |= constraints.getGroupMask(group);
+    }
+
+    long freePlayers = roster.getPlayersMask() & ~constrainedPlayers;
+
+    int unitsCount = constraints.getGroupsCount() + Long.bitCount(freePlayers);
+
+    long[][] unitsSides = new long[unitsCount][];
+    String[] unitsDescriptions = new String[unitsCount];
+    Integer[] unitsOrder = new Integer[unitsCount];
+
+    int unit = 0;
+
+    for (int group = 0; group < constraints.getGroupsCount(); group++, unit++) {
+      unitsSides[unit] = new long[] {constraints.getFirstSides()[group], constraints.getSecondSides()[group]};
+    }
+
+    for (long remaining = freePlayers; remaining != 0; remaining &= remaining - 1, unit++) {
+      unitsSides[unit] = new long[] {remaining & -remaining, 0};
+    }
+
+    for (unit = 0; unit < unitsCount; unit++) {
+      String firstSide = describeSide(roster, unitsSides[unit][0]);
+      String secondSide = describeSide(roster, unitsSides[unit][1]);
+
+      if (firstSide.compareTo(secondSide) > 0) {
+        unitsSides[unit] = new long[] {unitsSides[unit][1], unitsSides[unit][0]};
+        unitsDescriptions[unit] = secondSide + "/" + firstSide;
+      } else {
+        unitsDescriptions[unit] = firstSide + "/" + secondSide;
+      }
+
+      unitsOrder[unit] = unit;
+    }
+
+    Arrays.sort(unitsOrder, Comparator.comparing(sortedUnit -> unitsDescriptions[sortedUnit]));
+
+    StringBuilder keyBuilder = new StringBuilder(Arrays.toString(roster.getPositionsLimits()));
+
+    setFirstSides(new long[unitsCount]);
+    setSecondSides(new long[unitsCount]);
+
+    for (unit = 0; unit < unitsCount; unit++) {
+      firstSides[unit] = unitsSides[unitsOrder[unit]][0];
+      secondSides[unit] = unitsSides[unitsOrder[unit]][1];
+
+      keyBuilder.append(';')
+                .append(unitsDescriptions[unitsOrder[unit]]);
+    }
+
+    setKey(keyBuilder.toString());
+  }
+
+  // ---------- Public methods -----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * @param roster Compact roster with every player assigned, the same one the fingerprint was built from.
+   *
+   * @return Whether the first side of each unit is assigned to the first team, in the canonical order.
+   */
+  public boolean[] getDistribution(CompactRoster roster) {
+    boolean[] distribution = new boolean[firstSides.length];
+
+    for (int unit = 0; unit < firstSides.length; unit++) {
+      distribution[unit] = (roster.getTeamPlayersMask(0) & firstSides[unit]) != 0;
+    }
+
+    return distribution;
+  }
+
+  /**
+   * Assigns the players of a roster as stated by a distribution of another roster with the same fingerprint key.
+   *
+   * @param roster       Compact roster to distribute, the same one the fingerprint was built from.
+   * @param distribution Whether the first side of each unit is assigned to the first team, in the canonical order.
+   */
+  public void applyDistribution(CompactRoster roster, boolean[] distribution) {
+    roster.clearTeams();
+
+    for (int unit = 0; unit < firstSides.length; unit++) {
+      roster.assignAll(firstSides[unit], distribution[unit] ? 0 : 1);
+      roster.assignAll(secondSides[unit], distribution[unit] ? 1 : 0);
+    }
+  }
+
+  // ---------- Private methods ----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * @param roster      Compact roster being described.
+   * @param playersMask Players of the side.
+   *
+   * @return The position ordinal and skill points of every player of the side, sorted.
+   */
+  private String describeSide(CompactRoster roster, long playersMask) {
+    int[] players = new int[Long.bitCount(playersMask)];
+    int playerIndex = 0;
+
+    for (long remaining = playersMask; remaining != 0; remaining &= remaining - 1) {
+      int player = Long.numberOfTrailingZeros(remaining);
+
+      players[playerIndex++] = roster.getPositions()[player] * (Short.MAX_VALUE + 1) + roster.getSkills()[player];
+    }
+
+    Arrays.sort(players);
+
+    return Arrays.toString(players);
+  }
+
+  // ---------- Getters ------------------------------------------------------------------------------------------------------------------------------
+
+  public boolean isFeasible() {
+    return isFeasible;
+  }
+
+  public long[] getFirstSides() {
+    return firstSides;
+  }
+
+  public long[] getSecondSides() {
+    return secondSides;
+  }
+
+  public String getKey() {
+    return key;
+  }
+
+  // ---------- Setters ------------------------------------------------------------------------------------------------------------------------------
+
+  public void setFeasible(boolean isFeasible) {
+    this.isFeasible = isFeasible;
+  }
+
+  public void setFirstSides(long[] firstSides) {
+    this.firstSides = firstSides;
+  }
+
+  public void setSecondSides(long[] secondSides) {
+    this.secondSides = secondSides;
+  }
+
+  public void setKey(String key) {
+    this.key = key;
+  }
+}
\ No newline at end of file
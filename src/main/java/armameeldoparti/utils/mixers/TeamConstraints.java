@@ -0,0 +1,186 @@
+package armameeldoparti.utils.mixers;
+
+import java.util.Arrays;
+
+/**
+ * Team constraints class.
+ *
+ * <p>Groups the anchorages and separations of a compact roster into independent constraint groups. Each group has two sides: the players of the
+ * same side must be on the same team, and the players of different sides must be on different teams. An anchorage without separations is a group
+ * with an empty second side.
+ *
+ * <p>The groups are built by 2-coloring the graph whose nodes are the anchorages (and the not anchored players that are separated from someone) and
+ * whose edges are the separations. If two players of the same anchorage are separated, or if the separations form a cycle of odd length, the
+ * constraints can't be satisfied by any distribution, regardless of the players limits.
+ *
+ * <p>The groups themselves are distributed by {@link armameeldoparti.utils.solver.TeamAssignmentSolver}, which also considers the players limits.
+ *
+ * @author Bonino, Francisco Ignacio.
+ *
+ * @version 0.0.1
+ *
+ * @since 3.0
+ */
+public class TeamConstraints {
+
+  // ---------- Private fields -----------------------------------------------------------------------------------------------------------------------
+
+  private boolean isFeasible;
+
+  private int groupsCount;
+
+  /**
+   * Players of the first side of each group.
+   */
+  private long[] firstSides;
+
+  /**
+   * Players of the second side of each group.
+   */
+  private long[] secondSides;
+
+  // ---------- Constructor --------------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Builds the constraint groups of a compact roster.
+   *
+   * @param roster Compact roster with the anchorages and separations to group.
+   */
+  public TeamConstraints(CompactRoster roster) {
+    int[] anchorageNumbers = roster.getAnchorageNumbers();
+
+    // Every anchorage is a node, and so is every separated player that is not anchored
+    long[] nodes = new long[CompactRoster.MAX_PLAYERS];
+    long[] nodesSeparations = new long[CompactRoster.MAX_PLAYERS];
+
+    int nodesCount = 0;
+
+    for (int anchorageNumber : anchorageNumbers) {
+      nodes[nodesCount++] = roster.getAnchorageMask(anchorageNumber);
+    }
+
+    for (int player = 0; player < roster.getPlayersCount(); player++) {
+      if (roster.getAnchorages()[player] == 0 && roster.getSeparationMask(player) != 0) {
+        nodes[nodesCount++] = 1L << player;
+      }
+    }
+
+    setFeasible(true);
+
+    for (int node = 0; node < nodesCount; node++) {
+      for (long remaining = nodes[node]; remaining != 0; remaining &= remaining - 1) {
+        nodesSeparations[node] |= roster.getSeparationMask(Long.numberOfTrailingZeros(remaining));
+      }
+
+      if ((nodesSeparations[node] & nodes[node]) != 0) {
+        isFeasible = false;
+      }
+    }
+
+    setFirstSides(new long[nodesCount]);
+    setSecondSides(new long[nodesCount]);
+    setGroupsCount(0);
+
+    // Nodes colors: 0 for the first side, 1 for the second side, -1 if not visited yet
+    int[] colors = new int[nodesCount];
+    int[] pendingNodes = new int[nodesCount];
+
+    Arrays.fill(colors, -1);
+
+    for (int startNode = 0; startNode < nodesCount && isFeasible; startNode++) {
+      if (colors[startNode] != -1) {
+        continue;
+      }
+
+      int pendingCount = 0;
+
+      colors[startNode] = 0;
+      pendingNodes[pendingCount++] = startNode;
+
+      while (pendingCount > 0 && isFeasible) {
+        int node = pendingNodes[--pendingCount];
+
+        if (colors[node] == 0) {
+          firstSides[groupsCount] |= nodes[node];
+        } else {
+          secondSides[groupsCount] |= nodes[node];
+        }
+
+        for (int neighbour = 0; neighbour < nodesCount; neighbour++) {
+          if ((nodesSeparations[node] & nodes[neighbour]) == 0) {
+            continue;
+          }
+
+          if (colors[neighbour] == -1) {
+            colors[neighbour] = 1 - colors[node];
+            pendingNodes[pendingCount++] = neighbour;
+          } else if (colors[neighbour] == colors[node]) {
+            isFeasible = false;
+          }
+        }
+      }
+
+      groupsCount++;
+    }
+  }
+
+  // ---------- Public methods -----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * @return The groups indexes in ascending order.
+   */
+  public int[] getGroupsOrder() {
+    int[] groupsOrder = new int[groupsCount];
+
+    for (int group = 0; group < groupsCount; group++) {
+      groupsOrder[group] = group;
+    }
+
+    return groupsOrder;
+  }
+
+  /**
+   * @param group Group index.
+   *
+   * @return Every player of the group.
+   */
+  public long getGroupMask(int group) {
+    return firstSides[group] | secondSides[group];
+  }
+
+  // ---------- Getters ------------------------------------------------------------------------------------------------------------------------------
+
+  public boolean isFeasible() {
+    return isFeasible;
+  }
+
+  public int getGroupsCount() {
+    return groupsCount;
+  }
+
+  public long[] getFirstSides() {
+    return firstSides;
+  }
+
+  public long[] getSecondSides() {
+    return secondSides;
+  }
+
+  // ---------- Setters ------------------------------------------------------------------------------------------------------------------------------
+
+  public void setFeasible(boolean isFeasible) {
+    this.isFeasible = isFeasible;
+  }
+
+  public void setGroupsCount(int groupsCount) {
+    this.groupsCount = groupsCount;
+  }
+
+  public void setFirstSides(long[] firstSides) {
+    this.firstSides = firstSides;
+  }
+
+  public void setSecondSides(long[] secondSides) {
+    this.secondSides = secondSides;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,515 @@
+package armameeldoparti.utils.roster;
+
+import armameeldoparti.models.Player;
+import armameeldoparti.models.Position;
+import armameeldoparti.utils.common.CommonFunctions;
+import armameeldoparti.utils.common.Constants;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Roster importer class.
+ *
+ * <p>Reads a roster from a CSV, TSV or plain-text source and loads it into the players sets. It does not depend on any graphical component, so it can
+ * be used with or without the graphical interface.
+ *
+ * <p>Delimited lines (using tabs, semicolons or commas) have the fields {@code name, position[, skill points[, anchorage]]}. Plain-text lines without
+ * delimiters are either a position name, which starts a new section, or a player name that belongs to the last section found. Blank lines and lines
+ * starting with {@code #} are ignored, and so is a first line starting with a "nombre" or "name" header.
+ *
+ * <p>A player that can play in more than one position has its positions separated by slashes in a delimited line, starting with the one it is
+ * imported to, and optionally its skill points in each of them in the same order (for example, {@code M/F} and {@code 4/3}). The positions without
+ * skill points take the ones of the first position.
+ *
+ * <p>The source is read line by line only once: every line is validated as soon as it is read, and every error found is collected so they can all be
+ * reported together.
+ *
+ * @author Bonino, Francisco Ignacio.
+ *
+ * @version 0.0.1
+ *
+ * @since 3.0
+ */
+public class RosterImporter {
+
+  // ---------- Private constants --------------------------------------------------------------------------------------------------------------------
+
+  private static final int FIELD_NAME = 0;
+  private static final int FIELD_POSITION = 1;
+  private static final int FIELD_SKILL = 2;
+  private static final int FIELD_ANCHORAGE = 3;
+  private static final int MAX_FIELDS = 4;
+
+  private static final String COMMENT_PREFIX = "#";
+  private static final String POSITIONS_SEPARATOR = "/";
+  private static final String MSG_ERROR_ANCHORAGES_COUNT = "No puede haber más de %d anclajes";
+  private static final String MSG_ERROR_ANCHORAGE_POSITION = "El anclaje \"%s\" no puede tener más de la mitad de los %s";
+  private static final String MSG_ERROR_ANCHORAGE_SIZE = "El anclaje \"%s\" debe tener entre %d y %d jugadores";
+  private static final String MSG_ERROR_ANCHORED_PLAYERS = "No puede haber más de %d jugadores anclados en total";
+  private static final String MSG_ERROR_FIELDS = "Línea %d: hay más de " + MAX_FIELDS + " campos";
+  private static final String MSG_ERROR_NAME_CHARACTERS = "Línea %d: el nombre \"%s\" debe estar formado por letras de la A a la Z";
+  private static final String MSG_ERROR_NAME_LENGTH = "Línea %d: el nombre \"%s\" no puede tener más de " + Constants.MAX_NAME_LEN + " caracteres";
+  private static final String MSG_ERROR_NAME_REPEATED = "Línea %d: el nombre \"%s\" está repetido";
+  private static final String MSG_ERROR_POSITION_FULL = "Línea %d: no hay lugar para más %s";
+  private static final String MSG_ERROR_POSITION_INVALID = "Línea %d: la posición \"%s\" no es válida";
+  private static final String MSG_ERROR_POSITION_MISSING = "Línea %d: no se indicó la posición del jugador \"%s\"";
+  private static final String MSG_ERROR_POSITION_REPEATED = "Línea %d: la posición \"%s\" está repetida";
+  private static final String MSG_ERROR_SKILL = "Línea %d: la puntuación \"%s\" debe ser un número entre " + Constants.SKILL_MIN
+                                                + " y " + Constants.SKILL_MAX;
+  private static final String MSG_ERROR_SKILLS_COUNT = "Línea %d: hay más puntuaciones que posiciones en \"%s\"";
+
+  private static final Pattern PATTERN_NAMES_VALIDATION = Pattern.compile(Constants.REGEX_NAMES_VALIDATION);
+  private static final Pattern PATTERN_HEADER = Pattern.compile("(?i)(nombre|name)\\b.*");
+
+  /**
+   * Accepted position names: the same letters used in the distribution file, the position names, and the Position enum values.
+   */
+  private static final Map<String, Position> MAP_POSITION_ALIASES = Map.ofEntries(
+    Map.entry("C", Position.CENTRAL_DEFENDER),
+    Map.entry("L", Position.LATERAL_DEFENDER),
+    Map.entry("M", Position.MIDFIELDER),
+    Map.entry("F", Position.FORWARD),
+    Map.entry("G", Position.GOALKEEPER),
+    Map.entry(Constants.POSITION_CENTRAL_DEFENDERS, Position.CENTRAL_DEFENDER),
+    Map.entry(Constants.POSITION_LATERAL_DEFENDERS, Position.LATERAL_DEFENDER),
+    Map.entry(Constants.POSITION_MIDFIELDERS, Position.MIDFIELDER),
+    Map.entry(Constants.POSITION_FORWARDS, Position.FORWARD),
+    Map.entry(Constants.POSITION_GOALKEEPERS, Position.GOALKEEPER),
+    Map.entry(Position.CENTRAL_DEFENDER.name(), Position.CENTRAL_DEFENDER),
+    Map.entry(Position.LATERAL_DEFENDER.name(), Position.LATERAL_DEFENDER),
+    Map.entry(Position.MIDFIELDER.name(), Position.MIDFIELDER),
+    Map.entry(Position.FORWARD.name(), Position.FORWARD),
+    Map.entry(Position.GOALKEEPER.name(), Position.GOALKEEPER)
+  );
+
+  // ---------- Private fields -----------------------------------------------------------------------------------------------------------------------
+
+  private int lineNumber;
+
+  private Position currentSection;
+
+  private List<String> errors;
+
+  private Map<Position, List<Player>> importedPlayers;
+  private Map<Position, List<Player>> playersSets;
+  private Map<String, List<Player>> anchorages;
+
+  private Set<String> names;
+
+  // ---------- Constructor --------------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Builds a roster importer for the given players sets.
+   *
+   * @param playersSets Players sets where the roster will be loaded. Their sizes determine how many players can be imported for each position.
+   */
+  public RosterImporter(Map<Position, List<Player>> playersSets) {
+    setPlayersSets(playersSets);
+    setErrors(new ArrayList<>());
+    setImportedPlayers(new EnumMap<>(Position.class));
+    setAnchorages(new LinkedHashMap<>());
+    setNames(new HashSet<>());
+  }
+
+  // ---------- Public methods -----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Reads and validates the roster stored in the specified file, using UTF-8 encoding.
+   *
+   * @param path Path of the roster file.
+   *
+   * @return Whether the roster is valid and can be applied.
+   *
+   * @throws IOException If the file can't be read.
+   *
+   * @see #importRoster(Reader)
+   */
+  public boolean importRoster(Path path) throws IOException {
+    try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+      return importRoster(reader);
+    }
+  }
+
+  /**
+   * Reads and validates the roster from the given source. Any previously imported roster is discarded.
+   *
+   * <p>The source is consumed line by line through a buffered reader, so the whole source is never held in memory. Every error found is collected
+   * and can be retrieved with {@link #getErrors()}.
+   *
+   * @param reader Roster source.
+   *
+   * @return Whether the roster is valid and can be applied.
+   *
+   * @throws IOException If the source can't be read.
+   */
+  public boolean importRoster(Reader reader) throws IOException {
+    clear();
+
+    BufferedReader buff = reader instanceof BufferedReader bufferedReader ? bufferedReader : new BufferedReader(reader);
+
+    String line;
+
+    while ((line = buff.readLine()) != null) {
+      lineNumber++;
+
+      String trimmedLine = line.strip();
+
+      if (trimmedLine.isEmpty()
+          || trimmedLine.startsWith(COMMENT_PREFIX)
+          || (lineNumber == 1 && PATTERN_HEADER.matcher(trimmedLine)
+                                               .matches())) {
+        continue;
+      }
+
+      readLine(trimmedLine);
+    }
+
+    validateAnchorages();
+
+    return errors.isEmpty();
+  }
+
+  /**
+   * Loads the imported roster into the players sets.
+   *
+   * <p>The imported players are assigned to the players sets in the order they were read, and the players left without an imported counterpart are
+   * reset. The anchorages are numbered from 1 onwards following the order in which they first appeared in the roster.
+   *
+   * @return Whether any imported player is anchored.
+   */
+  public boolean apply() {
+    int anchorageNumber = 0;
+
+    for (List<Player> anchorage : anchorages.values()) {
+      anchorageNumber++;
+
+      for (Player importedPlayer : anchorage) {
+        importedPlayer.setAnchored(true);
+        importedPlayer.setAnchorageNumber(anchorageNumber);
+      }
+    }
+
+    importedPlayers.forEach((position, players) -> {
+      List<Player> playersSet = playersSets.get(position);
+
+      for (int index = 0; index < playersSet.size(); index++) {
+        Player player = playersSet.get(index);
+        Player importedPlayer = index < players.size() ? players.get(index) : new Player("", position);
+
+        player.setName(importedPlayer.getName());
+        player.setSkillPoints(importedPlayer.getSkillPoints());
+        player.setAnchored(importedPlayer.isAnchored());
+        player.setAnchorageNumber(importedPlayer.getAnchorageNumber());
+        player.getAlternativePositions()
+              .clear();
+        player.getAlternativePositions()
+              .putAll(importedPlayer.getAlternativePositions());
+        player.setTeamNumber(0);
+      }
+    });
+
+    return anchorageNumber > 0;
+  }
+
+  // ---------- Private methods ----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Discards any previously imported roster.
+   */
+  private void clear() {
+    lineNumber = 0;
+    currentSection = null;
+
+    errors.clear();
+    anchorages.clear();
+    names.clear();
+    importedPlayers.clear();
+
+    for (Position position : Position.values()) {
+      importedPlayers.put(position, new ArrayList<>());
+    }
+  }
+
+  /**
+   * Reads a non-empty roster line.
+   *
+   * @param line The line to read, without leading and trailing spaces.
+   */
+  private void readLine(String line) {
+    String delimiter = getDelimiter(line);
+
+    if (delimiter == null) {
+      Position section = MAP_POSITION_ALIASES.get(line.toUpperCase());
+
+      if (section != null) {
+        currentSection = section;
+
+        return;
+      }
+
+      if (currentSection == null) {
+        errors.add(MSG_ERROR_POSITION_MISSING.formatted(lineNumber, line));
+
+        return;
+      }
+
+      readPlayer(line, List.of(currentSection), null, null);
+
+      return;
+    }
+
+    String[] fields = line.split(Pattern.quote(delimiter), -1);
+
+    if (fields.length > MAX_FIELDS) {
+      errors.add(MSG_ERROR_FIELDS.formatted(lineNumber));
+
+      return;
+    }
+
+    String positionField = fields.length > FIELD_POSITION ? fields[FIELD_POSITION].strip() : "";
+
+    if (positionField.isEmpty()) {
+      errors.add(MSG_ERROR_POSITION_MISSING.formatted(lineNumber, fields[FIELD_NAME].strip()));
+
+      return;
+    }
+
+    List<Position> positions = new ArrayList<>();
+
+    for (String positionName : positionField.split(POSITIONS_SEPARATOR, -1)) {
+      Position position = MAP_POSITION_ALIASES.get(positionName.strip()
+                                                               .toUpperCase());
+
+      if (position == null) {
+        errors.add(MSG_ERROR_POSITION_INVALID.formatted(lineNumber, positionName.strip()));
+
+        return;
+      }
+
+      if (positions.contains(position)) {
+        errors.add(MSG_ERROR_POSITION_REPEATED.formatted(lineNumber, positionName.strip()));
+
+        return;
+      }
+
+      positions.add(position);
+    }
+
+    readPlayer(fields[FIELD_NAME].strip(),
+               positions,
+               fields.length > FIELD_SKILL ? fields[FIELD_SKILL].strip() : null,
+               fields.length > FIELD_ANCHORAGE ? fields[FIELD_ANCHORAGE].strip() : null);
+  }
+
+  /**
+   * Validates the player data and, if valid, adds it to the imported players.
+   *
+   * <p>The "java:S1190" and "java:S117" warnings are suppressed since JDK22 allows the use of unnamed variables.
+   *
+   * @param text      Player name as written in the roster.
+   * @param positions Player positions, starting with the one it is imported to.
+   * @param skill     Player skill points in each position as written in the roster, if any.
+   * @param anchorage Player anchorage label as written in the roster, if any.
+   */
+  @SuppressWarnings({"java:S1190", "java:S117"})
+  private void readPlayer(String text, List<Position> positions, String skill, String anchorage) {
+    int errorsCount = errors.size();
+
+    Position position = positions.getFirst();
+
+    String name = CommonFunctions.normalizeName(text);
+
+    if (!PATTERN_NAMES_VALIDATION.matcher(text)
+                                 .matches()) {
+      errors.add(MSG_ERROR_NAME_CHARACTERS.formatted(lineNumber, text));
+    } else if (name.length() > Constants.MAX_NAME_LEN) {
+      errors.add(MSG_ERROR_NAME_LENGTH.formatted(lineNumber, text));
+    } else if (!names.add(name)) {
+      errors.add(MSG_ERROR_NAME_REPEATED.formatted(lineNumber, text));
+    }
+
+    if (importedPlayers.get(position)
+                       .size() == playersSets.get(position)
+                                             .size()) {
+      errors.add(MSG_ERROR_POSITION_FULL.formatted(lineNumber, Constants.OPTIONS_POSITIONS_COMBOBOX
+                                                                        .get(position.ordinal())
+                                                                        .toLowerCase()));
+    }
+
+    // The positions without skill points take the ones of the first position
+    int[] skillPoints = new int[positions.size()];
+
+    if (skill != null && !skill.isEmpty()) {
+      String[] skills = skill.split(POSITIONS_SEPARATOR, -1);
+
+      if (skills.length > positions.size()) {
+        errors.add(MSG_ERROR_SKILLS_COUNT.formatted(lineNumber, skill));
+      }
+
+      for (int index = 0; index < Math.min(skills.length, skillPoints.length); index++) {
+        skillPoints[index] = parseSkillPoints(skills[index].strip());
+
+        if (skillPoints[index] == -1) {
+          errors.add(MSG_ERROR_SKILL.formatted(lineNumber, skills[index].strip()));
+        }
+      }
+    }
+
+    if (errors.size() != errorsCount) {
+      return;
+    }
+
+    Player player = new Player(name, position);
+
+    player.setSkillPoints(skillPoints[0]);
+
+    for (int index = 1; index < positions.size(); index++) {
+      player.getAlternativePositions()
+            .put(positions.get(index), skillPoints[index]);
+    }
+
+    importedPlayers.get(position)
+                   .add(player);
+
+    if (anchorage != null && !anchorage.isEmpty()) {
+      anchorages.computeIfAbsent(anchorage.toUpperCase(), _ -> new ArrayList<>())
+                .add(player);
+    }
+  }
+
+  /**
+   * Validates the anchorages read with the same rules used when the anchorages are made manually.
+   */
+  private void validateAnchorages() {
+    if (anchorages.size() > Constants.COLORS_ANCHORAGES
+                                     .size()) {
+      errors.add(MSG_ERROR_ANCHORAGES_COUNT.formatted(Constants.COLORS_ANCHORAGES
+                                                               .size()));
+    }
+
+    int anchoredPlayersCount = 0;
+
+    for (Map.Entry<String, List<Player>> anchorage : anchorages.entrySet()) {
+      List<Player> anchoredPlayers = anchorage.getValue();
+
+      anchoredPlayersCount += anchoredPlayers.size();
+
+      if (anchoredPlayers.size() < Constants.MIN_PLAYERS_PER_ANCHORAGE || anchoredPlayers.size() > Constants.MAX_PLAYERS_PER_ANCHORAGE) {
+        errors.add(MSG_ERROR_ANCHORAGE_SIZE.formatted(anchorage.getKey(), Constants.MIN_PLAYERS_PER_ANCHORAGE, Constants.MAX_PLAYERS_PER_ANCHORAGE));
+      }
+
+      int[] countPerPosition = new int[Position.values().length];
+
+      for (Player player : anchoredPlayers) {
+        countPerPosition[player.getPosition()
+                               .ordinal()]++;
+      }
+
+      for (Position position : Position.values()) {
+        if (countPerPosition[position.ordinal()] > playersSets.get(position)
+                                                              .size() / 2) {
+          errors.add(MSG_ERROR_ANCHORAGE_POSITION.formatted(anchorage.getKey(), Constants.OPTIONS_POSITIONS_COMBOBOX
+                                                                                         .get(position.ordinal())
+                                                                                         .toLowerCase()));
+        }
+      }
+    }
+
+    if (anchoredPlayersCount > Constants.MAX_ANCHORED_PLAYERS) {
+      errors.add(MSG_ERROR_ANCHORED_PLAYERS.formatted(Constants.MAX_ANCHORED_PLAYERS));
+    }
+  }
+
+  /**
+   * @param line Roster line.
+   *
+   * @return The delimiter used in the line, or null if the line is plain text. Names can't contain any delimiter, so the first one found is used.
+   */
+  private String getDelimiter(String line) {
+    if (line.indexOf('\t') != -1) {
+      return "\t";
+    }
+
+    if (line.indexOf(';') != -1) {
+      return ";";
+    }
+
+    return line.indexOf(',') != -1 ? "," : null;
+  }
+
+  /**
+   * Parses the skill points read from the roster.
+   *
+   * <p>The "java:S1190" warning is suppressed since JDK22 allows the use of unnamed variables.
+   *
+   * @param skill Skill points as written in the roster.
+   *
+   * @return The skill points, or -1 if they are not a number between the minimum and maximum skill points.
+   */
+  @SuppressWarnings("java:S1190")
+  private int parseSkillPoints(String skill) {
+    try {
+      int skillPoints = Integer.parseInt(skill);
+
+      return skillPoints < Constants.SKILL_MIN || skillPoints > Constants.SKILL_MAX ? -1 : skillPoints;
+    } catch (NumberFormatException _) {
+      return -1;
+    }
+  }
+
+  // ---------- Getters ------------------------------------------------------------------------------------------------------------------------------
+
+  public List<String> getErrors() {
+    return errors;
+  }
+
+  public Map<Position, List<Player>> getImportedPlayers() {
+    return importedPlayers;
+  }
+
+  public Map<Position, List<Player>> getPlayersSets() {
+    return playersSets;
+  }
+
+  public Map<String, List<Player>> getAnchorages() {
+    return anchorages;
+  }
+
+  public Set<String> getNames() {
+    return names;
+  }
+
+  // ---------- Setters ------------------------------------------------------------------------------------------------------------------------------
+
+  public void setErrors(List<String> errors) {
+    this.errors = errors;
+  }
+
+  public void setImportedPlayers(Map<Position, List<Player>> importedPlayers) {
+    this.importedPlayers = importedPlayers;
+  }
+
+  public void setPlayersSets(Map<Position, List<Player>> playersSets) {
+    this.playersSets = playersSets;
+  }
+
+  public void setAnchorages(Map<String, List<Player>> anchorages) {
+    this.anchorages = anchorages;
+  }
+
+  public void setNames(Set<String> names) {
+    this.names = names;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,478 @@
+package armameeldoparti.utils.solver;
+
+import armameeldoparti.utils.mixers.CompactRoster;
+import armameeldoparti.utils.mixers.PlayersMixer;
+import armameeldoparti.utils.storage.CoOccurrenceMatrix;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Anytime optimizer class.
+ *
+ * <p>Improves a complete lineup of a compact roster in two objectives, one after the other: first the skill points difference between the teams,
+ * which is kept as it is since the lineup to improve is expected to already have the smallest one, and then the times the teammates were on the
+ * same team in past matches (the repeated pairings).
+ *
+ * <p>The search swaps players of the same position between the teams, one or two pairs at a time, as long as the skill points difference is kept.
+ * Once no move reduces the repeated pairings, the best lineup so far is slightly shaken with random moves and the search starts over from there.
+ * Every time a better lineup is found it is reported, so the search can be stopped at any time keeping the best lineup so far.
+ *
+ * <p>The search ends when the repeated pairings reach a lower bound, when too many rounds go by without improvements, or when the time limit is
+ * reached. The lower bound is the sum, for every player, of its smallest co-occurrences with as many players as teammates it has, halved, since every
+ * pair of teammates is counted by both players.
+ *
+ * <p>Only the players that are neither anchored nor separated are swapped, so every anchorage and separation of the lineup is kept.
+ *
+ * @author Bonino, Francisco Ignacio.
+ *
+ * @version 0.0.1
+ *
+ * @since 3.0
+ */
+public class AnytimeOptimizer {
+
+  // ---------- Private constants --------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Maximum number of consecutive search rounds without finding a better lineup.
+   */
+  private static final int MAX_STALE_ROUNDS = 200;
+
+  /**
+   * Number of random moves applied to the best lineup so far before each search round.
+   */
+  private static final int SHAKE_MOVES = 2;
+
+  private static final long SEARCH_TIME_LIMIT_MILLIS = 2000;
+
+  // ---------- Private fields -----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Skill points difference between the teams of every lineup considered, in absolute value.
+   */
+  private int skillDifference;
+
+  /**
+   * Skill points of the first team minus the skill points of the second team in the lineup being searched.
+   */
+  private int teamsDifference;
+
+  /**
+   * Repeated pairings of the lineup being searched.
+   */
+  private long repeatedPairings;
+
+  private long repeatedPairingsBound;
+
+  /**
+   * Players that can be swapped between the teams.
+   */
+  private long movablePlayers;
+
+  /**
+   * Players assigned to the second team in the lineup being searched.
+   */
+  private long teamMask;
+
+  private CoOccurrenceMatrix coOccurrences;
+
+  private CompactRoster roster;
+
+  private Random randomGenerator;
+
+  // ---------- Constructor --------------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Builds the optimizer for a compact roster.
+   *
+   * @param roster        Compact roster with every player assigned.
+   * @param coOccurrences Co-occurrence matrix of the roster, with the players in the same order.
+   */
+  public AnytimeOptimizer(CompactRoster roster, CoOccurrenceMatrix coOccurrences) {
+    setRoster(roster);
+    setCoOccurrences(coOccurrences);
+    setRandomGenerator(new Random());
+  }
+
+  // ---------- Public methods -----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Searches lineups with fewer repeated pairings than the current one, reporting each one that is better than every previous one. The current
+   * lineup is reported first. When the search ends, the roster holds the best lineup found.
+   *
+   * @param improvementsListener Receives every improvement, in the thread running the search.
+   */
+  public void optimize(Consumer<LineupImprovement> improvementsListener) {
+    setMovablePlayers(0);
+
+    for (int player = 0; player < roster.getPlayersCount(); player++) {
+      if (roster.getAnchorages()[player] == 0 && roster.getSeparationMask(player) == 0) {
+        movablePlayers |= 1L << player;
+      }
+    }
+
+    setTeamMask(roster.getTeamMask());
+    setTeamsDifference(roster.getTeamSkill(0) - roster.getTeamSkill(1));
+    setSkillDifference(Math.abs(teamsDifference));
+    setRepeatedPairings(computeRepeatedPairings());
+    setRepeatedPairingsBound(computeRepeatedPairingsBound());
+
+    int bestTeamsDifference = teamsDifference;
+
+    long bestTeamMask = teamMask;
+    long bestRepeatedPairings = repeatedPairings;
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SEARCH_TIME_LIMIT_MILLIS);
+
+    // The swaps keep every player in its position, so the positions are the same for every improvement
+    byte[] positions = roster.getPositions()
+                             .clone();
+
+    improvementsListener.accept(new LineupImprovement(bestTeamMask, positions, skillDifference, bestRepeatedPairings, repeatedPairingsBound));
+
+    int staleRounds = 0;
+
+    while (bestRepeatedPairings > repeatedPairingsBound && staleRounds < MAX_STALE_ROUNDS && System.nanoTime() < deadline) {
+      PlayersMixer.checkCancellation();
+
+      descend();
+
+      if (repeatedPairings < bestRepeatedPairings) {
+        bestTeamMask = teamMask;
+        bestTeamsDifference = teamsDifference;
+        bestRepeatedPairings = repeatedPairings;
+        staleRounds = 0;
+
+        improvementsListener.accept(new LineupImprovement(bestTeamMask, positions, skillDifference, bestRepeatedPairings, repeatedPairingsBound));
+      } else {
+        staleRounds++;
+      }
+
+      teamMask = bestTeamMask;
+      teamsDifference = bestTeamsDifference;
+      repeatedPairings = bestRepeatedPairings;
+
+      shake();
+    }
+
+    roster.restore(roster.getPlayersMask(), bestTeamMask);
+  }
+
+  // ---------- Private methods ----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Applies the move that reduces the repeated pairings the most, until no move reduces them. A move is either a swap that keeps the skill points
+   * difference, or two swaps that keep it together although the first one alone doesn't.
+   */
+  private void descend() {
+    int[] bestMove = new int[4];
+
+    boolean improved = true;
+
+    while (improved) {
+      int bestMoveSwaps = 0;
+      long bestDelta = 0;
+
+      for (long firstTeam = movablePlayers & ~teamMask; firstTeam != 0; firstTeam &= firstTeam - 1) {
+        int firstPlayer = Long.numberOfTrailingZeros(firstTeam);
+
+        for (long secondTeam = movablePlayers & teamMask & positionMaskOf(firstPlayer); secondTeam != 0; secondTeam &= secondTeam - 1) {
+          int secondPlayer = Long.numberOfTrailingZeros(secondTeam);
+
+          long firstDelta = swapDelta(firstPlayer, secondPlayer);
+
+          swap(firstPlayer, secondPlayer, firstDelta);
+
+          if (keepsSkillDifference() && firstDelta < bestDelta) {
+            bestDelta = firstDelta;
+            bestMoveSwaps = 1;
+            bestMove[0] = firstPlayer;
+            bestMove[1] = secondPlayer;
+          }
+
+          // The swapped players are not swapped back by the second swap
+          long thirdCandidates = movablePlayers & ~teamMask & ~(1L << secondPlayer);
+          long fourthCandidates = movablePlayers & teamMask & ~(1L << firstPlayer);
+
+          for (long thirdTeam = thirdCandidates; thirdTeam != 0; thirdTeam &= thirdTeam - 1) {
+            int thirdPlayer = Long.numberOfTrailingZeros(thirdTeam);
+
+            for (long fourthTeam = fourthCandidates & positionMaskOf(thirdPlayer); fourthTeam != 0; fourthTeam &= fourthTeam - 1) {
+              int fourthPlayer = Long.numberOfTrailingZeros(fourthTeam);
+
+              if (keepsSkillDifference(thirdPlayer, fourthPlayer) && firstDelta + swapDelta(thirdPlayer, fourthPlayer) < bestDelta) {
+                bestDelta = firstDelta + swapDelta(thirdPlayer, fourthPlayer);
+                bestMoveSwaps = 2;
+                bestMove[0] = firstPlayer;
+                bestMove[1] = secondPlayer;
+                bestMove[2] = thirdPlayer;
+                bestMove[3] = fourthPlayer;
+              }
+            }
+          }
+
+          swap(secondPlayer, firstPlayer, -firstDelta);
+        }
+      }
+
+      for (int moveSwap = 0; moveSwap < bestMoveSwaps; moveSwap++) {
+        swap(bestMove[2 * moveSwap], bestMove[2 * moveSwap + 1], swapDelta(bestMove[2 * moveSwap], bestMove[2 * moveSwap + 1]));
+      }
+
+      improved = bestMoveSwaps != 0;
+    }
+  }
+
+  /**
+   * Applies some random moves, regardless of the repeated pairings, so the next search round starts from a different lineup. Each move is a random
+   * swap, followed by a random swap that restores the skill points difference if the first one changed it.
+   */
+  private void shake() {
+    int[] firstPlayers = new int[roster.getPlayersCount() * roster.getPlayersCount()];
+    int[] secondPlayers = new int[firstPlayers.length];
+
+    for (int shakeMove = 0; shakeMove < SHAKE_MOVES; shakeMove++) {
+      int swapsCount = collectSwaps(firstPlayers, secondPlayers, false);
+
+      if (swapsCount == 0) {
+        return;
+      }
+
+      int chosenSwap = randomGenerator.nextInt(swapsCount);
+      int firstPlayer = firstPlayers[chosenSwap];
+      int secondPlayer = secondPlayers[chosenSwap];
+
+      swap(firstPlayer, secondPlayer, swapDelta(firstPlayer, secondPlayer));
+
+      if (keepsSkillDifference()) {
+        continue;
+      }
+
+      swapsCount = collectSwaps(firstPlayers, secondPlayers, true);
+
+      if (swapsCount == 0) {
+        swap(secondPlayer, firstPlayer, swapDelta(secondPlayer, firstPlayer));
+      } else {
+        chosenSwap = randomGenerator.nextInt(swapsCount);
+
+        swap(firstPlayers[chosenSwap], secondPlayers[chosenSwap], swapDelta(firstPlayers[chosenSwap], secondPlayers[chosenSwap]));
+      }
+    }
+  }
+
+  /**
+   * Stores every swap between players of the same position of different teams.
+   *
+   * @param firstPlayers         Array where the players of the first team of each swap will be stored.
+   * @param secondPlayers        Array where the players of the second team of each swap will be stored.
+   * @param keepsSkillDifference Whether to only store the swaps that leave the skill points difference as it must be.
+   *
+   * @return The number of stored swaps.
+   */
+  private int collectSwaps(int[] firstPlayers, int[] secondPlayers, boolean keepsSkillDifference) {
+    int swapsCount = 0;
+
+    for (long firstTeam = movablePlayers & ~teamMask; firstTeam != 0; firstTeam &= firstTeam - 1) {
+      int firstPlayer = Long.numberOfTrailingZeros(firstTeam);
+
+      for (long secondTeam = movablePlayers & teamMask & positionMaskOf(firstPlayer); secondTeam != 0; secondTeam &= secondTeam - 1) {
+        int secondPlayer = Long.numberOfTrailingZeros(secondTeam);
+
+        if (!keepsSkillDifference || keepsSkillDifference(firstPlayer, secondPlayer)) {
+          firstPlayers[swapsCount] = firstPlayer;
+          secondPlayers[swapsCount++] = secondPlayer;
+        }
+      }
+    }
+
+    return swapsCount;
+  }
+
+  /**
+   * Swaps two players between the teams.
+   *
+   * @param firstPlayer  Player of the first team.
+   * @param secondPlayer Player of the second team.
+   * @param delta        Change of the repeated pairings caused by the swap.
+   */
+  private void swap(int firstPlayer, int secondPlayer, long delta) {
+    teamMask ^= (1L << firstPlayer) | (1L << secondPlayer);
+    teamsDifference -= 2 * (roster.getSkills()[firstPlayer] - roster.getSkills()[secondPlayer]);
+    repeatedPairings += delta;
+  }
+
+  /**
+   * @return Whether the skill points difference between the teams of the lineup being searched is the one to keep.
+   */
+  private boolean keepsSkillDifference() {
+    return Math.abs(teamsDifference) == skillDifference;
+  }
+
+  /**
+   * @param firstPlayer  Player of the first team.
+   * @param secondPlayer Player of the second team.
+   *
+   * @return Whether swapping both players leaves the skill points difference between the teams as it must be.
+   */
+  private boolean keepsSkillDifference(int firstPlayer, int secondPlayer) {
+    return Math.abs(teamsDifference - 2 * (roster.getSkills()[firstPlayer] - roster.getSkills()[secondPlayer])) == skillDifference;
+  }
+
+  /**
+   * @param player Player index.
+   *
+   * @return The players with the same position as the specified player.
+   */
+  private long positionMaskOf(int player) {
+    return roster.getPositionMask(roster.getPositions()[player]);
+  }
+
+  /**
+   * @param firstPlayer  Player of the first team.
+   * @param secondPlayer Player of the second team.
+   *
+   * @return The change of the repeated pairings if both players are swapped.
+   */
+  private long swapDelta(int firstPlayer, int secondPlayer) {
+    long delta = 0;
+
+    for (long firstTeam = roster.getPlayersMask() & ~teamMask & ~(1L << firstPlayer); firstTeam != 0; firstTeam &= firstTeam - 1) {
+      int teammate = Long.numberOfTrailingZeros(firstTeam);
+
+      delta += coOccurrences.get(secondPlayer, teammate) - coOccurrences.get(firstPlayer, teammate);
+    }
+
+    for (long secondTeam = teamMask & ~(1L << secondPlayer); secondTeam != 0; secondTeam &= secondTeam - 1) {
+      int teammate = Long.numberOfTrailingZeros(secondTeam);
+
+      delta += coOccurrences.get(firstPlayer, teammate) - coOccurrences.get(secondPlayer, teammate);
+    }
+
+    return delta;
+  }
+
+  /**
+   * @return The repeated pairings of the lineup being searched.
+   */
+  private long computeRepeatedPairings() {
+    long pairings = 0;
+
+    for (int player = 0; player < roster.getPlayersCount(); player++) {
+      long teammates = (teamMask & (1L << player)) != 0 ? teamMask : roster.getPlayersMask() & ~teamMask;
+
+      // Only the teammates with a higher index are considered, so every pair is counted once
+      for (long remaining = teammates & (-2L << player); remaining != 0; remaining &= remaining - 1) {
+        pairings += coOccurrences.get(player, Long.numberOfTrailingZeros(remaining));
+      }
+    }
+
+    return pairings;
+  }
+
+  /**
+   * @return A lower bound of the repeated pairings of any lineup, as explained in the class description.
+   */
+  private long computeRepeatedPairingsBound() {
+    int playersCount = roster.getPlayersCount();
+    int teammatesCount = playersCount / CompactRoster.TEAMS - 1;
+
+    int[] counts = new int[playersCount - 1];
+
+    long doubledBound = 0;
+
+    for (int player = 0; player < playersCount; player++) {
+      int countIndex = 0;
+
+      for (int other = 0; other < playersCount; other++) {
+        if (other != player) {
+          counts[countIndex++] = coOccurrences.get(player, other);
+        }
+      }
+
+      Arrays.sort(counts);
+
+      for (int teammate = 0; teammate < teammatesCount; teammate++) {
+        doubledBound += counts[teammate];
+      }
+    }
+
+    return (doubledBound + 1) / 2;
+  }
+
+  // ---------- Getters ------------------------------------------------------------------------------------------------------------------------------
+
+  public int getSkillDifference() {
+    return skillDifference;
+  }
+
+  public int getTeamsDifference() {
+    return teamsDifference;
+  }
+
+  public long getRepeatedPairings() {
+    return repeatedPairings;
+  }
+
+  public long getRepeatedPairingsBound() {
+    return repeatedPairingsBound;
+  }
+
+  public long getMovablePlayers() {
+    return movablePlayers;
+  }
+
+  public long getTeamMask() {
+    return teamMask;
+  }
+
+  public CoOccurrenceMatrix getCoOccurrences() {
+    return coOccurrences;
+  }
+
+  public CompactRoster getRoster() {
+    return roster;
+  }
+
+  public Random getRandomGenerator() {
+    return randomGenerator;
+  }
+
+  // ---------- Setters ------------------------------------------------------------------------------------------------------------------------------
+
+  public void setSkillDifference(int skillDifference) {
+    this.skillDifference = skillDifference;
+  }
+
+  public void setTeamsDifference(int teamsDifference) {
+    this.teamsDifference = teamsDifference;
+  }
+
+  public void setRepeatedPairings(long repeatedPairings) {
+    this.repeatedPairings = repeatedPairings;
+  }
+
+  public void setRepeatedPairingsBound(long repeatedPairingsBound) {
+    this.repeatedPairingsBound = repeatedPairingsBound;
+  }
+
+  public void setMovablePlayers(long movablePlayers) {
+    this.movablePlayers = movablePlayers;
+  }
+
+  public void setTeamMask(long teamMask) {
+    this.teamMask = teamMask;
+  }
+
+  public void setCoOccurrences(CoOccurrenceMatrix coOccurrences) {
+    this.coOccurrences = coOccurrences;
+  }
+
+  public void setRoster(CompactRoster roster) {
+    this.roster = roster;
+  }
+
+  public void setRandomGenerator(Random randomGenerator) {
+    this.randomGenerator = randomGenerator;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,280 @@
+package armameeldoparti.utils.solver;
+
+import armameeldoparti.utils.mixers.CompactRoster;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Exhaustive balance solver class.
+ *
+ * <p>Finds the distribution with the smallest skill points difference between the teams that satisfies every anchorage, separation and players limit
+ * by checking every possible distribution. It is much slower than the {@link SkillBalanceSolver} as the roster grows, but it is simple enough to
+ * be trusted as the ground truth the optimized distributions are compared against.
+ *
+ * <p>The first player is always on the first team, since swapping the teams of a distribution gives another one with the same skill points
+ * difference. The rest of the distributions are walked in Gray code order, so each one differs from the previous one in a single player moved to the
+ * other team. Moving a player only updates some counters: the skill points and players per position of the first team, the anchorages split between
+ * the teams, and the separated players on the same team. So every distribution is checked in constant time.
+ *
+ * <p>The walk is split among several tasks run in parallel, each one with the teams of the first players fixed.
+ *
+ * @author Bonino, Francisco Ignacio.
+ *
+ * @version 0.0.1
+ *
+ * @since 3.0
+ */
+public class ExhaustiveBalanceSolver {
+
+  // ---------- Private constants --------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Number of players whose teams are fixed by each parallel task.
+   */
+  private static final int PARALLEL_PREFIX_PLAYERS = 4;
+
+  // ---------- Private fields -----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Smallest skill points difference found, or -1 if no valid distribution exists.
+   */
+  private int bestDifference;
+
+  private CompactRoster roster;
+
+  // ---------- Constructor --------------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Builds the solver for a compact roster.
+   *
+   * @param roster Compact roster to distribute. Its anchorages and separations are the constraints to satisfy.
+   */
+  public ExhaustiveBalanceSolver(CompactRoster roster) {
+    setRoster(roster);
+  }
+
+  // ---------- Public methods -----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Distributes the players with the smallest possible skill points difference between the teams.
+   *
+   * @return Whether a valid distribution exists. If not, the roster is left with every player unassigned.
+   */
+  public boolean solve() {
+    roster.clearTeams();
+
+    int prefixPlayers = Math.clamp(roster.getPlayersCount() - 1L, 0, PARALLEL_PREFIX_PLAYERS);
+
+    long[] best = ForkJoinPool.commonPool()
+                              .invoke(new WalkTask(roster, prefixPlayers, 0, 0));
+
+    setBestDifference((int) best[0]);
+
+    if (bestDifference == -1) {
+      return false;
+    }
+
+    roster.assignAll(roster.getPlayersMask() & ~best[1], 0);
+    roster.assignAll(best[1], 1);
+
+    return true;
+  }
+
+  // ---------- Getters ------------------------------------------------------------------------------------------------------------------------------
+
+  public int getBestDifference() {
+    return bestDifference;
+  }
+
+  public CompactRoster getRoster() {
+    return roster;
+  }
+
+  // ---------- Setters ------------------------------------------------------------------------------------------------------------------------------
+
+  public void setBestDifference(int bestDifference) {
+    this.bestDifference = bestDifference;
+  }
+
+  public void setRoster(CompactRoster roster) {
+    this.roster = roster;
+  }
+
+  // ---------- Private classes ----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Walk task class.
+   *
+   * <p>Fixes the team of the next prefix player in two subtasks, one per team, or walks every distribution of the remaining players once every prefix
+   * player is fixed. The result is the smallest skill points difference found, or -1 if none, and the second team players of its distribution.
+   */
+  private static class WalkTask extends RecursiveTask<long[]> {
+
+    private final int fixedPlayers;
+    private final int prefixPlayers;
+
+    /**
+     * Prefix players assigned to the second team.
+     */
+    private final long secondTeamPrefix;
+
+    private final transient CompactRoster roster;
+
+    /**
+     * Builds a walk task.
+     *
+     * @param roster           Compact roster to distribute.
+     * @param prefixPlayers    Number of players after the first one whose teams are fixed before walking.
+     * @param fixedPlayers     Number of prefix players already fixed.
+     * @param secondTeamPrefix Fixed prefix players assigned to the second team.
+     */
+    WalkTask(CompactRoster roster, int prefixPlayers, int fixedPlayers, long secondTeamPrefix) {
+      this.roster = roster;
+      this.prefixPlayers = prefixPlayers;
+      this.fixedPlayers = fixedPlayers;
+      this.secondTeamPrefix = secondTeamPrefix;
+    }
+
+    @Override
+    protected long[] compute() {
+      if (fixedPlayers < prefixPlayers) {
+        WalkTask firstTeamTask = new WalkTask(roster, prefixPlayers, fixedPlayers + 1, secondTeamPrefix);
+        WalkTask secondTeamTask = new WalkTask(roster, prefixPlayers, fixedPlayers + 1, secondTeamPrefix | (1L << (fixedPlayers + 1)));
+
+        secondTeamTask.fork();
+
+        long[] firstTeamBest = firstTeamTask.compute();
+        long[] secondTeamBest = secondTeamTask.join();
+
+        return secondTeamBest[0] != -1 && (firstTeamBest[0] == -1 || secondTeamBest[0] < firstTeamBest[0]) ? secondTeamBest : firstTeamBest;
+      }
+
+      return walk();
+    }
+
+    /**
+     * Walks in Gray code order every distribution of the players after the prefix, as explained in the solver description.
+     *
+     * @return The smallest skill points difference found, or -1 if none, and the second team players of its distribution.
+     */
+    private long[] walk() {
+      int playersCount = roster.getPlayersCount();
+      int firstWalkedPlayer = prefixPlayers + 1;
+      int[] skills = roster.getSkills();
+      int[] positionsLimits = roster.getPositionsLimits();
+      int[] anchorageNumbers = roster.getAnchorageNumbers();
+
+      byte[] positions = roster.getPositions();
+      byte[] anchorages = roster.getAnchorages();
+
+      // Every walked player starts on the first team
+      long secondTeam = secondTeamPrefix;
+      long firstTeam = roster.getPlayersMask() & ~secondTeam;
+
+      int totalSkill = roster.getSkill(roster.getPlayersMask());
+      int firstTeamSkill = roster.getSkill(firstTeam);
+
+      int[] firstTeamPositionsCounts = new int[CompactRoster.POSITIONS];
+      int wrongPositions = 0;
+
+      for (int position = 0; position < CompactRoster.POSITIONS; position++) {
+        firstTeamPositionsCounts[position] = Long.bitCount(firstTeam & roster.getPositionMask(position));
+
+        if (firstTeamPositionsCounts[position] != positionsLimits[position]) {
+          wrongPositions++;
+        }
+      }
+
+      int maxAnchorageNumber = 0;
+
+      for (int anchorageNumber : anchorageNumbers) {
+        maxAnchorageNumber = Math.max(maxAnchorageNumber, anchorageNumber);
+      }
+
+      int[] anchoragesFirstTeamCounts = new int[maxAnchorageNumber + 1];
+      int[] anchoragesSizes = new int[maxAnchorageNumber + 1];
+      int splitAnchorages = 0;
+
+      for (int anchorageNumber : anchorageNumbers) {
+        anchoragesSizes[anchorageNumber] = Long.bitCount(roster.getAnchorageMask(anchorageNumber));
+        anchoragesFirstTeamCounts[anchorageNumber] = Long.bitCount(roster.getAnchorageMask(anchorageNumber) & firstTeam);
+
+        if (isSplit(anchoragesFirstTeamCounts[anchorageNumber], anchoragesSizes[anchorageNumber])) {
+          splitAnchorages++;
+        }
+      }
+
+      // Every pair of separated teammates is counted twice, once by each player
+      int separatedTeammates = 0;
+
+      for (int player = 0; player < playersCount; player++) {
+        separatedTeammates += Long.bitCount(roster.getSeparationMask(player) & ((firstTeam & (1L << player)) != 0 ? firstTeam : secondTeam));
+      }
+
+      long[] best = {-1, 0};
+
+      long walkedDistributions = firstWalkedPlayer >= playersCount ? 1 : 1L << (playersCount - firstWalkedPlayer);
+
+      for (long step = 0; step < walkedDistributions; step++) {
+        if (step > 0) {
+          int player = firstWalkedPlayer + Long.numberOfTrailingZeros(step);
+          long playerBit = 1L << player;
+          long separated = roster.getSeparationMask(player);
+          boolean toSecondTeam = (firstTeam & playerBit) != 0;
+          int position = positions[player];
+          int anchorageNumber = anchorages[player];
+
+          separatedTeammates -= 2 * Long.bitCount(separated & (toSecondTeam ? firstTeam : secondTeam));
+
+          if (firstTeamPositionsCounts[position] == positionsLimits[position]) {
+            wrongPositions++;
+          }
+
+          if (anchorageNumber != 0 && isSplit(anchoragesFirstTeamCounts[anchorageNumber], anchoragesSizes[anchorageNumber])) {
+            splitAnchorages--;
+          }
+
+          firstTeam ^= playerBit;
+          secondTeam ^= playerBit;
+          firstTeamSkill += toSecondTeam ? -skills[player] : skills[player];
+          firstTeamPositionsCounts[position] += toSecondTeam ? -1 : 1;
+
+          if (firstTeamPositionsCounts[position] == positionsLimits[position]) {
+            wrongPositions--;
+          }
+
+          if (anchorageNumber != 0) {
+            anchoragesFirstTeamCounts[anchorageNumber] += toSecondTeam ? -1 : 1;
+
+            if (isSplit(anchoragesFirstTeamCounts[anchorageNumber], anchoragesSizes[anchorageNumber])) {
+              splitAnchorages++;
+            }
+          }
+
+          separatedTeammates += 2 * Long.bitCount(separated & (toSecondTeam ? secondTeam : firstTeam));
+        }
+
+        if (wrongPositions == 0 && splitAnchorages == 0 && separatedTeammates == 0) {
+          int difference = Math.abs(2 * firstTeamSkill - totalSkill);
+
+          if (best[0] == -1 || difference < best[0]) {
+            best[0] = difference;
+            best[1] = secondTeam;
+          }
+        }
+      }
+
+      return best;
+    }
+
+    /**
+     * @param firstTeamCount Players of the anchorage on the first team.
+     * @param size           Players of the anchorage.
+     *
+     * @return Whether the anchorage has players on both teams.
+     */
+    private static boolean isSplit(int firstTeamCount, int size) {
+      return firstTeamCount != 0 && firstTeamCount != size;
+    }
+  }
+}
\ No newline at end of file
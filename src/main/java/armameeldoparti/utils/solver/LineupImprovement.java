@@ -0,0 +1,127 @@
+package armameeldoparti.utils.solver;
+
+/**
+ * Lineup improvement class.
+ *
+ * <p>Holds a lineup found by the {@link AnytimeOptimizer} that is better than every previous one, together with its objective values and a lower
+ * bound of the best possible repeated pairings, so the remaining room for improvement can be shown while the search goes on.
+ *
+ * <p>The heuristic distribution reports its lineups the same way, but it only reduces the skill points difference, so its lineups have no repeated
+ * pairings values.
+ *
+ * @author Bonino, Francisco Ignacio.
+ *
+ * @version 0.0.1
+ *
+ * @since 3.0
+ */
+public class LineupImprovement {
+
+  // ---------- Private fields -----------------------------------------------------------------------------------------------------------------------
+
+  private int skillDifference;
+
+  private long repeatedPairings;
+  private long repeatedPairingsBound;
+
+  /**
+   * Players assigned to the second team, indexed as in the optimized compact roster. The rest of the players are assigned to the first team.
+   */
+  private long teamMask;
+
+  /**
+   * Position ordinal of each player in the lineup, indexed as in the optimized compact roster. It only differs from the player position if the player
+   * plays in one of its alternative positions.
+   */
+  private byte[] positions;
+
+  // ---------- Constructor --------------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Builds a lineup improvement.
+   *
+   * @param teamMask              Players assigned to the second team.
+   * @param positions             Position ordinal of each player in the lineup.
+   * @param skillDifference       Skill points difference between the teams.
+   * @param repeatedPairings      Times the teammates of the lineup were on the same team in past matches.
+   * @param repeatedPairingsBound Lower bound of the repeated pairings of any lineup.
+   */
+  public LineupImprovement(long teamMask, byte[] positions, int skillDifference, long repeatedPairings, long repeatedPairingsBound) {
+    setTeamMask(teamMask);
+    setPositions(positions);
+    setSkillDifference(skillDifference);
+    setRepeatedPairings(repeatedPairings);
+    setRepeatedPairingsBound(repeatedPairingsBound);
+  }
+
+  /**
+   * Builds a lineup improvement found without considering the repeated pairings. Its repeated pairings and their bound are -1.
+   *
+   * @param teamMask        Players assigned to the second team.
+   * @param positions       Position ordinal of each player in the lineup.
+   * @param skillDifference Skill points difference between the teams.
+   */
+  public LineupImprovement(long teamMask, byte[] positions, int skillDifference) {
+    this(teamMask, positions, skillDifference, -1, -1);
+  }
+
+  // ---------- Public methods -----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * @return Whether the lineup was found considering the repeated pairings, so its repeated pairings values are meaningful.
+   */
+  public boolean hasRepeatedPairings() {
+    return repeatedPairings != -1;
+  }
+
+  /**
+   * @return How many repeated pairings the lineup has at most over the best possible one. If 0, the lineup is optimal.
+   */
+  public long getGap() {
+    return repeatedPairings - repeatedPairingsBound;
+  }
+
+  // ---------- Getters ------------------------------------------------------------------------------------------------------------------------------
+
+  public int getSkillDifference() {
+    return skillDifference;
+  }
+
+  public long getRepeatedPairings() {
+    return repeatedPairings;
+  }
+
+  public long getRepeatedPairingsBound() {
+    return repeatedPairingsBound;
+  }
+
+  public long getTeamMask() {
+    return teamMask;
+  }
+
+  public byte[] getPositions() {
+    return positions;
+  }
+
+  // ---------- Setters ------------------------------------------------------------------------------------------------------------------------------
+
+  public void setSkillDifference(int skillDifference) {
+    this.skillDifference = skillDifference;
+  }
+
+  public void setRepeatedPairings(long repeatedPairings) {
+    this.repeatedPairings = repeatedPairings;
+  }
+
+  public void setRepeatedPairingsBound(long repeatedPairingsBound) {
+    this.repeatedPairingsBound = repeatedPairingsBound;
+  }
+
+  public void setTeamMask(long teamMask) {
+    this.teamMask = teamMask;
+  }
+
+  public void setPositions(byte[] positions) {
+    this.positions = positions;
+  }
+}
\ No newline at end of file
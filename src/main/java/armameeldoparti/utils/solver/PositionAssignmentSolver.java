@@ -0,0 +1,518 @@
+package armameeldoparti.utils.solver;
+
+import armameeldoparti.models.Player;
+import armameeldoparti.models.Position;
+import armameeldoparti.utils.mixers.CompactRoster;
+import armameeldoparti.utils.mixers.DistributionPlan;
+import armameeldoparti.utils.mixers.PlayersMixer;
+import armameeldoparti.utils.mixers.TeamConstraints;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Position assignment solver class.
+ *
+ * <p>Finds the distribution with the smallest skill points difference between the teams when some players can play in more than one position,
+ * choosing both the team and the position of every player, so every players limit of both teams is reached and every anchorage and separation is
+ * satisfied.
+ *
+ * <p>It works like the {@link SkillBalanceSolver}, but every option of an item also chooses the position of each of its players, and each state holds
+ * the number of players per position of both teams, since the players of a position are no longer split between the teams of that position only.
+ * The skill points of a player depend on its position, so the total skill points are not fixed either. That is why the bitsets store the skill points
+ * difference between the teams instead of the skill points of the first team, shifted by the highest skill points of every player so every option
+ * shifts the bitset towards the higher bits: a player adds its highest skill points plus its skill points in the first team, or its highest skill
+ * points minus its skill points in the second team.
+ *
+ * <p>The balance objective is not linear in the positions chosen, so a matching or a flow over the positions can't express it. But the states are
+ * bounded by the players limits, so the table is still solved in milliseconds.
+ *
+ * @author Bonino, Francisco Ignacio.
+ *
+ * @version 0.0.1
+ *
+ * @since 3.0
+ */
+public class PositionAssignmentSolver {
+
+  // ---------- Private fields -----------------------------------------------------------------------------------------------------------------------
+
+  private boolean anchoragesEnabled;
+
+  private int itemsCount;
+
+  /**
+   * Bit of the bitsets that stands for no skill points difference: the sum of the highest skill points of every player.
+   */
+  private int balancedSkill;
+
+  /**
+   * Number of 64-bit words of each skill points bitset.
+   */
+  private int words;
+
+  /**
+   * Index of the first option of each item in the options arrays, indexed by item. The last index is the number of options.
+   */
+  private int[] itemsOptionsStarts;
+
+  /**
+   * Shift of the skill points bitset of each option.
+   */
+  private int[] optionsShifts;
+
+  /**
+   * Players per position that each option adds to each team, indexed by option, and then by team times the number of positions plus the position
+   * ordinal.
+   */
+  private int[][] optionsCounts;
+
+  /**
+   * Players of each item, indexed by item.
+   */
+  private long[] itemsPlayers;
+
+  /**
+   * Players sent to the first team by each option. The rest of the players of its item are sent to the second team.
+   */
+  private long[] optionsPlayers;
+
+  /**
+   * Reachable skill points differences bitsets of every state after processing each number of items, indexed by number of items processed, and then
+   * by state times the number of words of each bitset.
+   */
+  private long[][] layers;
+
+  /**
+   * Position ordinal of each player of the item of each option, in increasing player index order.
+   */
+  private List<byte[]> optionsPositions;
+
+  private CompactRoster roster;
+
+  // ---------- Constructor --------------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Builds the solver for a compact roster.
+   *
+   * @param roster            Compact roster to distribute.
+   * @param anchoragesEnabled Whether the anchorages and separations of the roster must be satisfied.
+   */
+  public PositionAssignmentSolver(CompactRoster roster, boolean anchoragesEnabled) {
+    setRoster(roster);
+    setAnchoragesEnabled(anchoragesEnabled);
+  }
+
+  // ---------- Public methods -----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Distributes the players with the smallest possible skill points difference between the teams, moving them to the positions chosen.
+   *
+   * @return Whether a valid distribution exists. If not, the roster is left with every player unassigned.
+   */
+  public boolean solve() {
+    roster.clearTeams();
+
+    TeamConstraints constraints = anchoragesEnabled ? new TeamConstraints(roster) : null;
+
+    if (constraints != null && !constraints.isFeasible()) {
+      return false;
+    }
+
+    buildItems(constraints);
+    buildLayers();
+
+    DistributionPlan distributionPlan = roster.getDistributionPlan();
+
+    int finalState = distributionPlan.getFinalState() * (distributionPlan.getStatesCount() + 1);
+    int bestSkill = -1;
+
+    for (int skill = 0; skill < words * Long.SIZE; skill++) {
+      if (isReachable(itemsCount, finalState, skill) && (bestSkill == -1 || Math.abs(skill - balancedSkill) < Math.abs(bestSkill - balancedSkill))) {
+        bestSkill = skill;
+      }
+    }
+
+    if (bestSkill == -1) {
+      return false;
+    }
+
+    rebuild(finalState, bestSkill);
+
+    return true;
+  }
+
+  // ---------- Private methods ----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Builds the items to process: one per constraint group if the anchorages are enabled, and one per not constrained player. Every option of an item
+   * is a team for each side of the group (or for the player) together with a position for each of its players.
+   *
+   * @param constraints Constraint groups of the roster, or null if the anchorages are disabled.
+   */
+  private void buildItems(TeamConstraints constraints) {
+    int groupsCount = constraints == null ? 0 : constraints.getGroupsCount();
+
+    long constrainedPlayers = 0;
+
+    for (int group = 0; group < groupsCount; group++) {
+      constrainedPlayers |= constraints.getGroupMask(group);
+    }
+
+    long freePlayers = roster.getPlayersMask() & ~constrainedPlayers;
+
+    List<Long> firstTeams = new ArrayList<>();
+    List<Integer> optionsStarts = new ArrayList<>();
+
+    setItemsPlayers(new long[groupsCount + Long.bitCount(freePlayers)]);
+    setOptionsPositions(new ArrayList<>());
+
+    int item = 0;
+
+    for (int group = 0; group < groupsCount; group++, item++) {
+      itemsPlayers[item] = constraints.getGroupMask(group);
+      optionsStarts.add(firstTeams.size());
+
+      addOptions(itemsPlayers[item], constraints.getFirstSides()[group], firstTeams);
+
+      // The side of the first item is fixed, so the mirrored distributions are skipped
+      if (item > 0) {
+        addOptions(itemsPlayers[item], constraints.getSecondSides()[group], firstTeams);
+      }
+    }
+
+    for (long remaining = freePlayers; remaining != 0; remaining &= remaining - 1, item++) {
+      itemsPlayers[item] = remaining & -remaining;
+      optionsStarts.add(firstTeams.size());
+
+      addOptions(itemsPlayers[item], itemsPlayers[item], firstTeams);
+
+      if (item > 0) {
+        addOptions(itemsPlayers[item], 0, firstTeams);
+      }
+    }
+
+    optionsStarts.add(firstTeams.size());
+
+    setItemsCount(item);
+    setItemsOptionsStarts(optionsStarts.stream()
+                                       .mapToInt(Integer::intValue)
+                                       .toArray());
+    setOptionsPlayers(firstTeams.stream()
+                                .mapToLong(Long::longValue)
+                                .toArray());
+    setOptionsShifts(new int[optionsPlayers.length]);
+    setOptionsCounts(new int[optionsPlayers.length][CompactRoster.TEAMS * CompactRoster.POSITIONS]);
+
+    int highestSkills = 0;
+
+    for (int player = 0; player < roster.getPlayersCount(); player++) {
+      highestSkills += getHighestSkillPoints(roster.getPlayers()[player]);
+    }
+
+    setBalancedSkill(highestSkills);
+    setWords(SubsetSums.wordsFor(2 * highestSkills));
+
+    for (item = 0; item < itemsCount; item++) {
+      for (int option = itemsOptionsStarts[item]; option < itemsOptionsStarts[item + 1]; option++) {
+        byte[] positions = optionsPositions.get(option);
+
+        int member = 0;
+
+        for (long remaining = itemsPlayers[item]; remaining != 0; remaining &= remaining - 1, member++) {
+          int player = Long.numberOfTrailingZeros(remaining);
+          int team = (optionsPlayers[option] & (1L << player)) != 0 ? 0 : 1;
+          int skill = roster.getPlayers()[player]
+                            .getSkillPoints(Position.values()[positions[member]]);
+
+          optionsCounts[option][team * CompactRoster.POSITIONS + positions[member]]++;
+          optionsShifts[option] += getHighestSkillPoints(roster.getPlayers()[player]) + (team == 0 ? skill : -skill);
+        }
+      }
+    }
+  }
+
+  /**
+   * Adds an option for every combination of positions of the item players, all of them with the same team for each player.
+   *
+   * @param itemPlayers      Players of the item.
+   * @param firstTeamPlayers Players of the item sent to the first team.
+   * @param firstTeams       Players sent to the first team by each option built so far.
+   */
+  private void addOptions(long itemPlayers, long firstTeamPlayers, List<Long> firstTeams) {
+    int[] members = new int[Long.bitCount(itemPlayers)];
+    int member = 0;
+
+    for (long remaining = itemPlayers; remaining != 0; remaining &= remaining - 1) {
+      members[member++] = Long.numberOfTrailingZeros(remaining);
+    }
+
+    byte[] positions = new byte[members.length];
+
+    addOptions(members, positions, 0, firstTeamPlayers, firstTeams);
+  }
+
+  /**
+   * Chooses the position of an item player and every player after it, adding an option for every combination.
+   *
+   * @param members          Players of the item, in increasing index order.
+   * @param positions        Positions chosen so far for the item players.
+   * @param member           Index of the next item player to choose a position for.
+   * @param firstTeamPlayers Players of the item sent to the first team.
+   * @param firstTeams       Players sent to the first team by each option built so far.
+   */
+  private void addOptions(int[] members, byte[] positions, int member, long firstTeamPlayers, List<Long> firstTeams) {
+    if (member == members.length) {
+      firstTeams.add(firstTeamPlayers);
+      optionsPositions.add(positions.clone());
+
+      return;
+    }
+
+    Player player = roster.getPlayers()[members[member]];
+
+    for (Position position : Position.values()) {
+      if (player.getSkillPoints(position) != -1) {
+        positions[member] = (byte) position.ordinal();
+
+        addOptions(members, positions, member + 1, firstTeamPlayers, firstTeams);
+      }
+    }
+  }
+
+  /**
+   * Builds the dynamic programming table, processing the items one by one. The state of both teams is the state of the first team plus the state of
+   * the second team times the number of states of a team.
+   */
+  private void buildLayers() {
+    DistributionPlan distributionPlan = roster.getDistributionPlan();
+
+    int teamStatesCount = distributionPlan.getStatesCount();
+    int[] strides = distributionPlan.getPositionsStrides();
+    int[] firstTeamCounts = new int[CompactRoster.POSITIONS];
+    int[] secondTeamCounts = new int[CompactRoster.POSITIONS];
+
+    setLayers(new long[itemsCount + 1][teamStatesCount * teamStatesCount * words]);
+
+    // Before processing any item, both teams are empty and no highest skill points were added yet
+    layers[0][0] = 1;
+
+    for (int item = 0; item < itemsCount; item++) {
+      PlayersMixer.checkCancellation();
+
+      for (int option = itemsOptionsStarts[item]; option < itemsOptionsStarts[item + 1]; option++) {
+        int optionOffset = 0;
+
+        for (int position = 0; position < CompactRoster.POSITIONS; position++) {
+          firstTeamCounts[position] = optionsCounts[option][position];
+          secondTeamCounts[position] = optionsCounts[option][CompactRoster.POSITIONS + position];
+          optionOffset += (firstTeamCounts[position] + secondTeamCounts[position] * teamStatesCount) * strides[position];
+        }
+
+        for (int secondTeamState = 0; secondTeamState < teamStatesCount; secondTeamState++) {
+          if (!distributionPlan.fitsState(secondTeamState, secondTeamCounts)) {
+            continue;
+          }
+
+          for (int firstTeamState = 0; firstTeamState < teamStatesCount; firstTeamState++) {
+            if (distributionPlan.fitsState(firstTeamState, firstTeamCounts)) {
+              int state = firstTeamState + secondTeamState * teamStatesCount;
+
+              SubsetSums.shiftOr(layers[item], state * words, layers[item + 1], (state + optionOffset) * words, words, optionsShifts[option]);
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Assigns the players walking the table backwards from the final state, choosing for every item an option that reaches the current state.
+   *
+   * @param finalState State where every players limit of both teams is reached.
+   * @param finalSkill Chosen skill points difference bit.
+   */
+  private void rebuild(int finalState, int finalSkill) {
+    DistributionPlan distributionPlan = roster.getDistributionPlan();
+
+    int teamStatesCount = distributionPlan.getStatesCount();
+    int[] strides = distributionPlan.getPositionsStrides();
+
+    int state = finalState;
+    int skill = finalSkill;
+
+    for (int item = itemsCount - 1; item >= 0; item--) {
+      for (int option = itemsOptionsStarts[item]; option < itemsOptionsStarts[item + 1]; option++) {
+        int previousSkill = skill - optionsShifts[option];
+        int previousState = state;
+
+        boolean validOption = previousSkill >= 0;
+
+        for (int team = 0; team < CompactRoster.TEAMS && validOption; team++) {
+          int teamState = team == 0 ? state % teamStatesCount : state / teamStatesCount;
+
+          for (int position = 0; position < CompactRoster.POSITIONS && validOption; position++) {
+            int positionCount = optionsCounts[option][team * CompactRoster.POSITIONS + position];
+
+            validOption = distributionPlan.getStatesCounts()[teamState][position] >= positionCount;
+            previousState -= positionCount * strides[position] * (team == 0 ? 1 : teamStatesCount);
+          }
+        }
+
+        if (validOption && isReachable(item, previousState, previousSkill)) {
+          apply(item, option);
+
+          state = previousState;
+          skill = previousSkill;
+
+          break;
+        }
+      }
+    }
+  }
+
+  /**
+   * Moves the players of an item to the positions of an option, and assigns them to the teams of the option.
+   *
+   * @param item   Item index.
+   * @param option Option index.
+   */
+  private void apply(int item, int option) {
+    byte[] positions = optionsPositions.get(option);
+
+    int member = 0;
+
+    for (long remaining = itemsPlayers[item]; remaining != 0; remaining &= remaining - 1, member++) {
+      int player = Long.numberOfTrailingZeros(remaining);
+
+      roster.moveToPosition(player, positions[member]);
+      roster.assign(player, (optionsPlayers[option] & (1L << player)) != 0 ? 0 : 1);
+    }
+  }
+
+  /**
+   * @param player Player to check.
+   *
+   * @return The highest skill points of the player among every position it can play.
+   */
+  private int getHighestSkillPoints(Player player) {
+    int highestSkillPoints = player.getSkillPoints();
+
+    for (int skillPoints : player.getAlternativePositions()
+                                 .values()) {
+      highestSkillPoints = Math.max(highestSkillPoints, skillPoints);
+    }
+
+    return highestSkillPoints;
+  }
+
+  /**
+   * @param itemsProcessed Number of items processed.
+   * @param state          State to check.
+   * @param skill          Skill points difference bit.
+   *
+   * @return Whether the skill points difference is reachable in the state after processing the specified number of items.
+   */
+  private boolean isReachable(int itemsProcessed, int state, int skill) {
+    return skill < words * Long.SIZE && (layers[itemsProcessed][state * words + (skill >>> 6)] & (1L << skill)) != 0;
+  }
+
+  // ---------- Getters ------------------------------------------------------------------------------------------------------------------------------
+
+  public boolean isAnchoragesEnabled() {
+    return anchoragesEnabled;
+  }
+
+  public int getItemsCount() {
+    return itemsCount;
+  }
+
+  public int getBalancedSkill() {
+    return balancedSkill;
+  }
+
+  public int getWords() {
+    return words;
+  }
+
+  public int[] getItemsOptionsStarts() {
+    return itemsOptionsStarts;
+  }
+
+  public int[] getOptionsShifts() {
+    return optionsShifts;
+  }
+
+  public int[][] getOptionsCounts() {
+    return optionsCounts;
+  }
+
+  public long[] getItemsPlayers() {
+    return itemsPlayers;
+  }
+
+  public long[] getOptionsPlayers() {
+    return optionsPlayers;
+  }
+
+  public long[][] getLayers() {
+    return layers;
+  }
+
+  public List<byte[]> getOptionsPositions() {
+    return optionsPositions;
+  }
+
+  public CompactRoster getRoster() {
+    return roster;
+  }
+
+  // ---------- Setters ------------------------------------------------------------------------------------------------------------------------------
+
+  public void setAnchoragesEnabled(boolean anchoragesEnabled) {
+    this.anchoragesEnabled = anchoragesEnabled;
+  }
+
+  public void setItemsCount(int itemsCount) {
+    this.itemsCount = itemsCount;
+  }
+
+  public void setBalancedSkill(int balancedSkill) {
+    this.balancedSkill = balancedSkill;
+  }
+
+  public void setWords(int words) {
+    this.words = words;
+  }
+
+  public void setItemsOptionsStarts(int[] itemsOptionsStarts) {
+    this.itemsOptionsStarts = itemsOptionsStarts;
+  }
+
+  public void setOptionsShifts(int[] optionsShifts) {
+    this.optionsShifts = optionsShifts;
+  }
+
+  public void setOptionsCounts(int[][] optionsCounts) {
+    this.optionsCounts = optionsCounts;
+  }
+
+  public void setItemsPlayers(long[] itemsPlayers) {
+    this.itemsPlayers = itemsPlayers;
+  }
+
+  public void setOptionsPlayers(long[] optionsPlayers) {
+    this.optionsPlayers = optionsPlayers;
+  }
+
+  public void setLayers(long[][] layers) {
+    this.layers = layers;
+  }
+
+  public void setOptionsPositions(List<byte[]> optionsPositions) {
+    this.optionsPositions = optionsPositions;
+  }
+
+  public void setRoster(CompactRoster roster) {
+    this.roster = roster;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,382 @@
+package armameeldoparti.utils.solver;
+
+import armameeldoparti.utils.mixers.CompactRoster;
+import armameeldoparti.utils.mixers.DistributionPlan;
+import armameeldoparti.utils.mixers.PlayersMixer;
+import armameeldoparti.utils.mixers.TeamConstraints;
+
+/**
+ * Skill balance solver class.
+ *
+ * <p>Finds the distribution with the smallest skill points difference between the teams that satisfies every anchorage, separation and players limit.
+ *
+ * <p>The roster is split into items, each one with several options: every constraint group (see {@link TeamConstraints}) can send either of its
+ * sides to the first team, and every set of not constrained players with the same position and skill points can send any number of them to the first
+ * team. Since the players of such a set are interchangeable, choosing how many of them go to the first team is enough, instead of choosing which
+ * ones. A dynamic programming table is then built item by item, where each state is the number of players per position of the first team. For each
+ * state, the reachable skill points of the first team are stored as a bitset, so adding an option to the first team is a shift of the bitset by the
+ * option skill points.
+ *
+ * <p>Swapping the teams of a distribution gives another one with the same skill points difference, since both teams have the same players limits. So
+ * only the options of the first item that send at least half of its players to the first team are considered, which skips the mirrored
+ * distributions.
+ *
+ * <p>Once every item is processed, the only valid state is the one where the first team has exactly the players limit of every position. The
+ * reachable skill points closest to half of the total skill points give the best distribution, which is rebuilt walking the table backwards. The
+ * running time is proportional to the number of items times the number of states, regardless of how the players are anchored or separated.
+ *
+ * @author Bonino, Francisco Ignacio.
+ *
+ * @version 0.0.1
+ *
+ * @since 3.0
+ */
+public class SkillBalanceSolver {
+
+  // ---------- Private fields -----------------------------------------------------------------------------------------------------------------------
+
+  private int itemsCount;
+  private int statesCount;
+
+  /**
+   * Number of 64-bit words of each skill points bitset.
+   */
+  private int words;
+
+  /**
+   * Players per position of the first team of each state, indexed by state and then by position ordinal.
+   */
+  private int[][] statesCounts;
+
+  /**
+   * Distance between two consecutive states that only differ in one player of each position, indexed by the position ordinal.
+   */
+  private int[] positionsStrides;
+
+  /**
+   * Index of the first option of each item in the options players, indexed by item. The last index is the number of options.
+   */
+  private int[] itemsOptionsStarts;
+
+  /**
+   * Every player of each item, indexed by item.
+   */
+  private long[] itemsPlayers;
+
+  /**
+   * Players sent to the first team by each option. The rest of the players of its item are sent to the second team.
+   */
+  private long[] optionsPlayers;
+
+  /**
+   * Reachable skill points bitsets of every state after processing each number of items, indexed by number of items processed, and then by state
+   * times the number of words of each bitset.
+   */
+  private long[][] layers;
+
+  private CompactRoster roster;
+
+  // ---------- Constructor --------------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Builds the solver for a compact roster.
+   *
+   * @param roster Compact roster to distribute. Its anchorages and separations are the constraints to satisfy.
+   */
+  public SkillBalanceSolver(CompactRoster roster) {
+    setRoster(roster);
+  }
+
+  // ---------- Public methods -----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Distributes the players with the smallest possible skill points difference between the teams.
+   *
+   * @return Whether a valid distribution exists. If not, the roster is left with every player unassigned.
+   */
+  public boolean solve() {
+    roster.clearTeams();
+
+    TeamConstraints constraints = new TeamConstraints(roster);
+
+    if (!constraints.isFeasible()) {
+      return false;
+    }
+
+    buildItems(constraints);
+    buildStates();
+    buildLayers();
+
+    int finalState = roster.getDistributionPlan()
+                           .getFinalState();
+
+    int totalSkill = roster.getSkill(roster.getPlayersMask());
+    int bestSkill = -1;
+
+    for (int skill = 0; skill < words * Long.SIZE; skill++) {
+      if (isReachable(itemsCount, finalState, skill)
+          && (bestSkill == -1 || Math.abs(2 * skill - totalSkill) < Math.abs(2 * bestSkill - totalSkill))) {
+        bestSkill = skill;
+      }
+    }
+
+    if (bestSkill == -1) {
+      return false;
+    }
+
+    rebuild(finalState, bestSkill);
+
+    return true;
+  }
+
+  // ---------- Private methods ----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Builds the items to process: one per constraint group, and one per set of interchangeable not constrained players.
+   *
+   * @param constraints Constraint groups of the roster.
+   */
+  private void buildItems(TeamConstraints constraints) {
+    long constrainedPlayers = 0;
+
+    for (int group = 0; group < constraints.getGroupsCount(); group++) {
+      constrainedPlayers |= constraints.getGroupMask(group);
+    }
+
+    long freePlayers = roster.getPlayersMask() & ~constrainedPlayers;
+
+    // Every group has 2 options, and every set of interchangeable players has one more option than players
+    setItemsPlayers(new long[constraints.getGroupsCount() + Long.bitCount(freePlayers)]);
+    setItemsOptionsStarts(new int[itemsPlayers.length + 1]);
+    setOptionsPlayers(new long[2 * itemsPlayers.length]);
+
+    int item = 0;
+    int option = 0;
+
+    for (int group = 0; group < constraints.getGroupsCount(); group++, item++) {
+      itemsPlayers[item] = constraints.getGroupMask(group);
+      itemsOptionsStarts[item] = option;
+      optionsPlayers[option++] = constraints.getFirstSides()[group];
+
+      // The side of the first item is fixed, so the mirrored distributions are skipped
+      if (item > 0) {
+        optionsPlayers[option++] = constraints.getSecondSides()[group];
+      }
+    }
+
+    for (long remaining = freePlayers; remaining != 0; remaining &= ~itemsPlayers[item++]) {
+      int player = Long.numberOfTrailingZeros(remaining);
+
+      for (long candidates = remaining; candidates != 0; candidates &= candidates - 1) {
+        int candidate = Long.numberOfTrailingZeros(candidates);
+
+        if (roster.getPositions()[candidate] == roster.getPositions()[player] && roster.getSkills()[candidate] == roster.getSkills()[player]) {
+          itemsPlayers[item] |= 1L << candidate;
+        }
+      }
+
+      itemsOptionsStarts[item] = option;
+
+      int interchangeablePlayers = Long.bitCount(itemsPlayers[item]);
+      long firstTeamPlayers = 0;
+      long pendingPlayers = itemsPlayers[item];
+
+      for (int firstTeamCount = 0; firstTeamCount <= interchangeablePlayers; firstTeamCount++) {
+        // Only the first item options with at least half of its players in the first team are kept, so the mirrored distributions are skipped
+        if (item > 0 || 2 * firstTeamCount >= interchangeablePlayers) {
+          optionsPlayers[option++] = firstTeamPlayers;
+        }
+
+        firstTeamPlayers |= pendingPlayers & -pendingPlayers;
+        pendingPlayers &= pendingPlayers - 1;
+      }
+    }
+
+    setItemsCount(item);
+
+    itemsOptionsStarts[item] = option;
+  }
+
+  /**
+   * Takes the states from the distribution plan of the roster: every combination of players per position of the first team within the players
+   * limits.
+   */
+  private void buildStates() {
+    DistributionPlan distributionPlan = roster.getDistributionPlan();
+
+    setPositionsStrides(distributionPlan.getPositionsStrides());
+    setStatesCount(distributionPlan.getStatesCount());
+    setStatesCounts(distributionPlan.getStatesCounts());
+    setWords(SubsetSums.wordsFor(roster.getSkill(roster.getPlayersMask())));
+  }
+
+  /**
+   * Builds the dynamic programming table, processing the items one by one.
+   */
+  private void buildLayers() {
+    setLayers(new long[itemsCount + 1][statesCount * words]);
+
+    // Before processing any item, the first team has no players and no skill points
+    layers[0][0] = 1;
+
+    int[] optionCounts = new int[CompactRoster.POSITIONS];
+
+    DistributionPlan distributionPlan = roster.getDistributionPlan();
+
+    for (int item = 0; item < itemsCount; item++) {
+      PlayersMixer.checkCancellation();
+
+      for (int option = itemsOptionsStarts[item]; option < itemsOptionsStarts[item + 1]; option++) {
+        long players = optionsPlayers[option];
+
+        int optionSkill = roster.getSkill(players);
+        int optionOffset = 0;
+
+        for (int position = 0; position < CompactRoster.POSITIONS; position++) {
+          optionCounts[position] = Long.bitCount(players & roster.getPositionMask(position));
+          optionOffset += optionCounts[position] * positionsStrides[position];
+        }
+
+        for (int state = 0; state < statesCount; state++) {
+          if (distributionPlan.fitsState(state, optionCounts)) {
+            SubsetSums.shiftOr(layers[item], state * words, layers[item + 1], (state + optionOffset) * words, words, optionSkill);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Assigns the players walking the table backwards from the final state, choosing for every item an option that reaches the current state.
+   *
+   * @param finalState State where every players limit of the first team is reached.
+   * @param finalSkill Chosen skill points of the first team.
+   */
+  private void rebuild(int finalState, int finalSkill) {
+    int state = finalState;
+    int skill = finalSkill;
+
+    for (int item = itemsCount - 1; item >= 0; item--) {
+      for (int option = itemsOptionsStarts[item]; option < itemsOptionsStarts[item + 1]; option++) {
+        long players = optionsPlayers[option];
+
+        int previousSkill = skill - roster.getSkill(players);
+        int previousState = state;
+
+        boolean validOption = previousSkill >= 0;
+
+        for (int position = 0; position < CompactRoster.POSITIONS && validOption; position++) {
+          int positionCount = Long.bitCount(players & roster.getPositionMask(position));
+
+          validOption = statesCounts[state][position] >= positionCount;
+          previousState -= positionCount * positionsStrides[position];
+        }
+
+        if (validOption && isReachable(item, previousState, previousSkill)) {
+          roster.assignAll(players, 0);
+          roster.assignAll(itemsPlayers[item] & ~players, 1);
+
+          state = previousState;
+          skill = previousSkill;
+
+          break;
+        }
+      }
+    }
+  }
+
+  /**
+   * @param itemsProcessed Number of items processed.
+   * @param state          State to check.
+   * @param skill          Skill points of the first team.
+   *
+   * @return Whether the skill points are reachable in the state after processing the specified number of items.
+   */
+  private boolean isReachable(int itemsProcessed, int state, int skill) {
+    return (layers[itemsProcessed][state * words + (skill >>> 6)] & (1L << skill)) != 0;
+  }
+
+  // ---------- Getters ------------------------------------------------------------------------------------------------------------------------------
+
+  public int getItemsCount() {
+    return itemsCount;
+  }
+
+  public int getStatesCount() {
+    return statesCount;
+  }
+
+  public int getWords() {
+    return words;
+  }
+
+  public int[][] getStatesCounts() {
+    return statesCounts;
+  }
+
+  public int[] getPositionsStrides() {
+    return positionsStrides;
+  }
+
+  public int[] getItemsOptionsStarts() {
+    return itemsOptionsStarts;
+  }
+
+  public long[] getItemsPlayers() {
+    return itemsPlayers;
+  }
+
+  public long[] getOptionsPlayers() {
+    return optionsPlayers;
+  }
+
+  public long[][] getLayers() {
+    return layers;
+  }
+
+  public CompactRoster getRoster() {
+    return roster;
+  }
+
+  // ---------- Setters ------------------------------------------------------------------------------------------------------------------------------
+
+  public void setItemsCount(int itemsCount) {
+    this.itemsCount = itemsCount;
+  }
+
+  public void setStatesCount(int statesCount) {
+    this.statesCount = statesCount;
+  }
+
+  public void setWords(int words) {
+    this.words = words;
+  }
+
+  public void setStatesCounts(int[][] statesCounts) {
+    this.statesCounts = statesCounts;
+  }
+
+  public void setPositionsStrides(int[] positionsStrides) {
+    this.positionsStrides = positionsStrides;
+  }
+
+  public void setItemsOptionsStarts(int[] itemsOptionsStarts) {
+    this.itemsOptionsStarts = itemsOptionsStarts;
+  }
+
+  public void setItemsPlayers(long[] itemsPlayers) {
+    this.itemsPlayers = itemsPlayers;
+  }
+
+  public void setOptionsPlayers(long[] optionsPlayers) {
+    this.optionsPlayers = optionsPlayers;
+  }
+
+  public void setLayers(long[][] layers) {
+    this.layers = layers;
+  }
+
+  public void setRoster(CompactRoster roster) {
+    this.roster = roster;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,248 @@
+package armameeldoparti.utils.solver;
+
+/**
+ * Subset sums class.
+ *
+ * <p>Computes every sum that can be obtained adding exactly {@code k} values of a set of small non-negative values, for every {@code k} up to a
+ * maximum count. The reachable sums of each count are stored as a bitset of 64-bit words, where the bit {@code s} is set if the sum {@code s} is
+ * reachable, so adding a value to every reachable sum is a single shift of the bitset.
+ *
+ * <p>The table keeps the reachable sums after processing each value, so a subset with a given count and sum can be rebuilt walking it backwards.
+ * Both the building and the rebuilding time are proportional to the number of values times the maximum count times the number of words.
+ *
+ * @author Bonino, Francisco Ignacio.
+ *
+ * @version 0.0.1
+ *
+ * @since 3.0
+ */
+public class SubsetSums {
+
+  // ---------- Private fields -----------------------------------------------------------------------------------------------------------------------
+
+  private int maxCount;
+
+  /**
+   * Number of 64-bit words of each sums bitset.
+   */
+  private int words;
+
+  private int[] values;
+
+  /**
+   * Reachable sums bitsets after processing each number of values, indexed by number of values processed, and then by count times the number of
+   * words of each bitset.
+   */
+  private long[][] layers;
+
+  // ---------- Constructor --------------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Builds the reachable sums table.
+   *
+   * @param values   Values to add. At most 64 values are allowed, so the chosen values can be represented as a bitmask.
+   * @param maxCount Maximum number of values to add.
+   */
+  public SubsetSums(int[] values, int maxCount) {
+    int totalSum = 0;
+
+    for (int value : values) {
+      totalSum += value;
+    }
+
+    setValues(values);
+    setMaxCount(maxCount);
+    setWords(wordsFor(totalSum));
+    setLayers(new long[values.length + 1][(maxCount + 1) * words]);
+
+    // Adding no values gives a sum of 0
+    layers[0][0] = 1;
+
+    for (int value = 0; value < values.length; value++) {
+      long[] previousLayer = layers[value];
+      long[] layer = layers[value + 1];
+
+      System.arraycopy(previousLayer, 0, layer, 0, layer.length);
+
+      for (int count = 0; count < maxCount; count++) {
+        shiftOr(previousLayer, count * words, layer, (count + 1) * words, words, values[value]);
+      }
+    }
+  }
+
+  // ---------- Public static methods ----------------------------------------------------------------------------------------------------------------
+
+  /**
+   * @param maxSum Maximum sum to represent.
+   *
+   * @return The number of 64-bit words needed by a bitset to represent every sum from 0 to the maximum sum.
+   */
+  public static int wordsFor(int maxSum) {
+    return maxSum / Long.SIZE + 1;
+  }
+
+  /**
+   * ORs a bitset shifted towards the higher bits into another bitset of the same length. The bits shifted beyond the length are discarded.
+   *
+   * @param source            Array holding the bitset to shift.
+   * @param sourceOffset      Index of the first word of the bitset to shift.
+   * @param destination       Array holding the bitset to update.
+   * @param destinationOffset Index of the first word of the bitset to update.
+   * @param words             Number of words of both bitsets.
+   * @param shift             Number of bits to shift.
+   */
+  public static void shiftOr(long[] source, int sourceOffset, long[] destination, int destinationOffset, int words, int shift) {
+    int wordsShift = shift >>> 6;
+    int bitsShift = shift & 63;
+
+    for (int word = words - 1; word >= wordsShift; word--) {
+      long shifted = source[sourceOffset + word - wordsShift] << bitsShift;
+
+      if (bitsShift != 0 && word - wordsShift > 0) {
+        shifted |= source[sourceOffset + word - wordsShift - 1] >>> (Long.SIZE - bitsShift);
+      }
+
+      destination[destinationOffset + word] |= shifted;
+    }
+  }
+
+  /**
+   * Computes every sum of a value of the first bitset plus a value of the second one.
+   *
+   * @param first  First sums bitset.
+   * @param second Second sums bitset.
+   * @param words  Number of words of the result. The sums beyond it are discarded.
+   *
+   * @return The bitset of the sums.
+   */
+  public static long[] sumset(long[] first, long[] second, int words) {
+    long[] result = new long[words];
+    long[] resized = new long[words];
+
+    System.arraycopy(first, 0, resized, 0, Math.min(first.length, words));
+
+    for (int word = 0; word < second.length; word++) {
+      for (long remaining = second[word]; remaining != 0; remaining &= remaining - 1) {
+        int shift = word * Long.SIZE + Long.numberOfTrailingZeros(remaining);
+
+        if (shift < words * Long.SIZE) {
+          shiftOr(resized, 0, result, 0, words, shift);
+        }
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * @param bitset Sums bitset.
+   * @param sum    Sum to check.
+   *
+   * @return Whether the sum is set in the bitset.
+   */
+  public static boolean contains(long[] bitset, int sum) {
+    return sum >= 0 && (sum >>> 6) < bitset.length && (bitset[sum >>> 6] & (1L << sum)) != 0;
+  }
+
+  // ---------- Public methods -----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * @param count Number of values to add.
+   *
+   * @return The bitset of the sums that can be obtained adding exactly the specified number of values.
+   */
+  public long[] getSums(int count) {
+    long[] sums = new long[words];
+
+    System.arraycopy(layers[values.length], count * words, sums, 0, words);
+
+    return sums;
+  }
+
+  /**
+   * @param count Number of values to add.
+   * @param sum   Sum to check.
+   *
+   * @return Whether the sum can be obtained adding exactly the specified number of values.
+   */
+  public boolean isReachable(int count, int sum) {
+    return isReachable(values.length, count, sum);
+  }
+
+  /**
+   * Rebuilds a subset of values with the specified count and sum.
+   *
+   * @param count Number of values of the subset.
+   * @param sum   Sum of the values of the subset.
+   *
+   * @return The indexes of the values of the subset as a bitmask, or -1 if the sum can't be obtained with that count.
+   */
+  public long select(int count, int sum) {
+    if (!isReachable(count, sum)) {
+      return -1;
+    }
+
+    long selected = 0;
+
+    for (int value = values.length - 1; value >= 0; value--) {
+      // If the sum is still reachable without the value, the value is not needed
+      if (!isReachable(value, count, sum)) {
+        selected |= 1L << value;
+        count--;
+        sum -= values[value];
+      }
+    }
+
+    return selected;
+  }
+
+  // ---------- Private methods ----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * @param valuesProcessed Number of values processed.
+   * @param count           Number of values to add.
+   * @param sum             Sum to check.
+   *
+   * @return Whether the sum can be obtained adding exactly the specified number of values among the first processed ones.
+   */
+  private boolean isReachable(int valuesProcessed, int count, int sum) {
+    return count >= 0 && count <= maxCount && sum >= 0 && sum < words * Long.SIZE
+           && (layers[valuesProcessed][count * words + (sum >>> 6)] & (1L << sum)) != 0;
+  }
+
+  // ---------- Getters ------------------------------------------------------------------------------------------------------------------------------
+
+  public int getMaxCount() {
+    return maxCount;
+  }
+
+  public int getWords() {
+    return words;
+  }
+
+  public int[] getValues() {
+    return values;
+  }
+
+  public long[][] getLayers() {
+    return layers;
+  }
+
+  // ---------- Setters ------------------------------------------------------------------------------------------------------------------------------
+
+  public void setMaxCount(int maxCount) {
+    this.maxCount = maxCount;
+  }
+
+  public void setWords(int words) {
+    this.words = words;
+  }
+
+  public void setValues(int[] values) {
+    this.values = values;
+  }
+
+  public void setLayers(long[][] layers) {
+    this.layers = layers;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,351 @@
+package armameeldoparti.utils.solver;
+
+import armameeldoparti.utils.common.Constants;
+import armameeldoparti.utils.mixers.CompactRoster;
+import armameeldoparti.utils.mixers.PlayersMixer;
+import armameeldoparti.utils.mixers.TeamConstraints;
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Team assignment solver class.
+ *
+ * <p>Models the distribution of a compact roster between the teams as a constraint satisfaction problem. The domain of every player is the set of
+ * teams it can still be assigned to, stored as one bitset per team where the bit {@code n} corresponds to the player {@code n}.
+ *
+ * <p>Every time a player is assigned, the following rules are propagated until no domain changes:
+ *
+ * <ul>
+ *   <li>A team with no room left, in total or for a position, is removed from the domains of the unassigned players (of that position).
+ *   <li>If a player of an anchorage can't be assigned to a team, none of the players of the anchorage can.
+ *   <li>If a player can only be assigned to a team, the players separated from it can't be assigned to that team.
+ *   <li>The players whose domain has a single team are assigned to it, if it has room for all of them and none of them are separated.
+ * </ul>
+ *
+ * <p>The players are then assigned one by one in the order given by the mixer, trying first the team it prefers, and backtracking when a domain
+ * becomes empty. The partial assignments that led to a dead end are learned, so they are never explored again: since the domains only depend on the
+ * assigned players, a learned partial assignment fails the same way wherever it is reached from.
+ *
+ * @author Bonino, Francisco Ignacio.
+ *
+ * @version 0.0.1
+ *
+ * @since 3.0
+ */
+public class TeamAssignmentSolver {
+
+  // ---------- Private constants --------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Maximum number of learned conflicts. Once reached, no more conflicts are learned, so the memory used by the solver is bounded.
+   */
+  private static final int MAX_CONFLICTS = 1024;
+
+  // ---------- Private fields -----------------------------------------------------------------------------------------------------------------------
+
+  private int conflictsCount;
+
+  /**
+   * Assigned players of each learned conflict, stored in an open addressing hash table. An empty slot holds 0, since the partial assignment without
+   * any assigned player is never learned. The table is only built when the first conflict is learned, since most distributions don't need to
+   * backtrack.
+   */
+  private long[] conflictsAssigned;
+
+  /**
+   * Players assigned to the second team of each learned conflict, in the same slot as their assigned players.
+   */
+  private long[] conflictsSecondTeam;
+
+  /**
+   * Players that can still be assigned to each team, indexed by the team index. An assigned player only belongs to the bitset of its team.
+   */
+  private long[] domains;
+
+  private CompactRoster roster;
+
+  // ---------- Constructor --------------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Builds the solver for a compact roster.
+   *
+   * @param roster Compact roster to distribute. Its anchorages and separations are the constraints to satisfy.
+   */
+  public TeamAssignmentSolver(CompactRoster roster) {
+    setRoster(roster);
+    setDomains(new long[CompactRoster.TEAMS]);
+  }
+
+  // ---------- Public methods -----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Assigns every player of the roster to a team satisfying every constraint.
+   *
+   * <p>The anchorages and separations are checked first by 2-coloring (see {@link TeamConstraints}), so the configurations that can't be satisfied
+   * regardless of the players limits are rejected without searching.
+   *
+   * @param playersOrder  Order in which the players are decided. It must contain every player of the roster.
+   * @param preferredTeam Team to try first for a player, given the player index. It is evaluated when the player is decided, so it can depend on the
+   *                      players assigned so far.
+   *
+   * @return Whether a valid assignment was found. If not, the roster is left with every player unassigned.
+   */
+  public boolean solve(int[] playersOrder, IntUnaryOperator preferredTeam) {
+    roster.clearTeams();
+
+    if (!new TeamConstraints(roster).isFeasible()) {
+      return false;
+    }
+
+    if (conflictsCount != 0) {
+      Arrays.fill(conflictsAssigned, 0);
+
+      conflictsCount = 0;
+    }
+
+    domains[0] = roster.getPlayersMask();
+    domains[1] = roster.getPlayersMask();
+
+    if (!propagate() || !search(playersOrder, preferredTeam, 0)) {
+      roster.clearTeams();
+
+      return false;
+    }
+
+    return true;
+  }
+
+  // ---------- Private methods ----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Decides the players from the specified order index onwards, backtracking when a decision leads to a dead end.
+   *
+   * @param playersOrder  Order in which the players are decided.
+   * @param preferredTeam Team to try first for each player.
+   * @param orderIndex    Index of the next player to decide in the players order.
+   *
+   * @return Whether every remaining player could be assigned.
+   */
+  private boolean search(int[] playersOrder, IntUnaryOperator preferredTeam, int orderIndex) {
+    PlayersMixer.checkCancellation();
+
+    while (orderIndex < playersOrder.length && roster.isAssigned(playersOrder[orderIndex])) {
+      orderIndex++;
+    }
+
+    if (orderIndex == playersOrder.length) {
+      return true;
+    }
+
+    long assigned = roster.getAssignedMask();
+    long secondTeam = roster.getTeamMask();
+
+    if (isLearnedConflict(assigned, secondTeam)) {
+      return false;
+    }
+
+    long firstTeamDomain = domains[0];
+    long secondTeamDomain = domains[1];
+
+    int player = playersOrder[orderIndex];
+    int team = preferredTeam.applyAsInt(player);
+
+    for (int attempt = 0; attempt < CompactRoster.TEAMS; attempt++, team = 1 - team) {
+      if ((domains[team] & (1L << player)) == 0) {
+        continue;
+      }
+
+      roster.assign(player, team);
+
+      domains[1 - team] &= ~(1L << player);
+
+      if (propagate() && search(playersOrder, preferredTeam, orderIndex + 1)) {
+        return true;
+      }
+
+      roster.restore(assigned, secondTeam);
+
+      domains[0] = firstTeamDomain;
+      domains[1] = secondTeamDomain;
+    }
+
+    learnConflict(assigned, secondTeam);
+
+    return false;
+  }
+
+  /**
+   * Propagates the constraints until no domain changes, assigning the players that can only be assigned to one team.
+   *
+   * @return Whether every unassigned player can still be assigned to some team.
+   */
+  private boolean propagate() {
+    boolean changed = true;
+
+    while (changed) {
+      long unassigned = roster.getPlayersMask() & ~roster.getAssignedMask();
+      long firstTeamDomain = domains[0];
+      long secondTeamDomain = domains[1];
+
+      for (int team = 0; team < CompactRoster.TEAMS; team++) {
+        long teamPlayers = roster.getTeamPlayersMask(team);
+
+        if (Long.bitCount(teamPlayers) >= Constants.PLAYERS_PER_TEAM) {
+          domains[team] &= ~unassigned;
+        }
+
+        for (int position = 0; position < CompactRoster.POSITIONS; position++) {
+          if (roster.isPositionFull(team, position)) {
+            domains[team] &= ~(unassigned & roster.getPositionMask(position));
+          }
+        }
+
+        for (int anchorageNumber : roster.getAnchorageNumbers()) {
+          long anchorage = roster.getAnchorageMask(anchorageNumber);
+
+          if ((anchorage & ~domains[team]) != 0) {
+            domains[team] &= ~anchorage;
+          }
+        }
+
+        for (long onlyOtherTeam = domains[1 - team] & ~domains[team]; onlyOtherTeam != 0; onlyOtherTeam &= onlyOtherTeam - 1) {
+          domains[1 - team] &= ~roster.getSeparationMask(Long.numberOfTrailingZeros(onlyOtherTeam));
+        }
+      }
+
+      if ((unassigned & ~(domains[0] | domains[1])) != 0) {
+        return false;
+      }
+
+      changed = domains[0] != firstTeamDomain || domains[1] != secondTeamDomain;
+
+      for (int team = 0; team < CompactRoster.TEAMS; team++) {
+        long forced = unassigned & domains[team] & ~domains[1 - team];
+
+        if (forced == 0) {
+          continue;
+        }
+
+        if (!roster.fits(forced, team)) {
+          return false;
+        }
+
+        // Two separated players can't be forced to the same team
+        for (long remaining = forced; remaining != 0; remaining &= remaining - 1) {
+          if ((roster.getSeparationMask(Long.numberOfTrailingZeros(remaining)) & forced) != 0) {
+            return false;
+          }
+        }
+
+        roster.assignAll(forced, team);
+
+        changed = true;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * @param assigned   Assigned players of the partial assignment.
+   * @param secondTeam Players assigned to the second team of the partial assignment.
+   *
+   * @return Whether the partial assignment was learned as a conflict.
+   */
+  private boolean isLearnedConflict(long assigned, long secondTeam) {
+    if (assigned == 0 || conflictsAssigned == null) {
+      return false;
+    }
+
+    for (int slot = slotOf(assigned, secondTeam); conflictsAssigned[slot] != 0; slot = (slot + 1) & (conflictsAssigned.length - 1)) {
+      if (conflictsAssigned[slot] == assigned && conflictsSecondTeam[slot] == secondTeam) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Learns a partial assignment as a conflict, unless the maximum number of learned conflicts was reached.
+   *
+   * @param assigned   Assigned players of the partial assignment.
+   * @param secondTeam Players assigned to the second team of the partial assignment.
+   */
+  private void learnConflict(long assigned, long secondTeam) {
+    if (assigned == 0 || conflictsCount == MAX_CONFLICTS) {
+      return;
+    }
+
+    if (conflictsAssigned == null) {
+      setConflictsAssigned(new long[MAX_CONFLICTS * 2]);
+      setConflictsSecondTeam(new long[MAX_CONFLICTS * 2]);
+    }
+
+    int slot = slotOf(assigned, secondTeam);
+
+    while (conflictsAssigned[slot] != 0) {
+      slot = (slot + 1) & (conflictsAssigned.length - 1);
+    }
+
+    conflictsAssigned[slot] = assigned;
+    conflictsSecondTeam[slot] = secondTeam;
+    conflictsCount++;
+  }
+
+  /**
+   * @param assigned   Assigned players of the partial assignment.
+   * @param secondTeam Players assigned to the second team of the partial assignment.
+   *
+   * @return The initial slot of the partial assignment in the conflicts hash table.
+   */
+  private int slotOf(long assigned, long secondTeam) {
+    long hash = (assigned * 0x9E3779B97F4A7C15L) ^ (secondTeam * 0xC2B2AE3D27D4EB4FL);
+
+    return (int) (hash ^ (hash >>> 32)) & (conflictsAssigned.length - 1);
+  }
+
+  // ---------- Getters ------------------------------------------------------------------------------------------------------------------------------
+
+  public int getConflictsCount() {
+    return conflictsCount;
+  }
+
+  public long[] getConflictsAssigned() {
+    return conflictsAssigned;
+  }
+
+  public long[] getConflictsSecondTeam() {
+    return conflictsSecondTeam;
+  }
+
+  public long[] getDomains() {
+    return domains;
+  }
+
+  public CompactRoster getRoster() {
+    return roster;
+  }
+
+  // ---------- Setters ------------------------------------------------------------------------------------------------------------------------------
+
+  public void setConflictsCount(int conflictsCount) {
+    this.conflictsCount = conflictsCount;
+  }
+
+  public void setConflictsAssigned(long[] conflictsAssigned) {
+    this.conflictsAssigned = conflictsAssigned;
+  }
+
+  public void setConflictsSecondTeam(long[] conflictsSecondTeam) {
+    this.conflictsSecondTeam = conflictsSecondTeam;
+  }
+
+  public void setDomains(long[] domains) {
+    this.domains = domains;
+  }
+
+  public void setRoster(CompactRoster roster) {
+    this.roster = roster;
+  }
+}
\ No newline at end of file
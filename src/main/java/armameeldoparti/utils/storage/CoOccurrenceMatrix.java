@@ -0,0 +1,142 @@
+package armameeldoparti.utils.storage;
+
+import java.util.List;
+
+/**
+ * Players co-occurrence matrix class.
+ *
+ * <p>Holds how many times each pair of players of a roster was on the same team. Since the matrix is symmetric and its diagonal is not needed, only
+ * the cells above the diagonal are stored, row by row, in a single array.
+ *
+ * <p>The names of the roster players are kept with the matrix, so it can be reused while the same roster is distributed again.
+ *
+ * @author Bonino, Francisco Ignacio.
+ *
+ * @version 0.0.1
+ *
+ * @since 3.0
+ */
+public class CoOccurrenceMatrix {
+
+  // ---------- Private fields -----------------------------------------------------------------------------------------------------------------------
+
+  private boolean empty;
+
+  private int playersCount;
+
+  private short[] counts;
+
+  private List<String> names;
+
+  // ---------- Constructor --------------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Builds an empty co-occurrence matrix.
+   *
+   * @param names Normalized names of the roster players. The player {@code n} of the matrix is the {@code n}-th name.
+   */
+  public CoOccurrenceMatrix(List<String> names) {
+    setNames(names);
+    setPlayersCount(names.size());
+    setCounts(new short[playersCount * (playersCount - 1) / 2]);
+    setEmpty(true);
+  }
+
+  // ---------- Public static methods ----------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Builds the co-occurrence matrix of a roster from the match history statistics. The counts that don't fit in a short are saturated.
+   *
+   * @param statistics Match history statistics.
+   * @param names      Normalized names of the roster players. The player {@code n} of the matrix is the {@code n}-th name.
+   *
+   * @return The co-occurrence matrix of the roster.
+   */
+  public static CoOccurrenceMatrix of(MatchStatistics statistics, List<String> names) {
+    CoOccurrenceMatrix matrix = new CoOccurrenceMatrix(names);
+
+    for (int player = 0; player < names.size(); player++) {
+      for (int teammate = player + 1; teammate < names.size(); teammate++) {
+        matrix.set(player, teammate, statistics.getTimesTogether(names.get(player), names.get(teammate)));
+      }
+    }
+
+    return matrix;
+  }
+
+  // ---------- Public methods -----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * @param player   Index of a player.
+   * @param teammate Index of another player.
+   *
+   * @return How many times both players were on the same team.
+   */
+  public int get(int player, int teammate) {
+    return counts[index(Math.min(player, teammate), Math.max(player, teammate))];
+  }
+
+  /**
+   * Sets how many times both players were on the same team.
+   *
+   * @param player   Index of a player.
+   * @param teammate Index of another player.
+   * @param count    Times both players were on the same team.
+   */
+  public void set(int player, int teammate, int count) {
+    counts[index(Math.min(player, teammate), Math.max(player, teammate))] = (short) Math.min(count, Short.MAX_VALUE);
+
+    empty &= count == 0;
+  }
+
+  // ---------- Private methods ----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * @param row    Lower player index.
+   * @param column Higher player index.
+   *
+   * @return The position of the cell in the counts array.
+   */
+  private int index(int row, int column) {
+    return row * (2 * playersCount - row - 1) / 2 + column - row - 1;
+  }
+
+  // ---------- Getters ------------------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * @return Whether no pair of players was ever on the same team.
+   */
+  public boolean isEmpty() {
+    return empty;
+  }
+
+  public int getPlayersCount() {
+    return playersCount;
+  }
+
+  public short[] getCounts() {
+    return counts;
+  }
+
+  public List<String> getNames() {
+    return names;
+  }
+
+  // ---------- Setters ------------------------------------------------------------------------------------------------------------------------------
+
+  public void setEmpty(boolean empty) {
+    this.empty = empty;
+  }
+
+  public void setPlayersCount(int playersCount) {
+    this.playersCount = playersCount;
+  }
+
+  public void setCounts(short[] counts) {
+    this.counts = counts;
+  }
+
+  public void setNames(List<String> names) {
+    this.names = names;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,844 @@
+package armameeldoparti.utils.storage;
+
+import armameeldoparti.models.Position;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Match history log class.
+ *
+ * <p>Every lineup confirmed as played is appended to a binary log file, together with its result. Every generated lineup is also appended as a
+ * lineup record, which is only considered by the generated lineups statistics, so the lineups that were not played don't count as times together nor
+ * change the ratings. To keep the records compact, each player name is written only once, the first time it appears, and the match and lineup
+ * records refer to the players by a short numeric id.
+ *
+ * <p>The result of a match is appended as another record right after the match, and it refers to the match by its number. Older versions of the
+ * program skip the result records, so the log file version is kept.
+ *
+ * <p>The records are written by a single background thread, so the graphical interface is never blocked by the file operations. The statistics and
+ * the player ratings are also computed in that thread, after every pending record has been written.
+ *
+ * @author Bonino, Francisco Ignacio.
+ *
+ * @version 0.0.1
+ *
+ * @since 3.0
+ */
+public class MatchHistory {
+
+  // ---------- Private constants --------------------------------------------------------------------------------------------------------------------
+
+  private static final byte FILE_VERSION = 1;
+  private static final byte RECORD_NAME = 1;
+  private static final byte RECORD_MATCH = 2;
+  private static final byte RECORD_RESULT = 3;
+  private static final byte RECORD_LINEUP = 4;
+
+  private static final int FILE_HEADER_LENGTH = Integer.BYTES + Byte.BYTES;
+  private static final int FILE_MAGIC_NUMBER = 0x41454448;
+  private static final int MAX_RECORD_LENGTH = 1 << 16;
+  private static final int SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+  // ---------- Private fields -----------------------------------------------------------------------------------------------------------------------
+
+  private int matchesCount;
+
+  private long fileLength;
+
+  /**
+   * Offset in the log file of each match record, indexed by the match number.
+   */
+  private long[] matchesOffsets;
+
+  private DataOutputStream output;
+
+  private ExecutorService writer;
+
+  private List<String> names;
+
+  private Map<String, Integer> namesIds;
+
+  /**
+   * Statistics of every played match, kept up to date as new matches are written. They are only accessed by the background thread.
+   */
+  private MatchStatistics liveStatistics;
+
+  /**
+   * Ratings of the players of every played match, kept up to date as new results are written. They are only accessed by the background thread.
+   */
+  private PlayerRatings liveRatings;
+
+  /**
+   * Co-occurrence matrix of the last roster it was built for, or null if a match was recorded since it was built. It is only replaced as a whole, so
+   * it can be read from any thread.
+   */
+  private volatile CoOccurrenceMatrix cachedCoOccurrences;
+
+  private Path path;
+
+  private Consumer<IOException> errorHandler;
+
+  // ---------- Constructor --------------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Builds an empty match history.
+   *
+   * @param path Log file path, or null if the match history must not be persisted.
+   */
+  private MatchHistory(Path path) {
+    setPath(path);
+    setMatchesCount(0);
+    setFileLength(FILE_HEADER_LENGTH);
+    setMatchesOffsets(new long[16]);
+    setNames(new ArrayList<>());
+    setNamesIds(new HashMap<>());
+    setErrorHandler(e -> {
+      // Errors are ignored until a handler is set
+    });
+    setWriter(Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "match-history-writer");
+
+      thread.setDaemon(true);
+
+      return thread;
+    }));
+  }
+
+  // ---------- Public static methods ----------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Opens the match history stored in the specified file, creating it if it doesn't exist.
+   *
+   * <p>The whole file is read once to index the match records. If the last record was not completely written, or if a record is malformed, the file
+   * is truncated to the end of the last valid record, so the new records are never appended after unreadable bytes.
+   *
+   * @param path Log file path.
+   *
+   * @return The opened match history.
+   *
+   * @throws IOException If the file can't be created, read or written, or if it is not a match history file.
+   */
+  public static MatchHistory open(Path path) throws IOException {
+    if (path.getParent() != null) {
+      Files.createDirectories(path.getParent());
+    }
+
+    boolean newFile = Files.notExists(path) || Files.size(path) == 0;
+
+    MatchHistory matchHistory = new MatchHistory(path);
+
+    if (!newFile) {
+      matchHistory.load();
+    }
+
+    matchHistory.setOutput(new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path,
+                                                                                               StandardOpenOption.CREATE,
+                                                                                               StandardOpenOption.APPEND))));
+
+    if (newFile) {
+      matchHistory.output.writeInt(FILE_MAGIC_NUMBER);
+      matchHistory.output.writeByte(FILE_VERSION);
+      matchHistory.output.flush();
+    }
+
+    // The statistics are computed in advance, so they are ready when the first lineup is generated
+    matchHistory.writer.execute(matchHistory::loadLiveStatistics);
+
+    return matchHistory;
+  }
+
+  /**
+   * Builds a match history whose records are not persisted, used when the log file can't be opened. The records are only considered in the
+   * statistics of the current session.
+   *
+   * @return An empty match history that will not persist any record.
+   */
+  public static MatchHistory disabled() {
+    return new MatchHistory(null);
+  }
+
+  // ---------- Public methods -----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Appends a played match and its result to the log in the background, and adds them to the live statistics and ratings.
+   *
+   * <p>The record must not be modified after calling this method.
+   *
+   * @param matchRecord     The played match.
+   * @param firstTeamGoals  Goals scored by the first team.
+   * @param secondTeamGoals Goals scored by the second team.
+   */
+  public void record(MatchRecord matchRecord, int firstTeamGoals, int secondTeamGoals) {
+    int[] goals = {firstTeamGoals, secondTeamGoals};
+
+    writer.execute(() -> {
+      // The live statistics are loaded before writing the match, so it is not counted twice
+      loadLiveStatistics();
+
+      liveStatistics.addMatch(matchRecord);
+      liveRatings.addResult(matchRecord, goals);
+
+      cachedCoOccurrences = null;
+
+      if (path == null) {
+        // The match is only kept in the live statistics for the current session
+        return;
+      }
+
+      try {
+        writeResult(writeMatch(matchRecord), goals);
+      } catch (IOException e) {
+        errorHandler.accept(e);
+      }
+    });
+  }
+
+  /**
+   * Appends a generated lineup to the log in the background. It is not considered as a played match, so it only counts in the generated lineups
+   * statistics.
+   *
+   * <p>The record must not be modified after calling this method.
+   *
+   * @param lineupRecord The generated lineup.
+   */
+  public void log(MatchRecord lineupRecord) {
+    if (path == null) {
+      return;
+    }
+
+    writer.execute(() -> {
+      try {
+        write(RECORD_LINEUP, lineupRecord);
+      } catch (IOException e) {
+        errorHandler.accept(e);
+      }
+    });
+  }
+
+  /**
+   * Computes the statistics of every played match in a single streaming pass over the log, in the background.
+   *
+   * <p>Since the statistics are computed by the same thread that writes the records, every match recorded before calling this method is considered.
+   *
+   * @return The statistics that will be available when the pass over the log finishes.
+   */
+  public CompletableFuture<MatchStatistics> computeStatistics() {
+    return CompletableFuture.supplyAsync(() -> {
+      MatchStatistics statistics = new MatchStatistics();
+
+      if (path != null) {
+        try {
+          readAll(null, statistics::addMatch, null);
+        } catch (IOException e) {
+          errorHandler.accept(e);
+        }
+      }
+
+      return statistics;
+    }, writer);
+  }
+
+  /**
+   * Computes the statistics of every generated lineup, played or not, in a single streaming pass over the log, in the background.
+   *
+   * <p>Since the statistics are computed by the same thread that writes the records, every lineup logged before calling this method is considered.
+   *
+   * @return The statistics that will be available when the pass over the log finishes, where each generated lineup counts as a match.
+   */
+  public CompletableFuture<MatchStatistics> computeLineupsStatistics() {
+    return CompletableFuture.supplyAsync(() -> {
+      MatchStatistics statistics = new MatchStatistics();
+
+      if (path != null) {
+        try {
+          readAll(statistics::addMatch, null, null);
+        } catch (IOException e) {
+          errorHandler.accept(e);
+        }
+      }
+
+      return statistics;
+    }, writer);
+  }
+
+  /**
+   * Computes the co-occurrence matrix of a roster from every played match.
+   *
+   * <p>The matrix is kept until a match is recorded, so distributing the same roster again reuses it without waiting for the background thread. If
+   * not, it is built in the background from statistics that are kept up to date as the matches are recorded, so the match history is not read again.
+   * In that case it considers every match recorded before calling this method.
+   *
+   * @param names Normalized names of the roster players.
+   *
+   * @return The co-occurrence matrix of the roster, once every pending record is written.
+   */
+  public CompletableFuture<CoOccurrenceMatrix> computeCoOccurrences(List<String> names) {
+    CoOccurrenceMatrix coOccurrences = cachedCoOccurrences;
+
+    if (coOccurrences != null && coOccurrences.getNames()
+                                              .equals(names)) {
+      return CompletableFuture.completedFuture(coOccurrences);
+    }
+
+    return CompletableFuture.supplyAsync(() -> {
+      loadLiveStatistics();
+
+      cachedCoOccurrences = CoOccurrenceMatrix.of(liveStatistics, names);
+
+      return cachedCoOccurrences;
+    }, writer);
+  }
+
+  /**
+   * Gets the skill points given by the ratings of some players, in the background.
+   *
+   * <p>The ratings are kept up to date as the results are recorded, so the match history is not read again.
+   *
+   * @param names Normalized names of the players.
+   *
+   * @return The skill points of each player, or -1 if it has not played any match with a result, that will be available when every pending record
+   *         has been written.
+   */
+  public CompletableFuture<int[]> computeRatedSkillPoints(List<String> names) {
+    return CompletableFuture.supplyAsync(() -> {
+      loadLiveStatistics();
+
+      return liveRatings.getSkillPoints(names);
+    }, writer);
+  }
+
+  /**
+   * Reads a single stored match using the match records index.
+   *
+   * @param matchNumber Number of the match, starting at 0 for the oldest one.
+   *
+   * @return The stored match.
+   *
+   * @throws IOException               If the match record can't be read.
+   * @throws IndexOutOfBoundsException If there is no match with the specified number.
+   */
+  public synchronized MatchRecord readMatch(int matchNumber) throws IOException {
+    if (matchNumber < 0 || matchNumber >= matchesCount) {
+      throw new IndexOutOfBoundsException(matchNumber);
+    }
+
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      ByteBuffer lengthBuffer = ByteBuffer.allocate(Integer.BYTES);
+
+      readFully(channel, lengthBuffer, matchesOffsets[matchNumber]);
+
+      ByteBuffer recordBuffer = ByteBuffer.allocate(lengthBuffer.flip()
+                                                                .getInt());
+
+      readFully(channel, recordBuffer, matchesOffsets[matchNumber] + Integer.BYTES);
+
+      DataInputStream record = new DataInputStream(new ByteArrayInputStream(recordBuffer.array()));
+
+      record.readByte();
+
+      return readMatchRecord(record, names);
+    }
+  }
+
+  /**
+   * @return The number of stored matches.
+   */
+  public synchronized int getStoredMatchesCount() {
+    return matchesCount;
+  }
+
+  /**
+   * Writes every pending record and closes the log file.
+   */
+  public void close() {
+    writer.shutdown();
+
+    try {
+      if (writer.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS) && output != null) {
+        output.close();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread()
+            .interrupt();
+    } catch (IOException e) {
+      errorHandler.accept(e);
+    }
+  }
+
+  // ---------- Private methods ----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Computes the live statistics and ratings from the log file, if they were not computed yet. Both are computed in a single pass, replaying every
+   * stored result in the order the matches were played.
+   */
+  private void loadLiveStatistics() {
+    if (liveStatistics != null) {
+      return;
+    }
+
+    liveStatistics = new MatchStatistics();
+    liveRatings = new PlayerRatings();
+
+    if (path != null) {
+      try {
+        readAll(null, liveStatistics::addMatch, liveRatings::addResult);
+      } catch (IOException e) {
+        errorHandler.accept(e);
+      }
+    }
+  }
+
+  /**
+   * Reads every record stored in the log file to rebuild the names dictionary and the match records index, truncating the file to the end of the
+   * last valid record.
+   *
+   * @throws IOException If the file can't be read or is not a match history file.
+   */
+  private void load() throws IOException {
+    long validLength = readAll(null, null, null);
+
+    if (validLength < Files.size(path)) {
+      try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+        channel.truncate(validLength);
+      }
+    }
+
+    fileLength = validLength;
+  }
+
+  /**
+   * Reads every valid record stored in the log file, stopping at the first incomplete or malformed record.
+   *
+   * <p>If no lineups nor matches consumer is given, the names dictionary and the match records index are rebuilt. If not, the generated lineups and
+   * the played matches are decoded and passed to their consumers one at a time, using a names dictionary local to this pass. A match is only known
+   * to be played once its result is read, so a match without a result, such as one whose result was not completely written, is skipped. Every result
+   * is also passed to the results consumer, if any, together with its match, which is always the last one read before the result.
+   *
+   * <p>The "java:S1190" warning is suppressed since JDK22 allows the use of unnamed variables.
+   *
+   * @param lineupConsumer Consumer of the generated lineups, or null if the lineups must be skipped.
+   * @param matchConsumer  Consumer of the played matches, or null if the matches must be skipped.
+   * @param resultConsumer Consumer of the stored results and their matches, or null if the results must be skipped.
+   *
+   * @return The length of the file up to the end of the last valid record.
+   *
+   * @throws IOException If the file can't be read or is not a match history file.
+   */
+  @SuppressWarnings("java:S1190")
+  private long readAll(Consumer<MatchRecord> lineupConsumer,
+                       Consumer<MatchRecord> matchConsumer,
+                       BiConsumer<MatchRecord, int[]> resultConsumer) throws IOException {
+    long validLength = FILE_HEADER_LENGTH;
+
+    boolean indexing = lineupConsumer == null && matchConsumer == null;
+
+    int matchesRead = 0;
+
+    MatchRecord lastMatchRead = null;
+
+    List<String> passNames = indexing ? names : new ArrayList<>();
+
+    try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+      if (input.readInt() != FILE_MAGIC_NUMBER || input.readByte() != FILE_VERSION) {
+        throw new IOException("Not a match history file: " + path);
+      }
+
+      byte[] recordBytes = new byte[MAX_RECORD_LENGTH];
+
+      while (true) {
+        int recordLength = readRecord(input, recordBytes);
+
+        if (recordLength == -1) {
+          break;
+        }
+
+        DataInputStream record = new DataInputStream(new ByteArrayInputStream(recordBytes, 0, recordLength));
+
+        try {
+          switch (record.readByte()) {
+            case RECORD_NAME -> {
+              String name = record.readUTF();
+
+              if (indexing) {
+                namesIds.put(name, passNames.size());
+              }
+
+              passNames.add(name);
+            }
+            case RECORD_MATCH -> {
+              // The match is decoded even when only indexing it, so a malformed match is never indexed
+              MatchRecord matchRead = readMatchRecord(record, passNames);
+
+              if (indexing) {
+                addMatchOffset(validLength);
+              } else {
+                lastMatchRead = matchRead;
+              }
+
+              matchesRead++;
+            }
+            case RECORD_RESULT -> {
+              int matchNumber = record.readInt();
+              int[] goals = {record.readUnsignedByte(), record.readUnsignedByte()};
+
+              if (matchConsumer != null && lastMatchRead != null && matchNumber == matchesRead - 1) {
+                matchConsumer.accept(lastMatchRead);
+
+                if (resultConsumer != null) {
+                  resultConsumer.accept(lastMatchRead, goals);
+                }
+              }
+            }
+            case RECORD_LINEUP -> {
+              // The lineup is decoded even when it is skipped, so a malformed lineup is never considered valid
+              MatchRecord lineupRead = readMatchRecord(record, passNames);
+
+              if (lineupConsumer != null) {
+                lineupConsumer.accept(lineupRead);
+              }
+            }
+            default -> {
+              // Records written by newer versions are skipped
+            }
+          }
+        } catch (IOException _) {
+          // A malformed record is handled as the end of the log, since the records after it can't be trusted
+          break;
+        }
+
+        validLength += Integer.BYTES + recordLength;
+      }
+    }
+
+    return validLength;
+  }
+
+  /**
+   * Reads the next complete record of the log file.
+   *
+   * @param input       Log file input stream.
+   * @param recordBytes Buffer where the record will be read.
+   *
+   * @return The record length, or -1 if there are no more complete records.
+   *
+   * @throws IOException If the file can't be read.
+   */
+  private int readRecord(DataInputStream input, byte[] recordBytes) throws IOException {
+    try {
+      int recordLength = input.readInt();
+
+      if (recordLength <= 0 || recordLength > recordBytes.length) {
+        return -1;
+      }
+
+      input.readFully(recordBytes, 0, recordLength);
+
+      return recordLength;
+    } catch (EOFException e) {
+      return -1;
+    }
+  }
+
+  /**
+   * Reads bytes from a file until the buffer is full, since a single read may return fewer bytes than requested.
+   *
+   * @param channel  File to read from.
+   * @param buffer   Buffer where the bytes will be read.
+   * @param position File position of the first byte to read.
+   *
+   * @throws IOException If the file can't be read or it ends before the buffer is full.
+   */
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) == -1) {
+        throw new EOFException("Incomplete match record");
+      }
+    }
+  }
+
+  /**
+   * @param record Record content, positioned after the record type.
+   * @param ids    Names dictionary, indexed by the player id.
+   *
+   * @return The decoded match record.
+   *
+   * @throws IOException If the record content is malformed.
+   */
+  private static MatchRecord readMatchRecord(DataInputStream record, List<String> ids) throws IOException {
+    long timestamp = record.readLong();
+    long seed = record.readLong();
+
+    int mixer = record.readUnsignedByte();
+    int playersCount = record.readUnsignedByte();
+
+    MatchRecord matchRecord = new MatchRecord(timestamp, seed, mixer, playersCount);
+
+    for (int playerIndex = 0; playerIndex < playersCount; playerIndex++) {
+      int id = record.readUnsignedShort();
+      int position = record.readUnsignedByte();
+
+      if (id >= ids.size() || position >= Position.values().length) {
+        throw new IOException("Malformed match record");
+      }
+
+      matchRecord.setPlayer(playerIndex, ids.get(id), Position.values()[position], record.readUnsignedByte(), record.readUnsignedByte());
+    }
+
+    return matchRecord;
+  }
+
+  /**
+   * Writes a match record and adds it to the match records index.
+   *
+   * @param matchRecord The match to write.
+   *
+   * @return The number of the written match.
+   *
+   * @throws IOException If the records can't be written.
+   */
+  private synchronized int writeMatch(MatchRecord matchRecord) throws IOException {
+    long matchOffset = write(RECORD_MATCH, matchRecord);
+
+    // The match is flushed before its offset is published, so it can be read as soon as it is counted as stored
+    addMatchOffset(matchOffset);
+
+    return matchesCount - 1;
+  }
+
+  /**
+   * Writes and flushes a match or lineup record, preceded by the name records of the players that were never stored before.
+   *
+   * @param recordType  Type of the record, either a match or a lineup.
+   * @param matchRecord The match or lineup to write.
+   *
+   * @return The offset of the written record in the log file.
+   *
+   * @throws IOException If the records can't be written.
+   */
+  private synchronized long write(byte recordType, MatchRecord matchRecord) throws IOException {
+    ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+    DataOutputStream record = new DataOutputStream(recordBytes);
+
+    int[] ids = new int[matchRecord.getPlayersCount()];
+
+    for (int playerIndex = 0; playerIndex < ids.length; playerIndex++) {
+      String name = matchRecord.getNames()[playerIndex];
+
+      Integer id = namesIds.get(name);
+
+      if (id == null) {
+        id = names.size();
+
+        recordBytes.reset();
+        record.writeByte(RECORD_NAME);
+        record.writeUTF(name);
+
+        append(recordBytes);
+
+        names.add(name);
+        namesIds.put(name, id);
+      }
+
+      ids[playerIndex] = id;
+    }
+
+    recordBytes.reset();
+    record.writeByte(recordType);
+    record.writeLong(matchRecord.getTimestamp());
+    record.writeLong(matchRecord.getSeed());
+    record.writeByte(matchRecord.getMixer());
+    record.writeByte(ids.length);
+
+    for (int playerIndex = 0; playerIndex < ids.length; playerIndex++) {
+      record.writeShort(ids[playerIndex]);
+      record.writeByte(matchRecord.getPositions()[playerIndex]);
+      record.writeByte(matchRecord.getSkillPoints()[playerIndex]);
+      record.writeByte(matchRecord.getTeamNumbers()[playerIndex]);
+    }
+
+    long recordOffset = fileLength;
+
+    append(recordBytes);
+
+    output.flush();
+
+    return recordOffset;
+  }
+
+  /**
+   * Writes a result record.
+   *
+   * @param matchNumber Number of the match the result belongs to.
+   * @param goals       Goals scored by each team, indexed by the team number minus one.
+   *
+   * @throws IOException If the record can't be written.
+   */
+  private synchronized void writeResult(int matchNumber, int[] goals) throws IOException {
+    ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+    DataOutputStream record = new DataOutputStream(recordBytes);
+
+    record.writeByte(RECORD_RESULT);
+    record.writeInt(matchNumber);
+    record.writeByte(goals[0]);
+    record.writeByte(goals[1]);
+
+    append(recordBytes);
+
+    output.flush();
+  }
+
+  /**
+   * Appends a complete record to the log file.
+   *
+   * @param recordBytes Record content.
+   *
+   * @throws IOException If the record can't be written.
+   */
+  private void append(ByteArrayOutputStream recordBytes) throws IOException {
+    output.writeInt(recordBytes.size());
+    recordBytes.writeTo((OutputStream) output);
+
+    fileLength += Integer.BYTES + recordBytes.size();
+  }
+
+  /**
+   * Adds a match record offset to the index, growing it if needed.
+   *
+   * @param offset Offset of the match record in the log file.
+   */
+  private void addMatchOffset(long offset) {
+    if (matchesCount == matchesOffsets.length) {
+      matchesOffsets = Arrays.copyOf(matchesOffsets, matchesCount * 2);
+    }
+
+    matchesOffsets[matchesCount++] = offset;
+  }
+
+  // ---------- Getters ------------------------------------------------------------------------------------------------------------------------------
+
+  public int getMatchesCount() {
+    return matchesCount;
+  }
+
+  public long getFileLength() {
+    return fileLength;
+  }
+
+  public long[] getMatchesOffsets() {
+    return matchesOffsets;
+  }
+
+  public DataOutputStream getOutput() {
+    return output;
+  }
+
+  public ExecutorService getWriter() {
+    return writer;
+  }
+
+  public List<String> getNames() {
+    return names;
+  }
+
+  public Map<String, Integer> getNamesIds() {
+    return namesIds;
+  }
+
+  public MatchStatistics getLiveStatistics() {
+    return liveStatistics;
+  }
+
+  public PlayerRatings getLiveRatings() {
+    return liveRatings;
+  }
+
+  public CoOccurrenceMatrix getCachedCoOccurrences() {
+    return cachedCoOccurrences;
+  }
+
+  public Path getPath() {
+    return path;
+  }
+
+  public Consumer<IOException> getErrorHandler() {
+    return errorHandler;
+  }
+
+  // ---------- Setters ------------------------------------------------------------------------------------------------------------------------------
+
+  public void setMatchesCount(int matchesCount) {
+    this.matchesCount = matchesCount;
+  }
+
+  public void setFileLength(long fileLength) {
+    this.fileLength = fileLength;
+  }
+
+  public void setMatchesOffsets(long[] matchesOffsets) {
+    this.matchesOffsets = matchesOffsets;
+  }
+
+  public void setOutput(DataOutputStream output) {
+    this.output = output;
+  }
+
+  public void setWriter(ExecutorService writer) {
+    this.writer = writer;
+  }
+
+  public void setNames(List<String> names) {
+    this.names = names;
+  }
+
+  public void setNamesIds(Map<String, Integer> namesIds) {
+    this.namesIds = namesIds;
+  }
+
+  public void setLiveStatistics(MatchStatistics liveStatistics) {
+    this.liveStatistics = liveStatistics;
+  }
+
+  public void setLiveRatings(PlayerRatings liveRatings) {
+    this.liveRatings = liveRatings;
+  }
+
+  public void setCachedCoOccurrences(CoOccurrenceMatrix cachedCoOccurrences) {
+    this.cachedCoOccurrences = cachedCoOccurrences;
+  }
+
+  public void setPath(Path path) {
+    this.path = path;
+  }
+
+  /**
+   * Sets the handler of the errors found while writing or reading the log in the background. The handler is executed in the background thread.
+   *
+   * @param errorHandler The errors handler.
+   */
+  public void setErrorHandler(Consumer<IOException> errorHandler) {
+    this.errorHandler = errorHandler;
+  }
+}
\ No newline at end of file
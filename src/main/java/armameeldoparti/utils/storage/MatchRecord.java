@@ -0,0 +1,176 @@
+package armameeldoparti.utils.storage;
+
+import armameeldoparti.models.Player;
+import armameeldoparti.models.Position;
+import armameeldoparti.models.Team;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stored match record class.
+ *
+ * <p>Holds a snapshot of a played lineup. The players data is stored in parallel arrays: the player {@code n} is described by the {@code n}-th
+ * element of each array.
+ *
+ * @author Bonino, Francisco Ignacio.
+ *
+ * @version 0.0.1
+ *
+ * @since 3.0
+ */
+public class MatchRecord {
+
+  // ---------- Private fields -----------------------------------------------------------------------------------------------------------------------
+
+  private int mixer;
+
+  private long seed;
+  private long timestamp;
+
+  private byte[] positions;
+  private byte[] skillPoints;
+  private byte[] teamNumbers;
+
+  private String[] names;
+
+  // ---------- Constructor --------------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Builds an empty match record for the specified number of players.
+   *
+   * @param timestamp    Time when the lineup was recorded as played, in milliseconds since the epoch.
+   * @param seed         Seed used by the mixer to generate the lineup.
+   * @param mixer        Distribution method used to generate the lineup.
+   * @param playersCount Number of players in the lineup.
+   */
+  public MatchRecord(long timestamp, long seed, int mixer, int playersCount) {
+    setTimestamp(timestamp);
+    setSeed(seed);
+    setMixer(mixer);
+    setNames(new String[playersCount]);
+    setPositions(new byte[playersCount]);
+    setSkillPoints(new byte[playersCount]);
+    setTeamNumbers(new byte[playersCount]);
+  }
+
+  // ---------- Public static methods ----------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Takes a snapshot of the given teams, so they can be stored after they are modified or cleared. Every player is stored with the position it was
+   * placed in within its team, which may be one of its alternative positions, and with its skill points in that position.
+   *
+   * @param teams Teams with the players distributed.
+   * @param seed  Seed used by the mixer to generate the lineup.
+   * @param mixer Distribution method used to generate the lineup.
+   *
+   * @return A match record with the current state of the teams.
+   */
+  public static MatchRecord of(List<Team> teams, long seed, int mixer) {
+    MatchRecord matchRecord = new MatchRecord(System.currentTimeMillis(),
+                                              seed,
+                                              mixer,
+                                              teams.stream()
+                                                   .mapToInt(Team::getPlayersCount)
+                                                   .sum());
+
+    int playerIndex = 0;
+
+    for (Team team : teams) {
+      for (Map.Entry<Position, List<Player>> positionPlayers : team.getTeamPlayers()
+                                                                   .entrySet()) {
+        Position position = positionPlayers.getKey();
+
+        for (Player player : positionPlayers.getValue()) {
+          matchRecord.setPlayer(playerIndex++, player.getName(), position, player.getSkillPoints(position), player.getTeamNumber());
+        }
+      }
+    }
+
+    return matchRecord;
+  }
+
+  // ---------- Public methods -----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Sets the data of a player of the lineup.
+   *
+   * @param playerIndex Index of the player in the record.
+   * @param name        Player name.
+   * @param position    Position the player was placed in.
+   * @param points      Player skill points in that position.
+   * @param teamNumber  Number of the team the player was assigned to.
+   */
+  public void setPlayer(int playerIndex, String name, Position position, int points, int teamNumber) {
+    names[playerIndex] = name;
+    positions[playerIndex] = (byte) position.ordinal();
+    skillPoints[playerIndex] = (byte) Math.max(points, 0);
+    teamNumbers[playerIndex] = (byte) teamNumber;
+  }
+
+  /**
+   * @return The number of players in the lineup.
+   */
+  public int getPlayersCount() {
+    return names.length;
+  }
+
+  // ---------- Getters ------------------------------------------------------------------------------------------------------------------------------
+
+  public int getMixer() {
+    return mixer;
+  }
+
+  public long getSeed() {
+    return seed;
+  }
+
+  public long getTimestamp() {
+    return timestamp;
+  }
+
+  public byte[] getPositions() {
+    return positions;
+  }
+
+  public byte[] getSkillPoints() {
+    return skillPoints;
+  }
+
+  public byte[] getTeamNumbers() {
+    return teamNumbers;
+  }
+
+  public String[] getNames() {
+    return names;
+  }
+
+  // ---------- Setters ------------------------------------------------------------------------------------------------------------------------------
+
+  public void setMixer(int mixer) {
+    this.mixer = mixer;
+  }
+
+  public void setSeed(long seed) {
+    this.seed = seed;
+  }
+
+  public void setTimestamp(long timestamp) {
+    this.timestamp = timestamp;
+  }
+
+  public void setPositions(byte[] positions) {
+    this.positions = positions;
+  }
+
+  public void setSkillPoints(byte[] skillPoints) {
+    this.skillPoints = skillPoints;
+  }
+
+  public void setTeamNumbers(byte[] teamNumbers) {
+    this.teamNumbers = teamNumbers;
+  }
+
+  public void setNames(String[] names) {
+    this.names = names;
+  }
+}
\ No newline at end of file
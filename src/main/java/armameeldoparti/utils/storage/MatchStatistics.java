@@ -0,0 +1,239 @@
+package armameeldoparti.utils.storage;
+
+import armameeldoparti.utils.common.Constants;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Match history statistics class.
+ *
+ * <p>The statistics are accumulated one match at a time, so they can be computed in a single pass over the match history without keeping the
+ * matches in memory. The same statistics are computed for the generated lineups, counting each lineup as a match.
+ *
+ * <p>The skill points of the players are not entered for the random distribution, so the teams of the matches distributed randomly are not
+ * considered in the average team skill points.
+ *
+ * @author Bonino, Francisco Ignacio.
+ *
+ * @version 0.0.1
+ *
+ * @since 3.0
+ */
+public class MatchStatistics {
+
+  // ---------- Private constants --------------------------------------------------------------------------------------------------------------------
+
+  private static final int INITIAL_CAPACITY = 64;
+
+  // ---------- Private fields -----------------------------------------------------------------------------------------------------------------------
+
+  private int matchesCount;
+
+  /**
+   * Number of matches played by each player, indexed by the player index.
+   */
+  private int[] matchesPlayed;
+
+  /**
+   * Number of matches distributed by skill points played by each player, indexed by the player index.
+   */
+  private int[] skillMatchesPlayed;
+
+  /**
+   * Sum of the skill points of the teams each player played in, in the matches distributed by skill points, indexed by the player index.
+   */
+  private long[] teamSkillSums;
+
+  private Map<String, Integer> playersIndexes;
+
+  /**
+   * Number of matches in which each pair of players was on the same team. The key holds the lower player index in its upper 32 bits and the higher
+   * player index in its lower 32 bits.
+   */
+  private Map<Long, Integer> timesTogether;
+
+  // ---------- Constructor --------------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Builds empty statistics.
+   */
+  public MatchStatistics() {
+    setMatchesCount(0);
+    setMatchesPlayed(new int[INITIAL_CAPACITY]);
+    setSkillMatchesPlayed(new int[INITIAL_CAPACITY]);
+    setTeamSkillSums(new long[INITIAL_CAPACITY]);
+    setPlayersIndexes(new HashMap<>());
+    setTimesTogether(new HashMap<>());
+  }
+
+  // ---------- Public methods -----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Accumulates the statistics of a match.
+   *
+   * @param matchRecord The match to accumulate.
+   */
+  public void addMatch(MatchRecord matchRecord) {
+    int playersCount = matchRecord.getPlayersCount();
+
+    byte[] teamNumbers = matchRecord.getTeamNumbers();
+    byte[] skillPoints = matchRecord.getSkillPoints();
+
+    boolean bySkillPoints = matchRecord.getMixer() != Constants.MIX_RANDOM;
+
+    int[] indexes = new int[playersCount];
+    int[] teamSkills = new int[Byte.MAX_VALUE + 1];
+
+    for (int player = 0; player < playersCount; player++) {
+      indexes[player] = getOrCreatePlayerIndex(matchRecord.getNames()[player]);
+      teamSkills[teamNumbers[player]] += skillPoints[player];
+    }
+
+    for (int player = 0; player < playersCount; player++) {
+      matchesPlayed[indexes[player]]++;
+
+      if (bySkillPoints) {
+        skillMatchesPlayed[indexes[player]]++;
+        teamSkillSums[indexes[player]] += teamSkills[teamNumbers[player]];
+      }
+
+      for (int teammate = player + 1; teammate < playersCount; teammate++) {
+        if (teamNumbers[player] == teamNumbers[teammate]) {
+          timesTogether.merge(pairKey(indexes[player], indexes[teammate]), 1, Integer::sum);
+        }
+      }
+    }
+
+    matchesCount++;
+  }
+
+  /**
+   * @param name1 Normalized name of a player.
+   * @param name2 Normalized name of another player.
+   *
+   * @return The number of matches in which both players were on the same team.
+   */
+  public int getTimesTogether(String name1, String name2) {
+    Integer index1 = playersIndexes.get(name1);
+    Integer index2 = playersIndexes.get(name2);
+
+    if (index1 == null || index2 == null || index1.equals(index2)) {
+      return 0;
+    }
+
+    return timesTogether.getOrDefault(pairKey(index1, index2), 0);
+  }
+
+  /**
+   * @param name Normalized player name.
+   *
+   * @return The number of matches the player played.
+   */
+  public int getMatchesPlayed(String name) {
+    Integer index = playersIndexes.get(name);
+
+    return index == null ? 0 : matchesPlayed[index];
+  }
+
+  /**
+   * @param name Normalized player name.
+   *
+   * @return The average skill points of the teams the player played in, among the matches distributed by skill points, or 0 if the player has not
+   *         played any of them.
+   */
+  public double getAverageTeamSkill(String name) {
+    Integer index = playersIndexes.get(name);
+
+    return index == null || skillMatchesPlayed[index] == 0 ? 0 : (double) teamSkillSums[index] / skillMatchesPlayed[index];
+  }
+
+  // ---------- Private methods ----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * @param name Normalized player name.
+   *
+   * @return The index of the player, assigning a new one if the player had none.
+   */
+  private int getOrCreatePlayerIndex(String name) {
+    Integer index = playersIndexes.get(name);
+
+    if (index != null) {
+      return index;
+    }
+
+    index = playersIndexes.size();
+
+    playersIndexes.put(name, index);
+
+    if (index == matchesPlayed.length) {
+      matchesPlayed = Arrays.copyOf(matchesPlayed, index * 2);
+      skillMatchesPlayed = Arrays.copyOf(skillMatchesPlayed, index * 2);
+      teamSkillSums = Arrays.copyOf(teamSkillSums, index * 2);
+    }
+
+    return index;
+  }
+
+  /**
+   * @param index1 Index of a player.
+   * @param index2 Index of another player.
+   *
+   * @return The key that identifies the pair of players, regardless of their order.
+   */
+  private long pairKey(int index1, int index2) {
+    return ((long) Math.min(index1, index2) << Integer.SIZE) | Math.max(index1, index2);
+  }
+
+  // ---------- Getters ------------------------------------------------------------------------------------------------------------------------------
+
+  public int getMatchesCount() {
+    return matchesCount;
+  }
+
+  public int[] getMatchesPlayed() {
+    return matchesPlayed;
+  }
+
+  public int[] getSkillMatchesPlayed() {
+    return skillMatchesPlayed;
+  }
+
+  public long[] getTeamSkillSums() {
+    return teamSkillSums;
+  }
+
+  public Map<String, Integer> getPlayersIndexes() {
+    return playersIndexes;
+  }
+
+  public Map<Long, Integer> getTimesTogether() {
+    return timesTogether;
+  }
+
+  // ---------- Setters ------------------------------------------------------------------------------------------------------------------------------
+
+  public void setMatchesCount(int matchesCount) {
+    this.matchesCount = matchesCount;
+  }
+
+  public void setMatchesPlayed(int[] matchesPlayed) {
+    this.matchesPlayed = matchesPlayed;
+  }
+
+  public void setSkillMatchesPlayed(int[] skillMatchesPlayed) {
+    this.skillMatchesPlayed = skillMatchesPlayed;
+  }
+
+  public void setTeamSkillSums(long[] teamSkillSums) {
+    this.teamSkillSums = teamSkillSums;
+  }
+
+  public void setPlayersIndexes(Map<String, Integer> playersIndexes) {
+    this.playersIndexes = playersIndexes;
+  }
+
+  public void setTimesTogether(Map<Long, Integer> timesTogether) {
+    this.timesTogether = timesTogether;
+  }
+}
\ No newline at end of file
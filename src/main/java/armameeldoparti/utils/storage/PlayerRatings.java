@@ -0,0 +1,233 @@
+package armameeldoparti.utils.storage;
+
+import armameeldoparti.utils.common.Constants;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Player ratings class.
+ *
+ * <p>Rates the players by the results of the matches they played, with an Elo rating system adapted to teams. The strength of a team is the average
+ * rating of its players, and the expected result of a match is given by the rating difference between both teams. After every result, each player
+ * of a team gains or loses the same rating, proportional to how much better or worse than expected the team did, and scaled up by the goal
+ * difference. So recording a result only updates the ratings of the players of the match.
+ *
+ * <p>The ratings are measured in the same scale as the skill points, multiplied by a constant: every player starts with the rating of the skill
+ * points it had in its first rated match, or of the initial skill points if that match was distributed randomly, since no skill points are entered
+ * for it. A player rating is turned back into skill points by rounding it to the closest valid skill points. So a player without results keeps the
+ * skill points entered by hand, and the results only adjust them.
+ *
+ * <p>Like the statistics, the ratings are accumulated one result at a time in the order the matches were played, so they can be recomputed in a
+ * single pass over the match history.
+ *
+ * @author Bonino, Francisco Ignacio.
+ *
+ * @version 0.0.1
+ *
+ * @since 3.0
+ */
+public class PlayerRatings {
+
+  // ---------- Private constants --------------------------------------------------------------------------------------------------------------------
+
+  private static final double RATING_PER_SKILL_POINT = 100;
+
+  /**
+   * Rating difference between two teams for the stronger one to be expected to win 10 out of 11 matches.
+   */
+  private static final double RATING_SCALE = 400;
+
+  /**
+   * Maximum rating each player can gain or lose in a single match decided by one goal.
+   */
+  private static final double UPDATE_FACTOR = 32;
+
+  private static final int INITIAL_CAPACITY = 64;
+
+  // ---------- Private fields -----------------------------------------------------------------------------------------------------------------------
+
+  private int resultsCount;
+
+  /**
+   * Number of rated matches played by each player, indexed by the player index.
+   */
+  private int[] ratedMatches;
+
+  /**
+   * Rating of each player, indexed by the player index.
+   */
+  private double[] ratings;
+
+  private Map<String, Integer> playersIndexes;
+
+  // ---------- Constructor --------------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Builds empty ratings.
+   */
+  public PlayerRatings() {
+    setResultsCount(0);
+    setRatedMatches(new int[INITIAL_CAPACITY]);
+    setRatings(new double[INITIAL_CAPACITY]);
+    setPlayersIndexes(new HashMap<>());
+  }
+
+  // ---------- Public methods -----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Updates the ratings of the players of a match with its result.
+   *
+   * @param matchRecord The played match.
+   * @param goals       Goals scored by each team, indexed by the team number minus one.
+   */
+  public void addResult(MatchRecord matchRecord, int[] goals) {
+    int playersCount = matchRecord.getPlayersCount();
+
+    byte[] teamNumbers = matchRecord.getTeamNumbers();
+    byte[] skillPoints = matchRecord.getSkillPoints();
+
+    // The skill points are not entered for the random distribution, so they can't give an initial rating
+    boolean bySkillPoints = matchRecord.getMixer() != Constants.MIX_RANDOM;
+
+    int[] indexes = new int[playersCount];
+    int[] teamsSizes = new int[2];
+    double[] teamsRatings = new double[2];
+
+    for (int player = 0; player < playersCount; player++) {
+      int team = teamNumbers[player] - 1;
+
+      if (team == 0 || team == 1) {
+        indexes[player] = getOrCreatePlayerIndex(matchRecord.getNames()[player], bySkillPoints ? skillPoints[player] : Constants.SKILL_INI);
+        teamsSizes[team]++;
+        teamsRatings[team] += ratings[indexes[player]];
+      }
+    }
+
+    // A match without players on both teams can't tell anything about them
+    if (teamsSizes[0] == 0 || teamsSizes[1] == 0) {
+      return;
+    }
+
+    double expectedScore = 1 / (1 + Math.pow(10, (teamsRatings[1] / teamsSizes[1] - teamsRatings[0] / teamsSizes[0]) / RATING_SCALE));
+    double score = Integer.signum(goals[0] - goals[1]) / 2.0 + 0.5;
+    double firstTeamUpdate = UPDATE_FACTOR * goalDifferenceFactor(Math.abs(goals[0] - goals[1])) * (score - expectedScore);
+
+    for (int player = 0; player < playersCount; player++) {
+      int team = teamNumbers[player] - 1;
+
+      if (team == 0 || team == 1) {
+        ratings[indexes[player]] += team == 0 ? firstTeamUpdate : -firstTeamUpdate;
+        ratedMatches[indexes[player]]++;
+      }
+    }
+
+    resultsCount++;
+  }
+
+  /**
+   * @param name Normalized player name.
+   *
+   * @return The valid skill points closest to the player rating, or -1 if the player has not played any rated match.
+   */
+  public int getSkillPoints(String name) {
+    Integer index = playersIndexes.get(name);
+
+    if (index == null || ratedMatches[index] == 0) {
+      return -1;
+    }
+
+    return Math.clamp(Math.round(ratings[index] / RATING_PER_SKILL_POINT), Constants.SKILL_MIN, Constants.SKILL_MAX);
+  }
+
+  /**
+   * @param names Normalized names of some players.
+   *
+   * @return The skill points of each player, as given by {@link #getSkillPoints(String)}, in the same order as the names.
+   */
+  public int[] getSkillPoints(List<String> names) {
+    return names.stream()
+                .mapToInt(this::getSkillPoints)
+                .toArray();
+  }
+
+  // ---------- Private methods ----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * @param name        Normalized player name.
+   * @param skillPoints Skill points the player had in the match, which give its initial rating if it had none.
+   *
+   * @return The index of the player, assigning a new one if the player had none.
+   */
+  private int getOrCreatePlayerIndex(String name, int skillPoints) {
+    Integer index = playersIndexes.get(name);
+
+    if (index != null) {
+      return index;
+    }
+
+    index = playersIndexes.size();
+
+    playersIndexes.put(name, index);
+
+    if (index == ratings.length) {
+      ratedMatches = Arrays.copyOf(ratedMatches, index * 2);
+      ratings = Arrays.copyOf(ratings, index * 2);
+    }
+
+    ratings[index] = RATING_PER_SKILL_POINT * (skillPoints >= Constants.SKILL_MIN && skillPoints <= Constants.SKILL_MAX ? skillPoints
+                                                                                                                        : Constants.SKILL_INI);
+
+    return index;
+  }
+
+  /**
+   * @param goalDifference Absolute goal difference of a match.
+   *
+   * @return How much the goal difference scales the rating update: a clearer result tells more about the teams strength.
+   */
+  private static double goalDifferenceFactor(int goalDifference) {
+    if (goalDifference <= 1) {
+      return 1;
+    }
+
+    return goalDifference == 2 ? 1.5 : (11 + goalDifference) / 8.0;
+  }
+
+  // ---------- Getters ------------------------------------------------------------------------------------------------------------------------------
+
+  public int getResultsCount() {
+    return resultsCount;
+  }
+
+  public int[] getRatedMatches() {
+    return ratedMatches;
+  }
+
+  public double[] getRatings() {
+    return ratings;
+  }
+
+  public Map<String, Integer> getPlayersIndexes() {
+    return playersIndexes;
+  }
+
+  // ---------- Setters ------------------------------------------------------------------------------------------------------------------------------
+
+  public void setResultsCount(int resultsCount) {
+    this.resultsCount = resultsCount;
+  }
+
+  public void setRatedMatches(int[] ratedMatches) {
+    this.ratedMatches = ratedMatches;
+  }
+
+  public void setRatings(double[] ratings) {
+    this.ratings = ratings;
+  }
+
+  public void setPlayersIndexes(Map<String, Integer> playersIndexes) {
+    this.playersIndexes = playersIndexes;
+  }
+}
\ No newline at end of file
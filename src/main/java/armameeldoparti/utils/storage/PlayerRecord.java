@@ -0,0 +1,110 @@
+package armameeldoparti.utils.storage;
+
+import armameeldoparti.models.Position;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Stored player record class.
+ *
+ * <p>Holds everything the players database knows about a player: how many times the player played in each position, and the skill points the
+ * player was assigned over time.
+ *
+ * @author Bonino, Francisco Ignacio.
+ *
+ * @version 0.0.1
+ *
+ * @since 3.0
+ */
+public class PlayerRecord {
+
+  // ---------- Private fields -----------------------------------------------------------------------------------------------------------------------
+
+  private String name;
+
+  private Map<Position, Integer> positionsCount;
+
+  /**
+   * Skill points assigned to the player, indexed by the time (in milliseconds since the epoch) when they were stored.
+   */
+  private NavigableMap<Long, Integer> skillHistory;
+
+  // ---------- Constructor --------------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Builds an empty player record.
+   *
+   * @param name Player name.
+   */
+  public PlayerRecord(String name) {
+    setName(name);
+    setPositionsCount(new EnumMap<>(Position.class));
+    setSkillHistory(new TreeMap<>());
+  }
+
+  // ---------- Public methods -----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Registers a new appearance of the player.
+   *
+   * @param timestamp   Time when the appearance was stored, in milliseconds since the epoch.
+   * @param position    Position in which the player played.
+   * @param skillPoints Skill points assigned to the player, or 0 if none were assigned.
+   */
+  public void addAppearance(long timestamp, Position position, int skillPoints) {
+    positionsCount.merge(position, 1, Integer::sum);
+
+    if (skillPoints > 0) {
+      skillHistory.put(timestamp, skillPoints);
+    }
+  }
+
+  /**
+   * @return The position in which the player played the most times, or null if the player has no appearances.
+   */
+  public Position getPreferredPosition() {
+    return positionsCount.entrySet()
+                         .stream()
+                         .max(Map.Entry.comparingByValue())
+                         .map(Map.Entry::getKey)
+                         .orElse(null);
+  }
+
+  /**
+   * @return The last skill points assigned to the player, or 0 if none were ever assigned.
+   */
+  public int getLastSkillPoints() {
+    return skillHistory.isEmpty() ? 0 : skillHistory.lastEntry()
+                                                    .getValue();
+  }
+
+  // ---------- Getters ------------------------------------------------------------------------------------------------------------------------------
+
+  public String getName() {
+    return name;
+  }
+
+  public Map<Position, Integer> getPositionsCount() {
+    return positionsCount;
+  }
+
+  public NavigableMap<Long, Integer> getSkillHistory() {
+    return skillHistory;
+  }
+
+  // ---------- Setters ------------------------------------------------------------------------------------------------------------------------------
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public void setPositionsCount(Map<Position, Integer> positionsCount) {
+    this.positionsCount = positionsCount;
+  }
+
+  public void setSkillHistory(NavigableMap<Long, Integer> skillHistory) {
+    this.skillHistory = skillHistory;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,543 @@
+package armameeldoparti.utils.storage;
+
+import armameeldoparti.models.Player;
+import armameeldoparti.models.Position;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Local players database class.
+ *
+ * <p>The players and rosters are stored in a single append-only file. Every record is written as its length followed by its content, so a record
+ * that was not completely written (for example, if the program was closed while writing) is detected and discarded the next time the file is
+ * opened.
+ *
+ * <p>When the database is opened, the whole file is read once to build the in-memory indexes: a hash index to get any player or roster in constant
+ * time, and a sorted index to look up players by name prefix.
+ *
+ * @author Bonino, Francisco Ignacio.
+ *
+ * @version 0.0.1
+ *
+ * @since 3.0
+ */
+public class PlayersDatabase {
+
+  // ---------- Private constants --------------------------------------------------------------------------------------------------------------------
+
+  private static final byte FILE_VERSION = 1;
+  private static final byte RECORD_PLAYER = 1;
+  private static final byte RECORD_ROSTER = 2;
+
+  private static final int FILE_HEADER_LENGTH = Integer.BYTES + Byte.BYTES;
+  private static final int FILE_MAGIC_NUMBER = 0x41454450;
+  private static final int MAX_RECORD_LENGTH = 1 << 20;
+  private static final int SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+  // ---------- Private fields -----------------------------------------------------------------------------------------------------------------------
+
+  private DataOutputStream output;
+
+  private ExecutorService writer;
+
+  private Map<String, PlayerRecord> playersIndex;
+  private Map<String, List<Player>> rostersIndex;
+
+  private NavigableMap<String, PlayerRecord> playersPrefixIndex;
+
+  private Consumer<IOException> errorHandler;
+
+  // ---------- Constructor --------------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Builds an empty database.
+   *
+   * @param output Stream where the new records will be appended, or null if the database must not be persisted.
+   */
+  private PlayersDatabase(DataOutputStream output) {
+    setOutput(output);
+    setPlayersIndex(new HashMap<>());
+    setRostersIndex(new HashMap<>());
+    setPlayersPrefixIndex(new TreeMap<>());
+    setErrorHandler(e -> {
+      // Errors are ignored until a handler is set
+    });
+    setWriter(Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "players-database-writer");
+
+      thread.setDaemon(true);
+
+      return thread;
+    }));
+  }
+
+  // ---------- Public static methods ----------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Opens the database stored in the specified file, creating it if it doesn't exist.
+   *
+   * @param path Database file path.
+   *
+   * @return The opened database.
+   *
+   * @throws IOException If the file can't be created, read or written, or if it is not a players database file.
+   */
+  public static PlayersDatabase open(Path path) throws IOException {
+    if (path.getParent() != null) {
+      Files.createDirectories(path.getParent());
+    }
+
+    boolean newFile = Files.notExists(path) || Files.size(path) == 0;
+
+    PlayersDatabase database = new PlayersDatabase(null);
+
+    if (!newFile) {
+      database.load(path);
+    }
+
+    database.setOutput(new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path,
+                                                                                           StandardOpenOption.CREATE,
+                                                                                           StandardOpenOption.APPEND))));
+
+    if (newFile) {
+      database.output.writeInt(FILE_MAGIC_NUMBER);
+      database.output.writeByte(FILE_VERSION);
+      database.output.flush();
+    }
+
+    return database;
+  }
+
+  /**
+   * Builds a database that is only kept in memory, used when the database file can't be opened.
+   *
+   * @return An empty database whose records will not be persisted.
+   */
+  public static PlayersDatabase inMemory() {
+    return new PlayersDatabase(null);
+  }
+
+  // ---------- Public methods -----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Stores the given players and a roster made with them. If a roster with the same name already exists, it is replaced.
+   *
+   * <p>The indexes are updated right away, while the records are appended to the database file in the background, so this method can be called from
+   * the Event Dispatch Thread. Any error while writing them is passed to the error handler.
+   *
+   * @param rosterName Name of the roster.
+   * @param players    Players to store. The skill points that were not entered are stored as 0.
+   */
+  public synchronized void saveRoster(String rosterName, Collection<Player> players) {
+    List<byte[]> records;
+
+    try {
+      records = encodeRoster(rosterName, players);
+    } catch (IOException e) {
+      errorHandler.accept(e);
+
+      return;
+    }
+
+    records.forEach(this::readRecord);
+
+    if (output == null) {
+      return;
+    }
+
+    writer.execute(() -> {
+      try {
+        for (byte[] recordBytes : records) {
+          append(recordBytes);
+        }
+
+        output.flush();
+      } catch (IOException e) {
+        errorHandler.accept(e);
+      }
+    });
+  }
+
+  /**
+   * Looks up the players whose name starts with the given prefix, in alphabetical order.
+   *
+   * @param prefix Normalized name prefix.
+   * @param limit  Maximum number of players to retrieve.
+   *
+   * @return The players whose name starts with the given prefix, up to the specified limit.
+   */
+  public synchronized List<PlayerRecord> findByPrefix(String prefix, int limit) {
+    return playersPrefixIndex.subMap(prefix, true, prefix + Character.MAX_VALUE, false)
+                             .values()
+                             .stream()
+                             .limit(limit)
+                             .toList();
+  }
+
+  /**
+   * @param name Normalized player name.
+   *
+   * @return The stored record of the player, or null if the player is not stored.
+   */
+  public synchronized PlayerRecord getPlayer(String name) {
+    return playersIndex.get(name);
+  }
+
+  /**
+   * @param rosterName Name of the roster.
+   *
+   * @return A copy of the players in the roster, with the names, positions and skill points they had when it was stored, or null if there is no
+   *         roster with that name.
+   */
+  public synchronized List<Player> getRoster(String rosterName) {
+    List<Player> roster = rostersIndex.get(rosterName);
+
+    if (roster == null) {
+      return null;
+    }
+
+    return roster.stream()
+                 .map(player -> {
+                   Player copy = new Player(player.getName(), player.getPosition());
+
+                   copy.setSkillPoints(player.getSkillPoints());
+
+                   return copy;
+                 })
+                 .toList();
+  }
+
+  /**
+   * @param rosterName Name of the roster.
+   *
+   * @return Whether there is a roster with the specified name.
+   */
+  public synchronized boolean hasRoster(String rosterName) {
+    return rostersIndex.containsKey(rosterName);
+  }
+
+  /**
+   * Writes every pending record and closes the database file.
+   */
+  public void close() {
+    writer.shutdown();
+
+    try {
+      if (writer.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS) && output != null) {
+        output.close();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread()
+            .interrupt();
+    } catch (IOException e) {
+      errorHandler.accept(e);
+    }
+  }
+
+  // ---------- Private methods ----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Reads every record stored in the specified file and builds the indexes with them.
+   *
+   * <p>If the last record was not completely written, or if a record is malformed, the file is truncated to the end of the last valid record, so the
+   * new records are never appended after unreadable bytes.
+   *
+   * @param path Database file path.
+   *
+   * @throws IOException If the file can't be read or is not a players database file.
+   */
+  private void load(Path path) throws IOException {
+    long validLength = FILE_HEADER_LENGTH;
+
+    try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+      if (input.readInt() != FILE_MAGIC_NUMBER || input.readByte() != FILE_VERSION) {
+        throw new IOException("Not a players database file: " + path);
+      }
+
+      while (true) {
+        byte[] recordBytes = readRecordBytes(input);
+
+        if (recordBytes == null || !readRecord(recordBytes)) {
+          break;
+        }
+
+        validLength += Integer.BYTES + recordBytes.length;
+      }
+    }
+
+    if (validLength < Files.size(path)) {
+      try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+        channel.truncate(validLength);
+      }
+    }
+  }
+
+  /**
+   * Reads the next complete record of the database file.
+   *
+   * @param input Database file input stream.
+   *
+   * @return The record content, or null if there are no more complete records.
+   *
+   * @throws IOException If the file can't be read.
+   */
+  private byte[] readRecordBytes(DataInputStream input) throws IOException {
+    try {
+      int recordLength = input.readInt();
+
+      if (recordLength <= 0 || recordLength > MAX_RECORD_LENGTH) {
+        return null;
+      }
+
+      byte[] recordBytes = new byte[recordLength];
+
+      input.readFully(recordBytes);
+
+      return recordBytes;
+    } catch (EOFException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Reads a complete record and updates the indexes with it. Unknown record types are ignored.
+   *
+   * <p>The "java:S1190" warning is suppressed since JDK22 allows the use of unnamed variables.
+   *
+   * @param recordBytes Record content.
+   *
+   * @return Whether the record content is valid. If not, the indexes are not updated.
+   */
+  @SuppressWarnings("java:S1190")
+  private boolean readRecord(byte[] recordBytes) {
+    DataInputStream record = new DataInputStream(new ByteArrayInputStream(recordBytes));
+
+    try {
+      switch (record.readByte()) {
+        case RECORD_PLAYER -> readPlayerRecord(record);
+        case RECORD_ROSTER -> readRosterRecord(record);
+        default -> {
+          // Records written by newer versions are skipped
+        }
+      }
+    } catch (IOException _) {
+      return false;
+    }
+
+    return true;
+  }
+
+  /**
+   * Reads a player record and updates the players indexes with it.
+   *
+   * @param record Record content, without the record type.
+   *
+   * @throws IOException If the record content is malformed.
+   */
+  private void readPlayerRecord(DataInputStream record) throws IOException {
+    long timestamp = record.readLong();
+
+    Player player = readPlayer(record);
+
+    PlayerRecord playerRecord = playersIndex.get(player.getName());
+
+    if (playerRecord == null) {
+      playerRecord = new PlayerRecord(player.getName());
+
+      playersIndex.put(player.getName(), playerRecord);
+      playersPrefixIndex.put(player.getName(), playerRecord);
+    }
+
+    playerRecord.addAppearance(timestamp, player.getPosition(), player.getSkillPoints());
+  }
+
+  /**
+   * Reads a roster record and updates the rosters index with it.
+   *
+   * @param record Record content, without the record type.
+   *
+   * @throws IOException If the record content is malformed.
+   */
+  private void readRosterRecord(DataInputStream record) throws IOException {
+    record.readLong();
+
+    String rosterName = record.readUTF();
+
+    int playersCount = record.readUnsignedShort();
+
+    List<Player> roster = new ArrayList<>(playersCount);
+
+    for (int playerIndex = 0; playerIndex < playersCount; playerIndex++) {
+      roster.add(readPlayer(record));
+    }
+
+    rostersIndex.put(rosterName, roster);
+  }
+
+  /**
+   * @param record Record content, positioned at the start of a player.
+   *
+   * @return A new player with the name, position and skill points read.
+   *
+   * @throws IOException If the record content is malformed.
+   */
+  private Player readPlayer(DataInputStream record) throws IOException {
+    String name = record.readUTF();
+
+    int positionIndex = record.readUnsignedByte();
+
+    if (positionIndex >= Position.values().length) {
+      throw new IOException("Invalid position index: " + positionIndex);
+    }
+
+    Player player = new Player(name, Position.values()[positionIndex]);
+
+    player.setSkillPoints(record.readUnsignedByte());
+
+    return player;
+  }
+
+  /**
+   * Writes the name, position and skill points of a player.
+   *
+   * @param record Stream where the player will be written.
+   * @param player Player to write.
+   *
+   * @throws IOException If the player can't be written.
+   */
+  private void writePlayer(DataOutputStream record, Player player) throws IOException {
+    record.writeUTF(player.getName());
+    record.writeByte(player.getPosition()
+                           .ordinal());
+    record.writeByte(Math.max(player.getSkillPoints(), 0));
+  }
+
+  /**
+   * Builds the records that store the given players and a roster made with them, with the players as they are when this method is called.
+   *
+   * @param rosterName Name of the roster.
+   * @param players    Players to store.
+   *
+   * @return The content of every player record, followed by the content of the roster record.
+   *
+   * @throws IOException If the records can't be built.
+   */
+  private List<byte[]> encodeRoster(String rosterName, Collection<Player> players) throws IOException {
+    long timestamp = System.currentTimeMillis();
+
+    List<byte[]> records = new ArrayList<>(players.size() + 1);
+
+    ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+    DataOutputStream record = new DataOutputStream(recordBytes);
+
+    for (Player player : players) {
+      recordBytes.reset();
+
+      record.writeByte(RECORD_PLAYER);
+      record.writeLong(timestamp);
+      writePlayer(record, player);
+
+      records.add(recordBytes.toByteArray());
+    }
+
+    recordBytes.reset();
+
+    record.writeByte(RECORD_ROSTER);
+    record.writeLong(timestamp);
+    record.writeUTF(rosterName);
+    record.writeShort(players.size());
+
+    for (Player player : players) {
+      writePlayer(record, player);
+    }
+
+    records.add(recordBytes.toByteArray());
+
+    return records;
+  }
+
+  /**
+   * Appends a complete record to the database file. It is only called by the background thread.
+   *
+   * @param recordBytes Record content.
+   *
+   * @throws IOException If the record can't be written.
+   */
+  private void append(byte[] recordBytes) throws IOException {
+    output.writeInt(recordBytes.length);
+    output.write(recordBytes);
+  }
+
+  // ---------- Getters ------------------------------------------------------------------------------------------------------------------------------
+
+  public DataOutputStream getOutput() {
+    return output;
+  }
+
+  public ExecutorService getWriter() {
+    return writer;
+  }
+
+  public Map<String, PlayerRecord> getPlayersIndex() {
+    return playersIndex;
+  }
+
+  public Map<String, List<Player>> getRostersIndex() {
+    return rostersIndex;
+  }
+
+  public NavigableMap<String, PlayerRecord> getPlayersPrefixIndex() {
+    return playersPrefixIndex;
+  }
+
+  public Consumer<IOException> getErrorHandler() {
+    return errorHandler;
+  }
+
+  // ---------- Setters ------------------------------------------------------------------------------------------------------------------------------
+
+  public void setOutput(DataOutputStream output) {
+    this.output = output;
+  }
+
+  public void setWriter(ExecutorService writer) {
+    this.writer = writer;
+  }
+
+  public void setPlayersIndex(Map<String, PlayerRecord> playersIndex) {
+    this.playersIndex = playersIndex;
+  }
+
+  public void setRostersIndex(Map<String, List<Player>> rostersIndex) {
+    this.rostersIndex = rostersIndex;
+  }
+
+  public void setPlayersPrefixIndex(NavigableMap<String, PlayerRecord> playersPrefixIndex) {
+    this.playersPrefixIndex = playersPrefixIndex;
+  }
+
+  public void setErrorHandler(Consumer<IOException> errorHandler) {
+    this.errorHandler = errorHandler;
+  }
+}
\ No newline at end of file
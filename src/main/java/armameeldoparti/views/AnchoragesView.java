@@ -44,8 +44,10 @@ public class AnchoragesView extends View {
   private JButton clearAnchoragesButton;
   private JButton deleteAnchorageButton;
   private JButton deleteLastAnchorageButton;
+  private JButton deleteSeparationButton;
   private JButton finishButton;
   private JButton newAnchorageButton;
+  private JButton separateButton;
 
   private JPanel leftPanel;
   private JPanel rightPanel;
@@ -103,8 +105,10 @@ public class AnchoragesView extends View {
     setClearAnchoragesButton(new CustomButton("Limpiar anclajes", Constants.ROUNDED_BORDER_ARC_GENERAL));
     setDeleteAnchorageButton(new CustomButton("Borrar un anclaje", Constants.ROUNDED_BORDER_ARC_GENERAL));
     setDeleteLastAnchorageButton(new CustomButton("Borrar último anclaje", Constants.ROUNDED_BORDER_ARC_GENERAL));
+    setDeleteSeparationButton(new CustomButton("Borrar una separación", Constants.ROUNDED_BORDER_ARC_GENERAL));
     setFinishButton(new CustomButton("Finalizar", Constants.ROUNDED_BORDER_ARC_GENERAL));
     setNewAnchorageButton(new CustomButton("Anclar", Constants.ROUNDED_BORDER_ARC_GENERAL));
+    setSeparateButton(new CustomButton("Separar", Constants.ROUNDED_BORDER_ARC_GENERAL));
 
     anchorageButtons.add(finishButton);
     anchorageButtons.add(newAnchorageButton);
@@ -116,6 +120,8 @@ public class AnchoragesView extends View {
     leftPanel.add(backButton, CommonFunctions.buildMigLayoutConstraints(Constants.MIG_LAYOUT_GROWX, Constants.MIG_LAYOUT_SPAN));
 
     rightPanel.add(newAnchorageButton, Constants.MIG_LAYOUT_GROW);
+    rightPanel.add(separateButton, Constants.MIG_LAYOUT_GROW);
+    rightPanel.add(deleteSeparationButton, Constants.MIG_LAYOUT_GROW);
     rightPanel.add(deleteAnchorageButton, Constants.MIG_LAYOUT_GROW);
     rightPanel.add(deleteLastAnchorageButton, Constants.MIG_LAYOUT_GROW);
     rightPanel.add(clearAnchoragesButton, Constants.MIG_LAYOUT_GROW);
@@ -188,6 +194,10 @@ public class AnchoragesView extends View {
     return deleteLastAnchorageButton;
   }
 
+  public JButton getDeleteSeparationButton() {
+    return deleteSeparationButton;
+  }
+
   public JButton getFinishButton() {
     return finishButton;
   }
@@ -196,6 +206,10 @@ public class AnchoragesView extends View {
     return newAnchorageButton;
   }
 
+  public JButton getSeparateButton() {
+    return separateButton;
+  }
+
   public JPanel getLeftPanel() {
     return leftPanel;
   }
@@ -238,6 +252,10 @@ public class AnchoragesView extends View {
     this.deleteLastAnchorageButton = deleteLastAnchorageButton;
   }
 
+  public void setDeleteSeparationButton(JButton deleteSeparationButton) {
+    this.deleteSeparationButton = deleteSeparationButton;
+  }
+
   public void setFinishButton(JButton finishButton) {
     this.finishButton = finishButton;
   }
@@ -246,6 +264,10 @@ public class AnchoragesView extends View {
     this.newAnchorageButton = newAnchorageButton;
   }
 
+  public void setSeparateButton(JButton separateButton) {
+    this.separateButton = separateButton;
+  }
+
   public void setLeftPanel(JPanel leftPanel) {
     this.leftPanel = leftPanel;
   }
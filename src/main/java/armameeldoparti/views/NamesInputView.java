@@ -48,6 +48,8 @@ public class NamesInputView extends View {
 
   private JButton mixButton;
   private JButton backButton;
+  private JButton importButton;
+  private JButton loadRosterButton;
 
   private JCheckBox anchoragesCheckbox;
 
@@ -105,7 +107,11 @@ public class NamesInputView extends View {
   protected void addButtons() {
     setMixButton(new CustomButton("Distribuir", Constants.ROUNDED_BORDER_ARC_GENERAL));
     setBackButton(new CustomButton("Atrás", Constants.ROUNDED_BORDER_ARC_GENERAL));
+    setImportButton(new CustomButton("Importar plantel", Constants.ROUNDED_BORDER_ARC_GENERAL));
+    setLoadRosterButton(new CustomButton("Cargar último plantel", Constants.ROUNDED_BORDER_ARC_GENERAL));
 
+    rightPanel.add(loadRosterButton, Constants.MIG_LAYOUT_GROW);
+    rightPanel.add(importButton, Constants.MIG_LAYOUT_GROW);
     rightPanel.add(mixButton, Constants.MIG_LAYOUT_GROW);
     rightPanel.add(backButton, Constants.MIG_LAYOUT_GROW);
   }
@@ -204,6 +210,14 @@ public class NamesInputView extends View {
     return mixButton;
   }
 
+  public JButton getImportButton() {
+    return importButton;
+  }
+
+  public JButton getLoadRosterButton() {
+    return loadRosterButton;
+  }
+
   public JCheckBox getAnchoragesCheckbox() {
     return anchoragesCheckbox;
   }
@@ -254,6 +268,14 @@ public class NamesInputView extends View {
     this.mixButton = mixButton;
   }
 
+  public void setImportButton(JButton importButton) {
+    this.importButton = importButton;
+  }
+
+  public void setLoadRosterButton(JButton loadRosterButton) {
+    this.loadRosterButton = loadRosterButton;
+  }
+
   public void setAnchoragesCheckbox(JCheckBox anchoragesCheckbox) {
     this.anchoragesCheckbox = anchoragesCheckbox;
   }
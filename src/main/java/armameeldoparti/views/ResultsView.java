@@ -4,8 +4,12 @@ import armameeldoparti.utils.common.CommonFields;
 import armameeldoparti.utils.common.CommonFunctions;
 import armameeldoparti.utils.common.Constants;
 import armameeldoparti.utils.common.custom.graphical.CustomButton;
+import armameeldoparti.utils.common.custom.graphical.CustomLabel;
 import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JProgressBar;
 import javax.swing.JTable;
+import javax.swing.SwingConstants;
 
 /**
  * Results view class.
@@ -20,8 +24,17 @@ public class ResultsView extends View {
 
   // ---------- Private fields -----------------------------------------------------------------------------------------------------------------------
 
+  private JButton acceptButton;
   private JButton backButton;
   private JButton remixButton;
+  private JButton resultButton;
+
+  /**
+   * Shows the objective values of the best lineup found so far while the players are being distributed by skill points.
+   */
+  private JLabel improvementLabel;
+
+  private JProgressBar progressBar;
 
   private JTable table;
 
@@ -35,6 +48,10 @@ public class ResultsView extends View {
 
     setBackButton(new CustomButton("Atrás", Constants.ROUNDED_BORDER_ARC_GENERAL));
     setRemixButton(new CustomButton("Redistribuir", Constants.ROUNDED_BORDER_ARC_GENERAL));
+    setAcceptButton(new CustomButton("Aceptar", Constants.ROUNDED_BORDER_ARC_GENERAL));
+    setResultButton(new CustomButton("Cargar resultado", Constants.ROUNDED_BORDER_ARC_GENERAL));
+    setImprovementLabel(new CustomLabel(null, null, SwingConstants.CENTER));
+    setProgressBar(new JProgressBar());
   }
 
   // ---------- Public methods -----------------------------------------------------------------------------------------------------------------------
@@ -44,6 +61,7 @@ public class ResultsView extends View {
     setFrameTitle(getUpdatedFrameTitle());
     setTitle(frameTitle);
     addTable();
+    addProgressBar();
     addButtons();
     add(masterPanel);
   }
@@ -54,8 +72,13 @@ public class ResultsView extends View {
   protected void addButtons() {
     if (CommonFields.getDistribution() == Constants.MIX_RANDOM) {
       masterPanel.add(remixButton, Constants.MIG_LAYOUT_GROWX);
+    } else {
+      acceptButton.setVisible(false);
+
+      masterPanel.add(acceptButton, CommonFunctions.buildMigLayoutConstraints(Constants.MIG_LAYOUT_GROWX, Constants.MIG_LAYOUT_HIDEMODE));
     }
 
+    masterPanel.add(resultButton, Constants.MIG_LAYOUT_GROWX);
     masterPanel.add(backButton, Constants.MIG_LAYOUT_GROWX);
   }
 
@@ -90,8 +113,28 @@ public class ResultsView extends View {
                                                                      Constants.MIG_LAYOUT_CENTER));
   }
 
+  /**
+   * Adds the progress bar shown while the players are being distributed, and the best lineup values label below it, in the view panel. They take no
+   * space while hidden.
+   */
+  private void addProgressBar() {
+    progressBar.setIndeterminate(true);
+    progressBar.setString("Distribuyendo jugadores...");
+    progressBar.setStringPainted(true);
+    progressBar.setVisible(false);
+
+    improvementLabel.setVisible(false);
+
+    masterPanel.add(progressBar, CommonFunctions.buildMigLayoutConstraints(Constants.MIG_LAYOUT_GROWX, Constants.MIG_LAYOUT_HIDEMODE));
+    masterPanel.add(improvementLabel, CommonFunctions.buildMigLayoutConstraints(Constants.MIG_LAYOUT_GROWX, Constants.MIG_LAYOUT_HIDEMODE));
+  }
+
   // ---------- Getters ------------------------------------------------------------------------------------------------------------------------------
 
+  public JButton getAcceptButton() {
+    return acceptButton;
+  }
+
   public JButton getBackButton() {
     return backButton;
   }
@@ -100,12 +143,28 @@ public class ResultsView extends View {
     return remixButton;
   }
 
+  public JButton getResultButton() {
+    return resultButton;
+  }
+
+  public JLabel getImprovementLabel() {
+    return improvementLabel;
+  }
+
+  public JProgressBar getProgressBar() {
+    return progressBar;
+  }
+
   public JTable getTable() {
     return table;
   }
 
   // ---------- Setters ------------------------------------------------------------------------------------------------------------------------------
 
+  public void setAcceptButton(JButton acceptButton) {
+    this.acceptButton = acceptButton;
+  }
+
   public void setBackButton(JButton backButton) {
     this.backButton = backButton;
   }
@@ -114,6 +173,18 @@ public class ResultsView extends View {
     this.remixButton = remixButton;
   }
 
+  public void setResultButton(JButton resultButton) {
+    this.resultButton = resultButton;
+  }
+
+  public void setImprovementLabel(JLabel improvementLabel) {
+    this.improvementLabel = improvementLabel;
+  }
+
+  public void setProgressBar(JProgressBar progressBar) {
+    this.progressBar = progressBar;
+  }
+
   public void setTable(JTable table) {
     this.table = table;
   }
@@ -6,18 +6,16 @@ import armameeldoparti.utils.common.CommonFields;
 import armameeldoparti.utils.common.CommonFunctions;
 import armameeldoparti.utils.common.Constants;
 import armameeldoparti.utils.common.custom.graphical.CustomButton;
-import armameeldoparti.utils.common.custom.graphical.CustomLabel;
-import armameeldoparti.utils.common.custom.graphical.CustomSpinner;
+import armameeldoparti.utils.common.custom.graphical.CustomScrollPane;
+import armameeldoparti.utils.common.custom.graphical.CustomSpinnerCellEditor;
+import armameeldoparti.utils.common.custom.graphical.CustomTable;
+import java.awt.Dimension;
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import javax.swing.JButton;
-import javax.swing.JLabel;
-import javax.swing.JSpinner;
+import javax.swing.JTable;
 import javax.swing.SpinnerNumberModel;
-import javax.swing.SwingConstants;
+import javax.swing.table.AbstractTableModel;
 
 /**
  * Skill points input view class.
@@ -30,14 +28,29 @@ import javax.swing.SwingConstants;
  */
 public class SkillPointsInputView extends View {
 
+  // ---------- Private constants --------------------------------------------------------------------------------------------------------------------
+
+  private static final int TABLE_COLUMN_POSITION = 0;
+  private static final int TABLE_COLUMN_NAME = 1;
+  private static final int TABLE_COLUMN_SKILL = 2;
+  private static final int TABLE_COLUMNS = 3;
+  private static final int TABLE_VISIBLE_ROWS = Constants.PLAYERS_TOTAL + 1;
+
+  private static final String[] TABLE_HEADERS = {"Posición", "Jugador", "Puntuación"};
+
   // ---------- Private fields -----------------------------------------------------------------------------------------------------------------------
 
   private JButton backButton;
   private JButton finishButton;
   private JButton resetSkillPointsButton;
 
-  private transient Map<JSpinner, JLabel> labelsMap;
-  private transient Map<Player, JSpinner> spinnersMap;
+  private JTable table;
+
+  /**
+   * Players shown in the table, sorted in the same order as the Position enum. The row {@code n} of the table corresponds to the player
+   * {@code n - 1} since the first row is used as the table header.
+   */
+  private transient List<Player> players;
 
   // ---------- Constructor --------------------------------------------------------------------------------------------------------------------------
 
@@ -47,8 +60,7 @@ public class SkillPointsInputView extends View {
   public SkillPointsInputView() {
     super("Ingreso de puntuaciones", "");
 
-    setSpinnersMap(new HashMap<>());
-    setLabelsMap(new HashMap<>());
+    setPlayers(new ArrayList<>());
     initializeInterface();
   }
 
@@ -56,12 +68,36 @@ public class SkillPointsInputView extends View {
 
   @Override
   public void initializeInterface() {
-    addSpinners();
+    addTable();
     addButtons();
     add(masterPanel);
     pack();
   }
 
+  /**
+   * Refreshes the table contents from the players model and adjusts its size so that, at most, {@code TABLE_VISIBLE_ROWS} rows are displayed at the
+   * same time. The rest of the rows can be reached by scrolling.
+   */
+  public void refreshTable() {
+    ((AbstractTableModel) table.getModel()).fireTableDataChanged();
+    ((CustomTable) table).adjustCells();
+
+    table.setPreferredScrollableViewportSize(new Dimension(table.getPreferredSize().width,
+                                                           Math.min(table.getRowCount(), TABLE_VISIBLE_ROWS) * table.getRowHeight(0)));
+
+    pack();
+  }
+
+  /**
+   * Stops the current cell edition, if any, so the edited value is written to the players model.
+   */
+  public void stopEditing() {
+    if (table.isEditing()) {
+      table.getCellEditor()
+           .stopCellEditing();
+    }
+  }
+
   // ---------- Protected methods --------------------------------------------------------------------------------------------------------------------
 
   @Override
@@ -78,34 +114,86 @@ public class SkillPointsInputView extends View {
   // ---------- Private methods ----------------------------------------------------------------------------------------------------------------------
 
   /**
-   * Adds the spinners to their corresponding panel.
+   * Adds the skill points table to the view panel.
+   *
+   * <p>The table only builds the components for the rows that are currently visible, and a single spinner is used as the skill points editor for
+   * every row. Because of this, the view size and build time do not depend on the number of players.
    */
-  private void addSpinners() {
+  private void addTable() {
     for (Position position : Position.values()) {
-      masterPanel.add(new CustomLabel(CommonFunctions.capitalize(CommonFields.getPositionsMap()
-                                                                             .get(position)),
-                                      null,
-                                      SwingConstants.CENTER),
-                      CommonFunctions.buildMigLayoutConstraints(Constants.MIG_LAYOUT_GROW, Constants.MIG_LAYOUT_SPAN));
+      players.addAll(CommonFields.getPlayersSets()
+                                 .get(position));
+    }
 
-      List<Player> players = new ArrayList<>(CommonFields.getPlayersSets()
-                                                         .get(position));
+    setTable(new CustomTable(buildTableModel()));
 
-      players.sort(Comparator.comparing(player -> player.getPosition()
-                                                        .ordinal()));
+    table.setCellSelectionEnabled(false);
+    table.setRowSelectionAllowed(false);
+    table.setColumnSelectionAllowed(false);
+    table.putClientProperty("terminateEditOnFocusLost", Boolean.TRUE);
+    table.getColumnModel()
+         .getColumn(TABLE_COLUMN_SKILL)
+         .setCellEditor(new CustomSpinnerCellEditor(new SpinnerNumberModel(Constants.SKILL_INI,
+                                                                           Constants.SKILL_MIN,
+                                                                           Constants.SKILL_MAX,
+                                                                           Constants.SKILL_STEP)));
 
-      for (Player player : players) {
-        spinnersMap.put(player, new CustomSpinner(new SpinnerNumberModel(Constants.SKILL_INI,
-                                                                         Constants.SKILL_MIN,
-                                                                         Constants.SKILL_MAX,
-                                                                         Constants.SKILL_STEP)));
+    masterPanel.add(new CustomScrollPane(table), CommonFunctions.buildMigLayoutConstraints(Constants.MIG_LAYOUT_GROW, Constants.MIG_LAYOUT_SPAN));
 
-        labelsMap.put(spinnersMap.get(player), new JLabel(player.getName()));
+    refreshTable();
+  }
 
-        masterPanel.add(labelsMap.get(spinnersMap.get(player)), Constants.MIG_LAYOUT_PUSHX);
-        masterPanel.add(spinnersMap.get(player), players.indexOf(player) % 2 != 0 ? Constants.MIG_LAYOUT_WRAP : null);
+  /**
+   * Builds the table model that reads and writes the skill points directly from and to the players model.
+   *
+   * <p>The position name is only shown in the first row of each position.
+   *
+   * @return The table model backed by the players list.
+   */
+  private AbstractTableModel buildTableModel() {
+    return new AbstractTableModel() {
+      @Override
+      public int getRowCount() {
+        return players.size() + 1;
       }
-    }
+
+      @Override
+      public int getColumnCount() {
+        return TABLE_COLUMNS;
+      }
+
+      @Override
+      public Object getValueAt(int row, int column) {
+        if (row == 0) {
+          return TABLE_HEADERS[column];
+        }
+
+        Player player = players.get(row - 1);
+
+        return switch (column) {
+          case TABLE_COLUMN_POSITION -> row == 1 || players.get(row - 2)
+                                                           .getPosition() != player.getPosition()
+                                        ? CommonFunctions.capitalize(CommonFields.getPositionsMap()
+                                                                                 .get(player.getPosition()))
+                                        : "";
+          case TABLE_COLUMN_NAME -> player.getName();
+          default -> player.getSkillPoints();
+        };
+      }
+
+      @Override
+      public boolean isCellEditable(int row, int column) {
+        return row != 0 && column == TABLE_COLUMN_SKILL;
+      }
+
+      @Override
+      public void setValueAt(Object value, int row, int column) {
+        players.get(row - 1)
+               .setSkillPoints((int) value);
+
+        fireTableCellUpdated(row, column);
+      }
+    };
   }
 
   // ---------- Getters ------------------------------------------------------------------------------------------------------------------------------
@@ -122,12 +210,12 @@ public class SkillPointsInputView extends View {
     return resetSkillPointsButton;
   }
 
-  public Map<JSpinner, JLabel> getLabelsMap() {
-    return labelsMap;
+  public JTable getTable() {
+    return table;
   }
 
-  public Map<Player, JSpinner> getSpinnersMap() {
-    return spinnersMap;
+  public List<Player> getPlayers() {
+    return players;
   }
 
   // ---------- Setters ------------------------------------------------------------------------------------------------------------------------------
@@ -144,11 +232,11 @@ public class SkillPointsInputView extends View {
     this.resetSkillPointsButton = resetSkillPointsButton;
   }
 
-  public void setLabelsMap(Map<JSpinner, JLabel> labelsMap) {
-    this.labelsMap = labelsMap;
+  public void setTable(JTable table) {
+    this.table = table;
   }
 
-  public void setSpinnersMap(Map<Player, JSpinner> spinnersMap) {
-    this.spinnersMap = spinnersMap;
+  public void setPlayers(List<Player> players) {
+    this.players = players;
   }
 }
\ No newline at end of file
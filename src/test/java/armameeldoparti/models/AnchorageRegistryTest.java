@@ -0,0 +1,164 @@
+package armameeldoparti.models;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Anchorages registry tests class.
+ *
+ * <p>Checks that the players and the per-position counts of every anchorage follow the anchorages as they are added and removed, that the following
+ * anchorages are renumbered after a removal, and that a separation can only be made once for each pair of players, in any order.
+ *
+ * @author Bonino, Francisco Ignacio.
+ *
+ * @version 0.0.1
+ *
+ * @since 3.0
+ */
+class AnchorageRegistryTest {
+
+  // ---------- Tests --------------------------------------------------------------------------------------------------------------------------------
+
+  @Test
+  void addSortsThePlayersAndCountsThemPerPosition() {
+    Player forward = new Player(0, "F", Position.FORWARD);
+    Player goalkeeper = new Player(1, "G", Position.GOALKEEPER);
+    Player centralDefender = new Player(2, "C", Position.CENTRAL_DEFENDER);
+    Player midfielder = new Player(3, "M", Position.MIDFIELDER);
+
+    AnchorageRegistry registry = new AnchorageRegistry();
+
+    assertEquals(1, registry.add(List.of(forward, goalkeeper, centralDefender)));
+    assertEquals(2, registry.add(List.of(midfielder)));
+
+    assertEquals(List.of(centralDefender, forward, goalkeeper), registry.get(1));
+    assertEquals(1, registry.getPositionCount(1, Position.FORWARD));
+    assertEquals(0, registry.getPositionCount(1, Position.MIDFIELDER));
+    assertEquals(1, registry.getPositionCount(2, Position.MIDFIELDER));
+    assertEquals(2, registry.size());
+    assertEquals(4, registry.getAnchoredPlayersCount());
+
+    assertTrue(goalkeeper.isAnchored());
+    assertEquals(1, goalkeeper.getAnchorageNumber());
+    assertEquals(2, midfielder.getAnchorageNumber());
+  }
+
+  @Test
+  void removeRenumbersTheFollowingAnchorages() {
+    Player[] players = new Player[6];
+
+    for (int player = 0; player < players.length; player++) {
+      players[player] = new Player(player, "P" + player, Position.values()[player / 2]);
+    }
+
+    AnchorageRegistry registry = new AnchorageRegistry();
+
+    registry.add(List.of(players[0], players[1]));
+    registry.add(List.of(players[2], players[3]));
+    registry.add(List.of(players[4], players[5]));
+
+    int[] thirdAnchorageCounts = registry.getPositionsCounts()
+                                         .get(2);
+
+    assertEquals(List.of(players[2], players[3]), registry.remove(2));
+
+    assertFalse(players[2].isAnchored());
+    assertEquals(0, players[3].getAnchorageNumber());
+
+    // The third anchorage becomes the second one, keeping its players and their per-position counts
+    assertEquals(2, registry.size());
+    assertEquals(4, registry.getAnchoredPlayersCount());
+    assertEquals(1, players[0].getAnchorageNumber());
+    assertEquals(2, players[4].getAnchorageNumber());
+    assertEquals(2, players[5].getAnchorageNumber());
+    assertEquals(List.of(players[4], players[5]), registry.get(2));
+    assertArrayEquals(thirdAnchorageCounts, registry.getPositionsCounts()
+                                                    .get(1));
+
+    // A new anchorage takes the number after the last remaining one
+    assertEquals(3, registry.add(List.of(players[2])));
+  }
+
+  @Test
+  void loadRenumbersTheAnchoragesInOrder() {
+    Player first = new Player(0, "A", Position.MIDFIELDER);
+    Player second = new Player(1, "B", Position.FORWARD);
+    Player third = new Player(2, "C", Position.MIDFIELDER);
+    Player free = new Player(3, "D", Position.FORWARD);
+
+    first.setAnchored(true);
+    first.setAnchorageNumber(5);
+    second.setAnchored(true);
+    second.setAnchorageNumber(2);
+    third.setAnchored(true);
+    third.setAnchorageNumber(5);
+
+    Map<Position, List<Player>> playersSets = new EnumMap<>(Position.class);
+
+    playersSets.put(Position.MIDFIELDER, List.of(first, third));
+    playersSets.put(Position.FORWARD, List.of(second, free));
+
+    AnchorageRegistry registry = new AnchorageRegistry();
+
+    registry.load(playersSets);
+
+    assertEquals(2, registry.size());
+    assertEquals(List.of(second), registry.get(1));
+    assertEquals(List.of(first, third), registry.get(2));
+    assertEquals(2, first.getAnchorageNumber());
+    assertFalse(free.isAnchored());
+  }
+
+  @Test
+  void separationsAreUniqueRegardlessOfTheOrder() {
+    Player first = new Player(0, "A", Position.MIDFIELDER);
+    Player second = new Player(1, "B", Position.FORWARD);
+    Player third = new Player(2, "C", Position.GOALKEEPER);
+
+    AnchorageRegistry registry = new AnchorageRegistry();
+
+    assertEquals(1, registry.addSeparation(first, second));
+    assertEquals(-1, registry.addSeparation(second, first));
+    assertEquals(2, registry.addSeparation(second, third));
+
+    assertTrue(registry.isSeparated(second, first));
+    assertFalse(registry.isSeparated(first, third));
+
+    Player[] removed = registry.removeSeparation(1);
+
+    assertSame(first, removed[0]);
+    assertSame(second, removed[1]);
+    assertFalse(registry.isSeparated(first, second));
+    assertTrue(registry.isSeparated(third, second));
+    assertEquals(1, registry.getSeparations()
+                            .size());
+  }
+
+  @Test
+  void clearFreesEveryPlayer() {
+    Player first = new Player(0, "A", Position.MIDFIELDER);
+    Player second = new Player(1, "B", Position.FORWARD);
+
+    AnchorageRegistry registry = new AnchorageRegistry();
+
+    registry.add(List.of(first, second));
+    registry.addSeparation(first, second);
+
+    assertEquals(List.of(first, second), registry.clear());
+
+    assertFalse(first.isAnchored());
+    assertEquals(0, second.getAnchorageNumber());
+    assertEquals(0, registry.size());
+    assertEquals(0, registry.getAnchoredPlayersCount());
+    assertTrue(registry.getSeparations()
+                       .isEmpty());
+  }
+}
\ No newline at end of file
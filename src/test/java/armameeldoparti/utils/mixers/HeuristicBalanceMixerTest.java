@@ -0,0 +1,241 @@
+package armameeldoparti.utils.mixers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import armameeldoparti.models.Player;
+import armameeldoparti.utils.solver.ExhaustiveBalanceSolver;
+import armameeldoparti.utils.solver.LineupImprovement;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Heuristic skill balance distribution tests class.
+ *
+ * <p>Forces the heuristic distribution over seeded random rosters, which the program only uses when the exact solvers can't finish in time, and
+ * compares its skill points difference against the {@link ExhaustiveBalanceSolver}. A time budget of 0 leaves only the largest differencing, and a
+ * large one lets the swaps run until none helps. The lineups reported while the swaps run must end with the distributed one.
+ *
+ * @author Bonino, Francisco Ignacio.
+ *
+ * @version 0.0.1
+ *
+ * @since 3.0
+ */
+class HeuristicBalanceMixerTest {
+
+  // ---------- Private constants --------------------------------------------------------------------------------------------------------------------
+
+  private static final int MAX_ANCHORAGES = 3;
+  private static final int MAX_SEPARATIONS = 4;
+  private static final int MAX_SKILL = 5;
+  private static final int ROSTERS = 500;
+
+  /**
+   * Time budget large enough for the swaps to stop only when none of them helps.
+   */
+  private static final long UNBOUNDED_BUDGET_MILLIS = 60_000;
+
+  // ---------- Tests --------------------------------------------------------------------------------------------------------------------------------
+
+  @Test
+  void largestDifferencingIsWithinTheLargestPairDifference() {
+    Random random = new Random(24);
+
+    int optimalRosters = 0;
+
+    for (int rosterNumber = 0; rosterNumber < ROSTERS; rosterNumber++) {
+      Player[] players = RosterFixtures.randomPlayers(random, MAX_SKILL);
+
+      int expected = oracleDifference(RosterFixtures.roster(players, List.of()));
+
+      CompactRoster roster = RosterFixtures.roster(players, List.of());
+
+      new HeuristicBalanceMixer(0).withoutAnchorages(roster);
+
+      int difference = RosterFixtures.difference(roster);
+
+      assertTrue(RosterFixtures.isValid(roster, false));
+      assertTrue(difference >= expected);
+
+      // Largest differencing never ends with a difference greater than the largest one it started with
+      assertTrue(difference <= largestPairDifference(roster));
+
+      optimalRosters += difference == expected ? 1 : 0;
+    }
+
+    assertTrue(optimalRosters >= ROSTERS * 9 / 10);
+  }
+
+  @Test
+  void constrainedLineupsAreValidAndCloseToTheOracle() {
+    Random random = new Random(25);
+
+    int rosters = 0;
+    int optimalRosters = 0;
+
+    for (int rosterNumber = 0; rosterNumber < ROSTERS; rosterNumber++) {
+      Player[] players = RosterFixtures.randomPlayers(random, MAX_SKILL);
+
+      RosterFixtures.anchorRandomly(random, players, MAX_ANCHORAGES);
+
+      List<int[]> separations = RosterFixtures.randomSeparations(random, players.length, MAX_SEPARATIONS);
+
+      int expected = oracleDifference(RosterFixtures.roster(players, separations));
+
+      // The heuristic distribution is only used once the constraints are known to be possible to satisfy
+      if (expected == -1) {
+        continue;
+      }
+
+      CompactRoster roster = RosterFixtures.roster(players, separations);
+
+      new HeuristicBalanceMixer(0).withAnchorages(roster);
+
+      assertTrue(RosterFixtures.isValid(roster, true));
+      assertTrue(RosterFixtures.difference(roster) >= expected);
+
+      rosters++;
+      optimalRosters += RosterFixtures.difference(roster) == expected ? 1 : 0;
+    }
+
+    assertTrue(optimalRosters >= rosters * 3 / 4);
+  }
+
+  @Test
+  void swapsStopAtALocalOptimum() {
+    Random random = new Random(26);
+
+    for (int rosterNumber = 0; rosterNumber < ROSTERS; rosterNumber++) {
+      Player[] players = RosterFixtures.randomPlayers(random, MAX_SKILL);
+
+      RosterFixtures.anchorRandomly(random, players, MAX_ANCHORAGES);
+
+      List<int[]> separations = RosterFixtures.randomSeparations(random, players.length, MAX_SEPARATIONS);
+
+      if (oracleDifference(RosterFixtures.roster(players, separations)) == -1) {
+        continue;
+      }
+
+      CompactRoster differencedRoster = RosterFixtures.roster(players, separations);
+      CompactRoster roster = RosterFixtures.roster(players, separations);
+
+      new HeuristicBalanceMixer(0).withAnchorages(differencedRoster);
+      new HeuristicBalanceMixer(UNBOUNDED_BUDGET_MILLIS).withAnchorages(roster);
+
+      assertTrue(RosterFixtures.isValid(roster, true));
+      assertTrue(RosterFixtures.difference(roster) <= RosterFixtures.difference(differencedRoster));
+      assertTrue(isLocalOptimum(roster));
+    }
+  }
+
+  @Test
+  void improvementsEndWithTheDistributedLineup() {
+    Random random = new Random(27);
+
+    for (int rosterNumber = 0; rosterNumber < ROSTERS; rosterNumber++) {
+      Player[] players = RosterFixtures.randomPlayers(random, MAX_SKILL);
+
+      RosterFixtures.anchorRandomly(random, players, MAX_ANCHORAGES);
+
+      List<int[]> separations = RosterFixtures.randomSeparations(random, players.length, MAX_SEPARATIONS);
+
+      if (oracleDifference(RosterFixtures.roster(players, separations)) == -1) {
+        continue;
+      }
+
+      CompactRoster roster = RosterFixtures.roster(players, separations);
+      HeuristicBalanceMixer mixer = new HeuristicBalanceMixer(UNBOUNDED_BUDGET_MILLIS);
+      List<LineupImprovement> improvements = new ArrayList<>();
+
+      mixer.setImprovementsListener(improvements::add);
+      mixer.withAnchorages(roster);
+
+      for (int improvement = 1; improvement < improvements.size(); improvement++) {
+        assertTrue(improvements.get(improvement)
+                               .getSkillDifference() < improvements.get(improvement - 1)
+                                                                   .getSkillDifference());
+      }
+
+      assertFalse(improvements.getLast()
+                              .hasRepeatedPairings());
+      assertEquals(roster.getTeamMask(), improvements.getLast()
+                                                     .getTeamMask());
+      assertEquals(RosterFixtures.difference(roster), improvements.getLast()
+                                                                  .getSkillDifference());
+    }
+  }
+
+  // ---------- Private methods ----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * @param roster Compact roster to distribute.
+   *
+   * @return The smallest skill points difference found by the oracle, or -1 if there is no valid distribution.
+   */
+  private static int oracleDifference(CompactRoster roster) {
+    ExhaustiveBalanceSolver oracle = new ExhaustiveBalanceSolver(roster);
+
+    oracle.solve();
+
+    return oracle.getBestDifference();
+  }
+
+  /**
+   * @param roster Compact roster without constraints, where every position has twice its players limit.
+   *
+   * @return The largest skill points difference between two consecutive players of the same position, sorted by skill points, taken in pairs.
+   */
+  private static int largestPairDifference(CompactRoster roster) {
+    int largest = 0;
+
+    for (int position = 0; position < CompactRoster.POSITIONS; position++) {
+      int[] skills = BitSet.valueOf(new long[] {roster.getPositionMask(position)})
+                           .stream()
+                           .map(player -> roster.getSkills()[player])
+                           .sorted()
+                           .toArray();
+
+      for (int pair = 0; 2 * pair + 1 < skills.length; pair++) {
+        largest = Math.max(largest, skills[2 * pair + 1] - skills[2 * pair]);
+      }
+    }
+
+    return largest;
+  }
+
+  /**
+   * @param roster Compact roster with every player assigned.
+   *
+   * @return Whether no swap of two players of the same position that are neither anchored nor separated reduces the skill points difference.
+   */
+  private static boolean isLocalOptimum(CompactRoster roster) {
+    int difference = roster.getTeamSkill(0) - roster.getTeamSkill(1);
+
+    for (int firstPlayer = 0; firstPlayer < roster.getPlayersCount(); firstPlayer++) {
+      for (int secondPlayer = 0; secondPlayer < roster.getPlayersCount(); secondPlayer++) {
+        if (isMovable(roster, firstPlayer) && isMovable(roster, secondPlayer) && roster.getTeam(firstPlayer) == 0 && roster.getTeam(secondPlayer) == 1
+            && roster.getPositions()[firstPlayer] == roster.getPositions()[secondPlayer]
+            && Math.abs(difference - 2 * (roster.getSkills()[firstPlayer] - roster.getSkills()[secondPlayer])) < Math.abs(difference)) {
+          return false;
+        }
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * @param roster Compact roster.
+   * @param player Player index.
+   *
+   * @return Whether the player is neither anchored nor separated.
+   */
+  private static boolean isMovable(CompactRoster roster, int player) {
+    return roster.getAnchorages()[player] == 0 && roster.getSeparationMask(player) == 0;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,114 @@
+package armameeldoparti.utils.mixers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import armameeldoparti.models.Player;
+import armameeldoparti.utils.solver.SkillBalanceSolver;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Mixer result cache tests class.
+ *
+ * <p>Checks that a stored distribution is restored for a renamed and reordered copy of its roster but not for another objective, that the hit rate
+ * counts every lookup, and that the least recently used problem is the one discarded once the capacity is reached.
+ *
+ * @author Bonino, Francisco Ignacio.
+ *
+ * @version 0.0.1
+ *
+ * @since 3.0
+ */
+class MixerResultCacheTest {
+
+  // ---------- Private constants --------------------------------------------------------------------------------------------------------------------
+
+  private static final int MAX_ANCHORAGES = 3;
+  private static final int MAX_SEPARATIONS = 4;
+  private static final int MAX_SKILL = 5;
+
+  private static final String OBJECTIVE = "balance";
+  private static final String OTHER_OBJECTIVE = "pairings";
+
+  // ---------- Tests --------------------------------------------------------------------------------------------------------------------------------
+
+  @Test
+  void storedDistributionIsRestoredForTheSameProblem() {
+    Random random = new Random(44);
+
+    Player[] players;
+
+    List<int[]> separations;
+
+    do {
+      players = RosterFixtures.randomPlayers(random, MAX_SKILL);
+
+      RosterFixtures.anchorRandomly(random, players, MAX_ANCHORAGES);
+
+      separations = RosterFixtures.randomSeparations(random, players.length, MAX_SEPARATIONS);
+    } while (!new SkillBalanceSolver(RosterFixtures.roster(players, separations)).solve());
+
+    int[] permutation = RosterFixtures.randomPermutation(random, players);
+
+    CompactRoster roster = RosterFixtures.roster(players, separations);
+    CompactRoster permutedRoster = RosterFixtures.roster(RosterFixtures.permutedCopies(players, permutation),
+                                                         RosterFixtures.permutedSeparations(separations, permutation));
+    MixerResultCache cache = new MixerResultCache(2);
+
+    assertFalse(cache.restore(roster, new RosterFingerprint(roster), OBJECTIVE));
+
+    new SkillBalanceSolver(roster).solve();
+
+    cache.store(roster, new RosterFingerprint(roster), OBJECTIVE);
+
+    assertFalse(cache.restore(permutedRoster, new RosterFingerprint(permutedRoster), OTHER_OBJECTIVE));
+    assertEquals(0, permutedRoster.getTeamPlayersMask(0) | permutedRoster.getTeamPlayersMask(1));
+
+    assertTrue(cache.restore(permutedRoster, new RosterFingerprint(permutedRoster), OBJECTIVE));
+    assertTrue(RosterFixtures.isValid(permutedRoster, true));
+    assertEquals(RosterFixtures.difference(roster), RosterFixtures.difference(permutedRoster));
+
+    assertEquals(1, cache.getHits());
+    assertEquals(2, cache.getMisses());
+    assertEquals(1.0 / 3, cache.getHitRate());
+  }
+
+  @Test
+  void leastRecentlyUsedProblemIsDiscarded() {
+    Random random = new Random(45);
+
+    CompactRoster[] rosters = new CompactRoster[3];
+
+    for (int rosterNumber = 0; rosterNumber < rosters.length; rosterNumber++) {
+      // The skill points are offset by roster, so every roster is a different problem
+      Player[] players = RosterFixtures.randomPlayers(random, MAX_SKILL);
+
+      for (Player player : players) {
+        player.setSkillPoints(player.getSkillPoints() + rosterNumber * MAX_SKILL);
+      }
+
+      rosters[rosterNumber] = RosterFixtures.roster(players, List.of());
+
+      new SkillBalanceSolver(rosters[rosterNumber]).solve();
+    }
+
+    MixerResultCache cache = new MixerResultCache(2);
+
+    cache.store(rosters[0], new RosterFingerprint(rosters[0]), OBJECTIVE);
+    cache.store(rosters[1], new RosterFingerprint(rosters[1]), OBJECTIVE);
+
+    // Restoring the first roster makes the second one the least recently used
+    assertTrue(cache.restore(rosters[0], new RosterFingerprint(rosters[0]), OBJECTIVE));
+
+    cache.store(rosters[2], new RosterFingerprint(rosters[2]), OBJECTIVE);
+
+    assertEquals(2, cache.getDistributions()
+                         .size());
+    assertTrue(cache.restore(rosters[0], new RosterFingerprint(rosters[0]), OBJECTIVE));
+    assertFalse(cache.restore(rosters[1], new RosterFingerprint(rosters[1]), OBJECTIVE));
+    assertTrue(cache.restore(rosters[2], new RosterFingerprint(rosters[2]), OBJECTIVE));
+  }
+}
\ No newline at end of file
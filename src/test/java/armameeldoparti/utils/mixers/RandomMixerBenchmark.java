@@ -0,0 +1,114 @@
+package armameeldoparti.utils.mixers;
+
+import armameeldoparti.models.Player;
+import armameeldoparti.models.Team;
+import armameeldoparti.utils.storage.CoOccurrenceMatrix;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Random distribution benchmarks class.
+ *
+ * <p>Measures a random distribution without anchorages on a full roster, both on the compact roster alone (the path that reuses the mixer buffer)
+ * and on the path taken by the results view for each redistribution: resetting the roster built for the players, drawing several lineups to reduce
+ * the repeated pairings of a co-occurrence matrix, and applying the kept one to the teams.
+ *
+ * <p>The allocated bytes per distribution are reported by adding the GC profiler to the benchmarks arguments ({@code -prof gc}).
+ *
+ * @author Bonino, Francisco Ignacio.
+ *
+ * @version 0.0.1
+ *
+ * @since 3.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RandomMixerBenchmark {
+
+  // ---------- Private constants --------------------------------------------------------------------------------------------------------------------
+
+  private static final int MAX_PAST_MATCHES = 10;
+  private static final int MAX_SKILL = 5;
+
+  // ---------- Private fields -----------------------------------------------------------------------------------------------------------------------
+
+  private AntiRepetitionMixer antiRepetitionMixer;
+
+  private CompactRoster roster;
+
+  private List<Team> teams;
+
+  private RandomMixer mixer;
+
+  // ---------- Public methods -----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Builds a seeded random roster, a co-occurrence matrix with seeded random past matches and the teams where the players are distributed.
+   */
+  @Setup
+  public void setUp() {
+    Random random = new Random(1);
+
+    Player[] players = RosterFixtures.randomPlayers(random, MAX_SKILL);
+
+    CoOccurrenceMatrix coOccurrences = new CoOccurrenceMatrix(Arrays.stream(players)
+                                                                    .map(Player::getName)
+                                                                    .toList());
+
+    for (int player = 0; player < players.length; player++) {
+      for (int teammate = player + 1; teammate < players.length; teammate++) {
+        coOccurrences.set(player, teammate, random.nextInt(MAX_PAST_MATCHES + 1));
+      }
+    }
+
+    roster = RosterFixtures.roster(players, List.of());
+    teams = List.of(new Team(1), new Team(2));
+    mixer = new RandomMixer();
+    antiRepetitionMixer = new AntiRepetitionMixer(new RandomMixer());
+
+    antiRepetitionMixer.setCoOccurrences(coOccurrences);
+  }
+
+  /**
+   * @return The second team mask of a distribution made on the same compact roster, without building any object.
+   */
+  @Benchmark
+  public long compactWithoutAnchorages() {
+    roster.clearTeams();
+
+    mixer.withoutAnchorages(roster);
+
+    return roster.getTeamMask();
+  }
+
+  /**
+   * @return The teams of a redistribution made as the results view does: resetting the same compact roster, drawing the lineup with the fewest
+   *         repeated pairings, and applying it to the teams.
+   */
+  @Benchmark
+  public List<Team> teamsWithoutAnchorages() {
+    roster.reset();
+
+    antiRepetitionMixer.withoutAnchorages(roster);
+
+    roster.applyTo(teams);
+
+    return teams;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,127 @@
+package armameeldoparti.utils.mixers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import armameeldoparti.models.Player;
+import armameeldoparti.utils.solver.SkillBalanceSolver;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Roster fingerprint tests class.
+ *
+ * <p>Checks that the fingerprint key of seeded random rosters doesn't change when their players are renamed and reordered within their positions,
+ * that it changes with the skill points, and that a distribution solved for a roster is remapped to its reordered copy keeping every constraint and
+ * the same skill points difference.
+ *
+ * @author Bonino, Francisco Ignacio.
+ *
+ * @version 0.0.1
+ *
+ * @since 3.0
+ */
+class RosterFingerprintTest {
+
+  // ---------- Private constants --------------------------------------------------------------------------------------------------------------------
+
+  private static final int MAX_ANCHORAGES = 3;
+  private static final int MAX_SEPARATIONS = 4;
+  private static final int MAX_SKILL = 5;
+  private static final int ROSTERS = 300;
+
+  // ---------- Tests --------------------------------------------------------------------------------------------------------------------------------
+
+  @Test
+  void keyIgnoresTheNamesAndTheOrder() {
+    Random random = new Random(40);
+
+    for (int rosterNumber = 0; rosterNumber < ROSTERS; rosterNumber++) {
+      Player[] players = RosterFixtures.randomPlayers(random, MAX_SKILL);
+
+      RosterFixtures.anchorRandomly(random, players, MAX_ANCHORAGES);
+
+      List<int[]> separations = RosterFixtures.randomSeparations(random, players.length, MAX_SEPARATIONS);
+      int[] permutation = RosterFixtures.randomPermutation(random, players);
+
+      RosterFingerprint fingerprint = new RosterFingerprint(RosterFixtures.roster(players, separations));
+      RosterFingerprint permutedFingerprint = new RosterFingerprint(RosterFixtures.roster(RosterFixtures.permutedCopies(players, permutation),
+                                                                                          RosterFixtures.permutedSeparations(separations,
+                                                                                                                             permutation)));
+
+      assertEquals(fingerprint.isFeasible(), permutedFingerprint.isFeasible());
+      assertEquals(fingerprint.getKey(), permutedFingerprint.getKey());
+    }
+  }
+
+  @Test
+  void keyChangesWithTheSkillPoints() {
+    Random random = new Random(41);
+
+    for (int rosterNumber = 0; rosterNumber < ROSTERS; rosterNumber++) {
+      Player[] players = RosterFixtures.randomPlayers(random, MAX_SKILL);
+
+      String key = new RosterFingerprint(RosterFixtures.roster(players, List.of())).getKey();
+
+      Player changedPlayer = players[random.nextInt(players.length)];
+
+      changedPlayer.setSkillPoints(changedPlayer.getSkillPoints() + MAX_SKILL);
+
+      assertNotEquals(key, new RosterFingerprint(RosterFixtures.roster(players, List.of())).getKey());
+    }
+  }
+
+  @Test
+  void infeasibleRosterHasNoUnits() {
+    Player[] players = RosterFixtures.randomPlayers(new Random(42), MAX_SKILL);
+
+    players[0].setAnchored(true);
+    players[0].setAnchorageNumber(1);
+    players[1].setAnchored(true);
+    players[1].setAnchorageNumber(1);
+
+    RosterFingerprint fingerprint = new RosterFingerprint(RosterFixtures.roster(players, List.<int[]>of(new int[] {0, 1})));
+
+    assertFalse(fingerprint.isFeasible());
+    assertEquals("", fingerprint.getKey());
+    assertEquals(0, fingerprint.getFirstSides().length);
+  }
+
+  @Test
+  void distributionIsRemappedToTheReorderedRoster() {
+    Random random = new Random(43);
+
+    int remappedRosters = 0;
+
+    for (int rosterNumber = 0; rosterNumber < ROSTERS; rosterNumber++) {
+      Player[] players = RosterFixtures.randomPlayers(random, MAX_SKILL);
+
+      RosterFixtures.anchorRandomly(random, players, MAX_ANCHORAGES);
+
+      List<int[]> separations = RosterFixtures.randomSeparations(random, players.length, MAX_SEPARATIONS);
+      int[] permutation = RosterFixtures.randomPermutation(random, players);
+
+      CompactRoster roster = RosterFixtures.roster(players, separations);
+
+      if (!new SkillBalanceSolver(roster).solve()) {
+        continue;
+      }
+
+      CompactRoster permutedRoster = RosterFixtures.roster(RosterFixtures.permutedCopies(players, permutation),
+                                                           RosterFixtures.permutedSeparations(separations, permutation));
+      RosterFingerprint permutedFingerprint = new RosterFingerprint(permutedRoster);
+
+      permutedFingerprint.applyDistribution(permutedRoster, new RosterFingerprint(roster).getDistribution(roster));
+
+      assertTrue(RosterFixtures.isValid(permutedRoster, true));
+      assertEquals(RosterFixtures.difference(roster), RosterFixtures.difference(permutedRoster));
+
+      remappedRosters++;
+    }
+
+    assertTrue(remappedRosters > 0);
+  }
+}
\ No newline at end of file
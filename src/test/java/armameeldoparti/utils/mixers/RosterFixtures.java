@@ -0,0 +1,262 @@
+package armameeldoparti.utils.mixers;
+
+import armameeldoparti.models.Player;
+import armameeldoparti.models.Position;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Roster fixtures class.
+ *
+ * <p>Builds seeded random rosters with the players distribution of the program (7 players per team), and checks the distributions made over them.
+ *
+ * @author Bonino, Francisco Ignacio.
+ *
+ * @version 0.0.1
+ *
+ * @since 3.0
+ */
+public final class RosterFixtures {
+
+  // ---------- Public constants ---------------------------------------------------------------------------------------------------------------------
+
+  public static final int PLAYERS_COUNT = 14;
+
+  public static final DistributionPlan DISTRIBUTION_PLAN = DistributionPlan.of(new EnumMap<>(Map.of(Position.CENTRAL_DEFENDER, 1,
+                                                                                                    Position.LATERAL_DEFENDER, 2,
+                                                                                                    Position.MIDFIELDER, 2,
+                                                                                                    Position.FORWARD, 1,
+                                                                                                    Position.GOALKEEPER, 1)));
+
+  // ---------- Constructor --------------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Empty, private constructor.
+   */
+  private RosterFixtures() {
+    // Body not needed
+  }
+
+  // ---------- Public static methods ----------------------------------------------------------------------------------------------------------------
+
+  /**
+   * @param random   Random numbers generator.
+   * @param maxSkill Maximum skill points of each player.
+   *
+   * @return The players of a full roster, sorted by position and with random skill points from 1 to the maximum skill points.
+   */
+  public static Player[] randomPlayers(Random random, int maxSkill) {
+    Player[] players = new Player[PLAYERS_COUNT];
+
+    int id = 0;
+
+    for (Position position : Position.values()) {
+      for (int count = 0; count < CompactRoster.TEAMS * DISTRIBUTION_PLAN.getPositionsLimits()[position.ordinal()]; count++, id++) {
+        players[id] = new Player(id, "P" + id, position);
+
+        players[id].setSkillPoints(1 + random.nextInt(maxSkill));
+      }
+    }
+
+    return players;
+  }
+
+  /**
+   * Anchors some random groups of 2 to 4 players. Each player is anchored at most once.
+   *
+   * @param random        Random numbers generator.
+   * @param players       Players to anchor.
+   * @param maxAnchorages Maximum number of anchorages.
+   */
+  public static void anchorRandomly(Random random, Player[] players, int maxAnchorages) {
+    int anchorages = random.nextInt(maxAnchorages + 1);
+
+    for (int anchorageNumber = 1; anchorageNumber <= anchorages; anchorageNumber++) {
+      int size = 2 + random.nextInt(3);
+
+      for (int member = 0; member < size; member++) {
+        Player player = players[random.nextInt(players.length)];
+
+        if (!player.isAnchored()) {
+          player.setAnchored(true);
+          player.setAnchorageNumber(anchorageNumber);
+        }
+      }
+    }
+  }
+
+  /**
+   * Gives one alternative position to some random players, with random skill points in it.
+   *
+   * @param random   Random numbers generator.
+   * @param players  Players to modify.
+   * @param maxSkill Maximum skill points of each player in its alternative position.
+   */
+  public static void addRandomAlternativePositions(Random random, Player[] players, int maxSkill) {
+    for (Player player : players) {
+      Position alternativePosition = Position.values()[random.nextInt(CompactRoster.POSITIONS)];
+
+      if (random.nextInt(3) == 0 && alternativePosition != player.getPosition()) {
+        player.getAlternativePositions()
+              .put(alternativePosition, 1 + random.nextInt(maxSkill));
+      }
+    }
+  }
+
+  /**
+   * @param random         Random numbers generator.
+   * @param playersCount   Number of players.
+   * @param maxSeparations Maximum number of separations.
+   *
+   * @return Random pairs of different players indexes to separate.
+   */
+  public static List<int[]> randomSeparations(Random random, int playersCount, int maxSeparations) {
+    List<int[]> separations = new ArrayList<>();
+
+    int separationsCount = random.nextInt(maxSeparations + 1);
+
+    for (int separation = 0; separation < separationsCount; separation++) {
+      int player1 = random.nextInt(playersCount);
+      int player2 = random.nextInt(playersCount);
+
+      if (player1 != player2) {
+        separations.add(new int[] {player1, player2});
+      }
+    }
+
+    return separations;
+  }
+
+  /**
+   * @param random  Random numbers generator.
+   * @param players Players sorted by position.
+   *
+   * @return A random permutation of the players indexes that only exchanges players of the same position, so the players stay sorted by position.
+   */
+  public static int[] randomPermutation(Random random, Player[] players) {
+    int[] permutation = new int[players.length];
+
+    for (int player = 0; player < players.length; player++) {
+      permutation[player] = player;
+    }
+
+    for (int player = players.length - 1; player > 0; player--) {
+      int firstOfPosition = player;
+
+      while (firstOfPosition > 0 && players[firstOfPosition - 1].getPosition() == players[player].getPosition()) {
+        firstOfPosition--;
+      }
+
+      int swapped = firstOfPosition + random.nextInt(player - firstOfPosition + 1);
+      int index = permutation[player];
+
+      permutation[player] = permutation[swapped];
+      permutation[swapped] = index;
+    }
+
+    return permutation;
+  }
+
+  /**
+   * @param players     Players to copy.
+   * @param permutation New index of each player.
+   *
+   * @return Renamed copies of the players, each one at its new index, with the same position, skill points and anchorage.
+   */
+  public static Player[] permutedCopies(Player[] players, int[] permutation) {
+    Player[] copies = new Player[players.length];
+
+    for (int player = 0; player < players.length; player++) {
+      Player copy = new Player(permutation[player], "Q" + permutation[player], players[player].getPosition());
+
+      copy.setSkillPoints(players[player].getSkillPoints());
+      copy.setAnchored(players[player].isAnchored());
+      copy.setAnchorageNumber(players[player].getAnchorageNumber());
+
+      copies[permutation[player]] = copy;
+    }
+
+    return copies;
+  }
+
+  /**
+   * @param separations Pairs of players indexes to separate.
+   * @param permutation New index of each player.
+   *
+   * @return The same separations between the players at their new indexes.
+   */
+  public static List<int[]> permutedSeparations(List<int[]> separations, int[] permutation) {
+    return separations.stream()
+                      .map(separation -> new int[] {permutation[separation[0]], permutation[separation[1]]})
+                      .toList();
+  }
+
+  /**
+   * @param players     Players of the roster.
+   * @param separations Pairs of players indexes to separate.
+   *
+   * @return A compact roster with the players and separations, and every player unassigned.
+   */
+  public static CompactRoster roster(Player[] players, List<int[]> separations) {
+    CompactRoster roster = new CompactRoster(players, DISTRIBUTION_PLAN);
+
+    for (int[] separation : separations) {
+      roster.separate(separation[0], separation[1]);
+    }
+
+    return roster;
+  }
+
+  /**
+   * @param roster      Compact roster to check.
+   * @param constrained Whether the anchorages and separations must be satisfied.
+   *
+   * @return Whether every player is assigned, every team has exactly the players limit of each position, and, if constrained, every anchorage is
+   *         on a single team and no separated players are on the same team.
+   */
+  public static boolean isValid(CompactRoster roster, boolean constrained) {
+    if ((roster.getTeamPlayersMask(0) | roster.getTeamPlayersMask(1)) != roster.getPlayersMask()) {
+      return false;
+    }
+
+    for (int team = 0; team < CompactRoster.TEAMS; team++) {
+      for (int position = 0; position < CompactRoster.POSITIONS; position++) {
+        if (Long.bitCount(roster.getTeamPlayersMask(team) & roster.getPositionMask(position)) != roster.getPositionsLimits()[position]) {
+          return false;
+        }
+      }
+    }
+
+    if (!constrained) {
+      return true;
+    }
+
+    for (int anchorageNumber : roster.getAnchorageNumbers()) {
+      long anchorageMask = roster.getAnchorageMask(anchorageNumber);
+
+      if ((anchorageMask & roster.getTeamPlayersMask(0)) != 0 && (anchorageMask & roster.getTeamPlayersMask(1)) != 0) {
+        return false;
+      }
+    }
+
+    for (int player = 0; player < roster.getPlayersCount(); player++) {
+      if ((roster.getSeparationMask(player) & roster.getTeamPlayersMask(roster.getTeam(player))) != 0) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * @param roster Compact roster with every player assigned.
+   *
+   * @return The skill points difference between the teams.
+   */
+  public static int difference(CompactRoster roster) {
+    return Math.abs(roster.getTeamSkill(0) - roster.getTeamSkill(1));
+  }
+}
\ No newline at end of file
@@ -0,0 +1,234 @@
+package armameeldoparti.utils.mixers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import armameeldoparti.models.Player;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Team constraints tests class.
+ *
+ * <p>Checks the 2-coloring of the anchorages and separations on small hand-made cases (odd and even separation cycles, separated players of the same
+ * anchorage), and compares its feasibility against brute force enumeration of every split of seeded random rosters, regardless of the players
+ * limits.
+ *
+ * @author Bonino, Francisco Ignacio.
+ *
+ * @version 0.0.1
+ *
+ * @since 3.0
+ */
+class TeamConstraintsTest {
+
+  // ---------- Private constants --------------------------------------------------------------------------------------------------------------------
+
+  private static final int MAX_ANCHORAGES = 3;
+  private static final int MAX_SEPARATIONS = 6;
+  private static final int MAX_SKILL = 5;
+  private static final int ROSTERS = 300;
+
+  // ---------- Tests --------------------------------------------------------------------------------------------------------------------------------
+
+  @Test
+  void anchorageWithoutSeparationsHasAnEmptySecondSide() {
+    Player[] players = RosterFixtures.randomPlayers(new Random(30), MAX_SKILL);
+
+    anchor(players, 1, 0, 3, 5);
+
+    TeamConstraints constraints = new TeamConstraints(RosterFixtures.roster(players, List.of()));
+
+    assertTrue(constraints.isFeasible());
+    assertEquals(1, constraints.getGroupsCount());
+    assertEquals(0b101001L, constraints.getFirstSides()[0]);
+    assertEquals(0, constraints.getSecondSides()[0]);
+  }
+
+  @Test
+  void separationsChainAlternatesTheSides() {
+    Player[] players = RosterFixtures.randomPlayers(new Random(31), MAX_SKILL);
+
+    anchor(players, 1, 0, 1);
+    anchor(players, 2, 2, 3);
+
+    // The anchorages are separated through a not anchored player, so they end on the same side
+    TeamConstraints constraints = new TeamConstraints(RosterFixtures.roster(players, List.of(new int[] {1, 4}, new int[] {4, 2})));
+
+    assertTrue(constraints.isFeasible());
+    assertEquals(1, constraints.getGroupsCount());
+
+    boolean anchoragesFirst = (constraints.getFirstSides()[0] & 1) != 0;
+
+    assertEquals(0b1111L, anchoragesFirst ? constraints.getFirstSides()[0] : constraints.getSecondSides()[0]);
+    assertEquals(0b10000L, anchoragesFirst ? constraints.getSecondSides()[0] : constraints.getFirstSides()[0]);
+  }
+
+  @Test
+  void evenSeparationsCycleIsFeasible() {
+    Player[] players = RosterFixtures.randomPlayers(new Random(32), MAX_SKILL);
+
+    TeamConstraints constraints = new TeamConstraints(RosterFixtures.roster(players, cycle(0, 1, 2, 3)));
+
+    assertTrue(constraints.isFeasible());
+    assertEquals(1, constraints.getGroupsCount());
+    assertEquals(Long.bitCount(constraints.getFirstSides()[0]), Long.bitCount(constraints.getSecondSides()[0]));
+  }
+
+  @Test
+  void oddSeparationsCycleIsInfeasible() {
+    Player[] players = RosterFixtures.randomPlayers(new Random(33), MAX_SKILL);
+
+    assertFalse(new TeamConstraints(RosterFixtures.roster(players, cycle(0, 1, 2))).isFeasible());
+    assertFalse(new TeamConstraints(RosterFixtures.roster(players, cycle(4, 5, 6, 7, 8))).isFeasible());
+  }
+
+  @Test
+  void oddCycleThroughAnAnchorageIsInfeasible() {
+    Player[] players = RosterFixtures.randomPlayers(new Random(34), MAX_SKILL);
+
+    anchor(players, 1, 0, 1);
+
+    // The anchorage is a single node, so separating each of its players from one end of a separated pair closes a cycle of length 3
+    assertFalse(new TeamConstraints(RosterFixtures.roster(players, List.of(new int[] {0, 2}, new int[] {2, 3}, new int[] {3, 1}))).isFeasible());
+  }
+
+  @Test
+  void separatedPlayersOfTheSameAnchorageAreInfeasible() {
+    Player[] players = RosterFixtures.randomPlayers(new Random(35), MAX_SKILL);
+
+    anchor(players, 1, 2, 6, 9);
+
+    assertFalse(new TeamConstraints(RosterFixtures.roster(players, List.of(new int[] {9, 2}))).isFeasible());
+  }
+
+  @Test
+  void feasibilityMatchesBruteForce() {
+    Random random = new Random(36);
+
+    int infeasibleRosters = 0;
+
+    for (int rosterNumber = 0; rosterNumber < ROSTERS; rosterNumber++) {
+      Player[] players = RosterFixtures.randomPlayers(random, MAX_SKILL);
+
+      RosterFixtures.anchorRandomly(random, players, MAX_ANCHORAGES);
+
+      CompactRoster roster = RosterFixtures.roster(players, RosterFixtures.randomSeparations(random, players.length, MAX_SEPARATIONS));
+      TeamConstraints constraints = new TeamConstraints(roster);
+
+      boolean expected = bruteForceFeasible(roster);
+
+      assertEquals(expected, constraints.isFeasible());
+
+      if (expected) {
+        assertTrue(coversTheConstrainedPlayers(roster, constraints));
+      }
+
+      infeasibleRosters += expected ? 0 : 1;
+    }
+
+    // Both outcomes must be exercised for the comparison to mean anything
+    assertTrue(infeasibleRosters > 0 && infeasibleRosters < ROSTERS);
+  }
+
+  // ---------- Private methods ----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * @param players         Players of the roster.
+   * @param anchorageNumber Anchorage number to set.
+   * @param indexes         Indexes of the players to anchor.
+   */
+  private static void anchor(Player[] players, int anchorageNumber, int... indexes) {
+    for (int index : indexes) {
+      players[index].setAnchored(true);
+      players[index].setAnchorageNumber(anchorageNumber);
+    }
+  }
+
+  /**
+   * @param indexes Players indexes, in the cycle order.
+   *
+   * @return The separations between every player and the next one, and between the last player and the first one.
+   */
+  private static List<int[]> cycle(int... indexes) {
+    int[][] separations = new int[indexes.length][];
+
+    for (int index = 0; index < indexes.length; index++) {
+      separations[index] = new int[] {indexes[index], indexes[(index + 1) % indexes.length]};
+    }
+
+    return List.of(separations);
+  }
+
+  /**
+   * @param roster Compact roster with the anchorages and separations.
+   *
+   * @return Whether any split of the players in two teams, without players limits, keeps every anchorage on a single team and every pair of
+   *         separated players on different teams.
+   */
+  private static boolean bruteForceFeasible(CompactRoster roster) {
+    for (long teamMask = 0; teamMask < 1L << roster.getPlayersCount(); teamMask++) {
+      boolean valid = true;
+
+      for (int anchorageNumber : roster.getAnchorageNumbers()) {
+        long anchorageTeam = roster.getAnchorageMask(anchorageNumber) & teamMask;
+
+        valid &= anchorageTeam == 0 || anchorageTeam == roster.getAnchorageMask(anchorageNumber);
+      }
+
+      for (int player = 0; player < roster.getPlayersCount() && valid; player++) {
+        long teammates = (teamMask & (1L << player)) != 0 ? teamMask : ~teamMask;
+
+        valid = (roster.getSeparationMask(player) & teammates) == 0;
+      }
+
+      if (valid) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * @param roster      Compact roster with the anchorages and separations.
+   * @param constraints Feasible constraint groups of the roster.
+   *
+   * @return Whether the sides of every group are disjoint, together cover every anchored or separated player exactly once, and never hold two
+   *         separated players on the same side.
+   */
+  private static boolean coversTheConstrainedPlayers(CompactRoster roster, TeamConstraints constraints) {
+    long covered = 0;
+
+    for (int group = 0; group < constraints.getGroupsCount(); group++) {
+      long firstSide = constraints.getFirstSides()[group];
+      long secondSide = constraints.getSecondSides()[group];
+
+      if ((covered & (firstSide | secondSide)) != 0 || (firstSide & secondSide) != 0) {
+        return false;
+      }
+
+      covered |= firstSide | secondSide;
+
+      for (long side : new long[] {firstSide, secondSide}) {
+        for (long remaining = side; remaining != 0; remaining &= remaining - 1) {
+          if ((roster.getSeparationMask(Long.numberOfTrailingZeros(remaining)) & side) != 0) {
+            return false;
+          }
+        }
+      }
+    }
+
+    for (int player = 0; player < roster.getPlayersCount(); player++) {
+      boolean constrained = roster.getAnchorages()[player] != 0 || roster.getSeparationMask(player) != 0;
+
+      if (constrained != ((covered & (1L << player)) != 0)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+}
\ No newline at end of file
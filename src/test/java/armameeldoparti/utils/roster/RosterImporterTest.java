@@ -0,0 +1,313 @@
+package armameeldoparti.utils.roster;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import armameeldoparti.models.Player;
+import armameeldoparti.models.Position;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Roster importer tests class.
+ *
+ * <p>Imports valid CSV, TSV and plain-text rosters and checks the players sets they are applied to, and imports malformed rosters to check that every
+ * error is collected with its line number. A roster read from a generated source, much larger than any real one, checks that the source is
+ * streamed line by line.
+ *
+ * @author Bonino, Francisco Ignacio.
+ *
+ * @version 0.0.1
+ *
+ * @since 3.0
+ */
+class RosterImporterTest {
+
+  // ---------- Private constants --------------------------------------------------------------------------------------------------------------------
+
+  private static final int STREAMED_COMMENT_LINES = 200_000;
+
+  /**
+   * Players sets sizes of the program (7 players per team).
+   */
+  private static final Map<Position, Integer> PLAYERS_SETS_SIZES = Map.of(Position.CENTRAL_DEFENDER, 2,
+                                                                          Position.LATERAL_DEFENDER, 4,
+                                                                          Position.MIDFIELDER, 4,
+                                                                          Position.FORWARD, 2,
+                                                                          Position.GOALKEEPER, 2);
+
+  private static final String CSV_ROSTER = """
+                                           nombre,posicion,puntaje,anclaje
+                                           Ana,C,3,a
+                                           Beto,C,4
+                                           Carla,L,2,a
+                                           Dario,L,5
+                                           Eva,L,1
+                                           Fede,L,3
+                                           # The midfielders can also play as forwards
+                                           Gina,M/F,4/2
+                                           Hugo,M/F,3
+                                           Ines,M,2
+                                           Juan,M,5
+                                           Kiko,F,4,b
+                                           Lola,F,3
+                                           Mario,G,2
+                                           Nora,G,4,b
+                                           """;
+
+  // ---------- Tests --------------------------------------------------------------------------------------------------------------------------------
+
+  @Test
+  void csvRosterIsApplied() throws IOException {
+    Map<Position, List<Player>> playersSets = emptyPlayersSets();
+
+    RosterImporter importer = new RosterImporter(playersSets);
+
+    assertTrue(importer.importRoster(new StringReader(CSV_ROSTER)));
+    assertTrue(importer.apply());
+
+    Player ana = playersSets.get(Position.CENTRAL_DEFENDER)
+                            .get(0);
+    Player gina = playersSets.get(Position.MIDFIELDER)
+                             .get(0);
+    Player hugo = playersSets.get(Position.MIDFIELDER)
+                             .get(1);
+
+    assertEquals("ANA", ana.getName());
+    assertEquals(3, ana.getSkillPoints());
+    assertEquals(1, ana.getAnchorageNumber());
+    assertEquals(1, playersSets.get(Position.LATERAL_DEFENDER)
+                               .get(0)
+                               .getAnchorageNumber());
+    assertEquals(2, playersSets.get(Position.GOALKEEPER)
+                               .get(1)
+                               .getAnchorageNumber());
+    assertFalse(playersSets.get(Position.CENTRAL_DEFENDER)
+                           .get(1)
+                           .isAnchored());
+
+    // The positions without skill points take the ones of the first position
+    assertEquals(2, gina.getSkillPoints(Position.FORWARD));
+    assertEquals(3, hugo.getSkillPoints(Position.FORWARD));
+    assertEquals(-1, hugo.getSkillPoints(Position.GOALKEEPER));
+  }
+
+  @Test
+  void tsvAndPlainTextLinesAreMixed() throws IOException {
+    Map<Position, List<Player>> playersSets = emptyPlayersSets();
+
+    RosterImporter importer = new RosterImporter(playersSets);
+
+    String roster = """
+                    Ana\tCENTRAL_DEFENDER\t3
+                    Beto;C;4
+                    Defensores laterales
+                    Carla
+                    Dario
+                    Eva
+                    Fede
+                    m
+                    Gina
+                    Hugo
+                    """;
+
+    assertTrue(importer.importRoster(new StringReader(roster)));
+    assertFalse(importer.apply());
+
+    assertEquals("BETO", playersSets.get(Position.CENTRAL_DEFENDER)
+                                    .get(1)
+                                    .getName());
+    assertEquals("FEDE", playersSets.get(Position.LATERAL_DEFENDER)
+                                    .get(3)
+                                    .getName());
+    assertEquals(List.of("GINA", "HUGO", "", ""), playersSets.get(Position.MIDFIELDER)
+                                                             .stream()
+                                                             .map(Player::getName)
+                                                             .toList());
+  }
+
+  @Test
+  void everyMalformedLineIsReported() throws IOException {
+    RosterImporter importer = new RosterImporter(emptyPlayersSets());
+
+    String roster = """
+                    Ana
+                    Beto,C,3,a,extra
+                    Carla,X
+                    Dario,,3
+                    Eva,L,9
+                    Fede,L,tres
+                    Gina,M/M
+                    Hugo,M/F,3/2/1
+                    Ines2,M
+                    Juanfernando,M
+                    Kiko,F
+                    kiko,F
+                    Lola,C
+                    Mario,C
+                    Nora,C
+                    """;
+
+    assertFalse(importer.importRoster(new StringReader(roster)));
+
+    List<String> errors = importer.getErrors();
+
+    List<Integer> expectedLines = List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 12, 15);
+
+    assertEquals(expectedLines.size(), errors.size());
+
+    for (int error = 0; error < errors.size(); error++) {
+      assertTrue(errors.get(error)
+                       .startsWith("Línea " + expectedLines.get(error) + ":"), errors.get(error));
+    }
+  }
+
+  @Test
+  void anchoragesAreValidatedWithTheManualRules() throws IOException {
+    RosterImporter importer = new RosterImporter(emptyPlayersSets());
+
+    String roster = """
+                    Ana,C,3,solo
+                    Beto,G,4,arqueros
+                    Carla,G,2,arqueros
+                    """;
+
+    assertFalse(importer.importRoster(new StringReader(roster)));
+
+    List<String> errors = importer.getErrors();
+
+    assertEquals(2, errors.size());
+    assertTrue(errors.get(0)
+                     .contains("\"SOLO\""));
+    assertTrue(errors.get(1)
+                     .contains("\"ARQUEROS\""));
+  }
+
+  @Test
+  void newImportDiscardsThePreviousOne() throws IOException {
+    RosterImporter importer = new RosterImporter(emptyPlayersSets());
+
+    assertFalse(importer.importRoster(new StringReader("Ana,X")));
+    assertTrue(importer.importRoster(new StringReader("Ana,C")));
+    assertTrue(importer.getErrors()
+                       .isEmpty());
+    assertEquals(1, importer.getImportedPlayers()
+                            .get(Position.CENTRAL_DEFENDER)
+                            .size());
+  }
+
+  @Test
+  void fileIsReadAsUtf8(@TempDir Path directory) throws IOException {
+    Path path = directory.resolve("plantel.csv");
+
+    Files.writeString(path, "Álvaro;C;3\nÑoño;C;4\n", StandardCharsets.UTF_8);
+
+    Map<Position, List<Player>> playersSets = emptyPlayersSets();
+
+    RosterImporter importer = new RosterImporter(playersSets);
+
+    assertTrue(importer.importRoster(path));
+
+    importer.apply();
+
+    assertEquals("ÁLVARO", playersSets.get(Position.CENTRAL_DEFENDER)
+                                      .get(0)
+                                      .getName());
+    assertEquals("ÑOÑO", playersSets.get(Position.CENTRAL_DEFENDER)
+                                    .get(1)
+                                    .getName());
+  }
+
+  @Test
+  void largeSourceIsStreamed() throws IOException {
+    RosterImporter importer = new RosterImporter(emptyPlayersSets());
+
+    // The last line is malformed, so its number shows that every generated line was read
+    assertFalse(importer.importRoster(new GeneratedRoster(STREAMED_COMMENT_LINES, "Ana,C\nBeto,X\n")));
+    assertEquals(List.of("Línea " + (STREAMED_COMMENT_LINES + 2) + ": la posición \"X\" no es válida"), importer.getErrors());
+  }
+
+  // ---------- Private methods ----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * @return Players sets with the sizes of the program, filled with players without a name.
+   */
+  private static Map<Position, List<Player>> emptyPlayersSets() {
+    Map<Position, List<Player>> playersSets = new EnumMap<>(Position.class);
+
+    for (Position position : Position.values()) {
+      List<Player> playersSet = new ArrayList<>();
+
+      for (int player = 0; player < PLAYERS_SETS_SIZES.get(position); player++) {
+        playersSet.add(new Player("", position));
+      }
+
+      playersSets.put(position, playersSet);
+    }
+
+    return playersSets;
+  }
+
+  // ---------- Private classes ----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Roster source made of many comment lines followed by some roster lines, generated as they are read so the whole source is never held in
+   * memory.
+   */
+  private static class GeneratedRoster extends Reader {
+
+    private static final String COMMENT_LINE = "# Comentario que el importador debe ignorar\n";
+
+    private int commentLines;
+    private int position;
+
+    private String lastLines;
+
+    /**
+     * @param commentLines Number of comment lines to generate.
+     * @param lastLines    Roster lines read after the comment lines.
+     */
+    GeneratedRoster(int commentLines, String lastLines) {
+      this.commentLines = commentLines;
+      this.lastLines = lastLines;
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) {
+      String current = commentLines > 0 ? COMMENT_LINE : lastLines;
+
+      if (commentLines == 0 && position == lastLines.length()) {
+        return -1;
+      }
+
+      int count = Math.min(length, current.length() - position);
+
+      current.getChars(position, position + count, buffer, offset);
+
+      position += count;
+
+      if (commentLines > 0 && position == COMMENT_LINE.length()) {
+        commentLines--;
+        position = 0;
+      }
+
+      return count;
+    }
+
+    @Override
+    public void close() {
+      // Nothing to release
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,203 @@
+package armameeldoparti.utils.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import armameeldoparti.models.Player;
+import armameeldoparti.models.Position;
+import armameeldoparti.utils.mixers.CompactRoster;
+import armameeldoparti.utils.mixers.HeuristicBalanceMixer;
+import armameeldoparti.utils.mixers.RosterFixtures;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Balance oracle tests class.
+ *
+ * <p>Compares the optimized distributions against the {@link ExhaustiveBalanceSolver} on seeded random rosters: the exact solvers must find a
+ * distribution whenever the oracle does, with the same skill points difference, and every distribution must satisfy its constraints.
+ *
+ * @author Bonino, Francisco Ignacio.
+ *
+ * @version 0.0.1
+ *
+ * @since 3.0
+ */
+class BalanceOracleTest {
+
+  // ---------- Private constants --------------------------------------------------------------------------------------------------------------------
+
+  private static final int MAX_ANCHORAGES = 3;
+  private static final int MAX_SEPARATIONS = 4;
+  private static final int MAX_SKILL = 5;
+  private static final int ROSTERS = 400;
+
+  // ---------- Tests --------------------------------------------------------------------------------------------------------------------------------
+
+  @Test
+  void skillBalanceSolverWithoutConstraintsMatchesOracle() {
+    Random random = new Random(1);
+
+    for (int rosterNumber = 0; rosterNumber < ROSTERS; rosterNumber++) {
+      Player[] players = RosterFixtures.randomPlayers(random, MAX_SKILL);
+
+      int expected = oracleDifference(RosterFixtures.roster(players, List.of()));
+
+      CompactRoster roster = RosterFixtures.roster(players, List.of());
+
+      assertTrue(new SkillBalanceSolver(roster).solve());
+      assertTrue(RosterFixtures.isValid(roster, false));
+      assertEquals(expected, RosterFixtures.difference(roster));
+    }
+  }
+
+  @Test
+  void skillBalanceSolverWithConstraintsMatchesOracle() {
+    Random random = new Random(2);
+
+    for (int rosterNumber = 0; rosterNumber < ROSTERS; rosterNumber++) {
+      Player[] players = RosterFixtures.randomPlayers(random, MAX_SKILL);
+
+      RosterFixtures.anchorRandomly(random, players, MAX_ANCHORAGES);
+
+      List<int[]> separations = RosterFixtures.randomSeparations(random, players.length, MAX_SEPARATIONS);
+
+      int expected = oracleDifference(RosterFixtures.roster(players, separations));
+
+      CompactRoster roster = RosterFixtures.roster(players, separations);
+
+      boolean solved = new SkillBalanceSolver(roster).solve();
+
+      assertEquals(expected != -1, solved);
+
+      if (solved) {
+        assertTrue(RosterFixtures.isValid(roster, true));
+        assertEquals(expected, RosterFixtures.difference(roster));
+      }
+    }
+  }
+
+  @Test
+  void positionAssignmentSolverMatchesOracle() {
+    Random random = new Random(3);
+
+    for (int rosterNumber = 0; rosterNumber < ROSTERS / 4; rosterNumber++) {
+      boolean constrained = random.nextBoolean();
+
+      Player[] players = RosterFixtures.randomPlayers(random, MAX_SKILL);
+
+      RosterFixtures.addRandomAlternativePositions(random, players, MAX_SKILL);
+
+      if (constrained) {
+        RosterFixtures.anchorRandomly(random, players, MAX_ANCHORAGES);
+      }
+
+      List<int[]> separations = constrained ? RosterFixtures.randomSeparations(random, players.length, MAX_SEPARATIONS) : List.of();
+
+      int expected = positionsOracleDifference(players, separations, new int[players.length], 0);
+
+      CompactRoster roster = RosterFixtures.roster(players, separations);
+
+      boolean solved = new PositionAssignmentSolver(roster, constrained).solve();
+
+      assertEquals(expected != -1, solved);
+
+      if (solved) {
+        assertTrue(RosterFixtures.isValid(roster, constrained));
+        assertEquals(expected, RosterFixtures.difference(roster));
+
+        for (int player = 0; player < players.length; player++) {
+          assertEquals(players[player].getSkillPoints(Position.values()[roster.getPositions()[player]]), roster.getSkills()[player]);
+        }
+      }
+    }
+  }
+
+  @Test
+  void heuristicBalanceMixerLineupsAreValid() {
+    Random random = new Random(4);
+
+    for (int rosterNumber = 0; rosterNumber < ROSTERS; rosterNumber++) {
+      Player[] players = RosterFixtures.randomPlayers(random, MAX_SKILL);
+
+      RosterFixtures.anchorRandomly(random, players, MAX_ANCHORAGES);
+
+      List<int[]> separations = RosterFixtures.randomSeparations(random, players.length, MAX_SEPARATIONS);
+
+      int expected = oracleDifference(RosterFixtures.roster(players, separations));
+
+      // The heuristic distribution is only used once the constraints are known to be possible to satisfy
+      if (expected == -1) {
+        continue;
+      }
+
+      CompactRoster roster = RosterFixtures.roster(players, separations);
+
+      new HeuristicBalanceMixer(0).withAnchorages(roster);
+
+      assertTrue(RosterFixtures.isValid(roster, true));
+      assertTrue(RosterFixtures.difference(roster) >= expected);
+    }
+  }
+
+  // ---------- Private methods ----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * @param roster Compact roster to distribute.
+   *
+   * @return The smallest skill points difference found by the oracle, or -1 if there is no valid distribution.
+   */
+  private static int oracleDifference(CompactRoster roster) {
+    ExhaustiveBalanceSolver oracle = new ExhaustiveBalanceSolver(roster);
+
+    oracle.solve();
+
+    return oracle.getBestDifference();
+  }
+
+  /**
+   * Runs the oracle once for every choice of positions of the players, each one playing in its position or in one of its alternative positions. The
+   * oracle only checks the players limits of the first team, so the choices that leave a different number of players for the second team are skipped.
+   *
+   * @param players     Players of the roster.
+   * @param separations Pairs of players indexes to separate.
+   * @param positions   Position ordinal chosen for each player so far.
+   * @param player      Next player whose position must be chosen.
+   *
+   * @return The smallest skill points difference among every choice of positions, or -1 if there is no valid distribution.
+   */
+  private static int positionsOracleDifference(Player[] players, List<int[]> separations, int[] positions, int player) {
+    if (player == players.length) {
+      CompactRoster roster = RosterFixtures.roster(players, separations);
+
+      for (int movedPlayer = 0; movedPlayer < players.length; movedPlayer++) {
+        roster.moveToPosition(movedPlayer, positions[movedPlayer]);
+      }
+
+      for (int position = 0; position < CompactRoster.POSITIONS; position++) {
+        if (Long.bitCount(roster.getPositionMask(position)) != CompactRoster.TEAMS * roster.getPositionsLimits()[position]) {
+          return -1;
+        }
+      }
+
+      return oracleDifference(roster);
+    }
+
+    int best = -1;
+
+    for (Position position : Position.values()) {
+      if (players[player].getSkillPoints(position) != -1) {
+        positions[player] = position.ordinal();
+
+        int difference = positionsOracleDifference(players, separations, positions, player + 1);
+
+        if (difference != -1 && (best == -1 || difference < best)) {
+          best = difference;
+        }
+      }
+    }
+
+    return best;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,114 @@
+package armameeldoparti.utils.solver;
+
+import armameeldoparti.models.Player;
+import armameeldoparti.utils.mixers.CompactRoster;
+import armameeldoparti.utils.mixers.RosterFixtures;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Balance solvers benchmarks class.
+ *
+ * <p>Uses the {@link ExhaustiveBalanceSolver} as the baseline of the {@link SkillBalanceSolver}: both solvers distribute the same seeded random
+ * rosters, with or without anchorages and separations, and each benchmark returns the sum of the skill points differences found, which must be the
+ * same for both solvers.
+ *
+ * @author Bonino, Francisco Ignacio.
+ *
+ * @version 0.0.1
+ *
+ * @since 3.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExhaustiveBalanceSolverBenchmark {
+
+  // ---------- Private constants --------------------------------------------------------------------------------------------------------------------
+
+  private static final int MAX_ANCHORAGES = 3;
+  private static final int MAX_SEPARATIONS = 4;
+  private static final int MAX_SKILL = 5;
+  private static final int ROSTERS = 16;
+
+  // ---------- Private fields -----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Whether the rosters have anchorages and separations.
+   */
+  @Param({"false", "true"})
+  private boolean constrained;
+
+  private CompactRoster[] rosters;
+
+  // ---------- Public methods -----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Builds the seeded random rosters distributed by both solvers.
+   */
+  @Setup
+  public void setUp() {
+    Random random = new Random(1);
+
+    rosters = new CompactRoster[ROSTERS];
+
+    for (int rosterNumber = 0; rosterNumber < ROSTERS; rosterNumber++) {
+      Player[] players = RosterFixtures.randomPlayers(random, MAX_SKILL);
+
+      if (constrained) {
+        RosterFixtures.anchorRandomly(random, players, MAX_ANCHORAGES);
+      }
+
+      rosters[rosterNumber] = RosterFixtures.roster(players,
+                                                    constrained ? RosterFixtures.randomSeparations(random, players.length, MAX_SEPARATIONS)
+                                                                : List.of());
+    }
+  }
+
+  /**
+   * @return The sum of the skill points differences found by the exhaustive solver, counting the rosters without a valid distribution as -1.
+   */
+  @Benchmark
+  public int exhaustiveBalanceSolver() {
+    int differences = 0;
+
+    for (CompactRoster roster : rosters) {
+      ExhaustiveBalanceSolver solver = new ExhaustiveBalanceSolver(roster);
+
+      solver.solve();
+
+      differences += solver.getBestDifference();
+    }
+
+    return differences;
+  }
+
+  /**
+   * @return The sum of the skill points differences found by the skill balance solver, counting the rosters without a valid distribution as -1.
+   */
+  @Benchmark
+  public int skillBalanceSolver() {
+    int differences = 0;
+
+    for (CompactRoster roster : rosters) {
+      differences += new SkillBalanceSolver(roster).solve() ? RosterFixtures.difference(roster) : -1;
+    }
+
+    return differences;
+  }
+}
\ No newline at end of file
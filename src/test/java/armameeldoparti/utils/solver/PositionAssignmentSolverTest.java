@@ -0,0 +1,231 @@
+package armameeldoparti.utils.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import armameeldoparti.models.Player;
+import armameeldoparti.models.Position;
+import armameeldoparti.utils.mixers.CompactRoster;
+import armameeldoparti.utils.mixers.RosterFixtures;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Position assignment solver tests class.
+ *
+ * <p>Compares the distributions of the {@link PositionAssignmentSolver} against a brute force enumeration of every choice of positions and every
+ * first team, working directly over the players so it doesn't share any code with the solver.
+ *
+ * @author Bonino, Francisco Ignacio.
+ *
+ * @version 0.0.1
+ *
+ * @since 3.0
+ */
+class PositionAssignmentSolverTest {
+
+  // ---------- Private constants --------------------------------------------------------------------------------------------------------------------
+
+  private static final int MAX_ANCHORAGES = 3;
+  private static final int MAX_SEPARATIONS = 4;
+  private static final int MAX_SKILL = 5;
+  private static final int ROSTERS = 60;
+
+  // ---------- Tests --------------------------------------------------------------------------------------------------------------------------------
+
+  @Test
+  void distributionsMatchBruteForce() {
+    Random random = new Random(21);
+
+    for (int rosterNumber = 0; rosterNumber < ROSTERS; rosterNumber++) {
+      boolean constrained = rosterNumber % 2 == 1;
+
+      Player[] players = RosterFixtures.randomPlayers(random, MAX_SKILL);
+
+      RosterFixtures.addRandomAlternativePositions(random, players, MAX_SKILL);
+
+      if (constrained) {
+        RosterFixtures.anchorRandomly(random, players, MAX_ANCHORAGES);
+      }
+
+      List<int[]> separations = constrained ? RosterFixtures.randomSeparations(random, players.length, MAX_SEPARATIONS) : List.of();
+
+      int expected = bruteForceDifference(players, separations, constrained, new Position[players.length], 0);
+
+      CompactRoster roster = RosterFixtures.roster(players, separations);
+
+      boolean solved = new PositionAssignmentSolver(roster, constrained).solve();
+
+      assertEquals(expected != -1, solved);
+
+      if (solved) {
+        assertValidPositions(players, roster, constrained);
+        assertEquals(expected, RosterFixtures.difference(roster));
+      } else {
+        assertEquals(0, roster.getAssignedMask());
+      }
+    }
+  }
+
+  @Test
+  void withoutAlternativePositionsMatchesSkillBalanceSolver() {
+    Random random = new Random(22);
+
+    for (int rosterNumber = 0; rosterNumber < ROSTERS; rosterNumber++) {
+      Player[] players = RosterFixtures.randomPlayers(random, MAX_SKILL);
+
+      RosterFixtures.anchorRandomly(random, players, MAX_ANCHORAGES);
+
+      List<int[]> separations = RosterFixtures.randomSeparations(random, players.length, MAX_SEPARATIONS);
+
+      CompactRoster expectedRoster = RosterFixtures.roster(players, separations);
+      CompactRoster roster = RosterFixtures.roster(players, separations);
+
+      boolean expected = new SkillBalanceSolver(expectedRoster).solve();
+
+      assertEquals(expected, new PositionAssignmentSolver(roster, true).solve());
+
+      if (expected) {
+        assertTrue(RosterFixtures.isValid(roster, true));
+        assertEquals(RosterFixtures.difference(expectedRoster), RosterFixtures.difference(roster));
+      }
+    }
+  }
+
+  @Test
+  void alternativePositionIsUsedWhenItBalancesTheTeams() {
+    Player[] players = RosterFixtures.randomPlayers(new Random(23), MAX_SKILL);
+
+    for (Player player : players) {
+      player.setSkillPoints(1);
+    }
+
+    // Only one goalkeeper is good, so the teams can only be balanced if a forward that is also a good goalkeeper swaps places with the other one
+    players[12].setSkillPoints(MAX_SKILL);
+    players[10].getAlternativePositions()
+               .put(Position.GOALKEEPER, MAX_SKILL);
+    players[13].getAlternativePositions()
+               .put(Position.FORWARD, 1);
+
+    CompactRoster roster = RosterFixtures.roster(players, List.of());
+
+    assertTrue(new PositionAssignmentSolver(roster, false).solve());
+    assertValidPositions(players, roster, false);
+    assertEquals(0, RosterFixtures.difference(roster));
+    assertEquals(Position.GOALKEEPER.ordinal(), roster.getPositions()[10]);
+    assertEquals(Position.FORWARD.ordinal(), roster.getPositions()[13]);
+  }
+
+  // ---------- Private methods ----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * Checks that a distribution is valid for the positions chosen by the solver, and that every player is playing in one of its positions with the
+   * skill points of that position.
+   *
+   * @param players     Players of the roster.
+   * @param roster      Compact roster distributed by the solver.
+   * @param constrained Whether the anchorages and separations must be satisfied.
+   */
+  private static void assertValidPositions(Player[] players, CompactRoster roster, boolean constrained) {
+    assertTrue(RosterFixtures.isValid(roster, constrained));
+
+    for (int player = 0; player < players.length; player++) {
+      Position position = Position.values()[roster.getPositions()[player]];
+
+      assertTrue(players[player].getSkillPoints(position) != -1);
+      assertEquals(players[player].getSkillPoints(position), roster.getSkills()[player]);
+    }
+  }
+
+  /**
+   * @param players     Players of the roster.
+   * @param separations Pairs of players indexes to separate.
+   * @param constrained Whether the anchorages and separations must be satisfied.
+   * @param positions   Position chosen for each player so far.
+   * @param player      Next player whose position must be chosen.
+   *
+   * @return The smallest skill points difference among every choice of positions and every first team, or -1 if there is no valid distribution.
+   */
+  private static int bruteForceDifference(Player[] players, List<int[]> separations, boolean constrained, Position[] positions, int player) {
+    if (player == players.length) {
+      int best = -1;
+
+      for (long firstTeam = 0; firstTeam < 1L << players.length; firstTeam++) {
+        int difference = difference(players, separations, constrained, positions, firstTeam);
+
+        if (difference != -1 && (best == -1 || difference < best)) {
+          best = difference;
+        }
+      }
+
+      return best;
+    }
+
+    int best = -1;
+
+    for (Position position : Position.values()) {
+      if (players[player].getSkillPoints(position) != -1) {
+        positions[player] = position;
+
+        int difference = bruteForceDifference(players, separations, constrained, positions, player + 1);
+
+        if (difference != -1 && (best == -1 || difference < best)) {
+          best = difference;
+        }
+      }
+    }
+
+    return best;
+  }
+
+  /**
+   * @param players     Players of the roster.
+   * @param separations Pairs of players indexes to separate.
+   * @param constrained Whether the anchorages and separations must be satisfied.
+   * @param positions   Position chosen for each player.
+   * @param firstTeam   Players of the first team, as a bitmask of their indexes.
+   *
+   * @return The skill points difference between the teams, or -1 if the distribution is not valid.
+   */
+  private static int difference(Player[] players, List<int[]> separations, boolean constrained, Position[] positions, long firstTeam) {
+    int[][] counts = new int[CompactRoster.TEAMS][CompactRoster.POSITIONS];
+    int[] skills = new int[CompactRoster.TEAMS];
+
+    for (int player = 0; player < players.length; player++) {
+      int team = (int) (firstTeam >>> player & 1) ^ 1;
+
+      counts[team][positions[player].ordinal()]++;
+      skills[team] += players[player].getSkillPoints(positions[player]);
+    }
+
+    for (int team = 0; team < CompactRoster.TEAMS; team++) {
+      for (int position = 0; position < CompactRoster.POSITIONS; position++) {
+        if (counts[team][position] != RosterFixtures.DISTRIBUTION_PLAN.getPositionsLimits()[position]) {
+          return -1;
+        }
+      }
+    }
+
+    if (constrained) {
+      for (int player1 = 0; player1 < players.length; player1++) {
+        for (int player2 = 0; player2 < players.length; player2++) {
+          boolean sameTeam = (firstTeam >>> player1 & 1) == (firstTeam >>> player2 & 1);
+
+          if (!sameTeam && players[player1].isAnchored() && players[player2].isAnchored()
+              && players[player1].getAnchorageNumber() == players[player2].getAnchorageNumber()) {
+            return -1;
+          }
+        }
+      }
+
+      for (int[] separation : separations) {
+        if ((firstTeam >>> separation[0] & 1) == (firstTeam >>> separation[1] & 1)) {
+          return -1;
+        }
+      }
+    }
+
+    return Math.abs(skills[0] - skills[1]);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,248 @@
+package armameeldoparti.utils.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import armameeldoparti.models.Player;
+import armameeldoparti.utils.mixers.CompactRoster;
+import armameeldoparti.utils.mixers.RosterFixtures;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Skill balance solver tests class.
+ *
+ * <p>Compares the distributions of the {@link SkillBalanceSolver} against a brute force enumeration of every first team, with random anchorages and
+ * separations, and checks the rosters whose constraints can't be satisfied.
+ *
+ * <p>Since only one side of the first item is considered to skip the mirrored distributions, the optimum is also checked with every player as the
+ * first item of the solver, with and without constraint groups.
+ *
+ * @author Bonino, Francisco Ignacio.
+ *
+ * @version 0.0.1
+ *
+ * @since 3.0
+ */
+class SkillBalanceSolverTest {
+
+  // ---------- Private constants --------------------------------------------------------------------------------------------------------------------
+
+  private static final int MAX_ANCHORAGES = 4;
+  private static final int MAX_SEPARATIONS = 6;
+  private static final int MAX_SKILL = 5;
+  private static final int ROSTERS = 500;
+  private static final int ROTATED_ROSTERS = 60;
+
+  // ---------- Tests --------------------------------------------------------------------------------------------------------------------------------
+
+  @Test
+  void constrainedDistributionsMatchBruteForce() {
+    Random random = new Random(11);
+
+    for (int rosterNumber = 0; rosterNumber < ROSTERS; rosterNumber++) {
+      Player[] players = RosterFixtures.randomPlayers(random, MAX_SKILL);
+
+      RosterFixtures.anchorRandomly(random, players, MAX_ANCHORAGES);
+
+      List<int[]> separations = RosterFixtures.randomSeparations(random, players.length, MAX_SEPARATIONS);
+
+      int expected = bruteForceDifference(RosterFixtures.roster(players, separations));
+
+      CompactRoster roster = RosterFixtures.roster(players, separations);
+
+      boolean solved = new SkillBalanceSolver(roster).solve();
+
+      assertEquals(expected != -1, solved);
+
+      if (solved) {
+        assertTrue(RosterFixtures.isValid(roster, true));
+        assertEquals(expected, RosterFixtures.difference(roster));
+      } else {
+        assertEquals(0, roster.getAssignedMask());
+      }
+    }
+  }
+
+  @Test
+  void anchoredPlayersStayTogether() {
+    Player[] players = RosterFixtures.randomPlayers(new Random(12), MAX_SKILL);
+
+    // The best players of every line are anchored, so the balance must be found with the rest
+    for (int player : new int[] {0, 2, 6, 10}) {
+      players[player].setSkillPoints(MAX_SKILL);
+      players[player].setAnchored(true);
+      players[player].setAnchorageNumber(1);
+    }
+
+    CompactRoster roster = RosterFixtures.roster(players, List.of());
+
+    assertTrue(new SkillBalanceSolver(roster).solve());
+    assertTrue(RosterFixtures.isValid(roster, true));
+    assertEquals(bruteForceDifference(RosterFixtures.roster(players, List.of())), RosterFixtures.difference(roster));
+  }
+
+  @Test
+  void unsatisfiableConstraintsLeaveTheRosterUnassigned() {
+    Player[] players = RosterFixtures.randomPlayers(new Random(13), MAX_SKILL);
+
+    // Three lateral defenders on the same team leave only one for the other team
+    for (int player : new int[] {2, 3, 4}) {
+      players[player].setAnchored(true);
+      players[player].setAnchorageNumber(1);
+    }
+
+    CompactRoster roster = RosterFixtures.roster(players, List.of());
+
+    roster.assign(0, 0);
+
+    assertFalse(new SkillBalanceSolver(roster).solve());
+    assertEquals(0, roster.getAssignedMask());
+  }
+
+  @Test
+  void separatedAnchoragesGoToDifferentTeams() {
+    Player[] players = RosterFixtures.randomPlayers(new Random(14), MAX_SKILL);
+
+    players[6].setAnchored(true);
+    players[6].setAnchorageNumber(1);
+    players[12].setAnchored(true);
+    players[12].setAnchorageNumber(1);
+    players[7].setAnchored(true);
+    players[7].setAnchorageNumber(2);
+    players[13].setAnchored(true);
+    players[13].setAnchorageNumber(2);
+
+    CompactRoster roster = RosterFixtures.roster(players, List.<int[]>of(new int[] {6, 7}));
+
+    assertTrue(new SkillBalanceSolver(roster).solve());
+    assertTrue(RosterFixtures.isValid(roster, true));
+    assertEquals(roster.getTeam(6), roster.getTeam(12));
+    assertEquals(1 - roster.getTeam(6), roster.getTeam(13));
+  }
+
+  @Test
+  void everyFirstItemKeepsTheOptimum() {
+    Random random = new Random(18);
+
+    for (int rosterNumber = 0; rosterNumber < ROTATED_ROSTERS; rosterNumber++) {
+      Player[] players = RosterFixtures.randomPlayers(random, MAX_SKILL);
+
+      boolean constrained = rosterNumber % 2 == 1;
+
+      if (constrained) {
+        RosterFixtures.anchorRandomly(random, players, MAX_ANCHORAGES);
+      }
+
+      List<int[]> separations = constrained ? RosterFixtures.randomSeparations(random, players.length, MAX_SEPARATIONS) : List.of();
+
+      int expected = bruteForceDifference(RosterFixtures.roster(players, separations));
+
+      // Rotating the players changes which interchangeable players set or constraint group is the first item
+      for (int rotation = 0; rotation < players.length; rotation++) {
+        CompactRoster roster = RosterFixtures.roster(rotate(players, rotation), rotate(separations, rotation, players.length));
+
+        assertEquals(expected != -1, new SkillBalanceSolver(roster).solve());
+
+        if (expected != -1) {
+          assertTrue(RosterFixtures.isValid(roster, constrained));
+          assertEquals(expected, RosterFixtures.difference(roster));
+        }
+      }
+    }
+  }
+
+  @Test
+  void firstItemWithOddInterchangeablePlayersKeepsTheOptimum() {
+    Player[] players = RosterFixtures.randomPlayers(new Random(19), MAX_SKILL);
+
+    // Three interchangeable lateral defenders are the first item, so only the options with 2 or 3 of them in the first team are kept
+    for (int player = 2; player < 5; player++) {
+      players[player].setSkillPoints(1);
+    }
+
+    players[5].setSkillPoints(MAX_SKILL);
+
+    Player[] rotated = rotate(players, 2);
+
+    CompactRoster roster = RosterFixtures.roster(rotated, List.of());
+
+    assertTrue(new SkillBalanceSolver(roster).solve());
+    assertTrue(RosterFixtures.isValid(roster, false));
+    assertEquals(bruteForceDifference(RosterFixtures.roster(rotated, List.of())), RosterFixtures.difference(roster));
+  }
+
+  @Test
+  void identicalPlayersAreSplitEvenly() {
+    Player[] players = RosterFixtures.randomPlayers(new Random(20), MAX_SKILL);
+
+    for (Player player : players) {
+      player.setSkillPoints(MAX_SKILL);
+    }
+
+    CompactRoster roster = RosterFixtures.roster(players, List.of());
+
+    assertTrue(new SkillBalanceSolver(roster).solve());
+    assertTrue(RosterFixtures.isValid(roster, false));
+    assertEquals(0, RosterFixtures.difference(roster));
+  }
+
+  // ---------- Private methods ----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * @param roster Compact roster to distribute. It is left with the players of the last checked distribution assigned.
+   *
+   * @return The smallest skill points difference among every valid distribution, or -1 if there is none.
+   */
+  private static int bruteForceDifference(CompactRoster roster) {
+    int best = -1;
+
+    for (long firstTeam = 0; firstTeam < 1L << roster.getPlayersCount(); firstTeam++) {
+      if (2 * Long.bitCount(firstTeam) != roster.getPlayersCount()) {
+        continue;
+      }
+
+      roster.clearTeams();
+      roster.assignAll(firstTeam, 0);
+      roster.assignAll(roster.getPlayersMask() & ~firstTeam, 1);
+
+      if (RosterFixtures.isValid(roster, true) && (best == -1 || RosterFixtures.difference(roster) < best)) {
+        best = RosterFixtures.difference(roster);
+      }
+    }
+
+    return best;
+  }
+
+  /**
+   * @param players  Players to rotate.
+   * @param rotation Index of the player to place first.
+   *
+   * @return The players in the same cyclic order, starting from the specified index.
+   */
+  private static Player[] rotate(Player[] players, int rotation) {
+    Player[] rotated = new Player[players.length];
+
+    for (int player = 0; player < players.length; player++) {
+      rotated[player] = players[(player + rotation) % players.length];
+    }
+
+    return rotated;
+  }
+
+  /**
+   * @param separations  Pairs of players indexes to separate.
+   * @param rotation     Index of the player placed first.
+   * @param playersCount Number of players.
+   *
+   * @return The same separations, with the players indexes of the rotated players.
+   */
+  private static List<int[]> rotate(List<int[]> separations, int rotation, int playersCount) {
+    return separations.stream()
+                      .map(separation -> new int[] {(separation[0] - rotation + playersCount) % playersCount,
+                                                    (separation[1] - rotation + playersCount) % playersCount})
+                      .toList();
+  }
+}
\ No newline at end of file
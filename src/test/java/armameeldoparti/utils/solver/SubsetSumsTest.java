@@ -0,0 +1,189 @@
+package armameeldoparti.utils.solver;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Subset sums tests class.
+ *
+ * <p>Compares the bitset operations and the reachable sums table of {@link SubsetSums} against {@link BitSet} shifts and brute force enumeration of
+ * every subset, including shifts across and beyond the words boundaries.
+ *
+ * @author Bonino, Francisco Ignacio.
+ *
+ * @version 0.0.1
+ *
+ * @since 3.0
+ */
+class SubsetSumsTest {
+
+  // ---------- Private constants --------------------------------------------------------------------------------------------------------------------
+
+  private static final int MAX_VALUES = 12;
+  private static final int SETS = 200;
+  private static final int WORDS = 3;
+
+  // ---------- Tests --------------------------------------------------------------------------------------------------------------------------------
+
+  @Test
+  void shiftOrMatchesBitSetShift() {
+    Random random = new Random(15);
+
+    int[] shifts = {0, 1, 5, 63, 64, 65, 100, 127, 128, 129, WORDS * Long.SIZE - 1, WORDS * Long.SIZE, WORDS * Long.SIZE + 7};
+
+    for (int shift : shifts) {
+      for (int offset = 0; offset <= 2; offset++) {
+        long[] source = new long[WORDS + 2 * offset];
+        long[] destination = new long[WORDS + 2 * offset];
+
+        for (int word = 0; word < source.length; word++) {
+          source[word] = random.nextLong();
+          destination[word] = random.nextLong();
+        }
+
+        BitSet expected = BitSet.valueOf(Arrays.copyOfRange(destination, 2 * offset, 2 * offset + WORDS));
+        BitSet shifted = BitSet.valueOf(Arrays.copyOfRange(source, offset, offset + WORDS));
+
+        for (int bit = shifted.nextSetBit(0); bit >= 0; bit = shifted.nextSetBit(bit + 1)) {
+          if (bit + shift < WORDS * Long.SIZE) {
+            expected.set(bit + shift);
+          }
+        }
+
+        long[] untouched = destination.clone();
+
+        SubsetSums.shiftOr(source, offset, destination, 2 * offset, WORDS, shift);
+
+        assertArrayEquals(Arrays.copyOf(expected.toLongArray(), WORDS), Arrays.copyOfRange(destination, 2 * offset, 2 * offset + WORDS));
+
+        // The words outside the destination bitset are never written
+        assertArrayEquals(Arrays.copyOf(untouched, 2 * offset), Arrays.copyOf(destination, 2 * offset));
+      }
+    }
+  }
+
+  @Test
+  void sumsetMatchesBruteForce() {
+    Random random = new Random(16);
+
+    for (int set = 0; set < SETS; set++) {
+      long[] first = {random.nextLong() & random.nextLong(), random.nextLong() & random.nextLong()};
+      long[] second = {random.nextLong() & random.nextLong() & random.nextLong()};
+
+      long[] sums = SubsetSums.sumset(first, second, WORDS);
+
+      for (int sum = 0; sum < WORDS * Long.SIZE; sum++) {
+        boolean expected = false;
+
+        for (int firstValue = 0; firstValue <= sum && !expected; firstValue++) {
+          expected = SubsetSums.contains(first, firstValue) && SubsetSums.contains(second, sum - firstValue);
+        }
+
+        assertEquals(expected, SubsetSums.contains(sums, sum));
+      }
+    }
+  }
+
+  @Test
+  void containsRejectsSumsOutsideTheBitset() {
+    long[] bitset = {-1L};
+
+    assertTrue(SubsetSums.contains(bitset, 0));
+    assertTrue(SubsetSums.contains(bitset, Long.SIZE - 1));
+    assertFalse(SubsetSums.contains(bitset, Long.SIZE));
+    assertFalse(SubsetSums.contains(bitset, -1));
+    assertEquals(1, SubsetSums.wordsFor(Long.SIZE - 1));
+    assertEquals(2, SubsetSums.wordsFor(Long.SIZE));
+  }
+
+  @Test
+  void reachableSumsMatchBruteForce() {
+    Random random = new Random(17);
+
+    for (int set = 0; set < SETS; set++) {
+      int[] values = random.ints(random.nextInt(MAX_VALUES + 1), 0, set % 2 == 0 ? 6 : 40)
+                           .toArray();
+
+      int maxCount = random.nextInt(values.length + 1);
+      int totalSum = Arrays.stream(values)
+                           .sum();
+
+      boolean[][] expected = bruteForceSums(values, maxCount, totalSum);
+
+      SubsetSums subsetSums = new SubsetSums(values, maxCount);
+
+      for (int count = 0; count <= maxCount; count++) {
+        for (int sum = 0; sum <= totalSum; sum++) {
+          assertEquals(expected[count][sum], subsetSums.isReachable(count, sum));
+          assertEquals(expected[count][sum], SubsetSums.contains(subsetSums.getSums(count), sum));
+
+          long selected = subsetSums.select(count, sum);
+
+          if (expected[count][sum]) {
+            assertEquals(count, Long.bitCount(selected));
+            assertEquals(sum, sumOf(values, selected));
+          } else {
+            assertEquals(-1, selected);
+          }
+        }
+      }
+
+      assertEquals(-1, subsetSums.select(maxCount + 1, 0));
+      assertEquals(-1, subsetSums.select(0, totalSum + 1));
+      assertEquals(-1, subsetSums.select(0, -1));
+    }
+  }
+
+  @Test
+  void emptySubsetIsAlwaysReachable() {
+    SubsetSums subsetSums = new SubsetSums(new int[0], 0);
+
+    assertTrue(subsetSums.isReachable(0, 0));
+    assertEquals(0, subsetSums.select(0, 0));
+    assertEquals(-1, subsetSums.select(1, 0));
+  }
+
+  // ---------- Private methods ----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * @param values   Values to add.
+   * @param maxCount Maximum number of values to add.
+   * @param totalSum Sum of every value.
+   *
+   * @return Whether each sum can be obtained adding exactly each number of values, indexed by count and then by sum.
+   */
+  private static boolean[][] bruteForceSums(int[] values, int maxCount, int totalSum) {
+    boolean[][] reachable = new boolean[maxCount + 1][totalSum + 1];
+
+    for (long subset = 0; subset < 1L << values.length; subset++) {
+      if (Long.bitCount(subset) <= maxCount) {
+        reachable[Long.bitCount(subset)][sumOf(values, subset)] = true;
+      }
+    }
+
+    return reachable;
+  }
+
+  /**
+   * @param values Values to add.
+   * @param subset Indexes of the values to add, as a bitmask.
+   *
+   * @return The sum of the values of the subset.
+   */
+  private static int sumOf(int[] values, long subset) {
+    int sum = 0;
+
+    for (long remaining = subset; remaining != 0; remaining &= remaining - 1) {
+      sum += values[Long.numberOfTrailingZeros(remaining)];
+    }
+
+    return sum;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,212 @@
+package armameeldoparti.utils.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import armameeldoparti.models.Player;
+import armameeldoparti.utils.mixers.CompactRoster;
+import armameeldoparti.utils.mixers.RosterFixtures;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Team assignment solver tests class.
+ *
+ * <p>Compares the feasibility found by the {@link TeamAssignmentSolver} against a brute force enumeration of every first team, and checks the
+ * configurations that must be rejected without searching.
+ *
+ * <p>The "java:S1190" and "java:S117" warnings are suppressed since JDK22 allows the use of unnamed variables.
+ *
+ * @author Bonino, Francisco Ignacio.
+ *
+ * @version 0.0.1
+ *
+ * @since 3.0
+ */
+@SuppressWarnings({"java:S1190", "java:S117"})
+class TeamAssignmentSolverTest {
+
+  // ---------- Private constants --------------------------------------------------------------------------------------------------------------------
+
+  private static final int MAX_ANCHORAGES = 4;
+  private static final int MAX_SEPARATIONS = 6;
+  private static final int MAX_SKILL = 5;
+  private static final int ROSTERS = 1000;
+
+  // ---------- Tests --------------------------------------------------------------------------------------------------------------------------------
+
+  @Test
+  void feasibilityMatchesBruteForce() {
+    Random random = new Random(5);
+
+    for (int rosterNumber = 0; rosterNumber < ROSTERS; rosterNumber++) {
+      Player[] players = RosterFixtures.randomPlayers(random, MAX_SKILL);
+
+      RosterFixtures.anchorRandomly(random, players, MAX_ANCHORAGES);
+
+      List<int[]> separations = RosterFixtures.randomSeparations(random, players.length, MAX_SEPARATIONS);
+
+      CompactRoster roster = RosterFixtures.roster(players, separations);
+
+      boolean expected = isFeasibleByBruteForce(roster);
+      boolean solved = new TeamAssignmentSolver(roster).solve(shuffledOrder(random, players.length), _ -> random.nextInt(CompactRoster.TEAMS));
+
+      assertEquals(expected, solved);
+
+      if (solved) {
+        assertTrue(RosterFixtures.isValid(roster, true));
+      } else {
+        assertEquals(0, roster.getAssignedMask());
+      }
+    }
+  }
+
+  @Test
+  void oddSeparationCycleIsInfeasible() {
+    // A central defender, a lateral defender and a midfielder can't be pairwise on different teams
+    CompactRoster roster = RosterFixtures.roster(RosterFixtures.randomPlayers(new Random(6), MAX_SKILL), List.of(new int[] {0, 2},
+                                                                                                                 new int[] {2, 7},
+                                                                                                                 new int[] {7, 0}));
+
+    assertFalse(isFeasibleByBruteForce(roster));
+    assertFalse(new TeamAssignmentSolver(roster).solve(IntStream.range(0, roster.getPlayersCount())
+                                                                .toArray(), _ -> 0));
+    assertEquals(0, roster.getAssignedMask());
+  }
+
+  @Test
+  void evenSeparationCycleIsFeasible() {
+    CompactRoster roster = RosterFixtures.roster(RosterFixtures.randomPlayers(new Random(7), MAX_SKILL), List.of(new int[] {2, 7},
+                                                                                                                 new int[] {7, 3},
+                                                                                                                 new int[] {3, 8},
+                                                                                                                 new int[] {8, 2}));
+
+    assertTrue(new TeamAssignmentSolver(roster).solve(IntStream.range(0, roster.getPlayersCount())
+                                                               .toArray(), _ -> 0));
+    assertTrue(RosterFixtures.isValid(roster, true));
+  }
+
+  @Test
+  void separatedPlayersOfTheSameAnchorageAreInfeasible() {
+    Player[] players = RosterFixtures.randomPlayers(new Random(8), MAX_SKILL);
+
+    for (int player : new int[] {2, 6, 10}) {
+      players[player].setAnchored(true);
+      players[player].setAnchorageNumber(1);
+    }
+
+    CompactRoster roster = RosterFixtures.roster(players, List.of(new int[] {6, 10}));
+
+    assertFalse(new TeamAssignmentSolver(roster).solve(IntStream.range(0, roster.getPlayersCount())
+                                                                .toArray(), _ -> 0));
+    assertEquals(0, roster.getAssignedMask());
+  }
+
+  @Test
+  void anchorageOverPositionLimitIsInfeasible() {
+    Player[] players = RosterFixtures.randomPlayers(new Random(9), MAX_SKILL);
+
+    // Both central defenders on the same team leave the other team without one
+    players[0].setAnchored(true);
+    players[0].setAnchorageNumber(1);
+    players[1].setAnchored(true);
+    players[1].setAnchorageNumber(1);
+
+    CompactRoster roster = RosterFixtures.roster(players, List.of());
+
+    assertFalse(isFeasibleByBruteForce(roster));
+    assertFalse(new TeamAssignmentSolver(roster).solve(IntStream.range(0, roster.getPlayersCount())
+                                                                .toArray(), _ -> 0));
+  }
+
+  @Test
+  void unconstrainedPlayersGetTheirPreferredTeamWhileItHasRoom() {
+    CompactRoster roster = RosterFixtures.roster(RosterFixtures.randomPlayers(new Random(10), MAX_SKILL), List.of());
+
+    assertTrue(new TeamAssignmentSolver(roster).solve(IntStream.range(0, roster.getPlayersCount())
+                                                               .toArray(), _ -> 1));
+    assertTrue(RosterFixtures.isValid(roster, false));
+
+    // Every first player of each position is decided while the second team still has room for it
+    for (int position = 0; position < CompactRoster.POSITIONS; position++) {
+      assertEquals(1, roster.getTeam(Long.numberOfTrailingZeros(roster.getPositionMask(position))));
+    }
+  }
+
+  // ---------- Private methods ----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * @param roster Compact roster to check.
+   *
+   * @return Whether any first team with exactly the players limit of each position satisfies every anchorage and separation.
+   */
+  private static boolean isFeasibleByBruteForce(CompactRoster roster) {
+    int playersCount = roster.getPlayersCount();
+
+    for (long firstTeam = 0; firstTeam < 1L << playersCount; firstTeam++) {
+      if (isValidFirstTeam(roster, firstTeam)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * @param roster    Compact roster to check.
+   * @param firstTeam Players of the first team.
+   *
+   * @return Whether the first team, and the rest of the players as the second team, form a valid distribution.
+   */
+  private static boolean isValidFirstTeam(CompactRoster roster, long firstTeam) {
+    long secondTeam = roster.getPlayersMask() & ~firstTeam;
+
+    for (int position = 0; position < CompactRoster.POSITIONS; position++) {
+      if (Long.bitCount(firstTeam & roster.getPositionMask(position)) != roster.getPositionsLimits()[position]) {
+        return false;
+      }
+    }
+
+    for (int anchorageNumber : roster.getAnchorageNumbers()) {
+      long anchorageMask = roster.getAnchorageMask(anchorageNumber);
+
+      if ((anchorageMask & firstTeam) != 0 && (anchorageMask & secondTeam) != 0) {
+        return false;
+      }
+    }
+
+    for (int player = 0; player < roster.getPlayersCount(); player++) {
+      long playerTeam = (firstTeam >>> player & 1) != 0 ? firstTeam : secondTeam;
+
+      if ((roster.getSeparationMask(player) & playerTeam) != 0) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * @param random       Random numbers generator.
+   * @param playersCount Number of players.
+   *
+   * @return A random permutation of the players indexes.
+   */
+  private static int[] shuffledOrder(Random random, int playersCount) {
+    int[] order = IntStream.range(0, playersCount)
+                           .toArray();
+
+    for (int index = playersCount - 1; index > 0; index--) {
+      int swapIndex = random.nextInt(index + 1);
+      int swapped = order[index];
+
+      order[index] = order[swapIndex];
+      order[swapIndex] = swapped;
+    }
+
+    return order;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,216 @@
+package armameeldoparti.utils.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import armameeldoparti.models.Player;
+import armameeldoparti.models.Position;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Players database tests class.
+ *
+ * <p>Simulates a program closed while writing, by cutting the database file in the middle of its last record or by appending an incomplete or
+ * malformed record to it, and checks that the file is truncated to the end of the last valid record when it is opened again, keeping every record
+ * before it and the records written afterwards.
+ *
+ * @author Bonino, Francisco Ignacio.
+ *
+ * @version 0.0.1
+ *
+ * @since 3.0
+ */
+class PlayersDatabaseTest {
+
+  // ---------- Private constants --------------------------------------------------------------------------------------------------------------------
+
+  private static final byte RECORD_PLAYER = 1;
+
+  private static final int INVALID_POSITION_INDEX = 9;
+  private static final int MISSING_BYTES = 3;
+
+  private static final String DATABASE_FILE_NAME = "jugadores.db";
+  private static final String FIRST_ROSTER = "FECHA_1";
+  private static final String SECOND_ROSTER = "FECHA_2";
+  private static final String THIRD_ROSTER = "FECHA_3";
+
+  // ---------- Tests --------------------------------------------------------------------------------------------------------------------------------
+
+  @Test
+  void recordsAreReadBack(@TempDir Path directory) throws IOException {
+    Path path = directory.resolve(DATABASE_FILE_NAME);
+
+    save(path, FIRST_ROSTER, player("ANA", Position.MIDFIELDER, 3), player("BETO", Position.GOALKEEPER, 4));
+
+    PlayersDatabase database = PlayersDatabase.open(path);
+
+    List<Player> roster = database.getRoster(FIRST_ROSTER);
+
+    assertEquals(2, roster.size());
+    assertEquals("BETO", roster.get(1)
+                               .getName());
+    assertEquals(Position.GOALKEEPER, roster.get(1)
+                                            .getPosition());
+    assertEquals(4, roster.get(1)
+                          .getSkillPoints());
+    assertEquals(3, database.getPlayer("ANA")
+                            .getLastSkillPoints());
+
+    database.close();
+  }
+
+  @Test
+  void tornLastRecordIsTruncated(@TempDir Path directory) throws IOException {
+    Path path = directory.resolve(DATABASE_FILE_NAME);
+
+    save(path, FIRST_ROSTER, player("ANA", Position.MIDFIELDER, 3));
+    save(path, SECOND_ROSTER, player("ANA", Position.MIDFIELDER, 5));
+
+    // The roster record is the last one written, so cutting the file leaves its players records but not the roster itself
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+      channel.truncate(channel.size() - MISSING_BYTES);
+    }
+
+    long tornLength = Files.size(path);
+
+    PlayersDatabase database = PlayersDatabase.open(path);
+
+    assertTrue(database.hasRoster(FIRST_ROSTER));
+    assertFalse(database.hasRoster(SECOND_ROSTER));
+    assertEquals(5, database.getPlayer("ANA")
+                            .getLastSkillPoints());
+
+    database.close();
+
+    assertTrue(Files.size(path) < tornLength);
+
+    // The new records are appended right after the last valid one, so they can be read back
+    save(path, THIRD_ROSTER, player("BETO", Position.FORWARD, 2));
+
+    database = PlayersDatabase.open(path);
+
+    assertTrue(database.hasRoster(FIRST_ROSTER));
+    assertTrue(database.hasRoster(THIRD_ROSTER));
+    assertEquals(2, database.getPlayer("BETO")
+                            .getLastSkillPoints());
+
+    database.close();
+  }
+
+  @Test
+  void incompleteRecordIsTruncated(@TempDir Path directory) throws IOException {
+    Path path = directory.resolve(DATABASE_FILE_NAME);
+
+    save(path, FIRST_ROSTER, player("ANA", Position.MIDFIELDER, 3));
+
+    long validLength = Files.size(path);
+
+    // Only the length and the first bytes of the record were written
+    appendRecord(path, Integer.SIZE, new byte[] {RECORD_PLAYER, 0, 0});
+
+    PlayersDatabase.open(path)
+                   .close();
+
+    assertEquals(validLength, Files.size(path));
+  }
+
+  @Test
+  void malformedRecordIsTruncated(@TempDir Path directory) throws IOException {
+    Path path = directory.resolve(DATABASE_FILE_NAME);
+
+    save(path, FIRST_ROSTER, player("ANA", Position.MIDFIELDER, 3));
+
+    long validLength = Files.size(path);
+
+    ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+    DataOutputStream record = new DataOutputStream(recordBytes);
+
+    record.writeByte(RECORD_PLAYER);
+    record.writeLong(System.currentTimeMillis());
+    record.writeUTF("BETO");
+    record.writeByte(INVALID_POSITION_INDEX);
+    record.writeByte(4);
+
+    appendRecord(path, recordBytes.size(), recordBytes.toByteArray());
+
+    PlayersDatabase database = PlayersDatabase.open(path);
+
+    assertNull(database.getPlayer("BETO"));
+    assertTrue(database.hasRoster(FIRST_ROSTER));
+
+    database.close();
+
+    assertEquals(validLength, Files.size(path));
+  }
+
+  @Test
+  void otherFilesAreRejected(@TempDir Path directory) throws IOException {
+    Path path = directory.resolve(DATABASE_FILE_NAME);
+
+    Files.writeString(path, "Ana,C,3");
+
+    assertThrows(IOException.class, () -> PlayersDatabase.open(path));
+    assertEquals("Ana,C,3", Files.readString(path));
+  }
+
+  // ---------- Private methods ----------------------------------------------------------------------------------------------------------------------
+
+  /**
+   * @param name        Player name.
+   * @param position    Player position.
+   * @param skillPoints Player skill points.
+   *
+   * @return A new player with the given data.
+   */
+  private static Player player(String name, Position position, int skillPoints) {
+    Player player = new Player(name, position);
+
+    player.setSkillPoints(skillPoints);
+
+    return player;
+  }
+
+  /**
+   * Opens the database, stores a roster and closes it, so every record is written to the file.
+   *
+   * @param path       Database file path.
+   * @param rosterName Name of the roster.
+   * @param players    Players of the roster.
+   *
+   * @throws IOException If the database file can't be opened.
+   */
+  private static void save(Path path, String rosterName, Player... players) throws IOException {
+    PlayersDatabase database = PlayersDatabase.open(path);
+
+    database.saveRoster(rosterName, List.of(players));
+    database.close();
+  }
+
+  /**
+   * Appends a record with an arbitrary length to the database file, bypassing the database.
+   *
+   * @param path         Database file path.
+   * @param recordLength Record length to write.
+   * @param recordBytes  Record content to write.
+   *
+   * @throws IOException If the file can't be written.
+   */
+  private static void appendRecord(Path path, int recordLength, byte[] recordBytes) throws IOException {
+    try (DataOutputStream output = new DataOutputStream(Files.newOutputStream(path, StandardOpenOption.APPEND))) {
+      output.writeInt(recordLength);
+      output.write(recordBytes);
+    }
+  }
+}
\ No newline at end of file